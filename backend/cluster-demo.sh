@@ -0,0 +1,86 @@
+#!/bin/bash
+# Démonstration du bus d'invalidation: deux instances de l'API sur le même hôte
+#
+# Les deux JVM partagent une base H2 fichier (AUTO_SERVER) comme deux réplicas
+# derrière nginx partagent la base de production. L'écriture est faite sur le
+# nœud 1, la lecture sur le nœud 2: sans le bus, le nœud 2 renverrait la version
+# en cache de second niveau et son index de recherche ne trouverait pas le nouveau titre.
+#
+# Modes (variable MODE):
+#   multicast → groupe 239.255.42.99 sur l'interface IFACE (défaut: eth0).
+#               L'interface lo de Linux n'a pas le drapeau MULTICAST par défaut
+#               (ip link set lo multicast on, en root)
+#   unicast   → chaque nœud écoute sur son port et connaît l'autre (musicstream.cluster.peers)
+#
+# Usage:
+#   mvn package -DskipTests
+#   ./cluster-demo.sh
+#   MODE=unicast ./cluster-demo.sh
+
+MODE=${MODE:-multicast}
+IFACE=${IFACE:-eth0}
+DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="${DIR}/target/musicstream-api-1.0.0.jar"
+OUT="${DIR}/target/cluster-demo"
+DB="jdbc:h2:file:${OUT}/db/musicstream;AUTO_SERVER=TRUE"
+
+if [ ! -f "$APP_JAR" ]; then
+    echo "❌ Jar manquant, lancez d'abord: mvn package -DskipTests"
+    exit 1
+fi
+
+rm -rf "$OUT" && mkdir -p "$OUT"
+PIDS=()
+trap 'kill "${PIDS[@]}" 2> /dev/null; wait 2> /dev/null' EXIT
+
+# $1 = numéro du nœud, reste = arguments de l'API
+start_node() {
+    local node=$1
+    shift
+    local cluster=(--musicstream.cluster.enabled=true)
+    if [ "$MODE" = "unicast" ]; then
+        local other=$((3 - node))
+        cluster+=(--musicstream.cluster.port=4570${node} --musicstream.cluster.peers=127.0.0.1:4570${other})
+    else
+        cluster+=(--musicstream.cluster.network-interface="$IFACE")
+    fi
+    java -jar "$APP_JAR" --server.port=808${node} --spring.datasource.url="$DB" \
+        --musicstream.jobs.journal="${OUT}/jobs/node${node}.journal" \
+        --musicstream.rate-limit.enabled=false --spring.jpa.show-sql=false \
+        --logging.level.com.musicstream=INFO --logging.level.org.springframework.web=WARN \
+        --logging.level.org.hibernate.SQL=WARN "${cluster[@]}" "$@" > "${OUT}/node${node}.log" 2>&1 &
+    PIDS+=($!)
+    until curl -sf -o /dev/null "http://localhost:808${node}/api/actuator/health"; do
+        if ! kill -0 "${PIDS[-1]}" 2> /dev/null; then
+            echo "❌ nœud ${node} arrêté avant de répondre (voir ${OUT}/node${node}.log)"
+            exit 1
+        fi
+        sleep 0.5
+    done
+    echo "🟢 nœud ${node} prêt sur le port 808${node}"
+}
+
+# Le nœud 1 crée le schéma, le nœud 2 l'utilise tel quel
+start_node 1 --spring.jpa.hibernate.ddl-auto=create
+start_node 2 --spring.jpa.hibernate.ddl-auto=none
+
+NODE1="http://localhost:8081/api"
+NODE2="http://localhost:8082/api"
+JSON='Content-Type: application/json'
+
+ID=$(curl -s -X POST "${NODE1}/songs" -H "$JSON" \
+    -d '{"title":"Imagine","artist":"John Lennon","album":"Imagine","genre":"Rock","category":"Pop","duration":183}' \
+    | sed -E 's/.*"id":([0-9]+).*/\1/')
+echo "✍️  nœud 1: chanson ${ID} créée"
+sleep 0.5
+echo "👀 nœud 2: $(curl -s "${NODE2}/songs/${ID}" | sed -E 's/.*"title":"([^"]*)".*/titre = \1/') (mis en cache)"
+
+curl -s -o /dev/null -X PUT "${NODE1}/songs/${ID}" -H "$JSON" \
+    -d '{"title":"Jealous Guy","artist":"John Lennon","album":"Imagine","genre":"Rock","category":"Pop","duration":254}'
+echo "✍️  nœud 1: chanson ${ID} renommée en Jealous Guy"
+sleep 1.5
+
+echo "👀 nœud 2: $(curl -s "${NODE2}/songs/${ID}" | sed -E 's/.*"title":"([^"]*)".*/titre = \1/')"
+echo "🔎 nœud 2: recherche \"jealous\" → $(curl -s "${NODE2}/songs/search?q=jealous" | grep -o '"songId":[0-9]*\|"id":[0-9]*' | head -1)"
+echo "📊 nœud 2: $(curl -s "${NODE2}/actuator/metrics/musicstream.cluster.invalidations?tag=outcome:applied" \
+    | grep -o '"value":[0-9.]*') invalidation(s) appliquée(s)"
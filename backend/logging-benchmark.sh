@@ -0,0 +1,68 @@
+#!/bin/bash
+# Benchmark du coût de la journalisation de MusicStream API
+#
+# Lance l'API deux fois sur le même catalogue et le même scénario (module loadtest):
+#   dev  → configuration par défaut (SQL affiché, web en DEBUG, logs synchrones)
+#   prod → profil prod (appenders asynchrones, SQL lent seulement, journal d'accès échantillonné)
+# puis compare les journaux HdrHistogram des deux runs.
+#
+# La sortie de l'API est écrite dans un fichier (comme en production), pas dans /dev/null.
+#
+# Usage:
+#   mvn package -DskipTests && (cd ../loadtest && mvn package -DskipTests)
+#   ./logging-benchmark.sh [songs] [duration] [threads]
+
+SONGS=${1:-20000}
+DURATION=${2:-1m}
+THREADS=${3:-16}
+PORT=${PORT:-18080}
+BASE_URL="http://localhost:${PORT}/api"
+DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="${DIR}/target/musicstream-api-1.0.0.jar"
+LOADTEST_JAR="${DIR}/../loadtest/target/musicstream-loadtest-jar-with-dependencies.jar"
+OUT="${DIR}/target/logging-benchmark"
+
+if [ ! -f "$APP_JAR" ] || [ ! -f "$LOADTEST_JAR" ]; then
+    echo "❌ Artefacts manquants, lancez d'abord:"
+    echo "   mvn package -DskipTests && (cd ../loadtest && mvn package -DskipTests)"
+    exit 1
+fi
+
+mkdir -p "$OUT"
+
+# $1 = libellé, reste = arguments de l'API
+run_mode() {
+    local label=$1
+    shift
+    java -jar "$APP_JAR" --server.port="$PORT" --musicstream.rate-limit.enabled=false "$@" \
+        > "${OUT}/${label}-app.log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "${BASE_URL}/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "❌ [$label] l'application s'est arrêtée avant de répondre (voir ${OUT}/${label}-app.log)"
+            exit 1
+        fi
+        sleep 0.5
+    done
+
+    echo "🌱 [$label] chargement de ${SONGS} chansons"
+    java -jar "$LOADTEST_JAR" seed --url="$BASE_URL" --songs="$SONGS" --threads=8 > "${OUT}/${label}-seed.txt" \
+        || { kill "$pid"; echo "❌ [$label] chargement interrompu (voir ${OUT}/${label}-seed.txt)"; exit 1; }
+
+    echo "🏃 [$label] scénario de ${DURATION} avec ${THREADS} threads"
+    java -jar "$LOADTEST_JAR" run --url="$BASE_URL" --songs="$SONGS" --threads="$THREADS" \
+        --duration="$DURATION" --warmup=15s --out="${OUT}/${label}" > /dev/null
+
+    kill "$pid" && wait "$pid" 2> /dev/null
+    echo "✅ [$label] $(du -h "${OUT}/${label}-app.log" | cut -f1) de logs, rapport: ${OUT}/${label}/summary.txt"
+}
+
+echo "🧾 MusicStream API - Débit et latences, journalisation dev contre prod"
+echo "===================================================================="
+
+run_mode dev
+run_mode prod --spring.profiles.active=prod
+
+echo
+java -jar "$LOADTEST_JAR" compare --baseline="${OUT}/dev/latency.hlog" --candidate="${OUT}/prod/latency.hlog"
@@ -0,0 +1,63 @@
+#!/bin/bash
+# Démonstration du sharding: une instance de l'API, trois bases H2 en mémoire
+#
+# Les chansons sont insérées à tour de rôle sur les trois shards (leur ID dit
+# lequel: shard k → IDs à partir de k × 2^40 + 1), la liste est fusionnée depuis
+# les trois, puis une plage du shard 0 est déplacée à chaud vers le shard 2.
+#
+# Usage:
+#   mvn package -DskipTests
+#   ./sharding-demo.sh
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+APP_JAR="${DIR}/target/musicstream-api-1.0.0.jar"
+OUT="${DIR}/target/sharding-demo"
+
+if [ ! -f "$APP_JAR" ]; then
+    echo "❌ Jar manquant, lancez d'abord: mvn package -DskipTests"
+    exit 1
+fi
+
+rm -rf "$OUT" && mkdir -p "$OUT"
+SHARDS=()
+for shard in 0 1 2; do
+    SHARDS+=(--musicstream.sharding.shards[${shard}].url="jdbc:h2:mem:shard${shard};DB_CLOSE_DELAY=-1")
+done
+
+java -jar "$APP_JAR" --server.port=8081 --musicstream.sharding.enabled=true "${SHARDS[@]}" \
+    --musicstream.sharding.cleanup-delay=2s --musicstream.rate-limit.enabled=false \
+    --spring.jpa.show-sql=false --logging.level.com.musicstream=INFO \
+    --logging.level.org.springframework.web=WARN --logging.level.org.hibernate.SQL=WARN \
+    > "${OUT}/api.log" 2>&1 &
+PID=$!
+trap 'kill "$PID" 2> /dev/null; wait 2> /dev/null' EXIT
+until curl -sf -o /dev/null "http://localhost:8081/api/actuator/health"; do
+    if ! kill -0 "$PID" 2> /dev/null; then
+        echo "❌ API arrêtée avant de répondre (voir ${OUT}/api.log)"
+        exit 1
+    fi
+    sleep 0.5
+done
+echo "🟢 API prête sur le port 8081, 3 shards"
+
+API="http://localhost:8081/api"
+JSON='Content-Type: application/json'
+
+for i in 1 2 3 4 5 6 7 8 9; do
+    ID=$(curl -s -X POST "${API}/songs" -H "$JSON" \
+        -d "{\"title\":\"Song ${i}\",\"artist\":\"Artist $((i % 3))\",\"album\":\"Album $((i % 2))\",\"genre\":\"Rock\",\"category\":\"Pop\",\"duration\":180}" \
+        | sed -E 's/^\{"id":([0-9]+).*/\1/')
+    echo "✍️  chanson ${ID} → shard $((ID >> 40))"
+done
+
+echo "📋 liste fusionnée: $(curl -s "${API}/songs" | grep -o '"id":[0-9]*' | sed 's/"id"://' | tr '\n' ' ')"
+echo "🧱 $(curl -s "${API}/admin/shards" | grep -o '"shard":[0-9]*,"url":"[^"]*","songs":[0-9]*' \
+    | sed -E 's/"shard":([0-9]+),"url":"[^"]*","songs":([0-9]+)/shard \1 = \2/' | tr '\n' ' ')"
+
+echo "🚚 déplacement des IDs [1, 3) vers le shard 2: $(curl -s -X POST "${API}/admin/shards/moves?lo=1&hi=3&to=2")"
+echo "👀 chanson 1: $(curl -s "${API}/songs/1" | sed -E 's/.*"title":"([^"]*)".*/titre = \1/') (lue sur le shard 2)"
+sleep 3
+
+echo "🧱 après nettoyage: $(curl -s "${API}/admin/shards" | grep -o '"shard":[0-9]*,"url":"[^"]*","songs":[0-9]*' \
+    | sed -E 's/"shard":([0-9]+),"url":"[^"]*","songs":([0-9]+)/shard \1 = \2/' | tr '\n' ' ')"
+echo "⚖️  rééquilibrage: $(curl -s -X POST "${API}/admin/shards/rebalance" -w ' (HTTP %{http_code})')"
@@ -0,0 +1,36 @@
+package com.musicstream.api.audio;
+
+/**
+ * 🎼 AudioMetadata - Informations lues dans les en-têtes d'un fichier audio
+ * 
+ * Les champs inconnus valent null (ex: pas de tag album dans le fichier).
+ * 
+ * @param format          mp3, wav, flac, ogg ou opus
+ * @param durationSeconds Durée exacte en secondes
+ * @param bitrateKbps     Débit moyen en kbit/s
+ * @param sampleRate      Fréquence d'échantillonnage en Hz
+ * @param channels        Nombre de canaux
+ * @param title           Tag titre
+ * @param artist          Tag artiste
+ * @param album           Tag album
+ * @param genre           Tag genre
+ */
+public record AudioMetadata(String format,
+                            Double durationSeconds,
+                            Integer bitrateKbps,
+                            Integer sampleRate,
+                            Integer channels,
+                            String title,
+                            String artist,
+                            String album,
+                            String genre) {
+
+    /**
+     * Durée arrondie à la seconde (format de Song.duration)
+     * 
+     * @return La durée en secondes, ou null si inconnue
+     */
+    public Integer roundedDuration() {
+        return durationSeconds == null ? null : (int) Math.round(durationSeconds);
+    }
+}
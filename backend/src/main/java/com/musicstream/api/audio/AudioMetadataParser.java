@@ -0,0 +1,69 @@
+package com.musicstream.api.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * 🔎 AudioMetadataParser - Détection du format et lecture des métadonnées
+ * 
+ * Le format est détecté sur les octets magiques, jamais sur l'extension:
+ * - "RIFF....WAVE" → WAV
+ * - "fLaC"         → FLAC (éventuellement précédé d'un tag ID3v2)
+ * - "OggS"         → Ogg Vorbis / Opus
+ * - "ID3" ou sync MPEG → MP3
+ */
+public final class AudioMetadataParser {
+
+    private AudioMetadataParser() {
+    }
+
+    /**
+     * Lire les métadonnées d'un fichier audio en mémoire
+     * 
+     * @param bytes Contenu du fichier
+     * @return Les métadonnées
+     * @throws IOException Format non reconnu ou fichier corrompu
+     */
+    public static AudioMetadata parse(byte[] bytes) throws IOException {
+        return parse(AudioSource.of(bytes));
+    }
+
+    /**
+     * Lire les métadonnées d'un fichier audio sur disque (lecture partielle)
+     * 
+     * @param file Chemin du fichier
+     * @return Les métadonnées
+     * @throws IOException Format non reconnu ou fichier corrompu
+     */
+    public static AudioMetadata parse(Path file) throws IOException {
+        try (AudioSource source = AudioSource.of(file)) {
+            return parse(source);
+        }
+    }
+
+    static AudioMetadata parse(AudioSource source) throws IOException {
+        ByteBuffer head = source.read(0, 12);
+        if (WavParser.matches(head)) {
+            return WavParser.parse(source);
+        }
+        if (FlacParser.matches(head)) {
+            return FlacParser.parse(source, 0);
+        }
+        if (OggParser.matches(head)) {
+            return OggParser.parse(source);
+        }
+        if (head.remaining() >= 10 && head.get(0) == 'I' && head.get(1) == 'D' && head.get(2) == '3') {
+            // ID3v2 devant un flux FLAC ?
+            long tagEnd = 10L + (((head.get(6) & 0x7F) << 21) | ((head.get(7) & 0x7F) << 14)
+                    | ((head.get(8) & 0x7F) << 7) | (head.get(9) & 0x7F));
+            if (FlacParser.matches(source.read(tagEnd, 4))) {
+                return FlacParser.parse(source, tagEnd);
+            }
+        }
+        if (Mp3Parser.matches(head)) {
+            return Mp3Parser.parse(source);
+        }
+        throw new IOException("Format audio non reconnu");
+    }
+}
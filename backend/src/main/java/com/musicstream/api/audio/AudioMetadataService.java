@@ -0,0 +1,177 @@
+package com.musicstream.api.audio;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.service.CatalogService;
+import com.musicstream.api.jobs.JobPriority;
+import com.musicstream.api.jobs.JobScheduler;
+import com.musicstream.api.jobs.JobType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎼 AudioMetadataService - Extraction des métadonnées audio en arrière-plan
+ * 
+ * Après la création d'une chanson (ou un changement de Song.audioUrl):
+ * 1. SongService publie un SongChangedEvent et répond tout de suite au client
+ * 2. Après le commit, ce service place une tâche "audio.metadata" dans la file
+ *    "audio-metadata" (JobScheduler: bornée, journalisée, retentée en cas d'erreur
+ *    de base); priorité HIGH pour une chanson nouvelle, sans durée affichée
+ * 3. Un worker lit les en-têtes du fichier (MP3, WAV, FLAC, Ogg) et met à jour
+ *    duration, bitrate, sampleRate et, s'ils sont vides, album (résolu par
+ *    CatalogService) et genre
+ * 
+ * La mise à jour est un UPDATE ciblé: une modification faite par l'utilisateur
+ * pendant l'extraction n'est pas écrasée. Un SongChangedEvent (UPDATED, audio inchangé)
+ * est ensuite publié pour l'index de recherche et les recommandations.
+ * 
+ * Métriques:
+ * - musicstream.audio.extraction{format}         → durée de l'extraction par format
+ * - musicstream.audio.extraction.failures{reason} → échecs (unsupported, rejected, error)
+ * - musicstream.jobs.*{queue=audio-metadata}     → file d'attente (voir JobScheduler)
+ */
+@Service
+@Slf4j
+public class AudioMetadataService {
+
+    static final JobType<Long> EXTRACT = JobType.ofId("audio.metadata", "audio-metadata");
+
+    private final SongRepository songRepository;
+    private final CatalogService catalogService;
+    private final MediaStorage mediaStorage;
+    private final JobScheduler jobScheduler;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AudioMetadataService(SongRepository songRepository,
+                                CatalogService catalogService,
+                                MediaStorage mediaStorage,
+                                JobScheduler jobScheduler,
+                                MeterRegistry meterRegistry,
+                                ApplicationEventPublisher eventPublisher) {
+        this.songRepository = songRepository;
+        this.catalogService = catalogService;
+        this.mediaStorage = mediaStorage;
+        this.jobScheduler = jobScheduler;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        jobScheduler.register(EXTRACT, this::extract);
+    }
+
+    /**
+     * Planifier l'extraction quand l'audio d'une chanson a changé (sur le nœud de l'écriture)
+     * 
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (!event.remote() && event.type() != SongChangedEvent.Type.DELETED && event.audioChanged()) {
+            submit(event.songId(),
+                    event.type() == SongChangedEvent.Type.CREATED ? JobPriority.HIGH : JobPriority.NORMAL);
+        }
+    }
+
+    /**
+     * Placer une extraction dans la file (sans bloquer l'appelant)
+     * 
+     * @param songId   L'ID de la chanson
+     * @param priority Priorité dans la file
+     * @return false si la file est pleine
+     */
+    public boolean submit(Long songId, JobPriority priority) {
+        if (jobScheduler.submit(EXTRACT, songId, priority)) {
+            return true;
+        }
+        log.warn("File d'extraction pleine, métadonnées ignorées pour la chanson {}", songId);
+        failure("rejected");
+        return false;
+    }
+
+    /**
+     * Extraire puis enregistrer les métadonnées d'une chanson (exécuté par un worker)
+     * 
+     * @param songId L'ID de la chanson
+     */
+    void extract(Long songId) {
+        Song song = songRepository.findById(songId).orElse(null);
+        String audioUrl = song == null ? null : song.getAudioUrl();
+        if (audioUrl == null || audioUrl.isBlank()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        AudioMetadata metadata;
+        try {
+            metadata = parse(audioUrl);
+            if (metadata == null) {
+                failure("unsupported");
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Extraction des métadonnées impossible pour la chanson {}: {}", songId, e.getMessage());
+            failure("error");
+            return;
+        }
+        Timer.builder("musicstream.audio.extraction")
+                .description("Durée d'extraction des métadonnées audio")
+                .tag("format", metadata.format())
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        if (metadata.album() != null && !metadata.album().isBlank() && song.getArtistRef() != null) {
+            songRepository.fillMissingAlbum(songId, catalogService.album(song.getArtistRef(), metadata.album()));
+        }
+        songRepository.applyAudioMetadata(songId, metadata.roundedDuration(), metadata.bitrateKbps(),
+                metadata.sampleRate(), metadata.genre(), LocalDateTime.now());
+        eventPublisher.publishEvent(new SongChangedEvent(songId, SongChangedEvent.Type.UPDATED, false));
+        log.info("Métadonnées audio de la chanson {}: {} {}s {}kbps {}Hz", songId,
+                metadata.format(), metadata.roundedDuration(), metadata.bitrateKbps(), metadata.sampleRate());
+    }
+
+    /**
+     * Lire les métadonnées depuis Song.audioUrl
+     * 
+     * @param audioUrl data: URI (base64) ou chemin relatif au répertoire média
+     * @return Les métadonnées, ou null si la source n'est pas lisible localement (URL distante)
+     * @throws IOException Format non reconnu ou fichier corrompu
+     */
+    AudioMetadata parse(String audioUrl) throws IOException {
+        if (audioUrl.startsWith("data:")) {
+            int comma = audioUrl.indexOf(',');
+            if (comma < 0) {
+                throw new IOException("Data URI invalide");
+            }
+            return AudioMetadataParser.parse(Base64.getMimeDecoder().decode(audioUrl.substring(comma + 1)));
+        }
+        if (audioUrl.contains("://")) {
+            return null;
+        }
+        Path file = mediaStorage.resolveInside(audioUrl);
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new IOException("Fichier audio introuvable: " + audioUrl);
+        }
+        return AudioMetadataParser.parse(file);
+    }
+
+    private void failure(String reason) {
+        Counter.builder("musicstream.audio.extraction.failures")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
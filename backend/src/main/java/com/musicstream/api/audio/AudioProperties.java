@@ -0,0 +1,34 @@
+package com.musicstream.api.audio;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ AudioProperties - Traitements des fichiers audio
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.audio")
+@Data
+public class AudioProperties {
+
+    /**
+     * Taille maximale d'un fichier audio uploadé (octets)
+     */
+    private long maxUploadBytes = 200L * 1024 * 1024;
+
+    /**
+     * Durée cible d'un segment HLS (secondes)
+     */
+    private double hlsSegmentSeconds = 6;
+
+    /**
+     * Threads de découpage HLS
+     */
+    private int hlsThreads = 2;
+
+    /**
+     * Découpages en attente au maximum
+     */
+    private int hlsQueueCapacity = 256;
+}
@@ -0,0 +1,84 @@
+package com.musicstream.api.audio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 📼 AudioSource - Accès aléatoire en lecture à un fichier audio
+ * 
+ * Les parseurs ne lisent que les en-têtes (début) et parfois la fin du fichier
+ * (tag ID3v1, dernière page Ogg): jamais le fichier entier.
+ */
+interface AudioSource extends Closeable {
+
+    /**
+     * Taille totale en octets
+     */
+    long size();
+
+    /**
+     * Lire jusqu'à length octets à partir de position
+     * 
+     * @param position Position dans le fichier
+     * @param length   Nombre d'octets voulus
+     * @return Buffer prêt à lire (plus court que length en fin de fichier)
+     * @throws IOException Erreur de lecture
+     */
+    ByteBuffer read(long position, int length) throws IOException;
+
+    static AudioSource of(byte[] bytes) {
+        return new AudioSource() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public ByteBuffer read(long position, int length) {
+                if (position >= bytes.length) {
+                    return ByteBuffer.allocate(0);
+                }
+                int start = (int) position;
+                return ByteBuffer.wrap(bytes, start, Math.min(length, bytes.length - start)).slice();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    static AudioSource of(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new AudioSource() {
+            @Override
+            public long size() {
+                try {
+                    return channel.size();
+                } catch (IOException e) {
+                    return 0;
+                }
+            }
+
+            @Override
+            public ByteBuffer read(long position, int length) throws IOException {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0, Math.min(length, size() - position)));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                return buffer.flip();
+            }
+
+            @Override
+            public void close() throws IOException {
+                channel.close();
+            }
+        };
+    }
+}
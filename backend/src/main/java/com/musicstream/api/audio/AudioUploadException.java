@@ -0,0 +1,44 @@
+package com.musicstream.api.audio;
+
+/**
+ * ⚠️ AudioUploadException - Upload refusé (traduit en code HTTP par AudioUploadController)
+ */
+public class AudioUploadException extends RuntimeException {
+
+    /**
+     * Cause du refus
+     */
+    public enum Reason {
+        SONG_NOT_FOUND,
+        EMPTY,
+        TOO_LARGE,
+        BAD_RANGE,
+        LENGTH_MISMATCH,
+        OFFSET_MISMATCH,
+        UPLOAD_IN_PROGRESS
+    }
+
+    private final Reason reason;
+    private final long currentOffset;
+
+    public AudioUploadException(Reason reason, String message) {
+        this(reason, message, 0);
+    }
+
+    public AudioUploadException(Reason reason, String message, long currentOffset) {
+        super(message);
+        this.reason = reason;
+        this.currentOffset = currentOffset;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * Octets déjà reçus (utile au client pour reprendre un upload)
+     */
+    public long getCurrentOffset() {
+        return currentOffset;
+    }
+}
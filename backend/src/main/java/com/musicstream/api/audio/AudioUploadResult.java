@@ -0,0 +1,19 @@
+package com.musicstream.api.audio;
+
+/**
+ * 📦 AudioUploadResult - État d'un upload après réception d'un corps ou d'un morceau
+ * 
+ * @param songId   L'ID de la chanson
+ * @param received Octets reçus au total
+ * @param total    Taille totale annoncée (null si inconnue)
+ * @param complete true quand le fichier est complet et enregistré
+ * @param sha256   Empreinte SHA-256 du fichier (seulement si complete)
+ * @param audioUrl Nouveau Song.audioUrl (seulement si complete)
+ */
+public record AudioUploadResult(Long songId,
+                                long received,
+                                Long total,
+                                boolean complete,
+                                String sha256,
+                                String audioUrl) {
+}
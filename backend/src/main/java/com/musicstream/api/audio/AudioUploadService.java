@@ -0,0 +1,339 @@
+package com.musicstream.api.audio;
+
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongFunction;
+
+/**
+ * ⬆️ AudioUploadService - Upload de fichiers audio en streaming
+ * 
+ * Le corps de la requête est copié par blocs de 64 Ko d'un canal NIO vers un FileChannel:
+ * la mémoire utilisée par upload est constante (un buffer + l'état SHA-256),
+ * quelle que soit la taille du fichier. Taille et SHA-256 sont calculés au passage.
+ * 
+ * Deux modes:
+ * - Upload complet: un seul corps → media/songs/{id}/audio.{ext}
+ * - Upload reprenable: morceaux avec Content-Range, ajoutés à media/songs/{id}/audio.part.
+ *   Après une coupure, le client demande l'offset reçu (HEAD) et reprend à partir de là.
+ * 
+ * Quand le fichier est complet: Song.audioUrl pointe vers le fichier local, puis un
+ * SongChangedEvent déclenche l'extraction des métadonnées (AudioMetadataService).
+ */
+@Service
+@Slf4j
+public class AudioUploadService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_FILE = "audio.part";
+
+    private final SongRepository songRepository;
+    private final MediaStorage mediaStorage;
+    private final AudioProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Chansons dont un upload est en train d'écrire (un seul écrivain à la fois)
+     */
+    private final ConcurrentMap<Long, Boolean> writing = new ConcurrentHashMap<>();
+
+    /**
+     * État SHA-256 des uploads reprenables en cours (reconstruit depuis le disque après un redémarrage)
+     */
+    private final ConcurrentMap<Long, ResumableState> resumable = new ConcurrentHashMap<>();
+
+    public AudioUploadService(SongRepository songRepository,
+                              MediaStorage mediaStorage,
+                              AudioProperties properties,
+                              ApplicationEventPublisher eventPublisher) {
+        this.songRepository = songRepository;
+        this.mediaStorage = mediaStorage;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Upload complet en un seul corps
+     * 
+     * @param songId        L'ID de la chanson
+     * @param body          Flux du corps de la requête (ou de la partie multipart)
+     * @param contentType   Type MIME annoncé (sert à choisir l'extension)
+     * @param declaredBytes Content-Length annoncé (-1 si inconnu)
+     * @return Le résultat (complete = true)
+     */
+    public AudioUploadResult upload(Long songId, InputStream body, String contentType, long declaredBytes) {
+        requireSong(songId);
+        if (declaredBytes > properties.getMaxUploadBytes()) {
+            throw tooLarge(declaredBytes);
+        }
+        lock(songId);
+        Path temp = null;
+        try {
+            Path directory = mediaStorage.songDirectory(songId);
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, ".upload-", ".tmp");
+            MessageDigest digest = sha256();
+            long size;
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                size = copy(body, out, digest, properties.getMaxUploadBytes(), AudioUploadService::tooLarge);
+            }
+            if (size == 0) {
+                throw new AudioUploadException(AudioUploadException.Reason.EMPTY, "Fichier audio vide");
+            }
+            return complete(songId, temp, size, HexFormat.of().formatHex(digest.digest()), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteQuietly(temp);
+            writing.remove(songId);
+        }
+    }
+
+    /**
+     * Ajouter un morceau à un upload reprenable
+     * 
+     * @param songId      L'ID de la chanson
+     * @param body        Flux du morceau
+     * @param contentType Type MIME annoncé
+     * @param range       Position du morceau dans le fichier
+     * @return Le résultat (complete = true après le dernier morceau)
+     */
+    public AudioUploadResult appendChunk(Long songId, InputStream body, String contentType, ContentRange range) {
+        requireSong(songId);
+        if (range.total() > properties.getMaxUploadBytes()) {
+            throw tooLarge(range.total());
+        }
+        lock(songId);
+        try {
+            Path part = mediaStorage.songDirectory(songId).resolve(PART_FILE);
+            Files.createDirectories(part.getParent());
+            long offset = Files.exists(part) ? Files.size(part) : 0;
+            if (range.start() != offset) {
+                throw new AudioUploadException(AudioUploadException.Reason.OFFSET_MISMATCH,
+                        "Le morceau commence à " + range.start() + " mais " + offset + " octets sont déjà reçus", offset);
+            }
+
+            ResumableState state = resumable.get(songId);
+            if (state == null || state.offset != offset || state.total != range.total()) {
+                state = new ResumableState(range.total(), rehash(part, offset), offset);
+                resumable.put(songId, state);
+            }
+
+            long written;
+            try (FileChannel out = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                out.position(offset);
+                try {
+                    written = copy(body, out, state.digest, range.length(), bytes -> new AudioUploadException(
+                            AudioUploadException.Reason.LENGTH_MISMATCH,
+                            "Morceau plus long que sa plage Content-Range (" + range.length() + " octets)", offset));
+                } catch (AudioUploadException e) {
+                    out.truncate(offset);
+                    state.digest = rehash(part, offset);
+                    throw e;
+                }
+            }
+            if (written != range.length()) {
+                // Morceau interrompu: on garde ce qui est arrivé, le client reprendra à state.offset
+                log.info("Morceau incomplet pour la chanson {}: {} / {} octets", songId, written, range.length());
+            }
+            state.offset = offset + written;
+
+            if (state.offset < range.total()) {
+                return new AudioUploadResult(songId, state.offset, range.total(), false, null, null);
+            }
+            resumable.remove(songId);
+            return complete(songId, part, state.offset, HexFormat.of().formatHex(state.digest.digest()), contentType);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writing.remove(songId);
+        }
+    }
+
+    /**
+     * Octets déjà reçus pour l'upload reprenable en cours
+     * 
+     * @param songId L'ID de la chanson
+     * @return Nombre d'octets (0 si aucun upload en cours)
+     */
+    public long currentOffset(Long songId) {
+        Path part = mediaStorage.songDirectory(songId).resolve(PART_FILE);
+        try {
+            return Files.exists(part) ? Files.size(part) : 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copier un flux vers un fichier par blocs, en calculant le SHA-256 au passage
+     * 
+     * @param overflow Erreur levée si le flux dépasse maxBytes (reçoit le nombre d'octets lus)
+     * @return Nombre d'octets copiés
+     */
+    private static long copy(InputStream body, FileChannel out, MessageDigest digest, long maxBytes,
+                             LongFunction<AudioUploadException> overflow) throws IOException {
+        ReadableByteChannel in = Channels.newChannel(body);
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long total = 0;
+        while (in.read(buffer) >= 0) {
+            buffer.flip();
+            total += buffer.remaining();
+            if (total > maxBytes) {
+                throw overflow.apply(total);
+            }
+            digest.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            buffer.clear();
+        }
+        return total;
+    }
+
+    private AudioUploadResult complete(Long songId, Path received, long size, String sha256, String contentType)
+            throws IOException {
+        String fileName = "audio." + extensionOf(contentType);
+        Path directory = mediaStorage.songDirectory(songId);
+        Path target = directory.resolve(fileName);
+        deleteOtherAudioFiles(directory, fileName);
+        Files.move(received, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        String audioUrl = mediaStorage.root().relativize(target).toString().replace('\\', '/');
+        songRepository.updateAudioFile(songId, audioUrl, size, sha256, LocalDateTime.now());
+        eventPublisher.publishEvent(new SongChangedEvent(songId, SongChangedEvent.Type.UPDATED, true));
+
+        log.info("Audio reçu pour la chanson {}: {} octets, sha256={}", songId, size, sha256);
+        return new AudioUploadResult(songId, size, size, true, sha256, audioUrl);
+    }
+
+    /**
+     * Recalculer le SHA-256 des offset premiers octets d'un fichier partiel (après redémarrage)
+     */
+    private static MessageDigest rehash(Path part, long offset) throws IOException {
+        MessageDigest digest = sha256();
+        if (offset == 0) {
+            return digest;
+        }
+        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            long position = 0;
+            while (position < offset) {
+                buffer.clear().limit((int) Math.min(BUFFER_SIZE, offset - position));
+                int read = in.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+                digest.update(buffer.flip());
+            }
+        }
+        return digest;
+    }
+
+    private void requireSong(Long songId) {
+        if (!songRepository.existsById(songId)) {
+            throw new AudioUploadException(AudioUploadException.Reason.SONG_NOT_FOUND, "Chanson introuvable: " + songId);
+        }
+    }
+
+    private void lock(Long songId) {
+        if (writing.putIfAbsent(songId, Boolean.TRUE) != null) {
+            throw new AudioUploadException(AudioUploadException.Reason.UPLOAD_IN_PROGRESS,
+                    "Un upload est déjà en cours pour la chanson " + songId, currentOffset(songId));
+        }
+    }
+
+    private static AudioUploadException tooLarge(long bytes) {
+        return new AudioUploadException(AudioUploadException.Reason.TOO_LARGE, "Fichier trop volumineux: " + bytes + " octets");
+    }
+
+    private static void deleteOtherAudioFiles(Path directory, String kept) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "audio.*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.equals(kept) && !name.equals(PART_FILE)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Suppression impossible: {}", path);
+        }
+    }
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "audio/mpeg", "mp3",
+            "audio/mp3", "mp3",
+            "audio/wav", "wav",
+            "audio/x-wav", "wav",
+            "audio/wave", "wav",
+            "audio/flac", "flac",
+            "audio/x-flac", "flac",
+            "audio/ogg", "ogg",
+            "audio/opus", "opus");
+
+    static String extensionOf(String contentType) {
+        if (contentType == null) {
+            return "bin";
+        }
+        int semicolon = contentType.indexOf(';');
+        String mimeType = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase(Locale.ROOT);
+        return EXTENSIONS.getOrDefault(mimeType, "bin");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Upload reprenable en cours: taille annoncée, SHA-256 partiel et octets reçus
+     */
+    private static final class ResumableState {
+        final long total;
+        MessageDigest digest;
+        long offset;
+
+        ResumableState(long total, MessageDigest digest, long offset) {
+            this.total = total;
+            this.digest = digest;
+            this.offset = offset;
+        }
+    }
+}
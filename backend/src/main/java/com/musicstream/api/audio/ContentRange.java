@@ -0,0 +1,45 @@
+package com.musicstream.api.audio;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 📏 ContentRange - En-tête "Content-Range: bytes 0-1048575/5242880" d'un morceau d'upload
+ * 
+ * @param start Premier octet du morceau (inclus)
+ * @param end   Dernier octet du morceau (inclus)
+ * @param total Taille totale du fichier
+ */
+public record ContentRange(long start, long end, long total) {
+
+    private static final Pattern PATTERN = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    /**
+     * Lire l'en-tête
+     * 
+     * @param header Valeur de Content-Range
+     * @return La plage
+     * @throws AudioUploadException si l'en-tête est invalide
+     */
+    public static ContentRange parse(String header) {
+        Matcher matcher = PATTERN.matcher(header.trim());
+        if (!matcher.matches()) {
+            throw new AudioUploadException(AudioUploadException.Reason.BAD_RANGE, "Content-Range invalide: " + header);
+        }
+        long start = Long.parseLong(matcher.group(1));
+        long end = Long.parseLong(matcher.group(2));
+        long total = Long.parseLong(matcher.group(3));
+        if (end < start || end >= total) {
+            throw new AudioUploadException(AudioUploadException.Reason.BAD_RANGE, "Content-Range incohérent: " + header);
+        }
+        return new ContentRange(start, end, total);
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public boolean isLast() {
+        return end + 1 == total;
+    }
+}
@@ -0,0 +1,66 @@
+package com.musicstream.api.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 🎵 FlacParser - Blocs de métadonnées FLAC: STREAMINFO et VORBIS_COMMENT
+ * 
+ * Durée = nombre total d'échantillons (STREAMINFO) / fréquence.
+ * Un éventuel tag ID3v2 devant "fLaC" est ignoré.
+ */
+final class FlacParser {
+
+    private static final int STREAMINFO = 0;
+    private static final int VORBIS_COMMENT = 4;
+
+    private FlacParser() {
+    }
+
+    static boolean matches(ByteBuffer head) {
+        return head.remaining() >= 4
+                && head.get(0) == 'f' && head.get(1) == 'L' && head.get(2) == 'a' && head.get(3) == 'C';
+    }
+
+    static AudioMetadata parse(AudioSource source, long start) throws IOException {
+        Tags tags = new Tags();
+        Integer sampleRate = null;
+        Integer channels = null;
+        long totalSamples = 0;
+
+        long position = start + 4;
+        boolean last = false;
+        while (!last && position + 4 <= source.size()) {
+            ByteBuffer header = source.read(position, 4);
+            int flags = header.get(0) & 0xFF;
+            last = (flags & 0x80) != 0;
+            int type = flags & 0x7F;
+            int length = ((header.get(1) & 0xFF) << 16) | ((header.get(2) & 0xFF) << 8) | (header.get(3) & 0xFF);
+            long body = position + 4;
+
+            if (type == STREAMINFO) {
+                ByteBuffer info = source.read(body, 18);
+                if (info.remaining() < 18) {
+                    throw new IOException("STREAMINFO tronqué");
+                }
+                long bits = info.getLong(10);
+                sampleRate = (int) (bits >>> 44);
+                channels = (int) ((bits >>> 41) & 0x7) + 1;
+                totalSamples = bits & 0xFFFFFFFFFL;
+            } else if (type == VORBIS_COMMENT) {
+                tags.readVorbisComments(source.read(body, length));
+            }
+            position = body + length;
+        }
+
+        if (sampleRate == null || sampleRate == 0) {
+            throw new IOException("FLAC sans STREAMINFO");
+        }
+        Double duration = totalSamples > 0 ? (double) totalSamples / sampleRate : null;
+        Integer bitrate = duration != null
+                ? (int) Math.round((source.size() - position) * 8 / duration / 1000)
+                : null;
+        return new AudioMetadata("flac", duration, bitrate, sampleRate, channels,
+                tags.title, tags.artist, tags.album, tags.genre);
+    }
+}
@@ -0,0 +1,209 @@
+package com.musicstream.api.audio;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ✂️ HlsSegmenter - Découpage d'un MP3 en segments HLS "packed audio"
+ * 
+ * Les coupures tombent toujours entre deux frames MPEG: chaque segment est un
+ * flux MP3 valide que le lecteur ajoute à la suite du précédent. Le fichier n'est
+ * lu qu'une fois, par blocs, en ne décodant que les en-têtes de frame (4 octets).
+ * 
+ * Chaque segment commence par un tag ID3 PRIV "transportStreamTimestamp" (exigé
+ * par la spécification HLS pour l'audio sans conteneur MPEG-TS): il donne la
+ * position du segment dans le morceau, en ticks de 90 kHz.
+ */
+final class HlsSegmenter {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final String TIMESTAMP_OWNER = "com.apple.streaming.transportStreamTimestamp";
+
+    private HlsSegmenter() {
+    }
+
+    /**
+     * Un segment: octets [start, end) du fichier source
+     * 
+     * @param start       Position de la première frame
+     * @param end         Position après la dernière frame
+     * @param firstSample Index du premier échantillon (par canal) depuis le début du morceau
+     * @param samples     Nombre d'échantillons (par canal)
+     */
+    record Segment(long start, long end, long firstSample, long samples) {
+
+        double durationSeconds(int sampleRate) {
+            return (double) samples / sampleRate;
+        }
+    }
+
+    /**
+     * Résultat du découpage
+     * 
+     * @param sampleRate Fréquence d'échantillonnage des frames
+     * @param segments   Segments dans l'ordre de lecture
+     */
+    record Plan(int sampleRate, List<Segment> segments) {
+    }
+
+    /**
+     * Découper un MP3
+     * 
+     * @param source         Le fichier MP3
+     * @param targetSeconds  Durée visée par segment (un segment dure au moins cette durée, sauf le dernier)
+     * @return Le plan de découpage
+     * @throws UnsupportedAudioFileException Aucune frame MPEG trouvée
+     * @throws IOException                   Erreur de lecture
+     */
+    static Plan plan(AudioSource source, double targetSeconds) throws UnsupportedAudioFileException, IOException {
+        long position = 0;
+        ByteBuffer id3 = source.read(0, 10);
+        if (id3.remaining() == 10 && id3.get(0) == 'I' && id3.get(1) == 'D' && id3.get(2) == '3') {
+            int tagSize = (id3.get(6) & 0x7F) << 21 | (id3.get(7) & 0x7F) << 14 | (id3.get(8) & 0x7F) << 7 | (id3.get(9) & 0x7F);
+            position = 10L + tagSize + ((id3.get(5) & 0x10) != 0 ? 10 : 0);
+        }
+        long end = source.size();
+        ByteBuffer tail = source.read(Math.max(0, end - 128), 128);
+        if (tail.remaining() == 128 && tail.get(0) == 'T' && tail.get(1) == 'A' && tail.get(2) == 'G') {
+            end -= 128;
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        int sampleRate = 0;
+        long segmentStart = -1;
+        long segmentFirstSample = 0;
+        long segmentSamples = 0;
+        long totalSamples = 0;
+        boolean firstFrame = true;
+
+        ByteBuffer block = ByteBuffer.allocate(0);
+        long blockStart = 0;
+        while (position + 4 <= end) {
+            if (position + 8 > blockStart + block.remaining()) {
+                block = source.read(position, BLOCK_SIZE);
+                blockStart = position;
+            }
+            Mp3Parser.FrameHeader header = headerAt(block, position - blockStart, sampleRate);
+            if (header == null || position + header.frameLength() > end) {
+                position++;
+                continue;
+            }
+            // Vérifier que la frame suivante commence bien là où celle-ci finit (fausse synchro sinon)
+            long next = position + header.frameLength();
+            if (next + 4 <= end && next + 4 <= blockStart + block.remaining()
+                    && headerAt(block, next - blockStart, header.sampleRate()) == null) {
+                position++;
+                continue;
+            }
+
+            if (firstFrame) {
+                firstFrame = false;
+                if (isInfoFrame(source.read(position, 4 + 32 + 4), header)) {
+                    // Frame Xing/Info/VBRI: métadonnées du fichier entier, fausses pour un segment
+                    position = next;
+                    continue;
+                }
+            }
+            sampleRate = header.sampleRate();
+            if (segmentStart < 0) {
+                segmentStart = position;
+                segmentFirstSample = totalSamples;
+            }
+            segmentSamples += header.samplesPerFrame();
+            totalSamples += header.samplesPerFrame();
+            position = next;
+
+            if (segmentSamples >= targetSeconds * sampleRate) {
+                segments.add(new Segment(segmentStart, position, segmentFirstSample, segmentSamples));
+                segmentStart = -1;
+                segmentSamples = 0;
+            }
+        }
+        if (segmentStart >= 0) {
+            segments.add(new Segment(segmentStart, position, segmentFirstSample, segmentSamples));
+        }
+        if (segments.isEmpty()) {
+            throw new UnsupportedAudioFileException("Aucune frame MPEG trouvée");
+        }
+        return new Plan(sampleRate, segments);
+    }
+
+    /**
+     * Playlist HLS (VOD) des segments
+     * 
+     * @param plan       Le découpage
+     * @param uriPrefix  Préfixe des URI de segment (relatif à la playlist)
+     * @return Contenu de index.m3u8
+     */
+    static String playlist(Plan plan, String uriPrefix) {
+        double longest = plan.segments().stream().mapToDouble(s -> s.durationSeconds(plan.sampleRate())).max().orElse(0);
+        StringBuilder m3u8 = new StringBuilder()
+                .append("#EXTM3U\n")
+                .append("#EXT-X-VERSION:3\n")
+                .append("#EXT-X-PLAYLIST-TYPE:VOD\n")
+                .append("#EXT-X-TARGETDURATION:").append((long) Math.ceil(longest)).append('\n')
+                .append("#EXT-X-MEDIA-SEQUENCE:0\n");
+        for (int i = 0; i < plan.segments().size(); i++) {
+            double duration = plan.segments().get(i).durationSeconds(plan.sampleRate());
+            m3u8.append(String.format(Locale.ROOT, "#EXTINF:%.3f,", duration)).append('\n')
+                    .append(uriPrefix).append(i).append(".mp3\n");
+        }
+        return m3u8.append("#EXT-X-ENDLIST\n").toString();
+    }
+
+    /**
+     * Tag ID3v2.4 avec la frame PRIV de timestamp HLS
+     * 
+     * @param segment    Le segment
+     * @param sampleRate Fréquence d'échantillonnage
+     * @return Octets à écrire avant les frames du segment
+     */
+    static byte[] timestampTag(Segment segment, int sampleRate) {
+        byte[] owner = (TIMESTAMP_OWNER + '\0').getBytes(StandardCharsets.ISO_8859_1);
+        int frameSize = owner.length + 8;
+        ByteBuffer tag = ByteBuffer.allocate(10 + 10 + frameSize);
+        tag.put((byte) 'I').put((byte) 'D').put((byte) '3').put((byte) 4).put((byte) 0).put((byte) 0);
+        tag.put(syncsafe(10 + frameSize));
+        tag.put((byte) 'P').put((byte) 'R').put((byte) 'I').put((byte) 'V');
+        tag.put(syncsafe(frameSize)).putShort((short) 0);
+        tag.put(owner);
+        // 33 bits utiles, horloge MPEG-TS à 90 kHz
+        tag.putLong((segment.firstSample() * 90_000L / sampleRate) & 0x1FFFFFFFFL);
+        return tag.array();
+    }
+
+    private static Mp3Parser.FrameHeader headerAt(ByteBuffer block, long offset, int expectedSampleRate) {
+        if (offset + 4 > block.remaining() || (block.get((int) offset) & 0xFF) != 0xFF) {
+            return null;
+        }
+        Mp3Parser.FrameHeader header = Mp3Parser.FrameHeader.parse(block.getInt((int) offset));
+        if (header == null || header.frameLength() <= 4
+                || (expectedSampleRate != 0 && header.sampleRate() != expectedSampleRate)) {
+            return null;
+        }
+        return header;
+    }
+
+    private static boolean isInfoFrame(ByteBuffer frame, Mp3Parser.FrameHeader header) {
+        String xing = tagAt(frame, 4 + header.sideInfoLength());
+        return "Xing".equals(xing) || "Info".equals(xing) || "VBRI".equals(tagAt(frame, 4 + 32));
+    }
+
+    private static String tagAt(ByteBuffer frame, int offset) {
+        if (frame.remaining() < offset + 4) {
+            return null;
+        }
+        byte[] tag = new byte[4];
+        frame.get(offset, tag);
+        return new String(tag, StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] syncsafe(int value) {
+        return new byte[]{(byte) (value >> 21 & 0x7F), (byte) (value >> 14 & 0x7F), (byte) (value >> 7 & 0x7F), (byte) (value & 0x7F)};
+    }
+}
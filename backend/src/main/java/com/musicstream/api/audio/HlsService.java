@@ -0,0 +1,446 @@
+package com.musicstream.api.audio;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 🎞️ HlsService - Segments HLS des chansons, découpés en arrière-plan
+ * 
+ * Étape du pipeline après l'upload (SongChangedEvent avec audioChanged):
+ * 1. Un worker découpe le MP3 en segments de ~6 s sur des frontières de frame
+ * 2. Les segments et la playlist sont écrits dans un répertoire temporaire,
+ *    renommé atomiquement en media/songs/{id}/hls/{version}/ puis l'ancienne version est supprimée
+ * 
+ * {version} = début du SHA-256 de l'audio: les URL de segment changent avec le contenu,
+ * les segments peuvent donc être mis en cache un an (immutable).
+ * 
+ * media/songs/{id}/hls/{version}/
+ *   ├── index.m3u8
+ *   ├── 0.mp3
+ *   ├── 1.mp3
+ *   └── ...
+ * 
+ * Seul le MP3 est découpé: HLS accepte le MP3 "packed audio" sans réencodage,
+ * pas le WAV ni le FLAC (le lecteur garde alors Song.audioUrl).
+ * 
+ * Métriques:
+ * - musicstream.hls.segmenting          → durée du découpage
+ * - musicstream.hls.queue               → découpages en attente
+ * - musicstream.hls.failures{reason}    → échecs (unsupported, rejected, error)
+ */
+@Service
+@Slf4j
+public class HlsService {
+
+    public static final String PLAYLIST = "index.m3u8";
+    private static final int VERSION_BYTES = 6;
+    private static final int DIGEST_BLOCK = 64 * 1024;
+
+    /**
+     * Résultat d'une demande de playlist
+     */
+    public enum Status {
+        READY,
+        PENDING,
+        BUSY,
+        NO_AUDIO,
+        UNSUPPORTED
+    }
+
+    /**
+     * @param status   État
+     * @param version  Version courante des segments (si READY)
+     * @param playlist Fichier index.m3u8 (si READY)
+     */
+    public record Lookup(Status status, String version, Path playlist) {
+    }
+
+    private final SongRepository songRepository;
+    private final MediaStorage mediaStorage;
+    private final AudioProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Version courante des segments de chaque chanson (chargée depuis le disque au premier accès)
+     */
+    private final ConcurrentMap<Long, String> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Version de l'audio: incrémentée à chaque changement, un découpage de l'ancien audio n'est pas publié
+     */
+    private final ConcurrentMap<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Découpages en file ou en cours (clé: chanson, valeur: epoch)
+     */
+    private final ConcurrentMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Chansons dont l'audio n'est pas découpable: pas un MP3 ou MP3 sans frame MPEG
+     * (pas de nouvel essai à chaque requête, jusqu'au prochain changement d'audio)
+     */
+    private final Set<Long> unsupported = ConcurrentHashMap.newKeySet();
+
+    public HlsService(SongRepository songRepository,
+                      MediaStorage mediaStorage,
+                      AudioProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.songRepository = songRepository;
+        this.mediaStorage = mediaStorage;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(properties.getHlsThreads(), properties.getHlsThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getHlsQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hls-segmenter-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("musicstream.hls.queue", workers, pool -> pool.getQueue().size())
+                .description("Découpages HLS en attente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Playlist d'une chanson (ou lancement du découpage s'il manque)
+     * 
+     * @param songId L'ID de la chanson
+     * @return READY avec la playlist, ou l'état du découpage
+     */
+    public Lookup lookup(Long songId) {
+        String version = currentVersion(songId);
+        if (version != null) {
+            Path playlist = hlsDirectory(songId).resolve(version).resolve(PLAYLIST);
+            if (Files.isRegularFile(playlist)) {
+                return new Lookup(Status.READY, version, playlist);
+            }
+            versions.remove(songId, version);
+        }
+        if (unsupported.contains(songId)) {
+            return new Lookup(Status.UNSUPPORTED, null, null);
+        }
+        String audioUrl = songRepository.findById(songId).map(Song::getAudioUrl).orElse(null);
+        if (audioUrl == null || audioUrl.isBlank()) {
+            return new Lookup(Status.NO_AUDIO, null, null);
+        }
+        return new Lookup(schedule(songId) ? Status.PENDING : Status.BUSY, null, null);
+    }
+
+    /**
+     * Fichier d'un segment de la version courante
+     * 
+     * @param songId  L'ID de la chanson
+     * @param version Version demandée (issue de la playlist)
+     * @param index   Numéro du segment
+     * @return Le fichier, ou null s'il n'existe pas (ou plus: version remplacée)
+     */
+    public Path segment(Long songId, String version, int index) {
+        if (!version.equals(currentVersion(songId))) {
+            return null;
+        }
+        Path file = hlsDirectory(songId).resolve(version).resolve(index + ".mp3");
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * Découper l'audio après un upload, supprimer les segments avec la chanson (sur le nœud de l'écriture)
+     * 
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        if (event.type() == SongChangedEvent.Type.DELETED || event.audioChanged()) {
+            invalidate(event.songId());
+        }
+        if (event.type() != SongChangedEvent.Type.DELETED && event.audioChanged()) {
+            schedule(event.songId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Placer un découpage dans la file (sauf s'il y est déjà pour le même audio)
+     * 
+     * @return false si la file est pleine
+     */
+    private boolean schedule(Long songId) {
+        long epoch = epochs.getOrDefault(songId, 0L);
+        Long previous = pending.put(songId, epoch);
+        if (previous != null && previous == epoch) {
+            return true;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    split(songId, epoch);
+                } finally {
+                    pending.remove(songId, epoch);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(songId, epoch);
+            log.warn("File HLS pleine, découpage ignoré pour la chanson {}", songId);
+            failure("rejected");
+            return false;
+        }
+    }
+
+    /**
+     * Découper l'audio d'une chanson et publier la nouvelle version (exécuté par un worker)
+     * 
+     * @param songId L'ID de la chanson
+     * @param epoch  Version de l'audio au moment de la soumission
+     */
+    void split(Long songId, long epoch) {
+        String audioUrl = songRepository.findById(songId).map(Song::getAudioUrl).orElse(null);
+        if (audioUrl == null || audioUrl.isBlank()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Path staging = null;
+        try (AudioSource source = open(audioUrl)) {
+            if (source == null || !Mp3Parser.matches(source.read(0, 10))) {
+                markUnsupported(songId, epoch);
+                failure("unsupported");
+                return;
+            }
+            String version = versionOf(source);
+            HlsSegmenter.Plan plan = HlsSegmenter.plan(source, properties.getHlsSegmentSeconds());
+
+            Path directory = hlsDirectory(songId);
+            Files.createDirectories(directory);
+            staging = Files.createTempDirectory(directory, ".tmp-");
+            List<HlsSegmenter.Segment> segments = plan.segments();
+            for (int i = 0; i < segments.size(); i++) {
+                writeSegment(source, segments.get(i), plan.sampleRate(), staging.resolve(i + ".mp3"));
+            }
+            Files.writeString(staging.resolve(PLAYLIST), HlsSegmenter.playlist(plan, version + "/"), StandardCharsets.UTF_8);
+
+            publish(songId, epoch, version, staging);
+            Timer.builder("musicstream.hls.segmenting")
+                    .description("Durée du découpage HLS")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Chanson {} découpée en {} segments HLS (version {})", songId, segments.size(), version);
+        } catch (UnsupportedAudioFileException e) {
+            markUnsupported(songId, epoch);
+            failure("unsupported");
+        } catch (IOException | RuntimeException e) {
+            // Erreur de lecture, fichier absent ou en cours d'écriture: nouvel essai à la prochaine requête
+            log.warn("Découpage HLS impossible pour la chanson {}: {}", songId, e.getMessage());
+            failure("error");
+        } finally {
+            if (staging != null) {
+                deleteRecursively(staging);
+            }
+        }
+    }
+
+    /**
+     * Rendre visible la version découpée (si l'audio n'a pas changé entre-temps)
+     */
+    private void publish(Long songId, long epoch, String version, Path staging) {
+        epochs.compute(songId, (id, current) -> {
+            if ((current == null ? 0L : current) != epoch) {
+                return current;
+            }
+            Path directory = hlsDirectory(songId);
+            Path target = directory.resolve(version);
+            try {
+                if (!Files.exists(target)) {
+                    Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                versions.put(songId, version);
+                try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                    for (Path child : children) {
+                        if (!child.equals(target) && !child.getFileName().toString().startsWith(".")) {
+                            deleteRecursively(child);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return current;
+        });
+    }
+
+    private void writeSegment(AudioSource source, HlsSegmenter.Segment segment, int sampleRate, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(HlsSegmenter.timestampTag(segment, sampleRate));
+            long position = segment.start();
+            while (position < segment.end()) {
+                ByteBuffer block = source.read(position, (int) Math.min(DIGEST_BLOCK, segment.end() - position));
+                if (!block.hasRemaining()) {
+                    throw new IOException("Fichier audio tronqué");
+                }
+                position += block.remaining();
+                out.write(block.array(), block.arrayOffset() + block.position(), block.remaining());
+            }
+        }
+    }
+
+    /**
+     * Supprimer les segments d'une chanson
+     */
+    private void invalidate(Long songId) {
+        epochs.compute(songId, (id, current) -> {
+            versions.remove(songId);
+            unsupported.remove(songId);
+            deleteRecursively(hlsDirectory(songId));
+            return (current == null ? 0L : current) + 1;
+        });
+    }
+
+    private void markUnsupported(Long songId, long epoch) {
+        epochs.compute(songId, (id, current) -> {
+            if ((current == null ? 0L : current) == epoch) {
+                unsupported.add(songId);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Version courante: en mémoire, sinon le répertoire de version présent sur disque
+     */
+    private String currentVersion(Long songId) {
+        return versions.computeIfAbsent(songId, id -> {
+            Path directory = hlsDirectory(id);
+            if (!Files.isDirectory(directory)) {
+                return null;
+            }
+            try (Stream<Path> children = Files.list(directory)) {
+                return children.map(child -> child.getFileName().toString())
+                        .filter(name -> !name.startsWith("."))
+                        .findFirst()
+                        .orElse(null);
+            } catch (IOException e) {
+                return null;
+            }
+        });
+    }
+
+    private Path hlsDirectory(Long songId) {
+        return mediaStorage.songDirectory(songId).resolve("hls");
+    }
+
+    /**
+     * Ouvrir l'audio de Song.audioUrl
+     * 
+     * @return La source, ou null si elle n'est pas locale (URL distante)
+     */
+    private AudioSource open(String audioUrl) throws IOException {
+        if (audioUrl.startsWith("data:")) {
+            int comma = audioUrl.indexOf(',');
+            if (comma < 0) {
+                throw new IOException("Data URI invalide");
+            }
+            return AudioSource.of(Base64.getMimeDecoder().decode(audioUrl.substring(comma + 1)));
+        }
+        if (audioUrl.contains("://")) {
+            return null;
+        }
+        Path file = mediaStorage.resolveInside(audioUrl);
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new IOException("Fichier audio introuvable: " + audioUrl);
+        }
+        return AudioSource.of(file);
+    }
+
+    private static String versionOf(AudioSource source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        long size = source.size();
+        for (long position = 0; position < size; ) {
+            ByteBuffer block = source.read(position, DIGEST_BLOCK);
+            if (!block.hasRemaining()) {
+                break;
+            }
+            position += block.remaining();
+            digest.update(block);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, VERSION_BYTES);
+    }
+
+    private static void deleteRecursively(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    log.warn("Suppression impossible: {}", file);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Suppression impossible: {}", path);
+        }
+    }
+
+    private void failure(String reason) {
+        Counter.builder("musicstream.hls.failures")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,284 @@
+package com.musicstream.api.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 🎵 Mp3Parser - MPEG audio (Layer I/II/III) + tags ID3v2 / ID3v1
+ * 
+ * Durée, par ordre de préférence:
+ * 1. En-tête Xing/Info (LAME) ou VBRI (Fraunhofer) dans la 1re frame: nombre exact de frames
+ * 2. Sinon (CBR): taille des données audio × 8 / débit de la 1re frame
+ */
+final class Mp3Parser {
+
+    private static final int[][] BITRATES_KBPS = {
+            // MPEG-1 Layer I, II, III
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            // MPEG-2 / 2.5 Layer I, II & III
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+    private static final int[] SAMPLE_RATES_MPEG1 = {44100, 48000, 32000};
+    private static final int MAX_SYNC_SCAN = 64 * 1024;
+
+    private Mp3Parser() {
+    }
+
+    /**
+     * Le fichier commence-t-il par un tag ID3v2 ou une frame MPEG ?
+     */
+    static boolean matches(ByteBuffer head) {
+        if (head.remaining() >= 3 && head.get(0) == 'I' && head.get(1) == 'D' && head.get(2) == '3') {
+            return true;
+        }
+        return head.remaining() >= 4 && FrameHeader.parse(head.getInt(0)) != null;
+    }
+
+    static AudioMetadata parse(AudioSource source) throws IOException {
+        Tags tags = new Tags();
+        Integer tlenMillis = null;
+        long audioStart = 0;
+
+        ByteBuffer id3 = source.read(0, 10);
+        if (id3.remaining() == 10 && id3.get(0) == 'I' && id3.get(1) == 'D' && id3.get(2) == '3') {
+            int major = id3.get(3);
+            int flags = id3.get(5) & 0xFF;
+            int tagSize = syncsafe(id3, 6);
+            audioStart = 10L + tagSize + ((flags & 0x10) != 0 ? 10 : 0);
+            tlenMillis = readId3v2Frames(source.read(10, tagSize), major, tags);
+        }
+
+        long end = source.size();
+        ByteBuffer tail = source.read(Math.max(0, end - 128), 128);
+        if (tail.remaining() == 128 && tail.get(0) == 'T' && tail.get(1) == 'A' && tail.get(2) == 'G') {
+            end -= 128;
+            readId3v1(tail, tags);
+        }
+
+        // Chercher la première frame valide (suivie d'une 2e frame valide si possible)
+        ByteBuffer scan = source.read(audioStart, MAX_SYNC_SCAN + 4);
+        FrameHeader header = null;
+        int offset = 0;
+        for (; offset + 4 <= scan.remaining(); offset++) {
+            if ((scan.get(offset) & 0xFF) != 0xFF) {
+                continue;
+            }
+            FrameHeader candidate = FrameHeader.parse(scan.getInt(offset));
+            if (candidate == null) {
+                continue;
+            }
+            int next = offset + candidate.frameLength();
+            if (next + 4 <= scan.remaining() && FrameHeader.parse(scan.getInt(next)) == null) {
+                continue;
+            }
+            header = candidate;
+            break;
+        }
+        if (header == null) {
+            throw new IOException("Aucune frame MPEG trouvée");
+        }
+        long firstFrame = audioStart + offset;
+        long audioBytes = end - firstFrame;
+
+        Double duration = null;
+        Integer bitrate = null;
+        ByteBuffer frame = source.read(firstFrame, Math.min(header.frameLength(), 512));
+
+        int xing = 4 + header.sideInfoLength();
+        int vbri = 4 + 32;
+        if (frame.remaining() >= xing + 16 && (tagAt(frame, xing, "Xing") || tagAt(frame, xing, "Info"))) {
+            int flags = frame.getInt(xing + 4);
+            int position = xing + 8;
+            Long frames = null;
+            Long bytes = null;
+            if ((flags & 0x1) != 0) {
+                frames = Integer.toUnsignedLong(frame.getInt(position));
+                position += 4;
+            }
+            if ((flags & 0x2) != 0 && frame.remaining() >= position + 4) {
+                bytes = Integer.toUnsignedLong(frame.getInt(position));
+            }
+            if (frames != null && frames > 0) {
+                duration = (double) frames * header.samplesPerFrame() / header.sampleRate();
+                long dataBytes = bytes != null && bytes > 0 ? bytes : audioBytes;
+                bitrate = (int) Math.round(dataBytes * 8 / duration / 1000);
+            }
+        } else if (frame.remaining() >= vbri + 18 && tagAt(frame, vbri, "VBRI")) {
+            long bytes = Integer.toUnsignedLong(frame.getInt(vbri + 10));
+            long frames = Integer.toUnsignedLong(frame.getInt(vbri + 14));
+            if (frames > 0) {
+                duration = (double) frames * header.samplesPerFrame() / header.sampleRate();
+                bitrate = (int) Math.round((bytes > 0 ? bytes : audioBytes) * 8 / duration / 1000);
+            }
+        }
+
+        if (duration == null) {
+            bitrate = header.bitrateKbps();
+            duration = audioBytes * 8.0 / (header.bitrateKbps() * 1000.0);
+            if (tlenMillis != null && tlenMillis > 0) {
+                duration = tlenMillis / 1000.0;
+            }
+        }
+
+        return new AudioMetadata("mp3", duration, bitrate, header.sampleRate(), header.channels(),
+                tags.title, tags.artist, tags.album, tags.genre);
+    }
+
+    /**
+     * Lire les frames texte d'un tag ID3v2 (v2.2, v2.3, v2.4)
+     * 
+     * @return Valeur de TLEN en millisecondes si présente
+     */
+    private static Integer readId3v2Frames(ByteBuffer tag, int major, Tags tags) {
+        Integer tlen = null;
+        int idLength = major == 2 ? 3 : 4;
+        int headerLength = major == 2 ? 6 : 10;
+
+        while (tag.remaining() >= headerLength) {
+            int start = tag.position();
+            if (tag.get(start) == 0) {
+                break; // padding
+            }
+            byte[] idBytes = new byte[idLength];
+            tag.get(idBytes);
+            String id = new String(idBytes, StandardCharsets.ISO_8859_1);
+            int size;
+            if (major == 2) {
+                size = ((tag.get() & 0xFF) << 16) | ((tag.get() & 0xFF) << 8) | (tag.get() & 0xFF);
+            } else {
+                size = major == 4 ? syncsafe(tag, tag.position()) : tag.getInt(tag.position());
+                tag.position(tag.position() + 4 + 2);
+            }
+            if (size <= 0 || size > tag.remaining()) {
+                break;
+            }
+            int dataStart = tag.position();
+            if (id.charAt(0) == 'T') {
+                String text = readText(tag, dataStart, size);
+                switch (id) {
+                    case "TIT2", "TT2" -> tags.title(text);
+                    case "TPE1", "TP1" -> tags.artist(text);
+                    case "TALB", "TAL" -> tags.album(text);
+                    case "TCON", "TCO" -> tags.genre(text);
+                    case "TLEN", "TLE" -> tlen = parseIntOrNull(text);
+                    default -> {
+                    }
+                }
+            }
+            tag.position(dataStart + size);
+        }
+        return tlen;
+    }
+
+    private static String readText(ByteBuffer tag, int start, int size) {
+        int encoding = tag.get(start);
+        byte[] bytes = new byte[size - 1];
+        tag.get(start + 1, bytes);
+        Charset charset = switch (encoding) {
+            case 1 -> StandardCharsets.UTF_16;
+            case 2 -> StandardCharsets.UTF_16BE;
+            case 3 -> StandardCharsets.UTF_8;
+            default -> StandardCharsets.ISO_8859_1;
+        };
+        String text = new String(bytes, charset);
+        int nul = text.indexOf('\u0000');
+        return nul >= 0 ? text.substring(0, nul) : text;
+    }
+
+    private static void readId3v1(ByteBuffer tail, Tags tags) {
+        tags.title(latin1(tail, 3, 30));
+        tags.artist(latin1(tail, 33, 30));
+        tags.album(latin1(tail, 63, 30));
+        int genre = tail.get(127) & 0xFF;
+        if (genre < Tags.ID3V1_GENRES.length) {
+            tags.genre(Tags.ID3V1_GENRES[genre]);
+        }
+    }
+
+    private static String latin1(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static boolean tagAt(ByteBuffer buffer, int offset, String tag) {
+        for (int i = 0; i < tag.length(); i++) {
+            if (buffer.get(offset + i) != tag.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int syncsafe(ByteBuffer buffer, int offset) {
+        return ((buffer.get(offset) & 0x7F) << 21) | ((buffer.get(offset + 1) & 0x7F) << 14)
+                | ((buffer.get(offset + 2) & 0x7F) << 7) | (buffer.get(offset + 3) & 0x7F);
+    }
+
+    private static Integer parseIntOrNull(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * En-tête de frame MPEG (32 bits)
+     */
+    record FrameHeader(int version, int layer, int bitrateKbps, int sampleRate, boolean padding, int channels) {
+
+        static final int MPEG1 = 3;
+
+        /**
+         * @return L'en-tête, ou null si les 32 bits ne forment pas un en-tête valide
+         */
+        static FrameHeader parse(int bits) {
+            if ((bits & 0xFFE00000) != 0xFFE00000) {
+                return null;
+            }
+            int version = (bits >>> 19) & 0x3;
+            int layerBits = (bits >>> 17) & 0x3;
+            int bitrateIndex = (bits >>> 12) & 0xF;
+            int sampleRateIndex = (bits >>> 10) & 0x3;
+            if (version == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                return null;
+            }
+            int layer = 4 - layerBits;
+            int table = version == MPEG1 ? layer - 1 : (layer == 1 ? 3 : 4);
+            int sampleRate = SAMPLE_RATES_MPEG1[sampleRateIndex] >> (version == MPEG1 ? 0 : version == 2 ? 1 : 2);
+            boolean padding = ((bits >>> 9) & 0x1) != 0;
+            int channels = ((bits >>> 6) & 0x3) == 3 ? 1 : 2;
+            return new FrameHeader(version, layer, BITRATES_KBPS[table][bitrateIndex], sampleRate, padding, channels);
+        }
+
+        int samplesPerFrame() {
+            if (layer == 1) {
+                return 384;
+            }
+            return layer == 3 && version != MPEG1 ? 576 : 1152;
+        }
+
+        int frameLength() {
+            if (layer == 1) {
+                return (12 * bitrateKbps * 1000 / sampleRate + (padding ? 1 : 0)) * 4;
+            }
+            return samplesPerFrame() / 8 * bitrateKbps * 1000 / sampleRate + (padding ? 1 : 0);
+        }
+
+        /**
+         * Taille de la "side information" qui précède un éventuel en-tête Xing
+         */
+        int sideInfoLength() {
+            if (version == MPEG1) {
+                return channels == 1 ? 17 : 32;
+            }
+            return channels == 1 ? 9 : 17;
+        }
+    }
+}
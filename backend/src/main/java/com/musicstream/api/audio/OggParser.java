@@ -0,0 +1,143 @@
+package com.musicstream.api.audio;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 🎵 OggParser - Conteneur Ogg avec Vorbis ou Opus
+ * 
+ * - Paquet 1 (identification): fréquence, canaux, débit nominal
+ * - Paquet 2 (commentaires): tags Vorbis
+ * - Durée = position "granule" de la DERNIÈRE page / fréquence
+ *   (Opus: toujours 48 kHz, moins le pre-skip)
+ * 
+ * Seules les premières pages et la fin du fichier sont lues.
+ */
+final class OggParser {
+
+    private static final int MAX_HEADER_BYTES = 1024 * 1024;
+    private static final int TAIL_BYTES = 64 * 1024;
+
+    private OggParser() {
+    }
+
+    static boolean matches(ByteBuffer head) {
+        return head.remaining() >= 4
+                && head.get(0) == 'O' && head.get(1) == 'g' && head.get(2) == 'g' && head.get(3) == 'S';
+    }
+
+    static AudioMetadata parse(AudioSource source) throws IOException {
+        ByteBuffer[] packets = readFirstPackets(source, 2);
+        ByteBuffer identification = packets[0].order(ByteOrder.LITTLE_ENDIAN);
+        Tags tags = new Tags();
+
+        String format;
+        int sampleRate;
+        int channels;
+        int granuleRate;
+        long preSkip = 0;
+        Integer nominalBitrate = null;
+
+        if (startsWith(identification, 0, "\u0001vorbis")) {
+            format = "ogg";
+            channels = identification.get(11) & 0xFF;
+            sampleRate = identification.getInt(12);
+            granuleRate = sampleRate;
+            int nominal = identification.getInt(20);
+            nominalBitrate = nominal > 0 ? nominal / 1000 : null;
+            if (packets[1] != null && startsWith(packets[1], 0, "\u0003vorbis")) {
+                tags.readVorbisComments(packets[1].position(7));
+            }
+        } else if (startsWith(identification, 0, "OpusHead")) {
+            format = "opus";
+            channels = identification.get(9) & 0xFF;
+            preSkip = identification.getShort(10) & 0xFFFF;
+            sampleRate = identification.getInt(12);
+            granuleRate = 48000;
+            if (packets[1] != null && startsWith(packets[1], 0, "OpusTags")) {
+                tags.readVorbisComments(packets[1].position(8));
+            }
+        } else {
+            throw new IOException("Codec Ogg non supporté");
+        }
+
+        long granule = lastGranule(source);
+        Double duration = granule > preSkip ? (double) (granule - preSkip) / granuleRate : null;
+        Integer bitrate = duration != null && duration > 0
+                ? Integer.valueOf((int) Math.round(source.size() * 8 / duration / 1000))
+                : nominalBitrate;
+        return new AudioMetadata(format, duration, bitrate, sampleRate, channels,
+                tags.title, tags.artist, tags.album, tags.genre);
+    }
+
+    /**
+     * Réassembler les premiers paquets du flux (un paquet peut couvrir plusieurs pages)
+     */
+    private static ByteBuffer[] readFirstPackets(AudioSource source, int count) throws IOException {
+        ByteBuffer[] packets = new ByteBuffer[count];
+        ByteArrayOutputStream current = new ByteArrayOutputStream();
+        int found = 0;
+        long position = 0;
+
+        while (found < count && position < Math.min(source.size(), MAX_HEADER_BYTES)) {
+            ByteBuffer header = source.read(position, 27);
+            if (header.remaining() < 27 || !matches(header)) {
+                break;
+            }
+            int segments = header.get(26) & 0xFF;
+            ByteBuffer lacing = source.read(position + 27, segments);
+            int bodyLength = 0;
+            for (int i = 0; i < segments; i++) {
+                bodyLength += lacing.get(i) & 0xFF;
+            }
+            ByteBuffer body = source.read(position + 27 + segments, bodyLength);
+
+            int offset = 0;
+            for (int i = 0; i < segments && found < count; i++) {
+                int length = lacing.get(i) & 0xFF;
+                current.write(body.array(), body.arrayOffset() + offset, Math.min(length, body.remaining() - offset));
+                offset += length;
+                if (length < 255) {
+                    packets[found++] = ByteBuffer.wrap(current.toByteArray());
+                    current.reset();
+                }
+            }
+            position += 27 + segments + bodyLength;
+        }
+        if (packets[0] == null) {
+            throw new IOException("Flux Ogg sans paquet d'identification");
+        }
+        return packets;
+    }
+
+    /**
+     * Position granule de la dernière page: recherche de "OggS" en partant de la fin
+     */
+    private static long lastGranule(AudioSource source) throws IOException {
+        long start = Math.max(0, source.size() - TAIL_BYTES);
+        ByteBuffer tail = source.read(start, TAIL_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = tail.remaining() - 27; i >= 0; i--) {
+            if (tail.get(i) == 'O' && tail.get(i + 1) == 'g' && tail.get(i + 2) == 'g' && tail.get(i + 3) == 'S') {
+                long granule = tail.getLong(i + 6);
+                if (granule >= 0) {
+                    return granule;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(ByteBuffer buffer, int offset, String magic) {
+        if (buffer.remaining() < offset + magic.length()) {
+            return false;
+        }
+        for (int i = 0; i < magic.length(); i++) {
+            if (buffer.get(offset + i) != (byte) magic.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package com.musicstream.api.audio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 🏷️ Tags - Tags texte collectés pendant le parsing (le premier trouvé gagne)
+ * 
+ * Contient aussi le décodage des commentaires Vorbis (FLAC, Ogg Vorbis, Opus)
+ * et la table des genres ID3v1.
+ */
+final class Tags {
+
+    static final String[] ID3V1_GENRES = {
+            "Blues", "Classic Rock", "Country", "Dance", "Disco", "Funk", "Grunge", "Hip-Hop",
+            "Jazz", "Metal", "New Age", "Oldies", "Other", "Pop", "R&B", "Rap",
+            "Reggae", "Rock", "Techno", "Industrial", "Alternative", "Ska", "Death Metal", "Pranks",
+            "Soundtrack", "Euro-Techno", "Ambient", "Trip-Hop", "Vocal", "Jazz+Funk", "Fusion", "Trance",
+            "Classical", "Instrumental", "Acid", "House", "Game", "Sound Clip", "Gospel", "Noise",
+            "AlternRock", "Bass", "Soul", "Punk", "Space", "Meditative", "Instrumental Pop", "Instrumental Rock",
+            "Ethnic", "Gothic", "Darkwave", "Techno-Industrial", "Electronic", "Pop-Folk", "Eurodance", "Dream",
+            "Southern Rock", "Comedy", "Cult", "Gangsta", "Top 40", "Christian Rap", "Pop/Funk", "Jungle",
+            "Native American", "Cabaret", "New Wave", "Psychedelic", "Rave", "Showtunes", "Trailer", "Lo-Fi",
+            "Tribal", "Acid Punk", "Acid Jazz", "Polka", "Retro", "Musical", "Rock & Roll", "Hard Rock"
+    };
+
+    String title;
+    String artist;
+    String album;
+    String genre;
+
+    void title(String value) {
+        if (title == null) {
+            title = clean(value);
+        }
+    }
+
+    void artist(String value) {
+        if (artist == null) {
+            artist = clean(value);
+        }
+    }
+
+    void album(String value) {
+        if (album == null) {
+            album = clean(value);
+        }
+    }
+
+    void genre(String value) {
+        if (genre == null) {
+            genre = clean(resolveGenre(clean(value)));
+        }
+    }
+
+    /**
+     * Lire un bloc de commentaires Vorbis (little-endian):
+     * [vendor length][vendor][count][length][KEY=value]...
+     * 
+     * @param buffer Buffer positionné au début du bloc
+     */
+    void readVorbisComments(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.remaining() < 8) {
+            return;
+        }
+        int vendorLength = buffer.getInt();
+        if (vendorLength < 0 || vendorLength > buffer.remaining() - 4) {
+            return;
+        }
+        buffer.position(buffer.position() + vendorLength);
+        long count = Integer.toUnsignedLong(buffer.getInt());
+        for (long i = 0; i < count && buffer.remaining() >= 4; i++) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            String comment = new String(bytes, StandardCharsets.UTF_8);
+            int equals = comment.indexOf('=');
+            if (equals <= 0) {
+                continue;
+            }
+            String value = comment.substring(equals + 1);
+            switch (comment.substring(0, equals).toUpperCase(Locale.ROOT)) {
+                case "TITLE" -> title(value);
+                case "ARTIST" -> artist(value);
+                case "ALBUM" -> album(value);
+                case "GENRE" -> genre(value);
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * "(17)", "17" ou "(17)Rock" → "Rock"
+     */
+    private static String resolveGenre(String value) {
+        if (value == null) {
+            return null;
+        }
+        String number = value;
+        if (value.startsWith("(") && value.indexOf(')') > 1) {
+            String rest = value.substring(value.indexOf(')') + 1);
+            if (!rest.isBlank()) {
+                return rest;
+            }
+            number = value.substring(1, value.indexOf(')'));
+        }
+        try {
+            int index = Integer.parseInt(number.trim());
+            return index >= 0 && index < ID3V1_GENRES.length ? ID3V1_GENRES[index] : null;
+        } catch (NumberFormatException e) {
+            return value;
+        }
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.replace("\u0000", "").trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,97 @@
+package com.musicstream.api.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 🎵 WavParser - RIFF/WAVE: chunks "fmt ", "data" et LIST/INFO
+ * 
+ * Durée = taille du chunk data / octets par seconde (byteRate du chunk fmt).
+ */
+final class WavParser {
+
+    private WavParser() {
+    }
+
+    static boolean matches(ByteBuffer head) {
+        return head.remaining() >= 12
+                && head.get(0) == 'R' && head.get(1) == 'I' && head.get(2) == 'F' && head.get(3) == 'F'
+                && head.get(8) == 'W' && head.get(9) == 'A' && head.get(10) == 'V' && head.get(11) == 'E';
+    }
+
+    static AudioMetadata parse(AudioSource source) throws IOException {
+        Tags tags = new Tags();
+        Integer channels = null;
+        Integer sampleRate = null;
+        Long byteRate = null;
+        Long dataSize = null;
+
+        long position = 12;
+        while (position + 8 <= source.size()) {
+            ByteBuffer header = source.read(position, 8).order(ByteOrder.LITTLE_ENDIAN);
+            String id = fourCc(header, 0);
+            long size = Integer.toUnsignedLong(header.getInt(4));
+            long body = position + 8;
+
+            switch (id) {
+                case "fmt " -> {
+                    ByteBuffer fmt = source.read(body, 16).order(ByteOrder.LITTLE_ENDIAN);
+                    if (fmt.remaining() < 16) {
+                        throw new IOException("Chunk fmt tronqué");
+                    }
+                    channels = (int) fmt.getShort(2);
+                    sampleRate = fmt.getInt(4);
+                    byteRate = Integer.toUnsignedLong(fmt.getInt(8));
+                }
+                case "data" -> dataSize = Math.min(size, source.size() - body);
+                case "LIST" -> readInfo(source.read(body, (int) Math.min(size, 64 * 1024)), tags);
+                default -> {
+                }
+            }
+            position = body + size + (size & 1);
+        }
+
+        if (byteRate == null || dataSize == null || byteRate == 0) {
+            throw new IOException("WAV sans chunk fmt ou data");
+        }
+        double duration = (double) dataSize / byteRate;
+        int bitrate = (int) Math.round(byteRate * 8 / 1000.0);
+        return new AudioMetadata("wav", duration, bitrate, sampleRate, channels,
+                tags.title, tags.artist, tags.album, tags.genre);
+    }
+
+    private static void readInfo(ByteBuffer list, Tags tags) {
+        list.order(ByteOrder.LITTLE_ENDIAN);
+        if (list.remaining() < 4 || !"INFO".equals(fourCc(list, 0))) {
+            return;
+        }
+        int position = 4;
+        while (position + 8 <= list.remaining()) {
+            String id = fourCc(list, position);
+            int size = list.getInt(position + 4);
+            if (size < 0 || position + 8 + size > list.remaining()) {
+                return;
+            }
+            byte[] bytes = new byte[size];
+            list.get(position + 8, bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            switch (id) {
+                case "INAM" -> tags.title(value);
+                case "IART" -> tags.artist(value);
+                case "IPRD" -> tags.album(value);
+                case "IGNR" -> tags.genre(value);
+                default -> {
+                }
+            }
+            position += 8 + size + (size & 1);
+        }
+    }
+
+    private static String fourCc(ByteBuffer buffer, int offset) {
+        byte[] bytes = new byte[4];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,128 @@
+package com.musicstream.api.cache;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 🗄️ SecondLevelCacheConfig - Cache de second niveau Hibernate + cache de requêtes
+ * 
+ * Régions:
+ * - songs, artists, albums → entités (READ_WRITE: mises à jour dans le cache au commit)
+ * - song-queries           → résultats de findByCategory / findByArtist (IDs des chansons)
+ * - default-query-results-region → autres requêtes marquées cacheable (aucune pour l'instant)
+ * - default-update-timestamps-region → date de dernière écriture par table
+ * 
+ * Invalidation (faite par Hibernate, rien à appeler dans SongService):
+ * - save/delete d'une Song → son entrée est remplacée/supprimée au commit
+ * - toute écriture sur la table songs (y compris les UPDATE JPQL de SongRepository)
+ *   → horodatage de la table: les résultats de requêtes plus anciens sont ignorés
+ * - UPDATE JPQL (@Modifying) → la région songs entière est vidée (Hibernate ne sait
+ *   pas quelles lignes ont changé)
+ * ⚠️ Une écriture en SQL natif/JDBC sur songs contourne cette invalidation.
+ * 
+ * Le CacheManager est propre à chaque contexte Spring (URI unique): les contextes
+ * de test ne partagent pas leurs caches.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String SONG_REGION = "songs";
+    public static final String ARTIST_REGION = "artists";
+    public static final String ALBUM_REGION = "albums";
+    public static final String SONG_QUERY_REGION = "song-queries";
+    public static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+    public static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+    /**
+     * CacheManager JCache (Ehcache 3), régions créées à l'avance
+     * 
+     * @param properties Tailles et durées de vie
+     * @return Le CacheManager (fermé avec le contexte)
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        ResourcePoolsBuilder entityPools = ResourcePoolsBuilder.newResourcePoolsBuilder()
+                .heap(properties.getHeapEntries(), EntryUnit.ENTRIES);
+        if (properties.getOffHeapMb() > 0) {
+            entityPools = entityPools.offheap(properties.getOffHeapMb(), MemoryUnit.MB);
+        }
+        CacheConfiguration<Object, Object> entities = region(entityPools, properties.getEntityTtl());
+        CacheConfiguration<Object, Object> queries = region(
+                ResourcePoolsBuilder.heap(properties.getQueryHeapEntries()), properties.getQueryTtl());
+        // Les horodatages ne doivent jamais être évincés avant les résultats qu'ils invalident
+        CacheConfiguration<Object, Object> timestamps = CacheConfigurationBuilder
+                .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(1000))
+                .withExpiry(ExpiryPolicyBuilder.noExpiration())
+                .build();
+
+        DefaultConfiguration configuration = (DefaultConfiguration) ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(SONG_REGION, entities)
+                .withCache(ARTIST_REGION, entities)
+                .withCache(ALBUM_REGION, entities)
+                .withCache(SONG_QUERY_REGION, queries)
+                .withCache(DEFAULT_QUERY_REGION, queries)
+                .withCache(TIMESTAMPS_REGION, timestamps)
+                .build();
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("musicstream:l2:" + UUID.randomUUID()), configuration);
+    }
+
+    /**
+     * Brancher le CacheManager sur Hibernate
+     * 
+     * Appliqué en premier: ShardingConfig coupe ensuite le cache de requêtes.
+     * 
+     * @param cacheManager Le CacheManager JCache
+     * @param properties   musicstream.cache.enabled
+     * @return Les propriétés Hibernate du cache
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager cacheManager,
+                                                                   SecondLevelCacheProperties properties) {
+        return hibernateProperties -> {
+            if (!properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.putAll(Map.of(
+                    AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+                    AvailableSettings.USE_QUERY_CACHE, true,
+                    AvailableSettings.CACHE_REGION_FACTORY, "jcache",
+                    ConfigSettings.CACHE_MANAGER, cacheManager,
+                    // Une région manquante est une erreur de configuration, pas un cache créé au hasard
+                    ConfigSettings.MISSING_CACHE_STRATEGY, "fail",
+                    // Compteurs de hits/misses pour SecondLevelCacheMetrics
+                    AvailableSettings.GENERATE_STATISTICS, true));
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> region(ResourcePoolsBuilder pools, Duration ttl) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, pools)
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                .build();
+    }
+}
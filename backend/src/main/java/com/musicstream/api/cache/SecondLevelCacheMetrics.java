@@ -0,0 +1,67 @@
+package com.musicstream.api.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 📊 SecondLevelCacheMetrics - Taux de hits du cache de second niveau
+ * 
+ * Métriques (par région: songs, artists, albums, song-queries):
+ * - musicstream.cache.requests{region, result=hit|miss} → lectures dans le cache
+ * - musicstream.cache.hit.ratio{region}                 → hits / (hits + misses), NaN avant la 1re lecture
+ * 
+ * Lues à la demande dans les Statistics de Hibernate (aucun coût par requête en plus).
+ * ⚠️ Micrometer ne garde qu'une référence faible vers l'objet observé: c'est l'objet
+ * Statistics (tenu par la SessionFactory) qui est observé, pas une lambda.
+ */
+@Component
+public class SecondLevelCacheMetrics {
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory,
+                                   SecondLevelCacheProperties properties,
+                                   MeterRegistry meterRegistry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        register(meterRegistry, statistics, SecondLevelCacheConfig.SONG_REGION, Statistics::getDomainDataRegionStatistics);
+        register(meterRegistry, statistics, SecondLevelCacheConfig.ARTIST_REGION, Statistics::getDomainDataRegionStatistics);
+        register(meterRegistry, statistics, SecondLevelCacheConfig.ALBUM_REGION, Statistics::getDomainDataRegionStatistics);
+        register(meterRegistry, statistics, SecondLevelCacheConfig.SONG_QUERY_REGION, Statistics::getQueryRegionStatistics);
+    }
+
+    private static void register(MeterRegistry meterRegistry, Statistics statistics, String region,
+                                 BiFunction<Statistics, String, CacheRegionStatistics> lookup) {
+        counter(meterRegistry, statistics, region, "hit", lookup, CacheRegionStatistics::getHitCount);
+        counter(meterRegistry, statistics, region, "miss", lookup, CacheRegionStatistics::getMissCount);
+        Gauge.builder("musicstream.cache.hit.ratio", statistics, stats -> {
+                    CacheRegionStatistics regionStats = lookup.apply(stats, region);
+                    long total = regionStats == null ? 0 : regionStats.getHitCount() + regionStats.getMissCount();
+                    return total == 0 ? Double.NaN : (double) regionStats.getHitCount() / total;
+                })
+                .description("Taux de hits du cache de second niveau")
+                .tag("region", region)
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry meterRegistry, Statistics statistics, String region, String result,
+                                BiFunction<Statistics, String, CacheRegionStatistics> lookup,
+                                ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("musicstream.cache.requests", statistics, stats -> {
+                    CacheRegionStatistics regionStats = lookup.apply(stats, region);
+                    return regionStats == null ? 0 : count.applyAsLong(regionStats);
+                })
+                .description("Lectures dans le cache de second niveau")
+                .tags("region", region, "result", result)
+                .register(meterRegistry);
+    }
+}
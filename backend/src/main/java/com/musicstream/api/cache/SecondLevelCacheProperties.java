@@ -0,0 +1,57 @@
+package com.musicstream.api.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ⚙️ SecondLevelCacheProperties - Cache de second niveau Hibernate (Ehcache via JCache)
+ * 
+ * Chaque région a deux étages:
+ * - tas (heap): nombre d'entrées, accès sans copie
+ * - hors tas (off-heap): mémoire directe en Mo, hors du GC (0 = désactivé)
+ * Les entrées évincées du tas descendent hors tas avant d'être perdues.
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.cache")
+@Data
+public class SecondLevelCacheProperties {
+
+    /**
+     * Activer le cache de second niveau et le cache de requêtes
+     */
+    private boolean enabled = true;
+
+    /**
+     * Entrées en tas par région d'entités (songs, artists, albums)
+     * 
+     * ⚠️ Song.audioUrl / imageUrl peuvent être des data URI de plusieurs Mo:
+     * dimensionner en conséquence
+     */
+    private long heapEntries = 2000;
+
+    /**
+     * Taille hors tas par région d'entités (Mo, 0 = pas d'étage hors tas)
+     */
+    private long offHeapMb = 0;
+
+    /**
+     * Entrées en tas pour les résultats de requêtes (une entrée = une requête + ses paramètres)
+     */
+    private long queryHeapEntries = 500;
+
+    /**
+     * Durée de vie d'une entité en cache
+     */
+    private Duration entityTtl = Duration.ofHours(1);
+
+    /**
+     * Durée de vie d'un résultat de requête
+     * 
+     * Borne aussi le retard possible quand la lecture est partie sur un réplica
+     * en retard juste après une écriture (voir RoutingDataSourceConfig)
+     */
+    private Duration queryTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,71 @@
+package com.musicstream.api.cluster;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ ClusterProperties - Bus d'invalidation entre instances de l'API
+ * 
+ * Lue depuis application.properties (préfixe musicstream.cluster):
+ * 
+ * musicstream.cluster.enabled=true
+ * musicstream.cluster.group=239.255.42.99
+ * musicstream.cluster.port=45700
+ * musicstream.cluster.network-interface=eth0
+ * 
+ * ou, sans multicast (réseaux Docker, cloud):
+ * 
+ * musicstream.cluster.port=45701
+ * musicstream.cluster.peers=api-2:45701,api-3:45701
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.cluster")
+@Data
+public class ClusterProperties {
+
+    /**
+     * Activer le bus (une seule instance: inutile)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Groupe multicast (plage 239.0.0.0/8: portée locale à l'organisation)
+     */
+    private String group = "239.255.42.99";
+
+    /**
+     * Port UDP d'écoute (le même sur tous les nœuds en multicast)
+     */
+    private int port = 45700;
+
+    /**
+     * Interface réseau du multicast (eth0, lo...); vide = celle de l'adresse de l'hôte
+     */
+    private String networkInterface = "";
+
+    /**
+     * Nombre de routeurs traversés par un datagramme multicast (1 = réseau local)
+     */
+    private int ttl = 1;
+
+    /**
+     * Nœuds host:port joints en unicast; non vide = multicast désactivé
+     */
+    private List<String> peers = new ArrayList<>();
+
+    /**
+     * Intervalle des battements (dernière séquence émise): détecte la perte du
+     * dernier message d'une rafale
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(1);
+
+    /**
+     * Un nœud silencieux depuis ce délai est oublié (redémarré ou arrêté)
+     */
+    private Duration peerExpiry = Duration.ofMinutes(5);
+}
@@ -0,0 +1,307 @@
+package com.musicstream.api.cluster;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.CatalogResyncEvent;
+import com.musicstream.api.event.SongChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📡 InvalidationBus - Invalidations de chansons entre instances de l'API (UDP)
+ * 
+ * Derrière nginx, une écriture n'arrive que sur un nœud: les autres gardent en
+ * mémoire une version périmée (cache de second niveau, index de recherche,
+ * recommandations). Après chaque commit local, le bus envoie l'ID de la chanson
+ * (datagramme de 32 octets, InvalidationMessage) aux autres nœuds:
+ * - en multicast sur musicstream.cluster.group (par défaut)
+ * - en unicast vers musicstream.cluster.peers si la liste est renseignée
+ * 
+ * À la réception, la chanson est retirée du cache de second niveau (ainsi que
+ * les résultats de requêtes en cache), puis un SongChangedEvent avec remote = true
+ * est publié localement: l'index de recherche et les recommandations relisent la
+ * chanson en base. Les traitements qui écrivent (extraction audio, HLS, pics,
+ * playlists) l'ignorent, ils ont été faits par le nœud de l'écriture.
+ * 
+ * UDP peut perdre des messages: chaque nœud numérote les siens et envoie un
+ * battement avec sa dernière séquence. Un trou (SequenceTracker) déclenche un
+ * vidage complet: cache de second niveau vidé et CatalogResyncEvent (index et
+ * recommandations reconstruits depuis la base).
+ * 
+ * Plusieurs JVM sur un même hôte Linux: voir cluster-demo.sh.
+ * 
+ * Métriques:
+ * - musicstream.cluster.invalidations{outcome} → sent, send-failed, applied, duplicate
+ * - musicstream.cluster.resyncs                → vidages complets après un trou
+ * - musicstream.cluster.peers                  → nœuds entendus récemment
+ */
+@Component
+@ConditionalOnProperty(prefix = "musicstream.cluster", name = "enabled", havingValue = "true")
+@Slf4j
+public class InvalidationBus {
+
+    private final ClusterProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatagramChannel channel;
+    private final List<InetSocketAddress> targets;
+    private final long node;
+    private final ScheduledThreadPoolExecutor heartbeats;
+    private final MeterRegistry meterRegistry;
+    private final Counter sent;
+    private final Counter applied;
+    private final Counter duplicates;
+    private final Counter resyncs;
+    private volatile SequenceTracker tracker;
+
+    /**
+     * Dernier numéro envoyé (modifié sous le verrou de send: un battement ne
+     * part jamais avant le message dont il annonce la séquence)
+     */
+    private long sequence;
+
+    public InvalidationBus(ClusterProperties properties,
+                           EntityManagerFactory entityManagerFactory,
+                           ApplicationEventPublisher eventPublisher,
+                           MeterRegistry meterRegistry) throws IOException {
+        this.properties = properties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        long random;
+        do {
+            random = new SecureRandom().nextLong();
+        } while (random == 0);
+        this.node = random;
+
+        this.channel = DatagramChannel.open(StandardProtocolFamily.INET);
+        List<InetSocketAddress> addresses = new ArrayList<>();
+        if (properties.getPeers().isEmpty()) {
+            InetAddress group = InetAddress.getByName(properties.getGroup());
+            NetworkInterface networkInterface = multicastInterface();
+            channel.setOption(StandardSocketOptions.SO_REUSEADDR, true)
+                    .bind(new InetSocketAddress(properties.getPort()))
+                    .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface)
+                    .setOption(StandardSocketOptions.IP_MULTICAST_TTL, properties.getTtl())
+                    // Les autres JVM du même hôte reçoivent nos messages (les nôtres sont ignorés)
+                    .setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+            channel.join(group, networkInterface);
+            addresses.add(new InetSocketAddress(group, properties.getPort()));
+            log.info("Bus d'invalidation: multicast {}:{} sur {}", group.getHostAddress(), properties.getPort(),
+                    networkInterface.getName());
+        } else {
+            channel.bind(new InetSocketAddress(properties.getPort()));
+            for (String peer : properties.getPeers()) {
+                int colon = peer.lastIndexOf(':');
+                if (colon < 0) {
+                    throw new IllegalArgumentException("musicstream.cluster.peers: host:port attendu, reçu " + peer);
+                }
+                addresses.add(new InetSocketAddress(peer.substring(0, colon),
+                        Integer.parseInt(peer.substring(colon + 1))));
+            }
+            log.info("Bus d'invalidation: unicast vers {} depuis le port {}", properties.getPeers(),
+                    properties.getPort());
+        }
+        this.targets = Collections.synchronizedList(addresses);
+
+        this.heartbeats = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sent = counter("sent");
+        this.applied = counter("applied");
+        this.duplicates = counter("duplicate");
+        this.resyncs = Counter.builder("musicstream.cluster.resyncs")
+                .description("Vidages complets après une perte d'invalidations")
+                .register(meterRegistry);
+        Gauge.builder("musicstream.cluster.peers", this, bus -> bus.tracker == null ? 0 : bus.tracker.size())
+                .description("Nœuds du bus d'invalidation entendus récemment")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Démarrer la réception et les battements (une fois les caches locaux prêts)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getHeartbeatInterval().toNanos();
+        tracker = new SequenceTracker(System.nanoTime() + 2 * interval);
+        Thread receiver = new Thread(this::receive, "cluster-receiver");
+        receiver.setDaemon(true);
+        receiver.start();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Diffuser une écriture locale, après son commit
+     * 
+     * @param event Événement publié par SongService (ou l'extraction audio)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (!event.remote()) {
+            synchronized (this) {
+                sequence++;
+                send(InvalidationMessage.song(node, sequence, event));
+            }
+        }
+    }
+
+    /**
+     * @return Identifiant de ce nœud dans les messages
+     */
+    long node() {
+        return node;
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        heartbeats.shutdownNow();
+        channel.close();
+    }
+
+    private void heartbeat() {
+        synchronized (this) {
+            send(InvalidationMessage.heartbeat(node, sequence));
+        }
+        long now = System.nanoTime();
+        int expired = tracker.expire(now, properties.getPeerExpiry().toNanos());
+        if (expired > 0) {
+            log.info("{} nœud(s) du bus d'invalidation silencieux oubliés", expired);
+        }
+    }
+
+    /**
+     * Envoyer un message à tous les nœuds. Un échec n'est pas réessayé: le trou de
+     * séquence sera vu par les autres nœuds au message ou au battement suivant.
+     */
+    private void send(InvalidationMessage message) {
+        ByteBuffer buffer = ByteBuffer.allocate(InvalidationMessage.SIZE);
+        message.encode(buffer);
+        synchronized (targets) {
+            for (int i = 0; i < targets.size(); i++) {
+                InetSocketAddress target = targets.get(i);
+                if (target.isUnresolved()) {
+                    // Pair pas encore résolvable au démarrage (DNS du conteneur)
+                    target = new InetSocketAddress(target.getHostString(), target.getPort());
+                    targets.set(i, target);
+                }
+                try {
+                    channel.send(buffer.flip(), target);
+                    if (message.kind() == InvalidationMessage.Kind.SONG) {
+                        sent.increment();
+                    }
+                } catch (IOException e) {
+                    log.warn("Invalidation non envoyée à {}: {}", target, e.getMessage());
+                    counter("send-failed").increment();
+                }
+                buffer.position(InvalidationMessage.SIZE);
+            }
+        }
+    }
+
+    private void receive() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                channel.receive(buffer);
+                InvalidationMessage message = InvalidationMessage.decode(buffer.flip());
+                if (message != null && message.node() != node) {
+                    handle(message);
+                }
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Invalidation reçue non appliquée: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(InvalidationMessage message) {
+        long now = System.nanoTime();
+        if (message.kind() == InvalidationMessage.Kind.HEARTBEAT) {
+            if (tracker.onHeartbeat(message.node(), message.sequence(), now) == SequenceTracker.Result.GAP) {
+                resync("nœud " + Long.toHexString(message.node()) + " à la séquence " + message.sequence());
+            }
+            return;
+        }
+        switch (tracker.onMessage(message.node(), message.sequence(), now)) {
+            case DUPLICATE -> duplicates.increment();
+            case GAP -> resync("nœud " + Long.toHexString(message.node()) + ", message " + message.sequence());
+            case OK -> apply(message);
+        }
+    }
+
+    private void apply(InvalidationMessage message) {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evict(Song.class, message.songId());
+        cache.unwrap(org.hibernate.Cache.class).evictQueryRegions();
+        eventPublisher.publishEvent(message.toEvent());
+        applied.increment();
+    }
+
+    private void resync(String reason) {
+        log.warn("Invalidations perdues ({}): vidage complet des caches", reason);
+        entityManagerFactory.getCache().evictAll();
+        eventPublisher.publishEvent(new CatalogResyncEvent(reason));
+        resyncs.increment();
+    }
+
+    private NetworkInterface multicastInterface() throws IOException {
+        if (!properties.getNetworkInterface().isBlank()) {
+            NetworkInterface named = NetworkInterface.getByName(properties.getNetworkInterface());
+            if (named == null) {
+                throw new SocketException("Interface réseau inconnue: " + properties.getNetworkInterface());
+            }
+            return named;
+        }
+        NetworkInterface local = NetworkInterface.getByInetAddress(InetAddress.getLocalHost());
+        if (local != null && local.supportsMulticast()) {
+            return local;
+        }
+        for (NetworkInterface candidate : Collections.list(NetworkInterface.getNetworkInterfaces())) {
+            if (candidate.isUp() && candidate.supportsMulticast() && !candidate.isLoopback()) {
+                return candidate;
+            }
+        }
+        throw new SocketException("Aucune interface multicast: renseigner musicstream.cluster.network-interface "
+                + "ou musicstream.cluster.peers");
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("musicstream.cluster.invalidations")
+                .description("Invalidations de chansons du bus entre instances")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.musicstream.api.cluster;
+
+import com.musicstream.api.event.SongChangedEvent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * ✉️ InvalidationMessage - Datagramme du bus d'invalidation (32 octets)
+ * 
+ * | magic (4) | version (1) | kind (1) | type (1) | flags (1) | node (8) | sequence (8) | songId (8) |
+ * 
+ * - SONG      → une chanson a changé (sequence = numéro du message chez l'émetteur)
+ * - HEARTBEAT → battement, sequence = dernier numéro émis (songId ignoré)
+ * 
+ * @param node     Identifiant aléatoire de l'instance émettrice (nouveau à chaque démarrage)
+ * @param sequence Numéro de séquence, à partir de 1, sans trou chez l'émetteur
+ * @param kind     SONG ou HEARTBEAT
+ * @param songId   L'ID de la chanson (SONG)
+ * @param type     Type de l'écriture (SONG)
+ * @param audioChanged true si Song.audioUrl a changé (SONG)
+ */
+record InvalidationMessage(long node, long sequence, Kind kind, long songId,
+                           SongChangedEvent.Type type, boolean audioChanged) {
+
+    static final int SIZE = 32;
+
+    private static final int MAGIC = 0x4D534956; // "MSIV"
+    private static final byte VERSION = 1;
+    private static final byte AUDIO_CHANGED = 1;
+
+    enum Kind {
+        SONG,
+        HEARTBEAT
+    }
+
+    static InvalidationMessage song(long node, long sequence, SongChangedEvent event) {
+        return new InvalidationMessage(node, sequence, Kind.SONG, event.songId(), event.type(), event.audioChanged());
+    }
+
+    static InvalidationMessage heartbeat(long node, long sequence) {
+        return new InvalidationMessage(node, sequence, Kind.HEARTBEAT, 0, SongChangedEvent.Type.UPDATED, false);
+    }
+
+    SongChangedEvent toEvent() {
+        return new SongChangedEvent(songId, type, audioChanged, true);
+    }
+
+    void encode(ByteBuffer buffer) {
+        buffer.putInt(MAGIC)
+                .put(VERSION)
+                .put((byte) kind.ordinal())
+                .put((byte) type.ordinal())
+                .put(audioChanged ? AUDIO_CHANGED : 0)
+                .putLong(node)
+                .putLong(sequence)
+                .putLong(songId);
+    }
+
+    /**
+     * @param buffer Datagramme reçu (position 0, limite = taille)
+     * @return Le message, ou null si le datagramme n'en est pas un (autre application
+     *         sur le même groupe, version inconnue)
+     */
+    static InvalidationMessage decode(ByteBuffer buffer) {
+        if (buffer.remaining() != SIZE || buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+            return null;
+        }
+        int kind = buffer.get();
+        int type = buffer.get();
+        byte flags = buffer.get();
+        if (kind < 0 || kind >= Kind.values().length || type < 0 || type >= SongChangedEvent.Type.values().length) {
+            return null;
+        }
+        return new InvalidationMessage(buffer.getLong(), buffer.getLong(), Kind.values()[kind], buffer.getLong(),
+                SongChangedEvent.Type.values()[type], (flags & AUDIO_CHANGED) != 0);
+    }
+}
@@ -0,0 +1,97 @@
+package com.musicstream.api.cluster;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🔢 SequenceTracker - Dernière séquence reçue de chaque nœud, détection des trous
+ * 
+ * Chaque nœud numérote ses messages 1, 2, 3... sans trou. À la réception:
+ * - séquence suivante attendue      → OK (appliquer)
+ * - séquence déjà vue (doublon, ou message arrivé après un plus récent) → DUPLICATE
+ * - séquence au-delà de la suivante → GAP: des messages ont été perdus, on ne
+ *   sait pas lesquels → vidage complet (le message courant est couvert)
+ * 
+ * Un nœud inconnu dont la séquence ne commence pas à 1 (resp. dont le battement
+ * n'est pas à 0) a émis des messages que ce nœud n'a pas reçus: GAP, sauf
+ * pendant le délai de grâce qui suit le démarrage (les caches locaux viennent
+ * d'être construits depuis la base).
+ */
+final class SequenceTracker {
+
+    enum Result {
+        OK,
+        DUPLICATE,
+        GAP
+    }
+
+    private final Map<Long, Peer> peers = new HashMap<>();
+    private final long graceUntilNanos;
+
+    private static final class Peer {
+        long sequence;
+        long lastSeenNanos;
+
+        Peer(long sequence, long lastSeenNanos) {
+            this.sequence = sequence;
+            this.lastSeenNanos = lastSeenNanos;
+        }
+    }
+
+    /**
+     * @param graceUntilNanos Fin du délai de grâce (System.nanoTime)
+     */
+    SequenceTracker(long graceUntilNanos) {
+        this.graceUntilNanos = graceUntilNanos;
+    }
+
+    /**
+     * Message SONG reçu
+     */
+    synchronized Result onMessage(long node, long sequence, long nowNanos) {
+        Peer peer = peers.get(node);
+        if (peer == null) {
+            peers.put(node, new Peer(sequence, nowNanos));
+            return sequence == 1 || nowNanos < graceUntilNanos ? Result.OK : Result.GAP;
+        }
+        peer.lastSeenNanos = nowNanos;
+        if (sequence <= peer.sequence) {
+            return Result.DUPLICATE;
+        }
+        boolean gap = sequence > peer.sequence + 1;
+        peer.sequence = sequence;
+        return gap ? Result.GAP : Result.OK;
+    }
+
+    /**
+     * Battement reçu: sequence = dernier message émis par le nœud
+     */
+    synchronized Result onHeartbeat(long node, long sequence, long nowNanos) {
+        Peer peer = peers.get(node);
+        if (peer == null) {
+            peers.put(node, new Peer(sequence, nowNanos));
+            return sequence == 0 || nowNanos < graceUntilNanos ? Result.OK : Result.GAP;
+        }
+        peer.lastSeenNanos = nowNanos;
+        if (sequence > peer.sequence) {
+            peer.sequence = sequence;
+            return Result.GAP;
+        }
+        return Result.OK;
+    }
+
+    /**
+     * Oublier les nœuds silencieux (arrêtés, ou redémarrés sous un autre identifiant)
+     * 
+     * @return Nombre de nœuds oubliés
+     */
+    synchronized int expire(long nowNanos, long expiryNanos) {
+        int before = peers.size();
+        peers.values().removeIf(peer -> nowNanos - peer.lastSeenNanos > expiryNanos);
+        return before - peers.size();
+    }
+
+    synchronized int size() {
+        return peers.size();
+    }
+}
@@ -0,0 +1,40 @@
+package com.musicstream.api.config;
+
+import com.musicstream.api.controller.SongController;
+import com.musicstream.api.migration.ArtistAlbumMigration;
+import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.service.SongService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * ⚡ StartupConfig - Initialisation paresseuse des beans non critiques
+ * 
+ * Avec spring.main.lazy-initialization=true (profil fast-startup), tous les beans
+ * sont créés à leur première utilisation. Cela accélère le démarrage, mais
+ * le premier GET /api/songs paierait la création de toute la chaîne.
+ * 
+ * Ce filtre garde le chemin critique (Controller → Service → Repository)
+ * initialisé au démarrage, ainsi que les migrations (qui doivent passer avant
+ * la première requête). Tout le reste reste paresseux.
+ * 
+ * Sans le profil fast-startup, ce filtre n'a aucun effet.
+ */
+@Configuration
+public class StartupConfig {
+
+    /**
+     * Beans exclus de l'initialisation paresseuse
+     * 
+     * @return Filtre basé sur le type du bean
+     */
+    @Bean
+    static LazyInitializationExcludeFilter criticalPathBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                SongController.class,
+                SongService.class,
+                SongRepository.class,
+                ArtistAlbumMigration.class);
+    }
+}
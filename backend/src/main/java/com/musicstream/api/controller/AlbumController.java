@@ -0,0 +1,32 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.dto.AlbumDTO;
+import com.musicstream.api.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 💿 AlbumController - Albums et leurs pistes
+ * 
+ *        GET /api/albums/{id} → L'album, son artiste et ses pistes
+ */
+@RestController
+@RequestMapping("/albums")
+@RequiredArgsConstructor
+@Slf4j
+public class AlbumController {
+
+    private final CatalogService catalogService;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AlbumDTO> getAlbum(@PathVariable Long id) {
+        return catalogService.getAlbum(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,44 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.dto.ArtistDTO;
+import com.musicstream.api.dto.DiscographyDTO;
+import com.musicstream.api.service.CatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 🎤 ArtistController - Artistes et discographies
+ * 
+ *        GET /api/artists             → Tous les artistes (?prefix=que pour filtrer)
+ *        GET /api/artists/{id}        → Discographie: albums avec leurs pistes + titres hors album
+ * 
+ * Les artistes sont créés à partir des chansons (POST/PUT /api/songs), pas directement.
+ */
+@RestController
+@RequestMapping("/artists")
+@RequiredArgsConstructor
+@Slf4j
+public class ArtistController {
+
+    private final CatalogService catalogService;
+
+    @GetMapping
+    public ResponseEntity<List<ArtistDTO>> getArtists(@RequestParam(required = false) String prefix) {
+        return ResponseEntity.ok(catalogService.getArtists(prefix));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DiscographyDTO> getDiscography(@PathVariable Long id) {
+        return catalogService.getDiscography(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
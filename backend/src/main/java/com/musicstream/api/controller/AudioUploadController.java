@@ -0,0 +1,130 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.audio.AudioUploadException;
+import com.musicstream.api.audio.AudioUploadResult;
+import com.musicstream.api.audio.AudioUploadService;
+import com.musicstream.api.audio.ContentRange;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * ⬆️ AudioUploadController - Upload du fichier audio d'une chanson
+ * 
+ * Routes :
+ * - POST /api/songs/{id}/audio (audio/* ou application/octet-stream) → corps brut, lu en streaming
+ * - POST /api/songs/{id}/audio (multipart/form-data, partie "file")   → formulaire navigateur
+ * - HEAD /api/songs/{id}/audio                                        → Upload-Offset (reprise)
+ * 
+ * Upload reprenable: envoyer des morceaux avec Content-Range: bytes {début}-{fin}/{total}.
+ * Après une coupure, HEAD donne l'offset reçu et l'envoi reprend à partir de là.
+ * 
+ * Réponses :
+ * - 201 → fichier complet (taille + SHA-256)
+ * - 202 → morceau reçu, upload incomplet (Upload-Offset)
+ * - 400 → corps vide, Content-Range invalide ou morceau plus long que sa plage
+ * - 404 → chanson inconnue
+ * - 409 → morceau hors séquence ou upload concurrent (Upload-Offset)
+ * - 413 → fichier trop volumineux
+ */
+@RestController
+@RequestMapping("/songs")
+@RequiredArgsConstructor
+@Slf4j
+public class AudioUploadController {
+
+    private static final String UPLOAD_OFFSET = "Upload-Offset";
+
+    private final AudioUploadService audioUploadService;
+
+    /**
+     * POST /api/songs/{id}/audio (corps brut)
+     * 
+     * Exemple curl:
+     * curl -X POST -H "Content-Type: audio/mpeg" --data-binary @song.mp3 \
+     *   http://localhost:8080/api/songs/1/audio
+     * 
+     * @param id           L'ID de la chanson
+     * @param contentRange En-tête Content-Range (optionnel, upload reprenable)
+     * @param request      Requête HTTP (corps lu directement, jamais chargé en mémoire)
+     * @return Le résultat de l'upload
+     */
+    @PostMapping(value = "/{id}/audio", consumes = {MediaType.APPLICATION_OCTET_STREAM_VALUE, "audio/*"})
+    public ResponseEntity<AudioUploadResult> uploadRaw(@PathVariable Long id,
+                                                       @RequestHeader(name = "Content-Range", required = false) String contentRange,
+                                                       HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        AudioUploadResult result = contentRange != null
+                ? audioUploadService.appendChunk(id, body, request.getContentType(), ContentRange.parse(contentRange))
+                : audioUploadService.upload(id, body, request.getContentType(), request.getContentLengthLong());
+        return toResponse(result);
+    }
+
+    /**
+     * POST /api/songs/{id}/audio (multipart/form-data)
+     * 
+     * Exemple curl:
+     * curl -F "file=@song.mp3;type=audio/mpeg" http://localhost:8080/api/songs/1/audio
+     * 
+     * @param id   L'ID de la chanson
+     * @param file La partie "file"
+     * @return Le résultat de l'upload
+     */
+    @PostMapping(value = "/{id}/audio", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AudioUploadResult> uploadMultipart(@PathVariable Long id,
+                                                             @RequestPart("file") MultipartFile file) throws IOException {
+        try (InputStream body = file.getInputStream()) {
+            return toResponse(audioUploadService.upload(id, body, file.getContentType(), file.getSize()));
+        }
+    }
+
+    /**
+     * HEAD /api/songs/{id}/audio
+     * 
+     * @param id L'ID de la chanson
+     * @return 200 avec Upload-Offset = octets déjà reçus de l'upload reprenable
+     */
+    @RequestMapping(value = "/{id}/audio", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> uploadOffset(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .header(UPLOAD_OFFSET, String.valueOf(audioUploadService.currentOffset(id)))
+                .build();
+    }
+
+    @ExceptionHandler(AudioUploadException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadError(AudioUploadException e) {
+        HttpStatus status = switch (e.getReason()) {
+            case SONG_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+            case EMPTY, BAD_RANGE, LENGTH_MISMATCH -> HttpStatus.BAD_REQUEST;
+            case OFFSET_MISMATCH, UPLOAD_IN_PROGRESS -> HttpStatus.CONFLICT;
+        };
+        log.info("Upload refusé ({}): {}", e.getReason(), e.getMessage());
+        return ResponseEntity.status(status)
+                .header(UPLOAD_OFFSET, String.valueOf(e.getCurrentOffset()))
+                .body(Map.of("error", e.getReason().name(), "message", e.getMessage()));
+    }
+
+    private static ResponseEntity<AudioUploadResult> toResponse(AudioUploadResult result) {
+        HttpStatus status = result.complete() ? HttpStatus.CREATED : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+                .header(UPLOAD_OFFSET, String.valueOf(result.received()))
+                .body(result);
+    }
+}
@@ -0,0 +1,116 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.cover.CoverProperties;
+import com.musicstream.api.cover.CoverThumbnailService;
+import com.musicstream.api.cover.CoverVariant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 🖼️ CoverController - Miniatures de pochette
+ * 
+ * Routes :
+ * - GET /api/songs/{id}/cover?size=64|256|512        → miniature (cache court + ETag)
+ * - GET /api/songs/{id}/cover?size=256&v={version}   → miniature versionnée (cache 1 an, immutable)
+ * 
+ * Réponses :
+ * - 200 → image/jpeg ou image/png
+ * - 302 → la version demandée est périmée: redirection vers la version courante
+ * - 304 → If-None-Match correspond à l'ETag
+ * - 202 → génération en cours, réessayer (Retry-After)
+ * - 503 → file de génération pleine
+ * - 404 → chanson inconnue ou sans pochette
+ */
+@RestController
+@RequestMapping("/songs")
+@RequiredArgsConstructor
+@Slf4j
+public class CoverController {
+
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    private final CoverThumbnailService coverThumbnailService;
+    private final CoverProperties coverProperties;
+
+    /**
+     * GET /api/songs/{id}/cover?size=256
+     * 
+     * Exemple curl:
+     * curl -o cover.jpg "http://localhost:8080/api/songs/1/cover?size=256"
+     * 
+     * @param id          L'ID de la chanson
+     * @param size        64, 256 ou 512
+     * @param version     Version de la pochette (optionnelle, rend la réponse immutable)
+     * @param ifNoneMatch En-tête If-None-Match du navigateur
+     * @return La miniature
+     */
+    @GetMapping("/{id}/cover")
+    public ResponseEntity<byte[]> getCover(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "256") int size,
+                                           @RequestParam(name = "v", required = false) String version,
+                                           @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        if (!CoverThumbnailService.SIZES.contains(size)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        CoverVariant variant = version != null ? coverThumbnailService.getCachedCover(id, version, size) : null;
+        if (variant == null) {
+            try {
+                variant = coverThumbnailService.getCover(id, size)
+                        .get(coverProperties.getWaitMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).header("Retry-After", "1").build();
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "2").build();
+            } catch (ExecutionException e) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+        }
+        if (variant == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (version != null && !version.equals(variant.version())) {
+            return ResponseEntity.status(HttpStatus.FOUND)
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/songs/{id}/cover")
+                            .queryParam("size", size)
+                            .queryParam("v", variant.version())
+                            .buildAndExpand(id)
+                            .toUri())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        String etag = "\"" + variant.version() + "-" + size + "\"";
+        CacheControl cacheControl = version != null ? IMMUTABLE : REVALIDATE;
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(variant.contentType()))
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(variant.bytes());
+    }
+}
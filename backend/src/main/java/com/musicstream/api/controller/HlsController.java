@@ -0,0 +1,116 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.audio.HlsService;
+import com.musicstream.api.media.FileTransfer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🎞️ HlsController - Lecture segmentée (HLS) des chansons
+ * 
+ * Routes :
+ * - GET /api/songs/{id}/hls/index.m3u8                → playlist (revalidée à chaque lecture)
+ * - GET /api/songs/{id}/hls/{version}/{segment}.mp3   → segment (cache 1 an, immutable)
+ * 
+ * Le lecteur (hls.js, Safari) ne télécharge que les segments proches de la position
+ * de lecture: le démarrage et les sauts ne dépendent plus de la taille du fichier.
+ * 
+ * Réponses de la playlist :
+ * - 200 → application/vnd.apple.mpegurl
+ * - 202 → découpage en cours (Retry-After): lire Song.audioUrl en attendant
+ * - 404 → chanson inconnue ou sans audio
+ * - 422 → audio non découpable (WAV, FLAC, Ogg, URL distante, MP3 sans frame MPEG)
+ * - 503 → file de découpage pleine
+ */
+@RestController
+@RequestMapping("/songs")
+@RequiredArgsConstructor
+public class HlsController {
+
+    private static final MediaType MPEGURL = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final HlsService hlsService;
+
+    /**
+     * GET /api/songs/{id}/hls/index.m3u8
+     * 
+     * Exemple:
+     * ffplay http://localhost:8080/api/songs/1/hls/index.m3u8
+     * 
+     * @param id          L'ID de la chanson
+     * @param ifNoneMatch En-tête If-None-Match du navigateur
+     * @return La playlist
+     */
+    @GetMapping("/{id}/hls/" + HlsService.PLAYLIST)
+    public ResponseEntity<String> getPlaylist(@PathVariable Long id,
+                                              @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch)
+            throws IOException {
+        HlsService.Lookup lookup = hlsService.lookup(id);
+        switch (lookup.status()) {
+            case PENDING:
+                return ResponseEntity.status(HttpStatus.ACCEPTED).header("Retry-After", "2").build();
+            case BUSY:
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+            case NO_AUDIO:
+                return ResponseEntity.notFound().build();
+            case UNSUPPORTED:
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            default:
+                break;
+        }
+
+        String etag = "\"" + lookup.version() + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MPEGURL)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(Files.readString(lookup.playlist()));
+    }
+
+    /**
+     * GET /api/songs/{id}/hls/{version}/{segment}.mp3
+     * 
+     * Le fichier est envoyé par sendfile (zéro copie): voir FileTransfer.
+     * 
+     * @param id       L'ID de la chanson
+     * @param version  Version des segments (dans la playlist)
+     * @param segment  Numéro du segment
+     * @param request  Requête HTTP
+     * @param response Réponse HTTP
+     */
+    @GetMapping("/{id}/hls/{version:[0-9a-f]+}/{segment:\\d+}.mp3")
+    public void getSegment(@PathVariable Long id,
+                           @PathVariable String version,
+                           @PathVariable int segment,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        Path file = hlsService.segment(id, version, segment);
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        response.setContentType("audio/mpeg");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        FileTransfer.send(request, response, file);
+    }
+}
@@ -0,0 +1,131 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.dto.PlaylistDTO;
+import com.musicstream.api.dto.PlaylistEntryDTO;
+import com.musicstream.api.dto.PlaylistEntryPageDTO;
+import com.musicstream.api.dto.PlaylistEntryRequest;
+import com.musicstream.api.service.PlaylistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📃 PlaylistController - API REST pour les playlists
+ * 
+ *        GET    /api/playlists                       → Toutes les playlists (sans entrées)
+ *        POST   /api/playlists                       → Créer une playlist
+ *        GET    /api/playlists/{id}                  → Une playlist
+ *        PUT    /api/playlists/{id}                  → Renommer
+ *        DELETE /api/playlists/{id}                  → Supprimer (avec ses entrées)
+ *        GET    /api/playlists/{id}/entries          → Entrées, page par page (?cursor=&limit=)
+ *        POST   /api/playlists/{id}/entries          → Ajouter des chansons
+ *        PATCH  /api/playlists/{id}/entries/{entry}  → Déplacer une entrée
+ *        DELETE /api/playlists/{id}/entries/{entry}  → Retirer une entrée
+ * 
+ * Position voulue (ajout et déplacement): {"afterEntryId": 12} ou {"beforeEntryId": 12},
+ * ni l'un ni l'autre = à la fin.
+ */
+@RestController
+@RequestMapping("/playlists")
+@RequiredArgsConstructor
+@Slf4j
+public class PlaylistController {
+
+    private final PlaylistService playlistService;
+
+    @GetMapping
+    public ResponseEntity<List<PlaylistDTO>> getAllPlaylists() {
+        return ResponseEntity.ok(playlistService.getAllPlaylists());
+    }
+
+    @PostMapping
+    public ResponseEntity<PlaylistDTO> createPlaylist(@RequestBody PlaylistDTO playlistDTO) {
+        log.info("POST /api/playlists - Création de la playlist: {}", playlistDTO.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(playlistService.createPlaylist(playlistDTO));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PlaylistDTO> getPlaylist(@PathVariable Long id) {
+        return playlistService.getPlaylist(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<PlaylistDTO> updatePlaylist(@PathVariable Long id, @RequestBody PlaylistDTO playlistDTO) {
+        return playlistService.updatePlaylist(id, playlistDTO)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deletePlaylist(@PathVariable Long id) {
+        return playlistService.deletePlaylist(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * GET /api/playlists/{id}/entries?cursor=...&limit=...
+     * 
+     * Exemple curl (page suivante):
+     * curl "http://localhost:8080/api/playlists/1/entries?limit=500&cursor=524288000:1234"
+     * 
+     * @return La page et son nextCursor (null sur la dernière page)
+     */
+    @GetMapping("/{id}/entries")
+    public ResponseEntity<PlaylistEntryPageDTO> getEntries(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PlaylistService.DEFAULT_PAGE_SIZE) int limit) {
+        return playlistService.getEntries(id, cursor, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/playlists/{id}/entries
+     * 
+     * Exemple curl:
+     * curl -X POST http://localhost:8080/api/playlists/1/entries \
+     *   -H "Content-Type: application/json" -d '{"songIds": [4, 8, 15], "afterEntryId": 42}'
+     * 
+     * @return Les entrées créées (HTTP 201)
+     */
+    @PostMapping("/{id}/entries")
+    public ResponseEntity<List<PlaylistEntryDTO>> addEntries(@PathVariable Long id,
+                                                             @RequestBody PlaylistEntryRequest request) {
+        return playlistService.addEntries(id, request)
+                .map(entries -> ResponseEntity.status(HttpStatus.CREATED).body(entries))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PatchMapping("/{id}/entries/{entryId}")
+    public ResponseEntity<Map<String, Long>> moveEntry(@PathVariable Long id,
+                                                       @PathVariable Long entryId,
+                                                       @RequestBody PlaylistEntryRequest request) {
+        return playlistService.moveEntry(id, entryId, request)
+                .map(position -> ResponseEntity.ok(Map.of("entryId", entryId, "position", position)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}/entries/{entryId}")
+    public ResponseEntity<Void> removeEntry(@PathVariable Long id, @PathVariable Long entryId) {
+        return playlistService.removeEntry(id, entryId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Requête invalide (curseur, position, chansons inconnues...) → HTTP 400
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
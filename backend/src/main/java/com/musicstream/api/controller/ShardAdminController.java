@@ -0,0 +1,81 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.sharding.ShardDirectory;
+import com.musicstream.api.sharding.ShardRebalancer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 🧱 ShardAdminController - État des shards et rééquilibrage
+ * 
+ * Présent seulement avec musicstream.sharding.enabled=true.
+ * 
+ *        GET  /api/admin/shards                        → Chansons par shard, plages déplacées
+ *        POST /api/admin/shards/moves?lo=&hi=&to=      → Déplacer les chansons [lo, hi) vers le shard "to"
+ *        POST /api/admin/shards/rebalance              → Égaliser le shard le plus chargé et le moins chargé
+ */
+@RestController
+@RequestMapping("/admin/shards")
+@ConditionalOnProperty(prefix = "musicstream.sharding", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ShardAdminController {
+
+    private final ShardRebalancer shardRebalancer;
+    private final ShardDirectory shardDirectory;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getShards() {
+        return ResponseEntity.ok(Map.of(
+                "shards", shardRebalancer.status(),
+                "movedRanges", shardDirectory.ranges()));
+    }
+
+    /**
+     * POST /api/admin/shards/moves?lo=1&hi=1001&to=2
+     * 
+     * Exemple curl:
+     * curl -X POST "http://localhost:8080/api/admin/shards/moves?lo=1&hi=1001&to=2"
+     * 
+     * @param lo Premier ID
+     * @param hi Fin de la plage (exclue), ramenée au dernier ID attribué
+     * @param to Shard cible
+     * @return Le compte rendu du déplacement
+     */
+    @PostMapping("/moves")
+    public ResponseEntity<ShardRebalancer.MoveResult> move(@RequestParam long lo,
+                                                           @RequestParam long hi,
+                                                           @RequestParam int to) {
+        log.info("POST /api/admin/shards/moves - [{}, {}) vers le shard {}", lo, hi, to);
+        return ResponseEntity.ok(shardRebalancer.move(lo, hi, to));
+    }
+
+    @PostMapping("/rebalance")
+    public ResponseEntity<ShardRebalancer.MoveResult> rebalance() {
+        log.info("POST /api/admin/shards/rebalance");
+        return shardRebalancer.rebalance()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
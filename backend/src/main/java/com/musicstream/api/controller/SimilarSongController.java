@@ -0,0 +1,58 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.recommendation.SimilarSongService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🧭 SimilarSongController - Recommandations "chansons similaires"
+ * 
+ * Route :
+ * - GET /api/songs/{id}/similar?limit=20
+ * 
+ * Réponses :
+ * - 200 → chansons, de la plus à la moins similaire ([] tant que le calcul en
+ *         arrière-plan n'a pas traité la chanson)
+ * - 400 → limit hors de 1..topK (musicstream.similar.top-k)
+ * - 404 → chanson inconnue
+ */
+@RestController
+@RequestMapping("/songs")
+@RequiredArgsConstructor
+public class SimilarSongController {
+
+    private final SimilarSongService similarSongService;
+
+    /**
+     * GET /api/songs/{id}/similar?limit=20
+     * 
+     * Exemple curl:
+     * curl "http://localhost:8080/api/songs/1/similar?limit=10"
+     * 
+     * @param id    L'ID de la chanson
+     * @param limit Nombre de chansons voulu
+     * @return Les chansons similaires
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<SongDTO>> getSimilar(@PathVariable Long id,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return similarSongService.getSimilar(id, limit)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,14 +1,21 @@
 package com.musicstream.api.controller;
 
+import com.musicstream.api.dto.SongBatchDTO;
 import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.repository.SongFilter;
+import com.musicstream.api.service.SongBulkService;
 import com.musicstream.api.service.SongService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 🎵 SongController - API REST pour les chansons
@@ -24,8 +31,12 @@ import java.util.List;
  * 
  *        GET /api/songs → Récupérer toutes les chansons
  *        GET /api/songs/{id} → Récupérer une chanson par ID
+ *        GET /api/songs?ids=1,2,3 → Récupérer plusieurs chansons par ID (POST /api/songs/lookup pour une longue liste)
  *        POST /api/songs → Créer une nouvelle chanson
  *        PUT /api/songs/{id} → Mettre à jour une chanson
+ *        PATCH /api/songs/{id} → Modifier quelques champs (JSON Merge Patch, If-Match)
+ *        DELETE /api/songs?category= → Supprimer toutes les chansons d'un filtre (admin)
+ *        PATCH /api/songs?artist= → Modifier toutes les chansons d'un filtre (admin)
  *        DELETE /api/songs/{id} → Supprimer une chanson
  *        GET /api/songs/search → Rechercher des chansons
  */
@@ -36,6 +47,7 @@ import java.util.List;
 public class SongController {
 
     private final SongService songService;
+    private final SongBulkService songBulkService;
 
     /**
      * GET /api/songs
@@ -60,7 +72,7 @@ public class SongController {
      */
     @GetMapping
     public ResponseEntity<List<SongDTO>> getAllSongs() {
-        log.info("GET /api/songs - Récupération de toutes les chansons");
+        log.debug("GET /api/songs - Récupération de toutes les chansons");
         List<SongDTO> songs = songService.getAllSongs();
         return ResponseEntity.ok(songs);
     }
@@ -89,12 +101,55 @@ public class SongController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<SongDTO> getSongById(@PathVariable Long id) {
-        log.info("GET /api/songs/{} - Récupération d'une chanson", id);
+        log.debug("GET /api/songs/{} - Récupération d'une chanson", id);
         return songService.getSongById(id)
-                .map(ResponseEntity::ok)
+                .map(song -> ResponseEntity.ok().eTag(etag(song.getVersion())).body(song))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * GET /api/songs?ids=3,1,2
+     * 
+     * Récupérer PLUSIEURS chansons par ID en un appel (file de lecture, écran de
+     * playlist) au lieu d'un GET /api/songs/{id} par titre
+     * 
+     * Exemple curl:
+     * curl "http://localhost:8080/api/songs?ids=3,1,99"
+     * 
+     * Réponse (HTTP 200), dans l'ordre demandé:
+     * {
+     * "songs": [ { "id": 3, ... }, { "id": 1, ... } ],
+     * "missing": [ 99 ]
+     * }
+     * 
+     * @param ids Les IDs (séparés par des virgules)
+     * @return Les chansons trouvées et les IDs introuvables, 400 si la liste est vide ou trop longue
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<SongBatchDTO> getSongsByIds(@RequestParam List<Long> ids) {
+        log.debug("GET /api/songs?ids - Récupération de {} chansons", ids.size());
+        return ResponseEntity.ok(songService.getSongsByIds(ids));
+    }
+
+    /**
+     * POST /api/songs/lookup
+     * 
+     * Comme GET /api/songs?ids=, pour une liste trop longue pour l'URL (lecture seule)
+     * 
+     * Exemple curl:
+     * curl -X POST http://localhost:8080/api/songs/lookup \
+     * -H "Content-Type: application/json" \
+     * -d '[3, 1, 99]'
+     * 
+     * @param ids Les IDs (tableau JSON)
+     * @return Les chansons trouvées et les IDs introuvables
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<SongBatchDTO> lookupSongs(@RequestBody List<Long> ids) {
+        log.debug("POST /api/songs/lookup - Récupération de {} chansons", ids.size());
+        return ResponseEntity.ok(songService.getSongsByIds(ids));
+    }
+
     /**
      * POST /api/songs
      * 
@@ -123,7 +178,7 @@ public class SongController {
      */
     @PostMapping
     public ResponseEntity<SongDTO> createSong(@RequestBody SongDTO songDTO) {
-        log.info("POST /api/songs - Création d'une nouvelle chanson: {}", songDTO.getTitle());
+        log.debug("POST /api/songs - Création d'une nouvelle chanson: {}", songDTO.getTitle());
         SongDTO createdSong = songService.createSong(songDTO);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
@@ -159,12 +214,57 @@ public class SongController {
     public ResponseEntity<SongDTO> updateSong(
             @PathVariable Long id,
             @RequestBody SongDTO songDTO) {
-        log.info("PUT /api/songs/{} - Mise à jour d'une chanson", id);
+        log.debug("PUT /api/songs/{} - Mise à jour d'une chanson", id);
         return songService.updateSong(id, songDTO)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * PATCH /api/songs/{id}
+     * 
+     * MODIFIER quelques champs (JSON Merge Patch, RFC 7396): un champ absent ne
+     * change pas, un champ à null est vidé. Un seul UPDATE, sans relire la chanson.
+     * 
+     * Exemple curl (ETag "3" reçu avec GET /api/songs/1):
+     * curl -X PATCH http://localhost:8080/api/songs/1 \
+     * -H "Content-Type: application/merge-patch+json" \
+     * -H 'If-Match: "3"' \
+     * -d '{"title": "Imagine (Live)", "genre": null}'
+     * 
+     * Réponses:
+     * - 204 No Content (ETag: nouvelle version si If-Match était présent)
+     * - 400 champ inconnu, non modifiable ou mal typé
+     * - 404 chanson inexistante
+     * - 412 Precondition Failed: la chanson a été modifiée depuis la lecture
+     * 
+     * @param id      L'ID de la chanson
+     * @param ifMatch ETag lu avec GET (optionnel, "*" = sans vérification)
+     * @param patch   Les champs à modifier
+     * @return 204, 404 ou 412
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchSong(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody Map<String, Object> patch) {
+        log.debug("PATCH /api/songs/{} - Modification de {}", id, patch.keySet());
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.isBlank() && !ifMatch.trim().equals("*")) {
+            expectedVersion = parseETag(ifMatch.trim());
+            if (expectedVersion == null) {
+                // ETag faible ou étranger: ne correspond à aucune version
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
+        }
+        if (!songService.patchSong(id, expectedVersion, patch)) {
+            return ResponseEntity.notFound().build();
+        }
+        return expectedVersion == null
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.noContent().eTag(etag(expectedVersion + 1)).build();
+    }
+
     /**
      * DELETE /api/songs/{id}
      * 
@@ -184,7 +284,7 @@ public class SongController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSong(@PathVariable Long id) {
-        log.info("DELETE /api/songs/{} - Suppression d'une chanson", id);
+        log.debug("DELETE /api/songs/{} - Suppression d'une chanson", id);
         boolean deleted = songService.deleteSong(id);
         if (deleted) {
             return ResponseEntity.noContent().build();
@@ -193,6 +293,55 @@ public class SongController {
         }
     }
 
+    /**
+     * DELETE /api/songs?category=&genre=&artist=
+     * 
+     * SUPPRIMER toutes les chansons d'un filtre (au moins un critère), par lots:
+     * un DELETE ... WHERE id IN par lot au lieu de N appels DELETE /api/songs/{id}
+     * 
+     * Exemple curl:
+     * curl -X DELETE "http://localhost:8080/api/songs?category=Demo"
+     * 
+     * Réponse (HTTP 200):
+     * { "affected": 1200, "chunks": 3, "durationMs": 85 }
+     * 
+     * @return Le compte rendu, 400 sans filtre
+     */
+    @DeleteMapping
+    public ResponseEntity<SongBulkService.BulkResult> deleteSongs(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String artist) {
+        SongFilter filter = new SongFilter(category, genre, artist);
+        log.info("DELETE /api/songs - Suppression en masse {}", filter);
+        return ResponseEntity.ok(songBulkService.deleteAll(filter));
+    }
+
+    /**
+     * PATCH /api/songs?category=&genre=&artist=
+     * 
+     * MODIFIER toutes les chansons d'un filtre avec le même merge patch, par lots
+     * (un UPDATE ... WHERE id IN par lot). title et audioUrl sont refusés,
+     * artist et album vont ensemble.
+     * 
+     * Exemple curl:
+     * curl -X PATCH "http://localhost:8080/api/songs?artist=Queen" \
+     * -H "Content-Type: application/merge-patch+json" \
+     * -d '{"genre": "Rock", "category": "Classic Rock"}'
+     * 
+     * @return Le compte rendu, 400 sans filtre ou patch invalide
+     */
+    @PatchMapping(consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<SongBulkService.BulkResult> patchSongs(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String genre,
+            @RequestParam(required = false) String artist,
+            @RequestBody Map<String, Object> patch) {
+        SongFilter filter = new SongFilter(category, genre, artist);
+        log.info("PATCH /api/songs - Modification en masse {} de {}", filter, patch.keySet());
+        return ResponseEntity.ok(songBulkService.patchAll(filter, patch));
+    }
+
     /**
      * GET /api/songs/search/by-title?q=keyword
      * 
@@ -216,7 +365,7 @@ public class SongController {
      */
     @GetMapping("/search/by-title")
     public ResponseEntity<List<SongDTO>> searchByTitle(@RequestParam String q) {
-        log.info("GET /api/songs/search/by-title - Recherche par titre: {}", q);
+        log.debug("GET /api/songs/search/by-title - Recherche par titre: {}", q);
         List<SongDTO> results = songService.searchByTitle(q);
         return ResponseEntity.ok(results);
     }
@@ -231,7 +380,7 @@ public class SongController {
      */
     @GetMapping("/search/by-artist")
     public ResponseEntity<List<SongDTO>> searchByArtist(@RequestParam String q) {
-        log.info("GET /api/songs/search/by-artist - Recherche par artiste: {}", q);
+        log.debug("GET /api/songs/search/by-artist - Recherche par artiste: {}", q);
         List<SongDTO> results = songService.searchByArtist(q);
         return ResponseEntity.ok(results);
     }
@@ -249,8 +398,43 @@ public class SongController {
      */
     @GetMapping("/category/{category}")
     public ResponseEntity<List<SongDTO>> getSongsByCategory(@PathVariable String category) {
-        log.info("GET /api/songs/category/{} - Récupération des chansons par catégorie", category);
+        log.debug("GET /api/songs/category/{} - Récupération des chansons par catégorie", category);
         List<SongDTO> results = songService.getSongsByCategory(category);
         return ResponseEntity.ok(results);
     }
+
+    /**
+     * Version modifiée entre la lecture et l'écriture → HTTP 412
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleVersionConflict(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(Map.of("error", "La chanson a été modifiée entre-temps, relire puis réessayer"));
+    }
+
+    private static String etag(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * @return La version d'un ETag fort ("3"), null pour tout autre ETag
+     */
+    private static Long parseETag(String etag) {
+        if (etag.length() < 3 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Données invalides (ex: artiste manquant) → HTTP 400
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
 }
@@ -0,0 +1,83 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.dto.SearchPageDTO;
+import com.musicstream.api.search.SongSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 🔎 SongSearchController - Recherche plein texte classée
+ * 
+ * Routes :
+ * - GET  /api/songs/search?q=...&size=20&after=... → résultats classés (BM25) avec surlignage
+ * - POST /api/songs/search/rebuild                 → reconstruire l'index depuis la base
+ * 
+ * Les anciennes routes /api/songs/search/by-title et /by-artist (LIKE, sans classement)
+ * restent servies par SongController.
+ * 
+ * Réponses :
+ * - 200 → page de résultats (nextCursor → ?after= de la page suivante)
+ * - 400 → q vide, size hors limites ou curseur invalide
+ * - 409 → reconstruction déjà en cours
+ */
+@RestController
+@RequestMapping("/songs/search")
+@RequiredArgsConstructor
+@Slf4j
+public class SongSearchController {
+
+    private final SongSearchService songSearchService;
+
+    /**
+     * GET /api/songs/search?q=queen%20bohem&size=20
+     * 
+     * Exemple curl:
+     * curl "http://localhost:8080/api/songs/search?q=etoile"
+     * curl "http://localhost:8080/api/songs/search?q=etoile&after=3f8ccccd:42"
+     * 
+     * @param q     Texte recherché (titre, artiste, album, genre; accents facultatifs)
+     * @param size  Résultats par page
+     * @param after nextCursor de la page précédente
+     * @return La page de résultats
+     */
+    @GetMapping
+    public ResponseEntity<SearchPageDTO> search(@RequestParam String q,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(songSearchService.search(q, size, after));
+    }
+
+    /**
+     * POST /api/songs/search/rebuild
+     * 
+     * Exemple curl:
+     * curl -X POST http://localhost:8080/api/songs/search/rebuild
+     * 
+     * @return Nombre de chansons indexées
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        log.info("POST /api/songs/search/rebuild - Reconstruction de l'index de recherche");
+        return ResponseEntity.ok(Map.of("indexed", songSearchService.rebuild()));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.musicstream.api.controller;
+
+import com.musicstream.api.waveform.WaveformService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 〰️ WaveformController - Pics de forme d'onde pour la barre de lecture
+ * 
+ * Route :
+ * - GET /api/songs/{id}/waveform?resolution=1024
+ * 
+ * Corps: application/octet-stream, {resolution} paires (min, max) d'octets signés.
+ * Les requêtes Range sont supportées (206): le lecteur peut charger une portion des pics.
+ * 
+ * Réponses :
+ * - 200 / 206 → pics (ETag, Accept-Ranges: bytes)
+ * - 304 → If-None-Match correspond à l'ETag
+ * - 202 → calcul en cours, réessayer (Retry-After)
+ * - 400 → résolution non disponible (X-Waveform-Resolutions liste les valeurs possibles)
+ * - 404 → chanson inconnue ou sans audio
+ * - 422 → audio non décodable (FLAC, Ogg, URL distante, fichier corrompu)
+ * - 503 → file de calcul pleine
+ */
+@RestController
+@RequestMapping("/songs")
+@RequiredArgsConstructor
+public class WaveformController {
+
+    private static final CacheControl REVALIDATE = CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    private final WaveformService waveformService;
+
+    /**
+     * GET /api/songs/{id}/waveform?resolution=1024
+     * 
+     * Exemple curl:
+     * curl -o peaks.bin "http://localhost:8080/api/songs/1/waveform?resolution=1024"
+     * curl -H "Range: bytes=0-511" "http://localhost:8080/api/songs/1/waveform?resolution=1024"
+     * 
+     * @param id          L'ID de la chanson
+     * @param resolution  Nombre de paires (min, max) voulu
+     * @param ifNoneMatch En-tête If-None-Match du navigateur
+     * @return Les pics
+     */
+    @GetMapping("/{id}/waveform")
+    public ResponseEntity<Resource> getWaveform(@PathVariable Long id,
+                                                @RequestParam(defaultValue = "1024") int resolution,
+                                                @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        WaveformService.Lookup lookup = waveformService.lookup(id);
+        switch (lookup.status()) {
+            case PENDING:
+                return ResponseEntity.status(HttpStatus.ACCEPTED).header("Retry-After", "1").build();
+            case BUSY:
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").build();
+            case NO_AUDIO:
+                return ResponseEntity.notFound().build();
+            case UNSUPPORTED:
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+            default:
+                break;
+        }
+
+        byte[] peaks = lookup.waveform().level(resolution);
+        if (peaks == null) {
+            return ResponseEntity.badRequest()
+                    .header("X-Waveform-Resolutions", lookup.waveform().resolutions().toString())
+                    .build();
+        }
+        String etag = "\"" + lookup.waveform().version() + "-" + resolution + "\"";
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .header("X-Waveform-Resolution", String.valueOf(resolution))
+                .body(new ByteArrayResource(peaks));
+    }
+}
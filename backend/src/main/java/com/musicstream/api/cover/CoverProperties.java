@@ -0,0 +1,49 @@
+package com.musicstream.api.cover;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ CoverProperties - Pipeline des miniatures de pochette
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.covers")
+@Data
+public class CoverProperties {
+
+    /**
+     * Budget mémoire du cache LRU des miniatures (octets)
+     */
+    private long memoryBudgetBytes = 32L * 1024 * 1024;
+
+    /**
+     * Nombre de threads de génération (0 = moitié des cœurs, minimum 1)
+     */
+    private int workerThreads = 0;
+
+    /**
+     * Générations en attente au maximum (au-delà: HTTP 503)
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Temps d'attente maximal d'une génération par la requête HTTP (au-delà: HTTP 202)
+     */
+    private long waitMs = 2000;
+
+    /**
+     * Taille maximale de l'image source (octets)
+     */
+    private int maxSourceBytes = 10 * 1024 * 1024;
+
+    /**
+     * Nombre maximal de pixels de l'image source (protection "decompression bomb")
+     */
+    private long maxSourcePixels = 40_000_000L;
+
+    /**
+     * Télécharger les pochettes http(s):// (désactivé: risque SSRF)
+     */
+    private boolean allowRemote = false;
+}
@@ -0,0 +1,350 @@
+package com.musicstream.api.cover;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.ByteBudgetLruCache;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🖼️ CoverThumbnailService - Miniatures de pochette 64 / 256 / 512 px
+ * 
+ * Pour GET /songs/{id}/cover?size=256:
+ * 1. Cache mémoire LRU (borné en octets)     → réponse immédiate
+ * 2. Fichier sur disque (media/songs/{id}/cover/{version}-{size}.jpg) → lu puis mis en cache
+ * 3. Sinon: génération des 3 tailles en UNE passe (un seul décodage de l'original)
+ *    sur le pool de workers; les requêtes simultanées attendent la même génération.
+ * 
+ * La version est une empreinte de Song.imageUrl: quand la pochette change, les URLs
+ * versionnées changent aussi, ce qui permet des en-têtes de cache "immutable".
+ * L'empreinte (SHA-256 d'une data URI de plusieurs centaines de Ko) est gardée par
+ * chanson avec Song.version: elle n'est recalculée qu'après une modification de la
+ * chanson, pas à chaque requête.
+ * 
+ * Sources supportées pour Song.imageUrl:
+ * - data:image/...;base64,...   (envoyé par le frontend Angular)
+ * - chemin relatif au répertoire média
+ * - http(s):// si musicstream.covers.allow-remote=true
+ */
+@Service
+@Slf4j
+public class CoverThumbnailService {
+
+    public static final List<Integer> SIZES = List.of(64, 256, 512);
+
+    private final SongRepository songRepository;
+    private final MediaStorage mediaStorage;
+    private final CoverProperties properties;
+    private final ByteBudgetLruCache<CoverKey, CoverVariant> cache;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentMap<String, CompletableFuture<Map<Integer, CoverVariant>>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Fingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(3))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    public CoverThumbnailService(SongRepository songRepository,
+                                 MediaStorage mediaStorage,
+                                 CoverProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.songRepository = songRepository;
+        this.mediaStorage = mediaStorage;
+        this.properties = properties;
+        this.cache = new ByteBudgetLruCache<>(properties.getMemoryBudgetBytes(), variant -> variant.bytes().length);
+
+        int threads = properties.getWorkerThreads() > 0
+                ? properties.getWorkerThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cover-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("musicstream.covers.cache.bytes", cache, ByteBudgetLruCache::totalBytes)
+                .baseUnit("bytes").register(meterRegistry);
+        FunctionCounter.builder("musicstream.covers.cache.hits", cache, ByteBudgetLruCache::hits).register(meterRegistry);
+        FunctionCounter.builder("musicstream.covers.cache.misses", cache, ByteBudgetLruCache::misses).register(meterRegistry);
+        Gauge.builder("musicstream.covers.queue.depth", workers, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    /**
+     * Lecture en mémoire uniquement, sans accès base ni disque
+     * (utilisée pour les URLs versionnées: ?size=256&v=...)
+     * 
+     * @param songId  L'ID de la chanson
+     * @param version La version demandée
+     * @param size    La taille
+     * @return La miniature, ou null si elle n'est pas en mémoire
+     */
+    public CoverVariant getCachedCover(long songId, String version, int size) {
+        return cache.get(new CoverKey(songId, version, size));
+    }
+
+    /**
+     * Obtenir une miniature (mémoire → disque → génération en arrière-plan)
+     * 
+     * @param songId L'ID de la chanson
+     * @param size   64, 256 ou 512
+     * @return Future complété avec la miniature, ou avec null si la chanson n'a pas de pochette
+     *         (complété en erreur si l'image source est illisible)
+     * @throws RejectedExecutionException si la file de génération est pleine
+     */
+    @Transactional(readOnly = true)
+    public CompletableFuture<CoverVariant> getCover(long songId, int size) {
+        Song song = songRepository.findById(songId).orElse(null);
+        String imageUrl = song != null ? song.getImageUrl() : null;
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String version = versionOf(song);
+        CoverKey key = new CoverKey(songId, version, size);
+
+        CoverVariant cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CoverVariant onDisk = readFromDisk(key);
+        if (onDisk != null) {
+            cache.put(key, onDisk);
+            return CompletableFuture.completedFuture(onDisk);
+        }
+
+        String generationKey = songId + ":" + version;
+        CompletableFuture<Map<Integer, CoverVariant>> generation = new CompletableFuture<>();
+        CompletableFuture<Map<Integer, CoverVariant>> existing = inFlight.putIfAbsent(generationKey, generation);
+        if (existing != null) {
+            generation = existing;
+        } else {
+            submitGeneration(generationKey, generation, songId, version, imageUrl);
+        }
+        return generation.thenApply(variants -> variants.get(size));
+    }
+
+    /**
+     * Supprimer les miniatures d'une chanson (mémoire et disque)
+     * 
+     * @param songId L'ID de la chanson
+     */
+    public void evict(long songId) {
+        fingerprints.remove(songId);
+        cache.removeIf(key -> key.songId() == songId);
+        deleteVersionsExcept(songId, null);
+    }
+
+    /**
+     * Supprimer les miniatures d'une chanson supprimée
+     * 
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (event.type() == SongChangedEvent.Type.DELETED) {
+            evict(event.songId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void submitGeneration(String generationKey,
+                                  CompletableFuture<Map<Integer, CoverVariant>> generation,
+                                  long songId, String version, String imageUrl) {
+        try {
+            workers.execute(() -> {
+                try {
+                    generation.complete(generate(songId, version, imageUrl));
+                } catch (RuntimeException e) {
+                    generation.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(generationKey, generation);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(generationKey, generation);
+            throw e;
+        }
+    }
+
+    private Map<Integer, CoverVariant> generate(long songId, String version, String imageUrl) {
+        long start = System.nanoTime();
+        try {
+            BufferedImage original = ImageResizer.decode(loadSource(imageUrl), properties.getMaxSourcePixels());
+            Map<Integer, CoverVariant> variants = new HashMap<>();
+
+            // Du plus grand au plus petit: chaque taille part de la précédente
+            BufferedImage current = original;
+            for (int i = SIZES.size() - 1; i >= 0; i--) {
+                int size = SIZES.get(i);
+                current = ImageResizer.resize(current, size);
+                ImageResizer.Encoded encoded = ImageResizer.encode(current);
+                CoverVariant variant = new CoverVariant(encoded.bytes(), encoded.contentType(), version, size);
+                mediaStorage.writeAtomically(pathOf(songId, variant), variant.bytes());
+                cache.put(new CoverKey(songId, version, size), variant);
+                variants.put(size, variant);
+            }
+            deleteVersionsExcept(songId, version);
+
+            log.info("Miniatures générées pour la chanson {} en {} ms",
+                    songId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return variants;
+        } catch (IOException e) {
+            log.warn("Pochette illisible pour la chanson {}: {}", songId, e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] loadSource(String imageUrl) throws IOException {
+        if (imageUrl.startsWith("data:")) {
+            int comma = imageUrl.indexOf(',');
+            if (comma < 0 || !imageUrl.substring(0, comma).endsWith(";base64")) {
+                throw new IOException("Data URI non supportée");
+            }
+            return Base64.getMimeDecoder().decode(imageUrl.substring(comma + 1));
+        }
+        if (imageUrl.startsWith("http://") || imageUrl.startsWith("https://")) {
+            if (!properties.isAllowRemote()) {
+                throw new IOException("Pochettes distantes désactivées");
+            }
+            return download(imageUrl);
+        }
+        Path path = mediaStorage.resolveInside(imageUrl);
+        if (path == null || !Files.isRegularFile(path)) {
+            throw new IOException("Fichier de pochette introuvable: " + imageUrl);
+        }
+        if (Files.size(path) > properties.getMaxSourceBytes()) {
+            throw new IOException("Pochette trop volumineuse");
+        }
+        return Files.readAllBytes(path);
+    }
+
+    private byte[] download(String url) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(10)).GET().build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode() + " pour " + url);
+                }
+                byte[] bytes = body.readNBytes(properties.getMaxSourceBytes() + 1);
+                if (bytes.length > properties.getMaxSourceBytes()) {
+                    throw new IOException("Pochette trop volumineuse");
+                }
+                return bytes;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Téléchargement interrompu", e);
+        }
+    }
+
+    private CoverVariant readFromDisk(CoverKey key) {
+        for (String contentType : List.of("image/jpeg", "image/png")) {
+            CoverVariant probe = new CoverVariant(null, contentType, key.version(), key.size());
+            Path path = pathOf(key.songId(), probe);
+            if (Files.isRegularFile(path)) {
+                try {
+                    return new CoverVariant(Files.readAllBytes(path), contentType, key.version(), key.size());
+                } catch (IOException e) {
+                    log.warn("Miniature illisible {}: {}", path, e.getMessage());
+                }
+            }
+        }
+        return null;
+    }
+
+    private void deleteVersionsExcept(long songId, String keptVersion) {
+        Path directory = mediaStorage.songDirectory(songId).resolve("cover");
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (keptVersion == null || !file.getFileName().toString().startsWith(keptVersion + "-")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Nettoyage des anciennes miniatures impossible pour la chanson {}: {}", songId, e.getMessage());
+        }
+    }
+
+    private Path pathOf(long songId, CoverVariant variant) {
+        return mediaStorage.songDirectory(songId).resolve("cover")
+                .resolve(variant.version() + "-" + variant.size() + "." + variant.extension());
+    }
+
+    /**
+     * Version de la pochette, recalculée seulement si la chanson a changé depuis
+     */
+    private String versionOf(Song song) {
+        Fingerprint known = fingerprints.get(song.getId());
+        if (known != null && known.songVersion() == song.getVersion()) {
+            return known.coverVersion();
+        }
+        String version = versionOf(song.getImageUrl());
+        fingerprints.put(song.getId(), new Fingerprint(song.getVersion(), version));
+        return version;
+    }
+
+    static String versionOf(String imageUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(imageUrl.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CoverKey(long songId, String version, int size) {
+    }
+
+    private record Fingerprint(long songVersion, String coverVersion) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.musicstream.api.cover;
+
+/**
+ * 🖼️ CoverVariant - Une miniature générée
+ * 
+ * @param bytes       Contenu encodé (JPEG ou PNG)
+ * @param contentType image/jpeg ou image/png
+ * @param version     Empreinte de Song.imageUrl: change quand la pochette change
+ * @param size        Taille en pixels du plus grand côté (64, 256 ou 512)
+ */
+public record CoverVariant(byte[] bytes, String contentType, String version, int size) {
+
+    public String extension() {
+        return "image/png".equals(contentType) ? "png" : "jpg";
+    }
+}
@@ -0,0 +1,129 @@
+package com.musicstream.api.cover;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 📐 ImageResizer - Décodage, redimensionnement et encodage des pochettes
+ * 
+ * - Les dimensions sont lues AVANT le décodage (refus des images géantes)
+ * - Réduction par paliers de 50% puis bilinéaire: qualité proche du bicubique, bien plus rapide
+ * - PNG si l'image a de la transparence, sinon JPEG qualité 85%
+ */
+final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Décoder une image en vérifiant d'abord ses dimensions
+     * 
+     * @param source    Octets de l'image (JPEG, PNG, GIF, BMP)
+     * @param maxPixels Nombre maximal de pixels
+     * @return L'image décodée
+     * @throws IOException Format inconnu, image corrompue ou trop grande
+     */
+    static BufferedImage decode(byte[] source, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Format d'image non supporté");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image trop grande: " + pixels + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Redimensionner pour que le plus grand côté fasse maxSide pixels (sans agrandir)
+     * 
+     * @param image   Image source
+     * @param maxSide Taille cible du plus grand côté
+     * @return L'image redimensionnée
+     */
+    static BufferedImage resize(BufferedImage image, int maxSide) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        boolean alpha = image.getColorModel().hasAlpha();
+
+        BufferedImage current = image;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight, alpha);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    /**
+     * Encoder en PNG (transparence) ou JPEG
+     * 
+     * @param image Image à encoder
+     * @return Type MIME et octets encodés
+     * @throws IOException Erreur d'encodage
+     */
+    static Encoded encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(16 * 1024);
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", output);
+            return new Encoded("image/png", output.toByteArray());
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new Encoded("image/jpeg", output.toByteArray());
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage target = new BufferedImage(width, height,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    record Encoded(String contentType, byte[] bytes) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.musicstream.api.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * 📏 QueryBudgetConfig - Comptage des requêtes SQL par requête HTTP
+ * 
+ * Activée par musicstream.query-budget.enabled (true par défaut):
+ * - le bean "dataSource" (Hikari, ou le routage lecture/écriture) est enveloppé
+ *   dans QueryCountingDataSource
+ * - QueryBudgetFilter ouvre une portée de comptage par requête HTTP
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "musicstream.query-budget", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties,
+                                                                MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(properties, meterRegistry));
+        // Après AccessLogFilter, avant RateLimitFilter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registration;
+    }
+}
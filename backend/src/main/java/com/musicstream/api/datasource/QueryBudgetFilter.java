@@ -0,0 +1,103 @@
+package com.musicstream.api.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 📏 QueryBudgetFilter - Requêtes SQL, lignes et temps base par requête HTTP
+ * 
+ * Ouvre une portée QueryCounter autour de la requête puis, par route (motif Spring MVC):
+ * - enregistre les métriques
+ * - signale un dépassement du budget (QueryBudgetProperties) en WARN
+ * - signale les requêtes SQL identiques répétées (N+1) en WARN
+ * 
+ * Les requêtes SQL des threads d'arrière-plan (extraction audio, index de
+ * recherche, ...) ne sont pas comptées.
+ * 
+ * Métriques (tags method, route):
+ * - musicstream.db.statements      → instructions JDBC par requête
+ * - musicstream.db.rows            → lignes lues par requête
+ * - musicstream.db.time            → temps passé dans les execute* par requête
+ * - musicstream.db.budget.exceeded → requêtes au-delà du budget
+ * - musicstream.db.n-plus-one      → requêtes avec un N+1 détecté
+ */
+@Slf4j
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryBudgetFilter(QueryBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.stop(stats);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                record(request.getMethod(), pattern.toString(), stats);
+            }
+        }
+    }
+
+    private void record(String method, String route, QueryStats stats) {
+        Tags tags = Tags.of("method", method, "route", route);
+        DistributionSummary.builder("musicstream.db.statements")
+                .description("Instructions JDBC par requête HTTP")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("musicstream.db.rows")
+                .description("Lignes lues par requête HTTP")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getRowsFetched());
+        Timer.builder("musicstream.db.time")
+                .description("Temps base de données par requête HTTP")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getDbTime());
+
+        String key = method + " " + route;
+        int budget = properties.budgetFor(key);
+        if (stats.getStatements() > budget) {
+            log.warn("Budget SQL dépassé pour {}: {} instructions (budget {})", key, stats.getStatements(), budget);
+            Counter.builder("musicstream.db.budget.exceeded")
+                    .description("Requêtes HTTP au-delà de leur budget SQL")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        Map<String, Integer> repeated = stats.repeated(properties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            repeated.forEach((sql, count) -> log.warn("N+1 probable sur {}: {} × {}", key, count, sql));
+            Counter.builder("musicstream.db.n-plus-one")
+                    .description("Requêtes HTTP avec une même requête SQL répétée")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
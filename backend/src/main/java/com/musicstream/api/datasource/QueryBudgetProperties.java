@@ -0,0 +1,50 @@
+package com.musicstream.api.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ⚙️ QueryBudgetProperties - Budget de requêtes SQL par requête HTTP
+ * 
+ * Lue depuis application.properties (préfixe musicstream.query-budget):
+ * 
+ * musicstream.query-budget.max-statements=20
+ * musicstream.query-budget.routes[GET /songs/{id}]=1
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.query-budget")
+@Data
+public class QueryBudgetProperties {
+
+    /**
+     * Envelopper la datasource et compter les requêtes SQL de chaque requête HTTP
+     */
+    private boolean enabled = true;
+
+    /**
+     * Budget par défaut d'une route (nombre d'instructions JDBC)
+     */
+    private int maxStatements = 20;
+
+    /**
+     * Budgets par route: "MÉTHODE motif" (ex: "DELETE /songs/{id}") → instructions
+     */
+    private Map<String, Integer> routes = new HashMap<>();
+
+    /**
+     * Une même requête SQL exécutée au moins ce nombre de fois est signalée comme N+1
+     */
+    private int repeatThreshold = 5;
+
+    /**
+     * @param route "MÉTHODE motif"
+     * @return Le budget de la route, ou le budget par défaut
+     */
+    public int budgetFor(String route) {
+        return routes.getOrDefault(route, maxStatements);
+    }
+}
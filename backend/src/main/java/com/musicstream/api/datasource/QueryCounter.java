@@ -0,0 +1,48 @@
+package com.musicstream.api.datasource;
+
+/**
+ * 🧮 QueryCounter - Portée de comptage des requêtes SQL du thread courant
+ * 
+ * Ouverte par QueryBudgetFilter pour chaque requête HTTP, ou par un test:
+ * 
+ * QueryStats stats = QueryCounter.start();
+ * try { ... } finally { QueryCounter.stop(stats); }
+ * 
+ * Les portées s'imbriquent: une requête SQL compte dans la portée courante et
+ * dans toutes celles qui l'englobent. Hors portée, QueryCountingDataSource ne
+ * compte rien.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Ouvrir une portée (à fermer avec stop dans un finally)
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Fermer la portée et revenir à la portée englobante
+     */
+    public static void stop(QueryStats stats) {
+        if (stats.parent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent());
+        }
+    }
+
+    /**
+     * @return La portée courante, ou null
+     */
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,130 @@
+package com.musicstream.api.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * 📟 QueryCountingDataSource - Compte les instructions JDBC dans QueryStats
+ * 
+ * Enveloppe la datasource de l'application (proxies JDK dynamiques):
+ * 
+ * Connection
+ *   └── Statement / PreparedStatement / CallableStatement
+ *         ├── execute, executeQuery, executeUpdate, executeBatch → 1 instruction + durée
+ *         └── ResultSet.next() == true → 1 ligne
+ * 
+ * Hors portée QueryCounter (threads d'arrière-plan, démarrage), le coût se
+ * limite à une lecture de ThreadLocal par appel.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return wrap(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return wrap(Connection.class, connection, new ConnectionHandler(connection));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, T target, InvocationHandler handler) {
+        if (target == null) {
+            return null;
+        }
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Connexion: enveloppe les instructions créées et retient leur texte SQL
+     */
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrap(PreparedStatement.class, (PreparedStatement) result,
+                        new StatementHandler(result, sql));
+                case "prepareCall" -> wrap(CallableStatement.class, (CallableStatement) result,
+                        new StatementHandler(result, sql));
+                case "createStatement" -> wrap(Statement.class, (Statement) result, new StatementHandler(result, null));
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Instruction: compte les exécutions (SQL préparé ou passé à execute)
+     */
+    private record StatementHandler(Object target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            QueryStats stats = QueryCounter.current();
+            if (stats == null || !name.startsWith("execute")) {
+                return wrapResultSet(QueryCountingDataSource.invoke(target, method, args));
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return wrapResultSet(QueryCountingDataSource.invoke(target, method, args));
+            } finally {
+                stats.recordStatement(sql, System.nanoTime() - start);
+            }
+        }
+
+        private static Object wrapResultSet(Object result) {
+            if (result instanceof ResultSet resultSet) {
+                return wrap(ResultSet.class, resultSet, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * ResultSet: compte les lignes lues
+     */
+    private record ResultSetHandler(ResultSet target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                QueryStats stats = QueryCounter.current();
+                if (stats != null) {
+                    stats.recordRow();
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.musicstream.api.datasource;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🔢 QueryStats - Requêtes SQL exécutées pendant une portée (requête HTTP, test)
+ * 
+ * Alimenté par QueryCountingDataSource sur le thread de la portée (pas de
+ * synchronisation). Un executeBatch compte pour un seul aller-retour.
+ * 
+ * Les instructions sont regroupées par texte SQL (paramètres "?" non remplacés):
+ * la même requête préparée exécutée N fois avec des IDs différents est le
+ * symptôme d'un N+1.
+ */
+public final class QueryStats {
+
+    private final QueryStats parent;
+    private final Map<String, Integer> executions = new LinkedHashMap<>();
+    private int statements;
+    private long rowsFetched;
+    private long dbNanos;
+
+    QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        dbNanos += nanos;
+        executions.merge(sql == null ? "?" : sql, 1, Integer::sum);
+        if (parent != null) {
+            parent.recordStatement(sql, nanos);
+        }
+    }
+
+    void recordRow() {
+        rowsFetched++;
+        if (parent != null) {
+            parent.recordRow();
+        }
+    }
+
+    QueryStats parent() {
+        return parent;
+    }
+
+    /**
+     * @return Nombre d'instructions exécutées (allers-retours JDBC)
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Lignes lues dans les ResultSet
+     */
+    public long getRowsFetched() {
+        return rowsFetched;
+    }
+
+    /**
+     * @return Temps passé dans les appels execute* (hors lecture des lignes)
+     */
+    public Duration getDbTime() {
+        return Duration.ofNanos(dbNanos);
+    }
+
+    /**
+     * @return Nombre d'exécutions par texte SQL, dans l'ordre de première exécution
+     */
+    public Map<String, Integer> getExecutions() {
+        return executions;
+    }
+
+    /**
+     * Requêtes identiques exécutées au moins threshold fois (N+1 probable)
+     * 
+     * @param threshold Nombre minimal d'exécutions
+     * @return Texte SQL → nombre d'exécutions
+     */
+    public Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        executions.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder()
+                .append(statements).append(" requête(s) SQL, ")
+                .append(rowsFetched).append(" ligne(s), ")
+                .append(String.format("%.2f", dbNanos / 1e6)).append(" ms");
+        executions.forEach((sql, count) -> text.append(System.lineSeparator())
+                .append("  ").append(count).append(" × ").append(sql));
+        return text.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.musicstream.api.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 🔀 ReadWriteRoutingDataSource - Choix de la base à chaque connexion
+ * 
+ * - Transaction @Transactional(readOnly = true) → un réplica sain (round-robin)
+ * - Toute autre transaction                     → le primaire
+ * - Client qui vient d'écrire (read-your-writes) → le primaire
+ * - Aucun réplica sain (retard, panne)           → le primaire
+ * 
+ * ⚠️ Doit être enveloppée dans un LazyConnectionDataSourceProxy: sinon la connexion
+ * est prise au début de la transaction, AVANT que le flag readOnly soit connu.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealthMonitor healthMonitor;
+
+    public ReadWriteRoutingDataSource(ReplicaHealthMonitor healthMonitor) {
+        this.healthMonitor = healthMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || ReadYourWritesContext.isPrimaryForced()) {
+            return PRIMARY;
+        }
+        String replica = healthMonitor.nextHealthyReplica();
+        return replica != null ? replica : PRIMARY;
+    }
+}
@@ -0,0 +1,27 @@
+package com.musicstream.api.datasource;
+
+/**
+ * 📌 ReadYourWritesContext - Forcer le primaire pour la requête courante
+ * 
+ * Positionné par ReadYourWritesFilter quand le client vient d'écrire:
+ * ses lectures suivantes ne doivent pas tomber sur un réplica en retard.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+}
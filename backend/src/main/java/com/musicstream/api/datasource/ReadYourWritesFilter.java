@@ -0,0 +1,77 @@
+package com.musicstream.api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 📌 ReadYourWritesFilter - Stickiness sur le primaire après une écriture
+ * 
+ * Une écriture (POST, PUT, PATCH, DELETE) pose un cookie contenant l'heure
+ * jusqu'à laquelle le client doit lire sur le primaire.
+ * Tant que ce cookie est valide, ses lectures ignorent les réplicas.
+ * 
+ * Le cookie rend la stickiness indépendante de l'instance d'API qui reçoit la requête.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "ms-read-primary-until";
+
+    private final int stickinessSeconds;
+
+    public ReadYourWritesFilter(int stickinessSeconds) {
+        this.stickinessSeconds = stickinessSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean write = isWrite(request.getMethod());
+
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, String.valueOf(now + stickinessSeconds * 1000L));
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge(stickinessSeconds);
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+
+        if (write || readPrimaryUntil(request) > now) {
+            ReadYourWritesContext.forcePrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return "POST".equals(method) || "PUT".equals(method)
+                || "PATCH".equals(method) || "DELETE".equals(method);
+    }
+
+    private static long readPrimaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
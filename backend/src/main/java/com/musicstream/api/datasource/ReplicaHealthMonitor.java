@@ -0,0 +1,117 @@
+package com.musicstream.api.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 💓 ReplicaHealthMonitor - Mesure du retard de réplication
+ * 
+ * Toutes les heartbeat-interval-ms:
+ * 1. Écrit l'heure courante dans replication_heartbeat sur le PRIMAIRE
+ * 2. Relit cette table sur chaque RÉPLICA
+ * 3. retard = heure du primaire - heure vue par le réplica
+ * 
+ * Un réplica injoignable, sans table de heartbeat ou trop en retard
+ * est retiré de la rotation jusqu'à la vérification suivante.
+ */
+@Slf4j
+public class ReplicaHealthMonitor {
+
+    static final String HEARTBEAT_TABLE = "replication_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMs;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile List<String> healthyReplicas = List.of();
+
+    public ReplicaHealthMonitor(DataSource primary, Map<String, DataSource> replicas, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = replicas;
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * Datasources des réplicas, par clé (replica-0, replica-1, ...)
+     * 
+     * @return Map non modifiable
+     */
+    public Map<String, DataSource> getReplicas() {
+        return Collections.unmodifiableMap(replicas);
+    }
+
+    /**
+     * Réplica à utiliser pour la prochaine lecture (round-robin sur les réplicas sains)
+     * 
+     * @return La clé du réplica, ou null si aucun réplica n'est utilisable
+     */
+    public String nextHealthyReplica() {
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return null;
+        }
+        return healthy.get(Math.floorMod(roundRobin.getAndIncrement(), healthy.size()));
+    }
+
+    /**
+     * Écrire le heartbeat sur le primaire puis mesurer le retard de chaque réplica
+     */
+    @Scheduled(fixedDelayString = "${musicstream.datasource.heartbeat-interval-ms:1000}")
+    public void checkReplicas() {
+        long now = System.currentTimeMillis();
+        try {
+            writeHeartbeat(now);
+        } catch (RuntimeException e) {
+            log.warn("Heartbeat impossible sur le primaire: {}", e.getMessage());
+            return;
+        }
+
+        List<String> healthy = new ArrayList<>();
+        replicas.forEach((key, dataSource) -> {
+            try {
+                Long seen = new JdbcTemplate(dataSource).queryForObject(
+                        "SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1", Long.class);
+                long lag = seen == null ? Long.MAX_VALUE : now - seen;
+                if (lag <= maxLagMs) {
+                    healthy.add(key);
+                } else {
+                    log.warn("Réplica {} en retard de {} ms, lectures redirigées vers le primaire", key, lag);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Réplica {} indisponible: {}", key, e.getMessage());
+            }
+        });
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    /**
+     * Fermer les pools des réplicas à l'arrêt de l'application
+     */
+    public void close() {
+        replicas.values().forEach(dataSource -> {
+            if (dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Fermeture du pool réplica impossible: {}", e.getMessage());
+                }
+            }
+        });
+    }
+
+    private void writeHeartbeat(long now) {
+        primary.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        int updated = primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now);
+        if (updated == 0) {
+            primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.musicstream.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🔀 RoutingDataSourceConfig - Lectures sur les réplicas, écritures sur le primaire
+ * 
+ * Activée par musicstream.datasource.routing-enabled=true.
+ * Remplace la datasource Spring Boot par:
+ * 
+ * LazyConnectionDataSourceProxy
+ *   └── ReadWriteRoutingDataSource
+ *         ├── primary   (HikariCP)
+ *         ├── replica-0 (HikariCP)
+ *         └── replica-N ...
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "musicstream.datasource", name = "routing-enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+@EnableScheduling
+public class RoutingDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    HikariDataSource primaryDataSource(RoutingDataSourceProperties properties) {
+        return pool(ReadWriteRoutingDataSource.PRIMARY, properties.getPrimary());
+    }
+
+    @Bean(destroyMethod = "close")
+    ReplicaHealthMonitor replicaHealthMonitor(HikariDataSource primaryDataSource,
+                                              RoutingDataSourceProperties properties) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            String key = "replica-" + i;
+            replicas.put(key, pool(key, properties.getReplicas().get(i)));
+        }
+        return new ReplicaHealthMonitor(primaryDataSource, replicas, properties.getMaxReplicaLagMs());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthMonitor replicaHealthMonitor) {
+        Map<Object, Object> targets = new HashMap<>(replicaHealthMonitor.getReplicas());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaHealthMonitor);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter(RoutingDataSourceProperties properties) {
+        return new ReadYourWritesFilter(properties.getReadYourWritesSeconds());
+    }
+
+    private static HikariDataSource pool(String name, RoutingDataSourceProperties.Node node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("musicstream-" + name);
+        dataSource.setJdbcUrl(node.getUrl());
+        dataSource.setUsername(node.getUsername());
+        dataSource.setPassword(node.getPassword());
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        return dataSource;
+    }
+}
@@ -0,0 +1,62 @@
+package com.musicstream.api.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ RoutingDataSourceProperties - Primaire + réplicas en lecture
+ * 
+ * Exemple (application.properties):
+ * 
+ * musicstream.datasource.routing-enabled=true
+ * musicstream.datasource.primary.url=jdbc:h2:mem:musicstreamdb
+ * musicstream.datasource.replicas[0].url=jdbc:h2:mem:musicstreamdb_replica
+ */
+@ConfigurationProperties(prefix = "musicstream.datasource")
+@Data
+public class RoutingDataSourceProperties {
+
+    /**
+     * Activer le routage lecture/écriture (sinon: datasource Spring Boot classique)
+     */
+    private boolean routingEnabled = false;
+
+    /**
+     * Base primaire: toutes les écritures
+     */
+    private Node primary = new Node();
+
+    /**
+     * Réplicas: transactions readOnly
+     */
+    private List<Node> replicas = new ArrayList<>();
+
+    /**
+     * Au-delà de ce retard, un réplica n'est plus utilisé (lectures sur le primaire)
+     */
+    private long maxReplicaLagMs = 2000;
+
+    /**
+     * Intervalle entre deux vérifications du retard des réplicas
+     */
+    private long heartbeatIntervalMs = 1000;
+
+    /**
+     * Après une écriture, les lectures du même client vont au primaire pendant ce délai
+     */
+    private int readYourWritesSeconds = 5;
+
+    /**
+     * Connexion JDBC d'une base
+     */
+    @Data
+    public static class Node {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,24 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 💿 AlbumDTO - Un album et ses pistes
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlbumDTO {
+
+    private Long id;
+    private String title;
+    private Long artistId;
+    private String artistName;
+    private List<SongDTO> tracks;
+}
@@ -0,0 +1,24 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🎤 ArtistDTO - Un artiste et la taille de sa discographie
+ * 
+ * ⚠️ L'ordre des champs = l'ordre des arguments du constructeur utilisé par
+ * ArtistRepository.findSummaries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArtistDTO {
+
+    private Long id;
+    private String name;
+    private Long albumCount;
+    private Long songCount;
+}
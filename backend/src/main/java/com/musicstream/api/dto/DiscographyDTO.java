@@ -0,0 +1,22 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📚 DiscographyDTO - Un artiste, ses albums (avec pistes) et ses titres hors album
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DiscographyDTO {
+
+    private ArtistDTO artist;
+    private List<AlbumDTO> albums;
+    private List<SongDTO> singles;
+}
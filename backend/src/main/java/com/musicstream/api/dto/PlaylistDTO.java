@@ -0,0 +1,49 @@
+package com.musicstream.api.dto;
+
+import com.musicstream.api.entity.Playlist;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📃 PlaylistDTO - Playlist envoyée au client (sans ses entrées)
+ * 
+ * Les entrées sont lues page par page: GET /api/playlists/{id}/entries
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistDTO {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Long entryCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Convertir une Entity Playlist en DTO
+     * 
+     * @param playlist   L'entity
+     * @param entryCount Nombre d'entrées (compté en base)
+     * @return Le DTO
+     */
+    public static PlaylistDTO fromEntity(Playlist playlist, long entryCount) {
+        if (playlist == null) {
+            return null;
+        }
+        return PlaylistDTO.builder()
+                .id(playlist.getId())
+                .name(playlist.getName())
+                .description(playlist.getDescription())
+                .entryCount(entryCount)
+                .createdAt(playlist.getCreatedAt())
+                .updatedAt(playlist.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📌 PlaylistEntryDTO - Une entrée de playlist avec le résumé de sa chanson
+ * 
+ * Construit directement par la requête JPQL (SELECT new ...): les colonnes audioUrl et
+ * imageUrl (souvent des data URI de plusieurs Mo) ne sont jamais lues. La pochette se
+ * charge par GET /api/songs/{songId}/cover.
+ * 
+ * ⚠️ L'ordre des champs = l'ordre des arguments du constructeur utilisé par
+ * PlaylistEntryRepository.findPage
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntryDTO {
+
+    private Long entryId;
+    private Long position;
+    private Long songId;
+    private String title;
+    private String artist;
+    private String album;
+    private Integer duration;
+    private LocalDateTime addedAt;
+}
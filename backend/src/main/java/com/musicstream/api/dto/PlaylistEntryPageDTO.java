@@ -0,0 +1,25 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📄 PlaylistEntryPageDTO - Une page d'entrées de playlist
+ * 
+ * Pagination par curseur (keyset): nextCursor se passe tel quel à la requête suivante
+ * (?cursor=...). Il vaut null sur la dernière page. Contrairement à OFFSET, la page
+ * 10 000 coûte autant que la première.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntryPageDTO {
+
+    private List<PlaylistEntryDTO> entries;
+    private String nextCursor;
+}
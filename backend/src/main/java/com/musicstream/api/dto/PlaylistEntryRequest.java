@@ -0,0 +1,33 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * ➕ PlaylistEntryRequest - Ajouter ou déplacer des entrées de playlist
+ * 
+ * Position voulue (au plus un des deux, sinon: à la fin):
+ * - afterEntryId  → juste après cette entrée
+ * - beforeEntryId → juste avant cette entrée (beforeEntryId = 1re entrée: au début)
+ * 
+ * Exemple (ajout de 3 titres après l'entrée 42):
+ * { "songIds": [7, 8, 9], "afterEntryId": 42 }
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntryRequest {
+
+    /**
+     * Chansons à ajouter, dans l'ordre (ignoré pour un déplacement)
+     */
+    private List<Long> songIds;
+
+    private Long afterEntryId;
+    private Long beforeEntryId;
+}
@@ -0,0 +1,25 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 🔎 SearchHitDTO - Un résultat de GET /api/songs/search
+ * 
+ * highlights: champ (title, artist, album, genre) → valeur avec les termes trouvés
+ * entourés de <b>...</b>. Seuls les champs qui correspondent sont présents.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDTO {
+
+    private SongDTO song;
+    private float score;
+    private Map<String, String> highlights;
+}
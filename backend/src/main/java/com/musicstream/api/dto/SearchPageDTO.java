@@ -0,0 +1,29 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 🔎 SearchPageDTO - Une page de résultats de recherche, du plus au moins pertinent
+ * 
+ * Pagination par curseur (search-after): nextCursor se passe tel quel à la requête
+ * suivante (?after=...). Il vaut null sur la dernière page.
+ * 
+ * totalHits est exact si totalHitsExact = true, sinon c'est une borne inférieure
+ * (le comptage s'arrête au-delà de 1000 résultats).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDTO {
+
+    private List<SearchHitDTO> hits;
+    private long totalHits;
+    private boolean totalHitsExact;
+    private String nextCursor;
+}
@@ -0,0 +1,24 @@
+package com.musicstream.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 📚 SongBatchDTO - Plusieurs chansons lues en un appel
+ * 
+ * songs suit l'ordre des IDs demandés (un doublon n'est renvoyé qu'une fois),
+ * missing liste les IDs qui n'existent pas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SongBatchDTO {
+
+    private List<SongDTO> songs;
+    private List<Long> missing;
+}
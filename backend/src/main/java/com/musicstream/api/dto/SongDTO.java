@@ -24,6 +24,9 @@ import java.time.LocalDateTime;
  * Exemple:
  * Entity Song contient: id, title, artist, createdAt, updatedAt, ...
  * DTO SongDTO peut juste contenir: id, title, artist, duration
+ * 
+ * artist et album restent des noms (compatibilité des clients); artistId et albumId
+ * permettent de naviguer vers /api/artists/{id} et /api/albums/{id}.
  */
 @Data
 @Builder
@@ -33,15 +36,22 @@ public class SongDTO {
 
     private Long id;
     private String title;
+    private Long artistId;
     private String artist;
+    private Long albumId;
     private String album;
     private String genre;
     private String category;
     private Integer duration;
+    private Integer bitrate;
+    private Integer sampleRate;
     private String audioUrl;
+    private Long audioSize;
+    private String audioSha256;
     private String imageUrl;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     /**
      * Convertir une Entity Song en DTO
@@ -60,15 +70,22 @@ public class SongDTO {
         return SongDTO.builder()
                 .id(song.getId())
                 .title(song.getTitle())
+                .artistId(song.getArtistRef() == null ? null : song.getArtistRef().getId())
                 .artist(song.getArtist())
+                .albumId(song.getAlbumRef() == null ? null : song.getAlbumRef().getId())
                 .album(song.getAlbum())
                 .genre(song.getGenre())
                 .category(song.getCategory())
                 .duration(song.getDuration())
+                .bitrate(song.getBitrate())
+                .sampleRate(song.getSampleRate())
                 .audioUrl(song.getAudioUrl())
+                .audioSize(song.getAudioSize())
+                .audioSha256(song.getAudioSha256())
                 .imageUrl(song.getImageUrl())
                 .createdAt(song.getCreatedAt())
                 .updatedAt(song.getUpdatedAt())
+                .version(song.getVersion())
                 .build();
     }
 
@@ -86,6 +103,8 @@ public class SongDTO {
                 .genre(this.genre)
                 .category(this.category)
                 .duration(this.duration)
+                .bitrate(this.bitrate)
+                .sampleRate(this.sampleRate)
                 .audioUrl(this.audioUrl)
                 .imageUrl(this.imageUrl)
                 .createdAt(this.createdAt)
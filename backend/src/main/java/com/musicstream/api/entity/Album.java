@@ -0,0 +1,74 @@
+package com.musicstream.api.entity;
+
+import com.musicstream.api.cache.SecondLevelCacheConfig;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+/**
+ * 💿 Album - Un album d'un artiste
+ * 
+ * Unique par (artiste, titre normalisé): deux artistes peuvent avoir un album
+ * "Greatest Hits" sans être confondus.
+ * La contrainte unique (artist_id, title_key) sert aussi d'index pour lister
+ * les albums d'un artiste.
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ALBUM_REGION)
+@Table(name = "albums", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_albums_artist_title_key", columnNames = {"artist_id", "title_key"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Album {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(name = "title_key", nullable = false)
+    private String titleKey;
+
+    /**
+     * Artiste de l'album (chargé à la demande)
+     */
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "artist_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Artist artist;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Album pas encore enregistré (résolu par CatalogService avant la sauvegarde)
+     * 
+     * @param title  Titre saisi
+     * @param artist Artiste de l'album
+     * @return null si le titre est null
+     */
+    public static Album named(String title, Artist artist) {
+        return title == null ? null : Album.builder().title(title.trim()).artist(artist).build();
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        titleKey = Artist.keyOf(title);
+        createdAt = LocalDateTime.now();
+    }
+}
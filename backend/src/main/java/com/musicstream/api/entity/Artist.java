@@ -0,0 +1,71 @@
+package com.musicstream.api.entity;
+
+import com.musicstream.api.cache.SecondLevelCacheConfig;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * 🎤 Artist - Un artiste, partagé par toutes ses chansons
+ * 
+ * Les chansons référencent l'artiste par clé étrangère (songs.artist_id):
+ * le nom n'est stocké qu'une fois, et filtrer par artiste compare des entiers.
+ * 
+ * nameKey = nom normalisé (trim + minuscules), unique: "Queen", "queen " et "QUEEN"
+ * désignent le même artiste. Le nom affiché reste celui de la première saisie.
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.ARTIST_REGION)
+@Table(name = "artists", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_artists_name_key", columnNames = "name_key")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Artist {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Artiste pas encore enregistré (résolu par CatalogService avant la sauvegarde)
+     * 
+     * @param name Nom saisi
+     * @return null si le nom est null
+     */
+    public static Artist named(String name) {
+        return name == null ? null : Artist.builder().name(name.trim()).build();
+    }
+
+    /**
+     * Clé de dédoublonnage (même règle que la migration SQL: LOWER(TRIM(...)))
+     */
+    public static String keyOf(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        nameKey = keyOf(name);
+        createdAt = LocalDateTime.now();
+    }
+}
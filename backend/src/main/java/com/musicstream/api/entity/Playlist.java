@@ -0,0 +1,67 @@
+package com.musicstream.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📃 Playlist - Entité JPA pour une liste de lecture
+ * 
+ * Les chansons de la playlist sont des PlaylistEntry (table playlist_entries):
+ * pas de collection @OneToMany ici, une playlist de 10 000 titres ne doit jamais
+ * être chargée en entier par accident (voir PlaylistEntryRepository).
+ */
+@Entity
+@Table(name = "playlists")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Playlist {
+
+    /**
+     * ID unique de la playlist
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Nom de la playlist
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Description (optionnelle)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    /**
+     * Date de création en base de données
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Date de dernière modification (nom, description)
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,69 @@
+package com.musicstream.api.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📌 PlaylistEntry - Une chanson à une position dans une playlist
+ * 
+ * Ordre par "trous" (gap-based): les positions sont espacées de PlaylistEntry.GAP.
+ * Insérer ou déplacer une entrée = lui donner une position entre ses deux voisines
+ * → UN seul UPDATE/INSERT, les autres lignes ne bougent pas.
+ * Quand il n'y a plus de place entre deux voisines (≈ 20 insertions au même endroit),
+ * la playlist est renumérotée une fois (PlaylistService).
+ * 
+ * Les clés étrangères sont de simples colonnes (playlistId, songId): les entrées sont
+ * lues par une projection jointe sur songs (une requête), jamais par navigation lazy.
+ * 
+ * ID par séquence (et non IDENTITY) pour que Hibernate puisse regrouper les INSERT
+ * en batch JDBC lors de l'ajout de milliers de titres.
+ */
+@Entity
+@Table(name = "playlist_entries", indexes = {
+        @Index(name = "idx_playlist_entries_order", columnList = "playlist_id, position, id"),
+        @Index(name = "idx_playlist_entries_song", columnList = "song_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaylistEntry {
+
+    /**
+     * Écart entre deux positions consécutives (2^20): ≈ 20 insertions successives
+     * au même endroit avant une renumérotation
+     */
+    public static final long GAP = 1L << 20;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "playlist_entry_seq")
+    @SequenceGenerator(name = "playlist_entry_seq", sequenceName = "playlist_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "playlist_id", nullable = false)
+    private Long playlistId;
+
+    @Column(name = "song_id", nullable = false)
+    private Long songId;
+
+    /**
+     * Clé d'ordre dans la playlist (croissante, pas forcément contiguë)
+     */
+    @Column(nullable = false)
+    private long position;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime addedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (addedAt == null) {
+            addedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.musicstream.api.entity;
 
+import com.musicstream.api.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -19,9 +25,22 @@ import java.time.LocalDateTime;
  * @Builder = Permet de créer des objets avec la syntaxe: Song.builder().title("...").build()
  * @NoArgsConstructor = Constructeur sans paramètres
  * @AllArgsConstructor = Constructeur avec tous les paramètres
+ * 
+ * Artiste et album sont des entités (Artist, Album) référencées par clé étrangère.
+ * getArtist()/setArtist(String) et getAlbum()/setAlbum(String) restent disponibles:
+ * un nom passé à setArtist est résolu vers l'artiste existant par CatalogService
+ * avant la sauvegarde (sinon un nouvel artiste est créé).
+ * 
+ * @Cache = Entité gardée dans le cache de second niveau (région "songs",
+ * voir SecondLevelCacheConfig): findById ne va en base qu'au premier accès.
  */
 @Entity
-@Table(name = "songs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SONG_REGION)
+@Table(name = "songs", indexes = {
+        @Index(name = "idx_songs_artist", columnList = "artist_id"),
+        @Index(name = "idx_songs_album", columnList = "album_id")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -37,6 +56,18 @@ public class Song {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Version (verrouillage optimiste): incrémentée à chaque modification, sert d'ETag
+     * 
+     * Type primitif: Spring Data décide toujours insert/update par l'ID
+     * (une version null ferait passer une chanson détachée pour une nouvelle).
+     * Valeur par défaut 0: colonne ajoutée sans erreur à une base existante (ddl-auto=update).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
     /**
      * Titre de la chanson
      * @Column = Colonne de la table
@@ -46,16 +77,25 @@ public class Song {
     private String title;
 
     /**
-     * Artiste de la chanson
+     * Artiste de la chanson (obligatoire, voir CatalogService)
+     * 
+     * Colonne nullable au niveau du schéma pour que la migration puisse l'ajouter
+     * à une table existante avant de la remplir (voir ArtistAlbumMigration).
      */
-    @Column(nullable = false)
-    private String artist;
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "artist_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Artist artistRef;
 
     /**
-     * Album de la chanson
+     * Album de la chanson (optionnel)
      */
-    @Column
-    private String album;
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
+    @JoinColumn(name = "album_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Album albumRef;
 
     /**
      * Genre de la chanson
@@ -75,12 +115,36 @@ public class Song {
     @Column
     private Integer duration;
 
+    /**
+     * Débit moyen en kbit/s (lu dans le fichier audio, voir AudioMetadataService)
+     */
+    @Column
+    private Integer bitrate;
+
+    /**
+     * Fréquence d'échantillonnage en Hz (lue dans le fichier audio)
+     */
+    @Column
+    private Integer sampleRate;
+
     /**
      * URL ou chemin du fichier audio
      */
     @Column(columnDefinition = "TEXT")
     private String audioUrl;
 
+    /**
+     * Taille du fichier audio uploadé en octets (voir AudioUploadService)
+     */
+    @Column
+    private Long audioSize;
+
+    /**
+     * SHA-256 (hex) du fichier audio uploadé
+     */
+    @Column(length = 64)
+    private String audioSha256;
+
     /**
      * URL ou chemin de l'image de couverture
      */
@@ -100,11 +164,61 @@ public class Song {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    /**
+     * Nom de l'artiste (aplati, comme avant la normalisation)
+     */
+    public String getArtist() {
+        return artistRef == null ? null : artistRef.getName();
+    }
+
+    /**
+     * Changer d'artiste par son nom (résolu vers l'artiste existant par CatalogService)
+     */
+    public void setArtist(String name) {
+        artistRef = Artist.named(name);
+        if (albumRef != null && albumRef.getId() == null) {
+            albumRef.setArtist(artistRef);
+        }
+    }
+
+    /**
+     * Titre de l'album (aplati)
+     */
+    public String getAlbum() {
+        return albumRef == null ? null : albumRef.getTitle();
+    }
+
+    /**
+     * Changer d'album par son titre (album de l'artiste de la chanson)
+     */
+    public void setAlbum(String title) {
+        albumRef = Album.named(title, artistRef);
+    }
+
+    /**
+     * Builder: artist("...") et album("...") acceptent toujours des noms
+     */
+    public static class SongBuilder {
+
+        public SongBuilder artist(String name) {
+            this.artistRef = Artist.named(name);
+            return this;
+        }
+
+        public SongBuilder album(String title) {
+            this.albumRef = Album.named(title, null);
+            return this;
+        }
+    }
+
     /**
      * Hook JPA: S'exécute automatiquement AVANT d'insérer une nouvelle Song
      */
     @PrePersist
     protected void onCreate() {
+        if (albumRef != null && albumRef.getArtist() == null) {
+            albumRef.setArtist(artistRef);
+        }
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
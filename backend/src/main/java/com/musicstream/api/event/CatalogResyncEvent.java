@@ -0,0 +1,14 @@
+package com.musicstream.api.event;
+
+/**
+ * 📣 CatalogResyncEvent - Des invalidations venues d'autres instances ont été perdues
+ * 
+ * Publié par InvalidationBus quand un trou apparaît dans la séquence d'un nœud:
+ * on ne sait plus quelles chansons ont changé, les états locaux dérivés du
+ * catalogue (index de recherche, recommandations) doivent être recalculés depuis
+ * la base. Le cache de second niveau est déjà vidé au moment de la publication.
+ * 
+ * @param reason Cause, pour les logs (nœud et séquences concernés)
+ */
+public record CatalogResyncEvent(String reason) {
+}
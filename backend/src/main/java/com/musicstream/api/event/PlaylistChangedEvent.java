@@ -0,0 +1,15 @@
+package com.musicstream.api.event;
+
+import java.util.Collection;
+
+/**
+ * 📣 PlaylistChangedEvent - Publié par PlaylistService quand le contenu d'une playlist change
+ * 
+ * Les recommandations ("chansons similaires") écoutent cet événement pour ne
+ * recalculer que les chansons concernées.
+ * 
+ * @param playlistId L'ID de la playlist
+ * @param songIds    Chansons ajoutées, déplacées ou retirées (toutes, si la playlist est supprimée)
+ */
+public record PlaylistChangedEvent(Long playlistId, Collection<Long> songIds) {
+}
@@ -0,0 +1,33 @@
+package com.musicstream.api.event;
+
+/**
+ * 📣 SongChangedEvent - Publié par SongService après chaque écriture
+ * 
+ * Les traitements annexes (extraction audio, miniatures, caches, index...)
+ * écoutent cet événement au lieu d'être appelés directement par SongService.
+ * Ils utilisent @TransactionalEventListener(phase = AFTER_COMMIT): rien n'est
+ * déclenché si la transaction est annulée.
+ * 
+ * Avec plusieurs instances (InvalidationBus), l'événement est aussi republié sur
+ * les autres nœuds avec remote = true: seuls les états locaux (index de recherche,
+ * recommandations, caches mémoire) doivent alors être mis à jour; les traitements
+ * qui écrivent (extraction audio, découpage HLS, pics...) restent faits par le
+ * nœud qui a reçu l'écriture.
+ * 
+ * @param songId       L'ID de la chanson
+ * @param type         CREATED, UPDATED ou DELETED
+ * @param audioChanged true si Song.audioUrl a changé (création avec audio incluse)
+ * @param remote       true si l'écriture a été faite par une autre instance
+ */
+public record SongChangedEvent(Long songId, Type type, boolean audioChanged, boolean remote) {
+
+    public SongChangedEvent(Long songId, Type type, boolean audioChanged) {
+        this(songId, type, audioChanged, false);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
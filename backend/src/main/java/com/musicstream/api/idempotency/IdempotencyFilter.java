@@ -0,0 +1,289 @@
+package com.musicstream.api.idempotency;
+
+import com.musicstream.api.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 🔁 IdempotencyFilter - Une écriture renvoyée avec la même Idempotency-Key ne s'exécute qu'une fois
+ * 
+ * Quand le proxy ou le client abandonne une requête trop lente, la nouvelle tentative
+ * (retry de http-error.interceptor) repart avec la même clé:
+ * 
+ * curl -X POST http://localhost:8080/api/songs \
+ * -H "Idempotency-Key: 5f0c...-..." -H "Content-Type: application/json" -d '{...}'
+ * 
+ * - Première requête: exécutée, réponse mémorisée (statut, en-têtes, corps)
+ * - Même clé, même requête, terminée: réponse rejouée + en-tête Idempotency-Replayed: true
+ * - Même clé, même requête, EN COURS: attente de la première (au plus wait-timeout,
+ *   sinon HTTP 409 + Retry-After), puis réponse rejouée
+ * - Même clé, autre requête (méthode, chemin ou corps): HTTP 422
+ * 
+ * Les réponses 5xx ne sont pas mémorisées: la clé est libérée et la tentative suivante
+ * s'exécute de nouveau. Une réponse réussie plus grosse que max-response-bytes n'est pas
+ * rejouée, mais la clé reste prise jusqu'à expiration: les doublons reçoivent HTTP 409
+ * (requête déjà exécutée) au lieu de refaire l'écriture. Sans en-tête, ou hors des routes configurées, le filtre ne
+ * fait qu'un getHeader. Clés propres à chaque client (X-API-Key), dans la mémoire de
+ * l'instance (IdempotencyStore): derrière un répartiteur, les tentatives doivent
+ * revenir sur la même instance pour être dédupliquées.
+ * 
+ * Toutes les places du store prises par des requêtes en cours: HTTP 409 + Retry-After
+ * (plutôt qu'oublier une clé en cours, dont le doublon s'exécuterait une deuxième fois).
+ * 
+ * Métriques: musicstream.idempotency.requests{outcome=executed|replayed|mismatch|timeout|full},
+ * musicstream.idempotency.keys et musicstream.idempotency.bytes
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 11)
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotency-Replayed";
+
+    /**
+     * En-têtes recalculés à chaque réponse (ou posés par les filtres extérieurs)
+     */
+    private static final Set<String> NOT_STORED = caseInsensitive(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.DATE, HttpHeaders.CONNECTION);
+
+    /**
+     * Retenu à la place d'une réponse trop grosse pour être rejouée
+     */
+    private static final IdempotencyStore.StoredResponse TOO_LARGE = new IdempotencyStore.StoredResponse(
+            HttpStatus.CONFLICT.value(),
+            Map.of(HttpHeaders.CONTENT_TYPE, List.of(MediaType.APPLICATION_JSON_VALUE)),
+            ("{\"status\":409,\"error\":\"Requête déjà exécutée, réponse trop volumineuse pour être rejouée\"}")
+                    .getBytes(StandardCharsets.UTF_8));
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final List<Route> routes;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyFilter(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.store = new IdempotencyStore(properties.getMaxEntries(), properties.getMaxBytes(),
+                properties.getTtl().toNanos());
+        this.routes = properties.getRoutes().stream().map(Route::parse).toList();
+        Gauge.builder("musicstream.idempotency.keys", store, IdempotencyStore::size)
+                .description("Idempotency-Key retenues (en cours ou terminées)")
+                .register(meterRegistry);
+        Gauge.builder("musicstream.idempotency.bytes", store, IdempotencyStore::totalBytes)
+                .description("Octets des réponses mémorisées")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || request.getHeader(properties.getHeader()) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return routes.stream().noneMatch(route -> route.method().equals(request.getMethod())
+                && pathMatcher.match(route.pattern(), path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(properties.getHeader()).trim();
+        if (key.isEmpty() || key.length() > properties.getMaxKeyLength()) {
+            reject(response, HttpStatus.BAD_REQUEST, properties.getHeader() + " vide ou trop longue");
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxRequestBytes() + 1);
+        if (body.length > properties.getMaxRequestBytes()) {
+            reject(response, HttpStatus.PAYLOAD_TOO_LARGE, "Corps trop volumineux pour " + properties.getHeader());
+            return;
+        }
+
+        String scopedKey = scopeOf(request) + key;
+        String fingerprint = fingerprint(request, body);
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(scopedKey, fingerprint, System.nanoTime());
+            if (claim.full()) {
+                count("full");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "Trop de requêtes avec " + properties.getHeader()
+                        + " en cours, réessayer");
+                return;
+            }
+            IdempotencyStore.Entry entry = claim.entry();
+            if (claim.leader()) {
+                count("executed");
+                execute(new ReplayableRequest(request, body), response, filterChain, scopedKey, entry);
+                return;
+            }
+            if (!entry.fingerprint().equals(fingerprint)) {
+                count("mismatch");
+                reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        properties.getHeader() + " déjà utilisée pour une autre requête");
+                return;
+            }
+            IdempotencyStore.StoredResponse stored;
+            try {
+                stored = entry.response().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | InterruptedException e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                count("timeout");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                reject(response, HttpStatus.CONFLICT, "Requête identique encore en cours, réessayer");
+                return;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+            if (stored != null) {
+                count("replayed");
+                replay(stored, response);
+                return;
+            }
+            // Première exécution abandonnée (5xx): réserver la clé à notre tour
+        }
+    }
+
+    /**
+     * Exécuter la requête en retenant la réponse, puis la mémoriser (ou libérer la clé)
+     */
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, IdempotencyStore.Entry entry) throws ServletException, IOException {
+        ContentCachingResponseWrapper cached = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, cached);
+            if (cached.getStatus() < 500) {
+                long now = System.nanoTime();
+                stored = cached.getContentSize() <= properties.getMaxResponseBytes()
+                        && store.complete(key, entry, snapshot(cached), now);
+                if (!stored) {
+                    // Déjà exécutée: les doublons ne doivent pas la refaire
+                    stored = store.complete(key, entry, TOO_LARGE, now);
+                    log.debug("Réponse de {} octets non rejouée pour {}", cached.getContentSize(),
+                            properties.getHeader());
+                }
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(key, entry);
+                log.debug("{} libérée après statut {}", properties.getHeader(), cached.getStatus());
+            }
+            cached.copyBodyToResponse();
+        }
+    }
+
+    private static IdempotencyStore.StoredResponse snapshot(ContentCachingResponseWrapper response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!NOT_STORED.contains(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        if (response.getContentType() != null) {
+            headers.put(HttpHeaders.CONTENT_TYPE, List.of(response.getContentType()));
+        }
+        return new IdempotencyStore.StoredResponse(response.getStatus(), headers, response.getContentAsByteArray());
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Empreinte SHA-256 de la méthode, du chemin, des paramètres et du corps
+     */
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            String query = request.getQueryString() == null ? "" : request.getQueryString();
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + query + '\n')
+                    .getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String scopeOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(RateLimitFilter.API_KEY_HEADER);
+        return apiKey == null || apiKey.isEmpty() ? "" : apiKey + '\n';
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"status\":" + status.value() + ",\"error\":\"" + message + "\"}");
+    }
+
+    private void count(String outcome) {
+        counters.computeIfAbsent(outcome, o -> Counter.builder("musicstream.idempotency.requests")
+                .description("Requêtes avec Idempotency-Key par issue")
+                .tag("outcome", o)
+                .register(meterRegistry)).increment();
+    }
+
+    private static Set<String> caseInsensitive(String... names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(List.of(names));
+        return set;
+    }
+
+    /**
+     * Route concernée: "POST /songs" → méthode + motif Ant
+     */
+    private record Route(String method, String pattern) {
+
+        static Route parse(String route) {
+            String[] parts = route.trim().split("\\s+", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Route invalide (attendu \"MÉTHODE /motif\"): " + route);
+            }
+            return new Route(parts[0].toUpperCase(), parts[1]);
+        }
+    }
+}
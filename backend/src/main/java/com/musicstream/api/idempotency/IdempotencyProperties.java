@@ -0,0 +1,83 @@
+package com.musicstream.api.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ IdempotencyProperties - Configuration de l'en-tête Idempotency-Key
+ * 
+ * Lue depuis application.properties (préfixe musicstream.idempotency):
+ * 
+ * musicstream.idempotency.enabled=true
+ * musicstream.idempotency.ttl=24h
+ * musicstream.idempotency.max-entries=10000
+ * musicstream.idempotency.max-bytes=67108864
+ * musicstream.idempotency.routes=POST /songs,PUT /songs/*
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.idempotency")
+@Data
+public class IdempotencyProperties {
+
+    /**
+     * Activer le filtre (sinon l'en-tête est ignoré)
+     */
+    private boolean enabled = true;
+
+    /**
+     * En-tête de requête portant la clé choisie par le client (un UUID par action)
+     */
+    private String header = "Idempotency-Key";
+
+    /**
+     * Durée pendant laquelle une réponse est rejouée pour la même clé
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Clés retenues au maximum (les plus anciennes sont oubliées au-delà)
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Octets retenus au maximum pour toutes les réponses mémorisées (corps + en-têtes);
+     * les plus anciennes réponses terminées sont oubliées au-delà
+     */
+    private long maxBytes = 64L * 1024 * 1024;
+
+    /**
+     * Taille maximum d'une clé (caractères)
+     */
+    private int maxKeyLength = 255;
+
+    /**
+     * Corps de requête maximum pris en charge; au-delà → HTTP 413
+     */
+    private int maxRequestBytes = 1024 * 1024;
+
+    /**
+     * Corps de réponse maximum retenu; au-delà la réponse n'est pas rejouée
+     * (la clé reste prise jusqu'à expiration, une nouvelle tentative reçoit HTTP 409)
+     */
+    private int maxResponseBytes = 256 * 1024;
+
+    /**
+     * Attente maximum d'une requête identique déjà en cours; au-delà → HTTP 409
+     */
+    private Duration waitTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Routes concernées: "MÉTHODE motif" (motif Ant, sans le context-path)
+     */
+    private List<String> routes = new ArrayList<>(List.of(
+            "POST /songs",
+            "PUT /songs/*",
+            "PATCH /songs",
+            "DELETE /songs",
+            "POST /playlists/*/entries"));
+}
@@ -0,0 +1,210 @@
+package com.musicstream.api.idempotency;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 🔑 IdempotencyStore - Réponses mémorisées par Idempotency-Key, bornées et expirantes
+ * 
+ * Une clé passe par deux états:
+ * - EN COURS: la première requête (le "leader") s'exécute; les doublons simultanés
+ *   attendent son CompletableFuture au lieu de s'exécuter une deuxième fois
+ * - TERMINÉE: la réponse (statut, en-têtes, corps) est rejouée jusqu'à expiration
+ * 
+ * Chaque clé retient l'empreinte de sa requête (méthode, chemin, corps): la même clé
+ * avec une autre requête est une erreur du client, pas un doublon.
+ * 
+ * Bornée en nombre d'entrées ET en octets retenus (corps + en-têtes des réponses,
+ * comme ByteBudgetLruCache): LinkedHashMap en ordre d'insertion, une entrée terminée
+ * est replacée en fin de file avec sa nouvelle expiration. Les entrées expirées sont
+ * purgées en tête à chaque claim; au-delà de maxEntries ou de maxBytes, les plus
+ * anciennes entrées TERMINÉES sont évincées. Une entrée en cours n'est jamais
+ * évincée (un doublon deviendrait leader et rejouerait l'écriture): si toutes les
+ * places sont prises par des requêtes en cours, claim répond FULL.
+ * Thread-safe (méthodes synchronized).
+ */
+public class IdempotencyStore {
+
+    /**
+     * Réponse rejouée à l'identique
+     * 
+     * @param status  Statut HTTP
+     * @param headers En-têtes (nom → valeurs)
+     * @param body    Corps
+     */
+    public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+
+    /**
+     * Une clé: empreinte de sa requête et réponse (complétée à null si abandonnée)
+     */
+    public static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private long expiresAtNanos;
+        private long weight;
+        private boolean completed;
+
+        private Entry(String fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        public CompletableFuture<StoredResponse> response() {
+            return response;
+        }
+    }
+
+    /**
+     * Résultat d'un claim
+     * 
+     * @param entry  L'entrée de la clé (null: store plein de requêtes en cours)
+     * @param leader true si l'appelant doit exécuter la requête puis appeler complete ou abandon
+     */
+    public record Claim(Entry entry, boolean leader) {
+
+        static final Claim FULL = new Claim(null, false);
+
+        public boolean full() {
+            return entry == null;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+    private long totalBytes;
+
+    public IdempotencyStore(int maxEntries, long maxBytes, long ttlNanos) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Réserver une clé, ou retrouver son entrée (en cours ou terminée)
+     * 
+     * @param key         La clé
+     * @param fingerprint Empreinte de la requête
+     * @param nowNanos    Instant courant (System.nanoTime())
+     * @return Le claim: leader si la clé était libre, FULL si aucune place ne peut être libérée
+     */
+    public synchronized Claim claim(String key, String fingerprint, long nowNanos) {
+        purgeExpired(nowNanos);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+        evictCompleted(maxEntries - 1, maxBytes);
+        if (entries.size() >= maxEntries) {
+            return Claim.FULL;
+        }
+        Entry entry = new Entry(fingerprint, nowNanos + ttlNanos);
+        entries.put(key, entry);
+        return new Claim(entry, true);
+    }
+
+    /**
+     * Mémoriser la réponse du leader et réveiller les doublons en attente
+     * 
+     * @param key      La clé
+     * @param entry    L'entrée obtenue par claim
+     * @param response La réponse à rejouer
+     * @param nowNanos Instant courant (départ de l'expiration)
+     * @return false si la réponse pèse plus que maxBytes: rien n'est retenu, l'entrée
+     *         reste en cours (l'appelant complète avec une réponse plus légère ou abandonne)
+     */
+    public synchronized boolean complete(String key, Entry entry, StoredResponse response, long nowNanos) {
+        long weight = weigh(key, response);
+        if (weight > maxBytes) {
+            return false;
+        }
+        if (entries.remove(key, entry)) {
+            entry.expiresAtNanos = nowNanos + ttlNanos;
+            entry.weight = weight;
+            entry.completed = true;
+            totalBytes += weight;
+            entries.put(key, entry);
+            evictCompleted(maxEntries, maxBytes);
+        }
+        entry.response.complete(response);
+        return true;
+    }
+
+    /**
+     * Libérer la clé sans réponse (erreur serveur): les doublons
+     * en attente reçoivent null et réessayent, l'un d'eux devient leader
+     * 
+     * @param key   La clé
+     * @param entry L'entrée obtenue par claim
+     */
+    public synchronized void abandon(String key, Entry entry) {
+        entries.remove(key, entry);
+        entry.response.complete(null);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Octets retenus (réponses terminées)
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Purger les entrées terminées expirées en tête (une requête en cours reste)
+     */
+    private void purgeExpired(long nowNanos) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAtNanos - nowNanos > 0) {
+                return;
+            }
+            if (entry.completed) {
+                totalBytes -= entry.weight;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Évincer les plus anciennes entrées terminées jusqu'à tenir dans les limites
+     */
+    private void evictCompleted(int entryLimit, long byteLimit) {
+        Iterator<Entry> it = entries.values().iterator();
+        while ((entries.size() > entryLimit || totalBytes > byteLimit) && it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.completed) {
+                totalBytes -= entry.weight;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Poids d'une réponse retenue: corps, en-têtes et clé
+     */
+    private static long weigh(String key, StoredResponse response) {
+        long weight = key.length() + response.body().length;
+        for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        return weight;
+    }
+}
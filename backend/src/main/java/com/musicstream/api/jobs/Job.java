@@ -0,0 +1,35 @@
+package com.musicstream.api.jobs;
+
+/**
+ * 📦 Job - Une tâche en attente ou en cours
+ * 
+ * Le contenu est gardé sous sa forme texte (JobType.encoder): c'est celle du journal,
+ * et la clé de regroupement (type + contenu).
+ */
+final class Job {
+
+    final long id;
+    final String type;
+    final String payload;
+    final JobPriority priority;
+    final boolean coalesce;
+
+    /**
+     * Ordre de soumission (départage à priorité égale), renouvelé à chaque remise en file
+     */
+    long sequence;
+    long enqueuedAtNanos;
+    int attempts;
+
+    Job(long id, String type, String payload, JobPriority priority, boolean coalesce) {
+        this.id = id;
+        this.type = type;
+        this.payload = payload;
+        this.priority = priority;
+        this.coalesce = coalesce;
+    }
+
+    String key() {
+        return type + '\n' + payload;
+    }
+}
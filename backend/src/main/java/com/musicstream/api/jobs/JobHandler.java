@@ -0,0 +1,15 @@
+package com.musicstream.api.jobs;
+
+/**
+ * 🛠️ JobHandler - Traitement d'un type de tâche, exécuté par un worker de sa file
+ * 
+ * Une exception déclenche une nouvelle tentative (jusqu'à max-attempts, avec attente
+ * croissante): le traitement doit pouvoir être rejoué sans effet de bord.
+ * 
+ * @param <P> Type du contenu de la tâche
+ */
+@FunctionalInterface
+public interface JobHandler<P> {
+
+    void handle(P payload) throws Exception;
+}
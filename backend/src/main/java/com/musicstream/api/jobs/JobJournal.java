@@ -0,0 +1,262 @@
+package com.musicstream.api.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📒 JobJournal - Tâches en attente, conservées d'un démarrage à l'autre
+ * 
+ * Fichier texte en ajout seul, une ligne par événement:
+ * 
+ * + 42 search.reindex NORMAL MTIz    ← tâche 42 acceptée (contenu en base64)
+ * - 42                               ← tâche 42 terminée (réussie ou abandonnée)
+ * 
+ * Au démarrage, les tâches ajoutées et jamais terminées sont relues puis remises
+ * en file: une tâche interrompue par l'arrêt est donc rejouée (au moins une fois).
+ * Le fichier est réécrit avec les seules tâches en attente au démarrage et dès qu'il
+ * dépasse compact-after lignes (fichier temporaire puis renommage atomique).
+ * 
+ * added et done ne touchent pas au disque: ils déposent l'événement dans une file
+ * mémoire non bornée, vidée par un seul thread "jobs-journal" qui écrit, vide vers
+ * le système par lot et compacte. Le thread d'une requête ne bloque donc jamais
+ * sur le fichier. Un "-" peut arriver avant son "+" (tâche terminée avant que
+ * submit ait journalisé son ajout): l'ajout est alors simplement ignoré.
+ * 
+ * Sans fsync: une coupure de courant peut perdre les dernières lignes, un arrêt du
+ * processus non (close vide la file avant de fermer). Une erreur d'écriture est
+ * journalisée sans bloquer la tâche (elle reste exécutée en mémoire).
+ * Sans fichier configuré, toutes les méthodes sont sans effet.
+ */
+@Slf4j
+class JobJournal implements AutoCloseable {
+
+    /**
+     * Tâche relue au démarrage
+     */
+    record Entry(long id, String type, JobPriority priority, String payload) {
+    }
+
+    /**
+     * Événement à écrire: line = ligne "+" de l'ajout, null pour la fin de la tâche
+     */
+    private record Event(long id, String line) {
+    }
+
+    private static final Event STOP = new Event(-1, null);
+
+    private final Path file;
+    private final int compactAfter;
+    private final List<Entry> recovered = new ArrayList<>();
+    private final LinkedBlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private long maxId;
+    private Thread thread;
+
+    // État du thread d'écriture (et de open, avant son démarrage)
+    private final Map<Long, String> pending = new LinkedHashMap<>();
+    private final Set<Long> doneBeforeAdded = new HashSet<>();
+    private int lines;
+    private BufferedWriter writer;
+
+    private JobJournal(Path file, int compactAfter) {
+        this.file = file;
+        this.compactAfter = compactAfter;
+    }
+
+    static JobJournal inMemory() {
+        return new JobJournal(null, 0);
+    }
+
+    /**
+     * Relire le journal (s'il existe), le réécrire avec les seules tâches en attente,
+     * l'ouvrir en ajout et démarrer le thread d'écriture
+     */
+    static JobJournal open(Path file, int compactAfter) throws IOException {
+        JobJournal journal = new JobJournal(file, compactAfter);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        if (Files.exists(file)) {
+            journal.replay(Files.readAllLines(file, StandardCharsets.UTF_8));
+        }
+        journal.compact();
+        journal.thread = new Thread(journal::writeLoop, "jobs-journal");
+        journal.thread.setDaemon(true);
+        journal.thread.start();
+        return journal;
+    }
+
+    /**
+     * Tâches en attente lors du dernier arrêt
+     */
+    List<Entry> recovered() {
+        return recovered;
+    }
+
+    /**
+     * Plus grand ID de tâche rencontré (les nouveaux IDs partent au-delà)
+     */
+    long maxId() {
+        return maxId;
+    }
+
+    /**
+     * Noter une tâche acceptée (sans attendre l'écriture)
+     */
+    void added(Job job) {
+        if (file != null) {
+            events.offer(new Event(job.id, "+ " + job.id + ' ' + job.type + ' ' + job.priority + ' '
+                    + Base64.getEncoder().encodeToString(job.payload.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    /**
+     * Noter une tâche terminée, réussie ou abandonnée (sans attendre l'écriture)
+     */
+    void done(long id) {
+        if (file != null) {
+            events.offer(new Event(id, null));
+        }
+    }
+
+    /**
+     * Écrire les événements en attente puis fermer le fichier
+     */
+    @Override
+    public void close() {
+        if (thread == null) {
+            return;
+        }
+        events.offer(STOP);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                batch.add(events.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            events.drainTo(batch);
+            for (Event event : batch) {
+                if (event == STOP) {
+                    stopping = true;
+                } else {
+                    apply(event);
+                }
+            }
+            batch.clear();
+            flush();
+            if (lines > compactAfter && lines > 2 * pending.size()) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    log.warn("Compaction du journal des tâches impossible: {}", e.getMessage());
+                }
+            }
+        }
+        closeWriter();
+    }
+
+    private void apply(Event event) {
+        if (event.line() != null) {
+            if (!doneBeforeAdded.remove(event.id())) {
+                pending.put(event.id(), event.line());
+                append(event.line());
+            }
+        } else if (pending.remove(event.id()) != null) {
+            append("- " + event.id());
+        } else {
+            doneBeforeAdded.add(event.id());
+        }
+    }
+
+    private void replay(List<String> content) {
+        Map<Long, Entry> entries = new LinkedHashMap<>();
+        for (String line : content) {
+            String[] parts = line.split(" ");
+            try {
+                long id = Long.parseLong(parts[1]);
+                maxId = Math.max(maxId, id);
+                if (parts[0].equals("+") && parts.length == 5) {
+                    entries.put(id, new Entry(id, parts[2], JobPriority.valueOf(parts[3]),
+                            new String(Base64.getDecoder().decode(parts[4]), StandardCharsets.UTF_8)));
+                    pending.put(id, line);
+                } else if (parts[0].equals("-") && parts.length == 2) {
+                    entries.remove(id);
+                    pending.remove(id);
+                } else {
+                    throw new IllegalArgumentException(line);
+                }
+            } catch (RuntimeException e) {
+                // Dernière ligne tronquée par un arrêt brutal
+                log.warn("Ligne du journal des tâches ignorée: {}", line);
+            }
+        }
+        recovered.addAll(entries.values());
+    }
+
+    private void compact() throws IOException {
+        closeWriter();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, pending.values(), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lines = pending.size();
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void append(String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+            lines++;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Écriture du journal des tâches impossible: {}", e.getMessage());
+        }
+    }
+
+    private void flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            log.warn("Écriture du journal des tâches impossible: {}", e.getMessage());
+        }
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("Fermeture du journal des tâches: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.musicstream.api.jobs;
+
+/**
+ * 🚦 JobPriority - Ordre de passage dans une file
+ * 
+ * Les tâches HIGH passent avant NORMAL, NORMAL avant LOW; à priorité égale,
+ * dans l'ordre de soumission.
+ */
+public enum JobPriority {
+    HIGH,
+    NORMAL,
+    LOW
+}
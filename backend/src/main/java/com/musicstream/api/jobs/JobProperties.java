@@ -0,0 +1,82 @@
+package com.musicstream.api.jobs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ⚙️ JobProperties - Files de tâches en arrière-plan
+ * 
+ * Lue depuis application.properties (préfixe musicstream.jobs):
+ * 
+ * musicstream.jobs.journal=./jobs/pending-${server.port}.journal
+ * musicstream.jobs.defaults.capacity=1000
+ * musicstream.jobs.queues.search.threads=1
+ * musicstream.jobs.queues.audio-metadata.capacity=256
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.jobs")
+@Data
+public class JobProperties {
+
+    /**
+     * Fichier journal des tâches en attente (vide = en mémoire seulement, perdues au redémarrage).
+     * Propre à chaque instance: deux JVM sur un même fichier se réécriraient mutuellement.
+     */
+    private String journal = "";
+
+    /**
+     * Lignes du journal au-delà desquelles il est réécrit avec les seules tâches en attente
+     */
+    private int compactAfter = 10_000;
+
+    /**
+     * Réglages des files absentes de queues
+     */
+    private Queue defaults = new Queue();
+
+    /**
+     * Réglages par file (nom de la file → réglages; champ absent = valeur par défaut de Queue)
+     */
+    private Map<String, Queue> queues = new HashMap<>();
+
+    /**
+     * Réglages de la file nommée (ou defaults)
+     */
+    public Queue queue(String name) {
+        return queues.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class Queue {
+
+        /**
+         * Tâches en attente au maximum (au-delà: submit refuse, sans bloquer)
+         */
+        private int capacity = 1000;
+
+        /**
+         * Workers de la file
+         */
+        private int threads = 1;
+
+        /**
+         * Exécutions au maximum d'une tâche en échec (1 = pas de nouvelle tentative)
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Attente avant la 2e tentative, doublée à chaque échec
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Attente maximum entre deux tentatives
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+    }
+}
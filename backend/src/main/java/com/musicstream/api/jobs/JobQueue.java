@@ -0,0 +1,121 @@
+package com.musicstream.api.jobs;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 📥 JobQueue - File bornée, par priorité puis ordre de soumission
+ * 
+ * offer ne bloque jamais: file pleine → FULL, l'appelant décide (ignorer, exécuter
+ * lui-même...). Les remises en file (nouvelle tentative, reprise du journal) passent
+ * outre la capacité: ces tâches avaient déjà été acceptées.
+ * 
+ * Les tâches "coalesce" dont le contenu attend déjà ne sont pas ajoutées une
+ * deuxième fois (une rafale de mises à jour d'une même chanson = une réindexation).
+ * Une tâche retirée par un worker ne compte plus: le même contenu soumis pendant
+ * son exécution sera traité de nouveau.
+ */
+class JobQueue {
+
+    enum Offer { ACCEPTED, COALESCED, FULL }
+
+    private static final Comparator<Job> ORDER = Comparator
+            .comparing((Job job) -> job.priority)
+            .thenComparingLong(job -> job.sequence);
+
+    private final String name;
+    private final int capacity;
+    private final PriorityQueue<Job> jobs = new PriorityQueue<>(ORDER);
+    private final Set<String> waitingKeys = new HashSet<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private long sequence;
+
+    JobQueue(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Ajouter une tâche, sans bloquer
+     * 
+     * @param job   La tâche
+     * @param force true: ignorer la capacité (tâche déjà acceptée une fois)
+     * @return ACCEPTED, COALESCED (même contenu déjà en attente) ou FULL
+     */
+    Offer offer(Job job, boolean force) {
+        lock.lock();
+        try {
+            if (job.coalesce && waitingKeys.contains(job.key())) {
+                return Offer.COALESCED;
+            }
+            if (!force && jobs.size() >= capacity) {
+                return Offer.FULL;
+            }
+            job.sequence = sequence++;
+            job.enqueuedAtNanos = System.nanoTime();
+            jobs.add(job);
+            if (job.coalesce) {
+                waitingKeys.add(job.key());
+            }
+            notEmpty.signal();
+            return Offer.ACCEPTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prendre la tâche la plus prioritaire (attend qu'il y en ait une)
+     */
+    Job take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (jobs.isEmpty()) {
+                notEmpty.await();
+            }
+            Job job = jobs.poll();
+            if (job.coalesce) {
+                waitingKeys.remove(job.key());
+            }
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return jobs.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Âge de la plus ancienne tâche en attente (0 si la file est vide)
+     * 
+     * Parcours de la file: appelé au relevé des métriques, pas à chaque tâche.
+     */
+    long oldestAgeNanos(long nowNanos) {
+        lock.lock();
+        try {
+            long oldest = 0;
+            for (Job job : jobs) {
+                oldest = Math.max(oldest, nowNanos - job.enqueuedAtNanos);
+            }
+            return oldest;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
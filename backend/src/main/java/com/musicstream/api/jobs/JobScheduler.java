@@ -0,0 +1,315 @@
+package com.musicstream.api.jobs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * ⏱️ JobScheduler - Tâches en arrière-plan: files typées, bornées, par priorité
+ * 
+ * Chaque service déclare ses types de tâche et leur traitement au démarrage:
+ * 
+ * jobScheduler.register(REINDEX, songSearchService::reindex);
+ * jobScheduler.submit(REINDEX, songId, JobPriority.NORMAL);
+ * 
+ * - submit ne bloque jamais: file pleine → false (compté "rejected"), l'appelant
+ *   choisit de l'ignorer ou de faire le travail lui-même
+ * - une file par nom de JobType.queue, avec ses propres workers: une rafale
+ *   d'extractions audio ne retarde pas l'index de recherche
+ * - échec (exception ou Error) → nouvelle tentative après initial-backoff, doublé à
+ *   chaque échec (au plus max-backoff), jusqu'à max-attempts; la tâche attend hors de
+ *   la file, et est regroupée (terminée) si le même contenu y est déjà
+ * - tâches acceptées notées dans le journal (JobJournal, écrit par son propre thread,
+ *   hors du verrou de la file): celles encore en attente à l'arrêt sont remises en
+ *   file au démarrage suivant (au moins une exécution)
+ * 
+ * Métriques (tag queue):
+ * - musicstream.jobs.depth                   → tâches en attente
+ * - musicstream.jobs.oldest                  → âge de la plus ancienne tâche en attente
+ * - musicstream.jobs.submitted{outcome}      → accepted, coalesced, rejected
+ * - musicstream.jobs.completed{type,outcome} → success, retried, failed
+ * - musicstream.jobs.wait                    → attente en file avant exécution
+ * - musicstream.jobs.duration{type}          → durée d'exécution
+ */
+@Service
+@Slf4j
+public class JobScheduler {
+
+    private static final Pattern NAME = Pattern.compile("[\\w.-]+");
+
+    private final JobProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final JobJournal journal;
+    private final Map<String, Registration<?>> registrations = new ConcurrentHashMap<>();
+    private final Map<String, JobQueue> queues = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new CopyOnWriteArrayList<>();
+    private final ScheduledThreadPoolExecutor retries;
+    private final AtomicLong ids;
+    private volatile boolean running = true;
+
+    public JobScheduler(JobProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        try {
+            this.journal = properties.getJournal().isBlank()
+                    ? JobJournal.inMemory()
+                    : JobJournal.open(Path.of(properties.getJournal()), properties.getCompactAfter());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Journal des tâches illisible: " + properties.getJournal(), e);
+        }
+        this.ids = new AtomicLong(journal.maxId());
+
+        this.retries = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "jobs-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retries.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Déclarer le traitement d'un type de tâche (crée sa file au premier type qui la nomme)
+     * 
+     * @param type    Le type de tâche
+     * @param handler Son traitement, exécuté par les workers de la file
+     * @throws IllegalArgumentException nom invalide ou type déjà déclaré
+     */
+    public <P> void register(JobType<P> type, JobHandler<P> handler) {
+        if (!NAME.matcher(type.name()).matches() || !NAME.matcher(type.queue()).matches()) {
+            throw new IllegalArgumentException("Nom de tâche ou de file invalide: " + type);
+        }
+        if (registrations.putIfAbsent(type.name(), new Registration<>(type, handler)) != null) {
+            throw new IllegalArgumentException("Type de tâche déjà déclaré: " + type.name());
+        }
+        queues.computeIfAbsent(type.queue(), this::start);
+    }
+
+    /**
+     * Soumettre une tâche de priorité NORMAL
+     * 
+     * @see #submit(JobType, Object, JobPriority)
+     */
+    public <P> boolean submit(JobType<P> type, P payload) {
+        return submit(type, payload, JobPriority.NORMAL);
+    }
+
+    /**
+     * Placer une tâche dans sa file, sans bloquer
+     * 
+     * @param type     Type déclaré par register
+     * @param payload  Contenu
+     * @param priority Priorité dans la file
+     * @return true si acceptée (ou déjà en attente), false si la file est pleine
+     * @throws IllegalStateException type non déclaré
+     */
+    public <P> boolean submit(JobType<P> type, P payload, JobPriority priority) {
+        Registration<?> registration = registrations.get(type.name());
+        if (registration == null || registration.type() != type) {
+            throw new IllegalStateException("Type de tâche non déclaré: " + type.name());
+        }
+        JobQueue queue = queues.get(type.queue());
+        Job job = new Job(ids.incrementAndGet(), type.name(), type.encoder().apply(payload),
+                priority, type.coalesce());
+        JobQueue.Offer offer = queue.offer(job, false);
+        submitted(queue.name(), offer);
+        if (offer == JobQueue.Offer.FULL) {
+            log.warn("File de tâches {} pleine, {} refusée", queue.name(), type.name());
+            return false;
+        }
+        if (offer == JobQueue.Offer.ACCEPTED) {
+            journal.added(job);
+        }
+        return true;
+    }
+
+    /**
+     * Remettre en file les tâches en attente lors du dernier arrêt
+     * 
+     * Après le démarrage complet: tous les services ont déclaré leurs types.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void resumePending() {
+        int resumed = 0;
+        for (JobJournal.Entry entry : journal.recovered()) {
+            Registration<?> registration = registrations.get(entry.type());
+            if (registration == null) {
+                log.warn("Tâche {} de type inconnu {} abandonnée", entry.id(), entry.type());
+                journal.done(entry.id());
+                continue;
+            }
+            Job job = new Job(entry.id(), entry.type(), entry.payload(), entry.priority(),
+                    registration.type().coalesce());
+            JobQueue queue = queues.get(registration.type().queue());
+            if (queue.offer(job, true) == JobQueue.Offer.COALESCED) {
+                journal.done(entry.id());
+            } else {
+                resumed++;
+            }
+        }
+        journal.recovered().clear();
+        if (resumed > 0) {
+            log.info("{} tâche(s) en attente reprise(s) depuis le journal", resumed);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        retries.shutdownNow();
+        workers.forEach(Thread::interrupt);
+        journal.close();
+    }
+
+    /**
+     * Créer une file et démarrer ses workers
+     */
+    private JobQueue start(String name) {
+        JobProperties.Queue settings = properties.queue(name);
+        JobQueue queue = new JobQueue(name, settings.getCapacity());
+        for (int i = 1; i <= settings.getThreads(); i++) {
+            Thread thread = new Thread(() -> work(queue, settings), "jobs-" + name + "-" + i);
+            thread.setDaemon(true);
+            workers.add(thread);
+            thread.start();
+        }
+
+        Gauge.builder("musicstream.jobs.depth", queue, JobQueue::size)
+                .description("Tâches en attente")
+                .tag("queue", name)
+                .register(meterRegistry);
+        TimeGauge.builder("musicstream.jobs.oldest", queue, TimeUnit.NANOSECONDS,
+                        q -> q.oldestAgeNanos(System.nanoTime()))
+                .description("Âge de la plus ancienne tâche en attente")
+                .tag("queue", name)
+                .register(meterRegistry);
+        return queue;
+    }
+
+    /**
+     * Boucle d'un worker: prendre la tâche la plus prioritaire, l'exécuter
+     */
+    private void work(JobQueue queue, JobProperties.Queue settings) {
+        Timer waitTimer = Timer.builder("musicstream.jobs.wait")
+                .description("Attente en file avant exécution")
+                .tag("queue", queue.name())
+                .register(meterRegistry);
+        while (running) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            waitTimer.record(System.nanoTime() - job.enqueuedAtNanos, TimeUnit.NANOSECONDS);
+            try {
+                run(queue, settings, job);
+            } catch (Throwable e) {
+                // Le worker ne doit jamais mourir: sa file ne serait plus vidée
+                log.error("Erreur du worker {} sur la tâche {} {}", Thread.currentThread().getName(),
+                        job.type, job.id, e);
+            }
+        }
+    }
+
+    private void run(JobQueue queue, JobProperties.Queue settings, Job job) {
+        Registration<?> registration = registrations.get(job.type);
+        long start = System.nanoTime();
+        try {
+            registration.handle(job.payload);
+            completed(queue.name(), job.type, "success");
+            journal.done(job.id);
+        } catch (Exception | Error e) {
+            // Error comprise (AssertionError, NoClassDefFoundError...): même traitement qu'un échec
+            if (!running) {
+                // Arrêt en cours: la tâche reste dans le journal, reprise au prochain démarrage
+                return;
+            }
+            job.attempts++;
+            if (job.attempts < settings.getMaxAttempts()) {
+                Duration delay = backoff(settings, job.attempts);
+                log.debug("Tâche {} {} en échec ({}), nouvelle tentative dans {}", job.type, job.id,
+                        e.getMessage(), delay);
+                completed(queue.name(), job.type, "retried");
+                retries.schedule(() -> {
+                    if (queue.offer(job, true) == JobQueue.Offer.COALESCED) {
+                        // Même contenu déjà en attente: cette tâche-ci ne sera plus exécutée
+                        journal.done(job.id);
+                    }
+                }, delay.toNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                log.warn("Tâche {} {} abandonnée après {} tentative(s): {}", job.type, job.id,
+                        job.attempts, e.toString());
+                completed(queue.name(), job.type, "failed");
+                journal.done(job.id);
+            }
+        } finally {
+            Timer.builder("musicstream.jobs.duration")
+                    .description("Durée d'exécution des tâches")
+                    .tag("queue", queue.name())
+                    .tag("type", job.type)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Attente avant la tentative suivante: initial-backoff × 2^(échecs - 1), au plus max-backoff
+     */
+    static Duration backoff(JobProperties.Queue settings, int failures) {
+        Duration delay = settings.getInitialBackoff().multipliedBy(1L << Math.min(failures - 1, 30));
+        return delay.compareTo(settings.getMaxBackoff()) > 0 ? settings.getMaxBackoff() : delay;
+    }
+
+    private void submitted(String queue, JobQueue.Offer offer) {
+        Counter.builder("musicstream.jobs.submitted")
+                .description("Tâches soumises par issue")
+                .tag("queue", queue)
+                .tag("outcome", switch (offer) {
+                    case ACCEPTED -> "accepted";
+                    case COALESCED -> "coalesced";
+                    case FULL -> "rejected";
+                })
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void completed(String queue, String type, String outcome) {
+        Counter.builder("musicstream.jobs.completed")
+                .description("Exécutions de tâches par issue")
+                .tag("queue", queue)
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Type déclaré et son traitement: décode le contenu texte avant de l'appeler
+     */
+    private record Registration<P>(JobType<P> type, JobHandler<P> handler) {
+
+        void handle(String payload) throws Exception {
+            handler.handle(type.decoder().apply(payload));
+        }
+    }
+}
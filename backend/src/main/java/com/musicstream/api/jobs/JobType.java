@@ -0,0 +1,30 @@
+package com.musicstream.api.jobs;
+
+import java.util.function.Function;
+
+/**
+ * 🏷️ JobType - Type de tâche: nom, file, et conversion de son contenu pour le journal
+ * 
+ * Le nom identifie le traitement dans le journal: il ne doit pas changer d'une version
+ * à l'autre tant que des tâches de ce type peuvent être en attente.
+ * 
+ * @param name     Nom unique (ex: "search.reindex")
+ * @param queue    File qui l'exécute (capacité et workers: musicstream.jobs.queues.*)
+ * @param encoder  Contenu → texte (journal)
+ * @param decoder  Texte → contenu
+ * @param coalesce true: soumettre un contenu déjà en attente dans la file ne l'ajoute pas une deuxième fois
+ * @param <P>      Type du contenu
+ */
+public record JobType<P>(String name,
+                         String queue,
+                         Function<P, String> encoder,
+                         Function<String, P> decoder,
+                         boolean coalesce) {
+
+    /**
+     * Tâche portant un ID (de chanson...), regroupée si le même ID attend déjà
+     */
+    public static JobType<Long> ofId(String name, String queue) {
+        return new JobType<>(name, queue, String::valueOf, Long::valueOf, true);
+    }
+}
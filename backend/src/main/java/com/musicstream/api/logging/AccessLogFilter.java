@@ -0,0 +1,148 @@
+package com.musicstream.api.logging;
+
+import com.musicstream.api.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧾 AccessLogFilter - Journal d'accès structuré, échantillonné et limité par route
+ * 
+ * Une ligne par requête retenue, au format clé=valeur (logfmt), sur le logger
+ * "musicstream.access":
+ * 
+ * method=GET route=/songs/{id} path=/api/songs/42 status=200 ms=3.41 client=10.0.0.7 reason=sampled sample=0.01
+ * 
+ * Décision, APRÈS la réponse (statut et durée connus):
+ * 1. Réponse 5xx ou requête plus lente que slow-threshold → retenue (reason=error / slow)
+ * 2. Sinon retenue avec la probabilité sample-rate (reason=sampled); le champ
+ *    sample permet de repondérer les comptages (1 ligne ≈ 1/sample requêtes)
+ * 3. Dans tous les cas, au plus max-per-second-per-route lignes par seconde et
+ *    par route (TokenBucket sans verrou, une rafale de 5xx ne sature pas le disque)
+ * 
+ * La route est le motif Spring MVC (/songs/{id}) et non l'URI: le nombre de
+ * buckets reste borné par le nombre d'endpoints.
+ * 
+ * Placé avant RateLimitFilter pour journaliser aussi les 429.
+ * 
+ * Métriques:
+ * - musicstream.access-log.records{decision} → logged, sampled-out, rate-limited
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    static final String LOGGER_NAME = "musicstream.access";
+
+    private static final Logger ACCESS = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final String UNMATCHED = "unmatched";
+
+    private final AccessLogProperties properties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter logged;
+    private final Counter sampledOut;
+    private final Counter rateLimited;
+
+    public AccessLogFilter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.logged = counter(meterRegistry, "logged");
+        this.sampledOut = counter(meterRegistry, "sampled-out");
+        this.rateLimited = counter(meterRegistry, "rate-limited");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !ACCESS.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            // Exception non gérée: le conteneur répondra 500 après ce filtre
+            record(request, failed ? 500 : response.getStatus(), elapsedNanos);
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsedNanos) {
+        String reason;
+        if (status >= 500) {
+            reason = "error";
+        } else if (elapsedNanos >= properties.getSlowThreshold().toNanos()) {
+            reason = "slow";
+        } else if (ThreadLocalRandom.current().nextDouble() < properties.getSampleRate()) {
+            reason = "sampled";
+        } else {
+            sampledOut.increment();
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern == null ? UNMATCHED : pattern.toString();
+        if (!tryAcquire(request.getMethod() + " " + route)) {
+            rateLimited.increment();
+            return;
+        }
+        logged.increment();
+        ACCESS.info("method={} route={} path={} status={} ms={} client={} reason={} sample={}",
+                request.getMethod(), quote(route), quote(request.getRequestURI()), status,
+                String.format(Locale.ROOT, "%.2f", elapsedNanos / 1e6), request.getRemoteAddr(),
+                reason, properties.getSampleRate());
+    }
+
+    private boolean tryAcquire(String route) {
+        double perSecond = properties.getMaxPerSecondPerRoute();
+        if (perSecond <= 0) {
+            return true;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        long burstNanos = intervalNanos * Math.max(1, (long) Math.ceil(perSecond));
+        return buckets.computeIfAbsent(route, key -> new TokenBucket())
+                .tryAcquire(System.nanoTime(), intervalNanos, burstNanos) == 0;
+    }
+
+    /**
+     * Valeur logfmt: guillemets si elle contient un espace, un guillemet ou un '='
+     */
+    static String quote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == '"' || c == '=' || c < 0x20) {
+                return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"")
+                        .replace("\n", "\\n").replace("\r", "\\r") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("musicstream.access-log.records")
+                .description("Requêtes vues par le journal d'accès, par décision")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.musicstream.api.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ⚙️ AccessLogProperties - Configuration du journal d'accès échantillonné
+ * 
+ * Lue depuis application.properties (préfixe musicstream.access-log):
+ * 
+ * musicstream.access-log.enabled=true
+ * musicstream.access-log.sample-rate=0.01
+ * musicstream.access-log.max-per-second-per-route=10
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.access-log")
+@Data
+public class AccessLogProperties {
+
+    /**
+     * Activer le filtre (profil prod; en développement les logs DEBUG suffisent)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Part des requêtes normales journalisées (0 à 1)
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Enregistrements maximum par seconde et par route, échantillonnés ou non
+     * (protège le disque pendant une rafale d'erreurs)
+     */
+    private double maxPerSecondPerRoute = 10;
+
+    /**
+     * Au-delà de cette durée, une requête échappe à l'échantillonnage (comme les
+     * réponses 5xx); la limite par route s'applique toujours
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,121 @@
+package com.musicstream.api.media;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 🧠 ByteBudgetLruCache - Cache LRU borné par le nombre total d'OCTETS
+ * 
+ * Un cache borné par nombre d'entrées ne convient pas aux médias: 100 miniatures 64px
+ * pèsent moins qu'une seule miniature 512px. Ici chaque entrée a un poids (sa taille)
+ * et les entrées les moins récemment utilisées sont évincées tant que le total
+ * dépasse le budget.
+ * 
+ * Thread-safe (méthodes synchronized): les sections critiques sont de simples
+ * opérations sur une LinkedHashMap en ordre d'accès.
+ */
+public class ByteBudgetLruCache<K, V> {
+
+    private final long budgetBytes;
+    private final ToIntFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hits;
+    private long misses;
+
+    public ByteBudgetLruCache(long budgetBytes, ToIntFunction<V> weigher) {
+        this.budgetBytes = budgetBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Lire une entrée (et la marquer comme récemment utilisée)
+     * 
+     * @param key La clé
+     * @return La valeur, ou null si absente
+     */
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Ajouter une entrée puis évincer les plus anciennes si le budget est dépassé
+     * 
+     * Une entrée plus grosse que le budget entier n'est pas mise en cache, et
+     * l'ancienne valeur de la clé est retirée (elle ne doit plus être servie).
+     * 
+     * @param key   La clé
+     * @param value La valeur
+     */
+    public synchronized void put(K key, V value) {
+        int weight = weigher.applyAsInt(value);
+        if (weight > budgetBytes) {
+            remove(key);
+            return;
+        }
+        V previous = entries.put(key, value);
+        if (previous != null) {
+            totalBytes -= weigher.applyAsInt(previous);
+        }
+        totalBytes += weight;
+
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (totalBytes > budgetBytes && eldest.hasNext()) {
+            totalBytes -= weigher.applyAsInt(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Retirer une entrée
+     * 
+     * @param key La clé
+     */
+    public synchronized void remove(K key) {
+        V previous = entries.remove(key);
+        if (previous != null) {
+            totalBytes -= weigher.applyAsInt(previous);
+        }
+    }
+
+    /**
+     * Retirer toutes les entrées qui satisfont un critère
+     * 
+     * @param predicate Critère sur la clé
+     */
+    public synchronized void removeIf(Predicate<K> predicate) {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, V> entry = it.next();
+            if (predicate.test(entry.getKey())) {
+                totalBytes -= weigher.applyAsInt(entry.getValue());
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+}
@@ -0,0 +1,60 @@
+package com.musicstream.api.media;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 🚚 FileTransfer - Envoi d'un fichier sans le copier en mémoire Java
+ * 
+ * Avec Tomcat (connecteur NIO), le fichier est transmis par sendfile(): le noyau copie
+ * directement du cache disque vers la socket, le contenu ne passe jamais par le heap.
+ * Ailleurs (MockMvc, autre conteneur), repli sur FileChannel.transferTo vers la sortie
+ * de la réponse.
+ */
+public final class FileTransfer {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileTransfer() {
+    }
+
+    /**
+     * Écrire un fichier entier comme corps de la réponse
+     * 
+     * Les en-têtes (Content-Type, Cache-Control, ...) doivent être posés avant l'appel.
+     * 
+     * @param request  Requête HTTP
+     * @param response Réponse HTTP
+     * @param file     Fichier à envoyer
+     * @throws IOException Fichier illisible ou client déconnecté
+     */
+    public static void send(HttpServletRequest request, HttpServletResponse response, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            response.setContentLengthLong(size);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, size);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.musicstream.api.media;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ MediaProperties - Stockage local des fichiers média
+ * 
+ * musicstream.media.directory=./media
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.media")
+@Data
+public class MediaProperties {
+
+    /**
+     * Répertoire racine des fichiers générés (pochettes, audio, waveforms, segments)
+     */
+    private String directory = "./media";
+}
@@ -0,0 +1,80 @@
+package com.musicstream.api.media;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * 📁 MediaStorage - Arborescence des fichiers média sur disque
+ * 
+ * media/
+ *   └── songs/
+ *         └── {id}/
+ *               ├── audio.{ext}      → fichier audio uploadé
+ *               ├── waveform.peaks   → pics de forme d'onde
+ *               ├── hls/{version}/   → playlist et segments HLS
+ *               └── cover/           → miniatures de la pochette
+ * 
+ * Toutes les écritures passent par un fichier temporaire puis un move atomique:
+ * un lecteur ne voit jamais un fichier à moitié écrit.
+ */
+@Component
+public class MediaStorage {
+
+    private final Path root;
+
+    public MediaStorage(MediaProperties properties) {
+        this.root = Path.of(properties.getDirectory()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Répertoire racine du stockage
+     * 
+     * @return Chemin absolu
+     */
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * Répertoire d'une chanson (media/songs/{id})
+     * 
+     * @param songId L'ID de la chanson
+     * @return Chemin (pas forcément existant)
+     */
+    public Path songDirectory(long songId) {
+        return root.resolve("songs").resolve(Long.toString(songId));
+    }
+
+    /**
+     * Résoudre un chemin relatif SANS sortir du répertoire racine
+     * 
+     * @param relativePath Chemin relatif (ex: imports/cover.jpg)
+     * @return Le chemin absolu, ou null s'il sort de la racine (../../etc/passwd)
+     */
+    public Path resolveInside(String relativePath) {
+        Path resolved = root.resolve(relativePath).normalize();
+        return resolved.startsWith(root) ? resolved : null;
+    }
+
+    /**
+     * Écrire un fichier de manière atomique (temporaire + move)
+     * 
+     * @param target  Fichier de destination
+     * @param content Contenu
+     */
+    public void writeAtomically(Path target, byte[] content) {
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), ".tmp-", null);
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Écriture impossible: " + target, e);
+        }
+    }
+}
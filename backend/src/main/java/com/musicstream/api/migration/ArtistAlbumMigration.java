@@ -0,0 +1,121 @@
+package com.musicstream.api.migration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 🚚 ArtistAlbumMigration - Anciennes colonnes songs.artist / songs.album → tables artists / albums
+ * 
+ * Avant la normalisation, chaque chanson stockait le nom de l'artiste et de l'album en
+ * texte. Sur une base existante (ddl-auto=update), Hibernate ajoute artist_id et album_id
+ * mais laisse les anciennes colonnes: au démarrage, avant de servir des requêtes, cette
+ * migration:
+ * 1. crée un artiste par nom distinct (LOWER(TRIM(nom)), même clé que Artist.keyOf)
+ * 2. renseigne songs.artist_id
+ * 3. crée un album par (artiste, titre distinct) et renseigne songs.album_id
+ * 4. supprime les colonnes texte
+ * 
+ * Tout est fait en SQL ensembliste (4 requêtes, quel que soit le nombre de chansons),
+ * dans une transaction. Idempotente: sans colonne songs.artist, elle ne fait rien.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class ArtistAlbumMigration {
+
+    private static final String INSERT_ARTISTS =
+            "INSERT INTO artists (name, name_key, created_at) "
+            + "SELECT MIN(TRIM(s.artist)), LOWER(TRIM(s.artist)), CURRENT_TIMESTAMP FROM songs s "
+            + "WHERE s.artist_id IS NULL AND s.artist IS NOT NULL AND TRIM(s.artist) <> '' "
+            + "AND NOT EXISTS (SELECT 1 FROM artists a WHERE a.name_key = LOWER(TRIM(s.artist))) "
+            + "GROUP BY LOWER(TRIM(s.artist))";
+
+    private static final String LINK_ARTISTS =
+            "UPDATE songs SET artist_id = "
+            + "(SELECT a.id FROM artists a WHERE a.name_key = LOWER(TRIM(songs.artist))) "
+            + "WHERE artist_id IS NULL AND artist IS NOT NULL AND TRIM(artist) <> ''";
+
+    private static final String INSERT_ALBUMS =
+            "INSERT INTO albums (title, title_key, artist_id, created_at) "
+            + "SELECT MIN(TRIM(s.album)), LOWER(TRIM(s.album)), s.artist_id, CURRENT_TIMESTAMP FROM songs s "
+            + "WHERE s.album_id IS NULL AND s.artist_id IS NOT NULL AND s.album IS NOT NULL AND TRIM(s.album) <> '' "
+            + "AND NOT EXISTS (SELECT 1 FROM albums al "
+            + "WHERE al.artist_id = s.artist_id AND al.title_key = LOWER(TRIM(s.album))) "
+            + "GROUP BY s.artist_id, LOWER(TRIM(s.album))";
+
+    private static final String LINK_ALBUMS =
+            "UPDATE songs SET album_id = "
+            + "(SELECT al.id FROM albums al WHERE al.artist_id = songs.artist_id "
+            + "AND al.title_key = LOWER(TRIM(songs.album))) "
+            + "WHERE album_id IS NULL AND artist_id IS NOT NULL AND album IS NOT NULL AND TRIM(album) <> ''";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ArtistAlbumMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @PostConstruct
+    void migrateOnStartup() throws SQLException {
+        migrate();
+    }
+
+    /**
+     * Migrer les anciennes colonnes texte, si elles existent encore
+     * 
+     * @return Nombre de chansons rattachées à un artiste (0 si rien à migrer)
+     * @throws SQLException Lecture des métadonnées du schéma impossible
+     */
+    public int migrate() throws SQLException {
+        if (!hasColumn("songs", "artist")) {
+            return 0;
+        }
+        boolean hasAlbum = hasColumn("songs", "album");
+        long start = System.nanoTime();
+        int[] counts = transactionTemplate.execute(status -> {
+            int artists = jdbcTemplate.update(INSERT_ARTISTS);
+            int songs = jdbcTemplate.update(LINK_ARTISTS);
+            int albums = hasAlbum ? jdbcTemplate.update(INSERT_ALBUMS) : 0;
+            if (hasAlbum) {
+                jdbcTemplate.update(LINK_ALBUMS);
+            }
+            return new int[]{artists, albums, songs};
+        });
+        // DDL après le commit (certaines bases le valident implicitement)
+        jdbcTemplate.execute("ALTER TABLE songs DROP COLUMN artist");
+        if (hasAlbum) {
+            jdbcTemplate.execute("ALTER TABLE songs DROP COLUMN album");
+        }
+        log.info("Migration artistes/albums: {} artistes et {} albums créés pour {} chansons en {} ms",
+                counts[0], counts[1], counts[2], (System.nanoTime() - start) / 1_000_000);
+        return counts[2];
+    }
+
+    private boolean hasColumn(String table, String column) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (metaData.storesUpperCaseIdentifiers()) {
+                table = table.toUpperCase();
+                column = column.toUpperCase();
+            }
+            try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, table, column)) {
+                return columns.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.musicstream.api.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚦 RateLimitFilter - Rate limiting AVANT les handlers de l'API catalogue
+ * 
+ * Pour chaque requête /songs/**, /playlists/**, /artists/** ou /albums/**:
+ * 1. Clé client = en-tête X-API-Key s'il fait partie des clés configurées (api-keys),
+ *    sinon IP (ou X-Forwarded-For si configuré)
+ * 2. Type de route = READ, SEARCH ou WRITE
+ * 3. Jeton accordé → la requête continue
+ *    Jeton refusé  → HTTP 429 Too Many Requests + en-tête Retry-After (secondes)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final List<String> LIMITED_PATHS = List.of("/songs", "/playlists", "/artists", "/albums");
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || "OPTIONS".equals(request.getMethod())
+                || LIMITED_PATHS.stream().noneMatch(limited -> isUnder(pathOf(request), limited));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RouteClass routeClass = RouteClass.of(request.getMethod(), pathOf(request));
+        String clientKey = clientKeyOf(request);
+
+        long waitNanos = rateLimiter.tryAcquire(clientKey, routeClass);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        log.debug("Rate limit atteint pour {} sur {} (retry dans {}s)", clientKey, routeClass, retryAfterSeconds);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\",\"retryAfter\":" + retryAfterSeconds + "}");
+    }
+
+    private String clientKeyOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && !apiKey.isEmpty() && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isEmpty()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma < 0 ? forwardedFor : forwardedFor.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    /**
+     * "/songs" et "/songs/..." mais pas "/songsX"
+     */
+    private static boolean isUnder(String path, String prefix) {
+        return path.startsWith(prefix)
+                && (path.length() == prefix.length() || path.charAt(prefix.length()) == '/');
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,80 @@
+package com.musicstream.api.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ⚙️ RateLimitProperties - Configuration du rate limiting
+ * 
+ * Lue depuis application.properties (préfixe musicstream.rate-limit):
+ * 
+ * musicstream.rate-limit.search.capacity=20
+ * musicstream.rate-limit.search.refill-per-second=10
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    /**
+     * Activer ou désactiver le filtre
+     */
+    private boolean enabled = true;
+
+    /**
+     * Clés X-API-Key reconnues: chacune a ses propres buckets. Une clé absente de
+     * cette liste est ignorée (bucket de l'adresse IP), sinon un client changerait de
+     * clé à chaque requête pour repartir avec un bucket plein.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /**
+     * Utiliser la première adresse de X-Forwarded-For comme clé client
+     * (seulement si l'API est derrière un proxy de confiance)
+     */
+    private boolean trustForwardedFor = false;
+
+    /**
+     * Un bucket plein et inactif depuis ce délai est supprimé de la mémoire
+     */
+    private long idleExpirySeconds = 300;
+
+    private Limit read = new Limit(100, 50);
+    private Limit search = new Limit(20, 10);
+    private Limit write = new Limit(20, 5);
+
+    /**
+     * Limite d'un type de route
+     * 
+     * @param routeClass Le type de route
+     * @return La limite configurée
+     */
+    public Limit limitFor(RouteClass routeClass) {
+        return switch (routeClass) {
+            case READ -> read;
+            case SEARCH -> search;
+            case WRITE -> write;
+        };
+    }
+
+    /**
+     * Capacité du bucket (rafale maximale) et vitesse de recharge
+     */
+    @Data
+    public static class Limit {
+        private int capacity;
+        private double refillPerSecond;
+
+        public Limit() {
+        }
+
+        public Limit(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.musicstream.api.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🚦 RateLimiter - Buckets de jetons par client et par type de route
+ * 
+ * Une map (clé client → TokenBucket) par RouteClass:
+ * un client qui boucle sur /songs/search ne consomme pas ses jetons de lecture.
+ * 
+ * Chemin rapide (requête acceptée):
+ * 1 lookup ConcurrentHashMap + 1 compareAndSet, aucune allocation si le bucket existe.
+ * 
+ * Expiration paresseuse:
+ * toutes les SWEEP_INTERVAL requêtes, UN thread parcourt les maps et retire
+ * les buckets pleins et inactifs. Pas de thread de fond, pas de verrou.
+ * 
+ * Métrique: musicstream.ratelimit.throttled{route=read|search|write}
+ */
+@Component
+public class RateLimiter {
+
+    private static final int SWEEP_INTERVAL = 4096;
+
+    private final RateLimitProperties properties;
+    private final Map<RouteClass, ConcurrentHashMap<String, TokenBucket>> buckets = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> throttledCounters = new EnumMap<>(RouteClass.class);
+    private final AtomicInteger acquireCount = new AtomicInteger();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (RouteClass routeClass : RouteClass.values()) {
+            buckets.put(routeClass, new ConcurrentHashMap<>());
+            throttledCounters.put(routeClass, Counter.builder("musicstream.ratelimit.throttled")
+                    .description("Requêtes rejetées avec HTTP 429")
+                    .tag("route", routeClass.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Consommer un jeton pour ce client sur ce type de route
+     * 
+     * @param clientKey  Clé du client (API key ou IP)
+     * @param routeClass Type de route
+     * @return 0 si accepté, sinon le délai d'attente en nanosecondes avant le prochain jeton
+     */
+    public long tryAcquire(String clientKey, RouteClass routeClass) {
+        long now = System.nanoTime();
+        RateLimitProperties.Limit limit = properties.limitFor(routeClass);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / limit.getRefillPerSecond());
+        long burstTolerance = interval * limit.getCapacity();
+
+        ConcurrentHashMap<String, TokenBucket> routeBuckets = buckets.get(routeClass);
+        TokenBucket bucket = routeBuckets.get(clientKey);
+        if (bucket == null) {
+            bucket = routeBuckets.computeIfAbsent(clientKey, key -> new TokenBucket());
+        }
+
+        long waitNanos = bucket.tryAcquire(now, interval, burstTolerance);
+        if (waitNanos > 0) {
+            throttledCounters.get(routeClass).increment();
+        }
+
+        if ((acquireCount.incrementAndGet() & (SWEEP_INTERVAL - 1)) == 0) {
+            sweepIdleBuckets(now);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Nombre de buckets actuellement en mémoire (tous types confondus)
+     * 
+     * @return Nombre de buckets
+     */
+    public int bucketCount() {
+        return buckets.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Supprimer les buckets pleins et inactifs
+     * 
+     * @param now Instant courant (System.nanoTime())
+     */
+    void sweepIdleBuckets(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long idleNanos = TimeUnit.SECONDS.toNanos(properties.getIdleExpirySeconds());
+            for (ConcurrentHashMap<String, TokenBucket> routeBuckets : buckets.values()) {
+                routeBuckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+}
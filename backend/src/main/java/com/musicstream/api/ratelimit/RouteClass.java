@@ -0,0 +1,36 @@
+package com.musicstream.api.ratelimit;
+
+/**
+ * 🚦 RouteClass - Type de route pour le rate limiting
+ * 
+ * Chaque type a son propre bucket par client:
+ * - READ   → GET /songs, GET /songs/{id}, GET /songs/category/{category}, POST /songs/lookup
+ * - SEARCH → GET /songs/search/** (index plein texte et requêtes LIKE, les plus coûteuses)
+ * - WRITE  → POST, PUT, PATCH, DELETE
+ */
+public enum RouteClass {
+    READ,
+    SEARCH,
+    WRITE;
+
+    /**
+     * Déterminer le type de route d'une requête
+     * 
+     * @param method Méthode HTTP (GET, POST, ...)
+     * @param path   Chemin sans le context-path (ex: /songs/search/by-title)
+     * @return Le type de route
+     */
+    public static RouteClass of(String method, String path) {
+        if ("POST".equals(method) && path.equals("/songs/lookup")) {
+            // Lecture par IDs, en POST seulement pour la longueur de la liste
+            return READ;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        if (path.startsWith("/songs/search")) {
+            return SEARCH;
+        }
+        return READ;
+    }
+}
@@ -0,0 +1,56 @@
+package com.musicstream.api.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🪣 TokenBucket - Bucket de jetons sans verrou
+ * 
+ * L'état tient dans UN SEUL long: l'instant théorique (en nanosecondes) où le
+ * bucket sera de nouveau plein ("theoretical arrival time", algorithme GCRA).
+ * C'est mathématiquement équivalent à un token bucket classique:
+ * - chaque requête consomme un jeton = avance l'instant de 1 intervalle
+ * - le bucket accepte tant que l'instant reste à moins de "capacity" intervalles dans le futur
+ * 
+ * Avantages:
+ * ✅ Pas de verrou: un seul compareAndSet par requête acceptée
+ * ✅ Pas de thread de recharge: les jetons se "rechargent" avec le temps qui passe
+ * ✅ Expiration paresseuse: un bucket dont l'instant est passé est plein, donc supprimable
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Essayer de consommer un jeton
+     * 
+     * @param nowNanos           Instant courant (System.nanoTime())
+     * @param intervalNanos      Temps de recharge d'un jeton
+     * @param burstToleranceNanos capacity × intervalNanos
+     * @return 0 si le jeton est accordé, sinon le nombre de nanosecondes à attendre
+     */
+    public long tryAcquire(long nowNanos, long intervalNanos, long burstToleranceNanos) {
+        while (true) {
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long allowedAt = next - burstToleranceNanos;
+            if (allowedAt > nowNanos) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Le bucket est-il plein et inactif depuis au moins idleNanos ?
+     * 
+     * @param nowNanos  Instant courant
+     * @param idleNanos Délai d'inactivité
+     * @return true si le bucket peut être supprimé sans changer le comportement
+     */
+    public boolean isIdle(long nowNanos, long idleNanos) {
+        long current = theoreticalArrivalNanos.get();
+        return current == Long.MIN_VALUE || nowNanos - current >= idleNanos;
+    }
+}
@@ -0,0 +1,409 @@
+package com.musicstream.api.recommendation;
+
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.CatalogResyncEvent;
+import com.musicstream.api.event.PlaylistChangedEvent;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.PlaylistEntryRepository;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 🧭 SimilarSongService - "Chansons similaires" précalculées en arrière-plan
+ *
+ * GET /songs/{id}/similar est une simple lecture: les topK voisins de chaque chanson
+ * sont calculés à l'avance (SimilarityCalculator) et gardés dans des tableaux primitifs
+ * (Neighbours). La requête ne fait que charger les chansons voisines (une requête IN).
+ *
+ * Signal de co-écoute: les playlists (chansons proches dans une même playlist).
+ * Les chansons sans playlist sont recommandées par métadonnées (artiste, album, genre,
+ * catégorie) tant qu'elles n'ont pas assez de co-occurrences.
+ *
+ * Calcul (un seul thread "similar-songs"):
+ * - recalcul complet au démarrage puis toutes les rebuild-interval
+ * - mise à jour incrémentale toutes les refresh-interval: seules les chansons modifiées
+ *   et celles des playlists modifiées (PlaylistChangedEvent) sont recalculées
+ *
+ * Métriques:
+ * - musicstream.similar.rebuild / musicstream.similar.refresh → durée des calculs
+ * - musicstream.similar.songs                                → chansons ayant des voisins
+ */
+@Service
+@Slf4j
+public class SimilarSongService {
+
+    /**
+     * Taille des lots pour les requêtes IN (limite de paramètres de certains SGBD)
+     */
+    private static final int IN_CHUNK = 1000;
+
+    private final SongRepository songRepository;
+    private final PlaylistEntryRepository playlistEntryRepository;
+    private final SimilarityProperties properties;
+    private final TransactionTemplate readOnly;
+    private final ScheduledThreadPoolExecutor job;
+    private final Timer rebuildTimer;
+    private final Timer refreshTimer;
+
+    /**
+     * Voisins de chaque chanson, lus sans verrou par les requêtes
+     * (remplacé en bloc par un recalcul complet, complété par les mises à jour incrémentales)
+     */
+    private volatile Map<Long, Neighbours> index = new ConcurrentHashMap<>();
+
+    /**
+     * Chansons et playlists modifiées depuis le dernier calcul
+     */
+    private final Set<Long> dirtySongs = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyPlaylists = ConcurrentHashMap.newKeySet();
+
+    /**
+     * État du calcul (modifié uniquement sous le verrou de rebuild/refresh)
+     */
+    private Map<Long, SongFeatures> features = new HashMap<>();
+    private Map<Long, Integer> occurrences = new HashMap<>();
+    private Map<String, List<Long>> groups = new HashMap<>();
+
+    public SimilarSongService(SongRepository songRepository,
+                              PlaylistEntryRepository playlistEntryRepository,
+                              SimilarityProperties properties,
+                              MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.songRepository = songRepository;
+        this.playlistEntryRepository = playlistEntryRepository;
+        this.properties = properties;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+
+        this.job = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "similar-songs");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.rebuildTimer = Timer.builder("musicstream.similar.rebuild")
+                .description("Durée du recalcul complet des chansons similaires")
+                .register(meterRegistry);
+        this.refreshTimer = Timer.builder("musicstream.similar.refresh")
+                .description("Durée des mises à jour incrémentales des chansons similaires")
+                .register(meterRegistry);
+        Gauge.builder("musicstream.similar.songs", this, service -> service.index.size())
+                .description("Chansons ayant des voisins précalculés")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Chansons similaires (lecture des voisins précalculés)
+     *
+     * @param songId L'ID de la chanson
+     * @param limit  Nombre de chansons voulu (1 à topK)
+     * @return Les chansons, de la plus à la moins similaire (vide si la chanson n'existe pas,
+     *         liste vide si ses voisins ne sont pas encore calculés)
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<SongDTO>> getSimilar(Long songId, int limit) {
+        if (limit < 1 || limit > properties.getTopK()) {
+            throw new IllegalArgumentException("limit doit être entre 1 et " + properties.getTopK());
+        }
+        Neighbours neighbours = index.get(songId);
+        if (neighbours == null) {
+            if (!songRepository.existsById(songId)) {
+                return Optional.empty();
+            }
+            dirtySongs.add(songId);
+            return Optional.of(List.of());
+        }
+
+        List<Long> ids = new ArrayList<>(neighbours.size());
+        for (long id : neighbours.songIds()) {
+            ids.add(id);
+        }
+        Map<Long, Song> songs = new HashMap<>();
+        for (Song song : songRepository.findByIdIn(ids)) {
+            songs.put(song.getId(), song);
+        }
+        // Une voisine supprimée depuis le calcul est simplement sautée
+        List<SongDTO> similar = new ArrayList<>(limit);
+        for (Long id : ids) {
+            Song song = songs.get(id);
+            if (song != null && similar.size() < limit) {
+                similar.add(SongDTO.fromEntity(song));
+            }
+        }
+        return Optional.of(similar);
+    }
+
+    /**
+     * Recalculer les chansons d'une playlist modifiée
+     *
+     * @param event Événement publié par PlaylistService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPlaylistChanged(PlaylistChangedEvent event) {
+        dirtyPlaylists.add(event.playlistId());
+        dirtySongs.addAll(event.songIds());
+    }
+
+    /**
+     * Recalculer une chanson créée ou modifiée (métadonnées), oublier une chanson supprimée
+     *
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (event.type() == SongChangedEvent.Type.DELETED) {
+            Neighbours removed = index.remove(event.songId());
+            if (removed != null) {
+                for (long id : removed.songIds()) {
+                    dirtySongs.add(id);
+                }
+            }
+        }
+        dirtySongs.add(event.songId());
+    }
+
+    /**
+     * Recalcul complet: toutes les playlists et toutes les chansons
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        dirtySongs.clear();
+        dirtyPlaylists.clear();
+
+        Map<Long, SongFeatures> allFeatures = new HashMap<>();
+        Map<Long, Integer> allOccurrences = new HashMap<>();
+        Map<Long, Map<Long, Integer>> pairs = new HashMap<>();
+        readOnly.executeWithoutResult(status -> {
+            for (Object[] row : songRepository.findAllFeatures()) {
+                allFeatures.put((Long) row[0], SongFeatures.of(row));
+            }
+            try (Stream<Object[]> rows = playlistEntryRepository.streamAllInOrder()) {
+                forEachPlaylist(rows.iterator(), songs -> {
+                    for (Long songId : songs) {
+                        allOccurrences.merge(songId, 1, Integer::sum);
+                    }
+                    SimilarityCalculator.countPairs(songs, properties.getWindow(), id -> true, pairs);
+                });
+            }
+        });
+
+        features = allFeatures;
+        occurrences = allOccurrences;
+        groups = new HashMap<>();
+        for (Map.Entry<Long, SongFeatures> entry : allFeatures.entrySet()) {
+            for (String key : entry.getValue().groupKeys()) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        // Candidats par métadonnées: les topK chansons les plus présentes dans les playlists de chaque groupe
+        Comparator<Long> popularity = Comparator.<Long>comparingInt(id -> occurrences.getOrDefault(id, 0)).reversed()
+                .thenComparing(Comparator.naturalOrder());
+        groups.replaceAll((key, members) -> {
+            members.sort(popularity);
+            return members.size() > properties.getTopK() ? new ArrayList<>(members.subList(0, properties.getTopK())) : members;
+        });
+
+        Map<Long, Neighbours> rebuilt = new ConcurrentHashMap<>(allFeatures.size() * 4 / 3 + 1);
+        for (Long songId : allFeatures.keySet()) {
+            rebuilt.put(songId, compute(songId, pairs.getOrDefault(songId, Map.of())));
+        }
+        index = rebuilt;
+
+        rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Chansons similaires recalculées: {} chansons en {} ms", rebuilt.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Mise à jour incrémentale: seules les chansons modifiées et celles des playlists
+     * modifiées sont recalculées
+     *
+     * @return Nombre de chansons recalculées
+     */
+    public synchronized int refresh() {
+        if (dirtySongs.isEmpty() && dirtyPlaylists.isEmpty()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Set<Long> targets = drain(dirtySongs);
+        Set<Long> playlists = drain(dirtyPlaylists);
+
+        Integer refreshed = readOnly.execute(status -> {
+            for (Object[] row : inChunks(playlists, playlistEntryRepository::findInOrder)) {
+                targets.add((Long) row[1]);
+            }
+            if (targets.size() > properties.getMaxIncrementalSongs()) {
+                return null;
+            }
+
+            // Métadonnées: chansons supprimées oubliées, nouvelles chansons ajoutées à leurs groupes
+            Set<Long> existing = new HashSet<>();
+            for (Object[] row : inChunks(targets, songRepository::findFeatures)) {
+                Long songId = (Long) row[0];
+                SongFeatures songFeatures = SongFeatures.of(row);
+                features.put(songId, songFeatures);
+                for (String key : songFeatures.groupKeys()) {
+                    List<Long> members = groups.computeIfAbsent(key, k -> new ArrayList<>());
+                    if (members.size() < properties.getTopK() && !members.contains(songId)) {
+                        members.add(songId);
+                    }
+                }
+                existing.add(songId);
+            }
+            for (Long songId : targets) {
+                if (!existing.contains(songId)) {
+                    features.remove(songId);
+                    occurrences.remove(songId);
+                    index.remove(songId);
+                }
+            }
+
+            // Paires: toutes les playlists qui contiennent une chanson à recalculer
+            Map<Long, Map<Long, Integer>> pairs = new HashMap<>();
+            List<Long> playlistIds = inChunks(existing, playlistEntryRepository::findPlaylistIdsContaining);
+            forEachPlaylist(inChunks(new LinkedHashSet<>(playlistIds), playlistEntryRepository::findInOrder).iterator(),
+                    songs -> SimilarityCalculator.countPairs(songs, properties.getWindow(), existing::contains, pairs));
+
+            Set<Long> counted = new HashSet<>(existing);
+            pairs.values().forEach(counts -> counted.addAll(counts.keySet()));
+            counted.forEach(occurrences::remove);
+            for (Object[] row : inChunks(counted, playlistEntryRepository::countBySongIds)) {
+                occurrences.put((Long) row[0], ((Long) row[1]).intValue());
+            }
+
+            for (Long songId : existing) {
+                index.put(songId, compute(songId, pairs.getOrDefault(songId, Map.of())));
+            }
+            return existing.size();
+        });
+
+        if (refreshed == null) {
+            log.info("{} chansons à recalculer: recalcul complet", targets.size());
+            rebuild();
+            return targets.size();
+        }
+        refreshTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Chansons similaires mises à jour: {} chansons", refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Des écritures faites sur une autre instance ont été perdues: recalcul complet
+     *
+     * @param event Événement publié par InvalidationBus
+     */
+    @EventListener
+    public void onCatalogResync(CatalogResyncEvent event) {
+        if (properties.isEnabled()) {
+            job.execute(() -> run(this::rebuild));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long refresh = properties.getRefreshInterval().toMillis();
+        long rebuild = properties.getRebuildInterval().toMillis();
+        job.execute(() -> run(this::rebuild));
+        job.scheduleWithFixedDelay(() -> run(this::refresh), refresh, refresh, TimeUnit.MILLISECONDS);
+        job.scheduleWithFixedDelay(() -> run(this::rebuild), rebuild, rebuild, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        job.shutdownNow();
+    }
+
+    /**
+     * Une exception dans une tâche planifiée annulerait ses exécutions suivantes
+     */
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Calcul des chansons similaires impossible: {}", e.getMessage());
+        }
+    }
+
+    private Neighbours compute(Long songId, Map<Long, Integer> pairCounts) {
+        Set<Long> candidates = new LinkedHashSet<>();
+        SongFeatures songFeatures = features.get(songId);
+        if (songFeatures != null) {
+            for (String key : songFeatures.groupKeys()) {
+                candidates.addAll(groups.getOrDefault(key, List.of()));
+            }
+        }
+        return SimilarityCalculator.neighbours(songId, pairCounts, id -> occurrences.getOrDefault(id, 0),
+                features, candidates, properties.getTopK(), properties.getColdStartEntries());
+    }
+
+    /**
+     * Regrouper des lignes [playlistId, songId] triées par playlist
+     */
+    private static void forEachPlaylist(Iterator<Object[]> rows, Consumer<List<Long>> playlist) {
+        Long current = null;
+        List<Long> songs = new ArrayList<>();
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            if (current != null && !current.equals(row[0])) {
+                playlist.accept(songs);
+                songs = new ArrayList<>();
+            }
+            current = (Long) row[0];
+            songs.add((Long) row[1]);
+        }
+        if (!songs.isEmpty()) {
+            playlist.accept(songs);
+        }
+    }
+
+    private static <T> List<T> inChunks(Collection<Long> ids, Function<List<Long>, List<T>> query) {
+        List<Long> all = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CHUNK) {
+            results.addAll(query.apply(all.subList(from, Math.min(all.size(), from + IN_CHUNK))));
+        }
+        return results;
+    }
+
+    private static Set<Long> drain(Set<Long> dirty) {
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+}
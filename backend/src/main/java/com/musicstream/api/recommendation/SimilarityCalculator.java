@@ -0,0 +1,108 @@
+package com.musicstream.api.recommendation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * 🧮 SimilarityCalculator - Similarité item-item par co-occurrence + métadonnées
+ * 
+ * 1. Co-occurrence: deux chansons proches (moins de window places) dans une même
+ *    playlist comptent une paire. Similarité cosinus: paires(a, b) / √(n(a) × n(b)),
+ *    n = nombre d'entrées de playlist de la chanson.
+ * 2. Métadonnées (SongFeatures.similarity): même artiste, album, genre, catégorie.
+ * 3. Mélange: confiance × cosinus + (1 - confiance) × métadonnées, avec
+ *    confiance = n(a) / (n(a) + coldStartEntries). Une chanson jamais ajoutée à une
+ *    playlist (démarrage à froid) n'a que des voisins par métadonnées.
+ */
+final class SimilarityCalculator {
+
+    private SimilarityCalculator() {
+    }
+
+    /**
+     * Compter les paires d'une playlist
+     * 
+     * @param songs    Chansons de la playlist, dans l'ordre
+     * @param window   Distance maximale entre deux chansons d'une paire
+     * @param isTarget Chansons dont on veut les voisins (les autres ne sont comptées que comme voisines)
+     * @param pairs    Compteurs: chanson → (voisine → nombre de paires), complétés sur place
+     */
+    static void countPairs(List<Long> songs, int window, LongPredicate isTarget, Map<Long, Map<Long, Integer>> pairs) {
+        for (int i = 0; i < songs.size(); i++) {
+            long a = songs.get(i);
+            for (int j = i + 1; j < Math.min(songs.size(), i + 1 + window); j++) {
+                long b = songs.get(j);
+                if (a == b) {
+                    continue;
+                }
+                if (isTarget.test(a)) {
+                    pairs.computeIfAbsent(a, id -> new HashMap<>()).merge(b, 1, Integer::sum);
+                }
+                if (isTarget.test(b)) {
+                    pairs.computeIfAbsent(b, id -> new HashMap<>()).merge(a, 1, Integer::sum);
+                }
+            }
+        }
+    }
+
+    /**
+     * Les topK voisins d'une chanson
+     * 
+     * @param songId             La chanson
+     * @param pairCounts         Ses compteurs de paires (voisine → nombre de paires)
+     * @param occurrences        Nombre d'entrées de playlist par chanson
+     * @param features           Métadonnées par chanson
+     * @param metadataCandidates Voisines possibles par métadonnées (mêmes artiste, genre, ...)
+     * @param topK               Nombre de voisins gardés
+     * @param coldStartEntries   Voir SimilarityProperties.coldStartEntries
+     * @return Les voisins, du plus au moins similaire
+     */
+    static Neighbours neighbours(long songId,
+                                 Map<Long, Integer> pairCounts,
+                                 ToIntFunction<Long> occurrences,
+                                 Map<Long, SongFeatures> features,
+                                 Collection<Long> metadataCandidates,
+                                 int topK,
+                                 int coldStartEntries) {
+        SongFeatures self = features.get(songId);
+        int count = occurrences.applyAsInt(songId);
+        double confidence = count / (double) (count + coldStartEntries);
+
+        Map<Long, Double> scores = new HashMap<>();
+        pairCounts.forEach((other, pairs) -> {
+            double cosine = Math.min(1.0, pairs / Math.sqrt((double) Math.max(1, count) * Math.max(1, occurrences.applyAsInt(other))));
+            scores.put(other, confidence * cosine + (1 - confidence) * similarity(self, features.get(other)));
+        });
+        for (Long other : metadataCandidates) {
+            if (other != songId && !scores.containsKey(other)) {
+                scores.put(other, (1 - confidence) * similarity(self, features.get(other)));
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.size());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            if (entry.getValue() > 0 && features.containsKey(entry.getKey())) {
+                ranked.add(entry);
+            }
+        }
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        int size = Math.min(topK, ranked.size());
+        long[] songIds = new long[size];
+        float[] values = new float[size];
+        for (int i = 0; i < size; i++) {
+            songIds[i] = ranked.get(i).getKey();
+            values[i] = ranked.get(i).getValue().floatValue();
+        }
+        return new Neighbours(songIds, values);
+    }
+
+    private static double similarity(SongFeatures self, SongFeatures other) {
+        return self == null ? 0 : self.similarity(other);
+    }
+}
@@ -0,0 +1,54 @@
+package com.musicstream.api.recommendation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ⚙️ SimilarityProperties - Recommandations "chansons similaires"
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.similar")
+@Data
+public class SimilarityProperties {
+
+    /**
+     * Calculer les recommandations en arrière-plan (sinon GET /songs/{id}/similar renvoie [])
+     */
+    private boolean enabled = true;
+
+    /**
+     * Voisins gardés par chanson (aussi la valeur maximale de ?limit=)
+     */
+    private int topK = 50;
+
+    /**
+     * Deux chansons sont "écoutées ensemble" si elles sont à moins de window places
+     * l'une de l'autre dans une playlist (borne le coût des très longues playlists)
+     */
+    private int window = 50;
+
+    /**
+     * Entrées de playlist à partir desquelles la co-occurrence compte autant que les
+     * métadonnées (confiance = n / (n + coldStartEntries))
+     */
+    private int coldStartEntries = 5;
+
+    /**
+     * Délai entre deux mises à jour incrémentales (chansons et playlists modifiées)
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Délai entre deux recalculs complets
+     */
+    private Duration rebuildInterval = Duration.ofHours(6);
+
+    /**
+     * Au-delà de ce nombre de chansons à recalculer, la mise à jour incrémentale
+     * est remplacée par un recalcul complet
+     */
+    private int maxIncrementalSongs = 5000;
+}
@@ -0,0 +1,71 @@
+package com.musicstream.api.recommendation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 🏷️ SongFeatures - Métadonnées d'une chanson utilisées pour les recommandations
+ * 
+ * @param artistId ID de l'artiste (peut être null)
+ * @param albumId  ID de l'album (peut être null)
+ * @param genre    Genre (peut être null)
+ * @param category Catégorie (peut être null)
+ */
+record SongFeatures(Long artistId, Long albumId, String genre, String category) {
+
+    /**
+     * Ligne [id, artistId, albumId, genre, category] de SongRepository.findFeatures
+     */
+    static SongFeatures of(Object[] row) {
+        return new SongFeatures((Long) row[1], (Long) row[2], normalize((String) row[3]), normalize((String) row[4]));
+    }
+
+    /**
+     * Similarité par métadonnées, entre 0 et 1
+     * (artiste 0.5, album 0.2, genre 0.2, catégorie 0.1)
+     */
+    double similarity(SongFeatures other) {
+        if (other == null) {
+            return 0;
+        }
+        double score = 0;
+        if (artistId != null && artistId.equals(other.artistId)) {
+            score += 0.5;
+        }
+        if (albumId != null && albumId.equals(other.albumId)) {
+            score += 0.2;
+        }
+        if (genre != null && genre.equals(other.genre)) {
+            score += 0.2;
+        }
+        if (category != null && category.equals(other.category)) {
+            score += 0.1;
+        }
+        return score;
+    }
+
+    /**
+     * Groupes dont la chanson fait partie (candidats pour les chansons sans co-occurrence)
+     */
+    List<String> groupKeys() {
+        List<String> keys = new ArrayList<>(4);
+        if (artistId != null) {
+            keys.add("artist:" + artistId);
+        }
+        if (albumId != null) {
+            keys.add("album:" + albumId);
+        }
+        if (genre != null) {
+            keys.add("genre:" + genre);
+        }
+        if (category != null) {
+            keys.add("category:" + category);
+        }
+        return keys;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,30 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.entity.Album;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 💿 AlbumRepository - Accès aux albums
+ */
+@Repository
+public interface AlbumRepository extends JpaRepository<Album, Long> {
+
+    /**
+     * Trouver l'album d'un artiste par titre normalisé (index unique uk_albums_artist_title_key)
+     * 
+     * @param artistId L'ID de l'artiste
+     * @param titleKey Artist.keyOf(titre)
+     * @return L'album, s'il existe
+     */
+    Optional<Album> findByArtistIdAndTitleKey(Long artistId, String titleKey);
+
+    /**
+     * Un album avec son artiste (une requête)
+     */
+    @EntityGraph(attributePaths = "artist")
+    Optional<Album> findWithArtistById(Long id);
+}
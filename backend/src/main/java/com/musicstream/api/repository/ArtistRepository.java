@@ -0,0 +1,38 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.dto.ArtistDTO;
+import com.musicstream.api.entity.Artist;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 🎤 ArtistRepository - Accès aux artistes
+ */
+@Repository
+public interface ArtistRepository extends JpaRepository<Artist, Long> {
+
+    /**
+     * Trouver un artiste par nom normalisé (index unique uk_artists_name_key)
+     * 
+     * @param nameKey Artist.keyOf(nom)
+     * @return L'artiste, s'il existe
+     */
+    Optional<Artist> findByNameKey(String nameKey);
+
+    /**
+     * Artistes avec leur nombre d'albums et de chansons, en UNE requête groupée
+     * 
+     * @param prefix Début du nom normalisé ("" pour tous)
+     * @return Les artistes, triés par nom
+     */
+    @Query("SELECT new com.musicstream.api.dto.ArtistDTO(a.id, a.name, COUNT(DISTINCT s.albumRef.id), COUNT(s.id)) "
+            + "FROM Artist a LEFT JOIN Song s ON s.artistRef = a "
+            + "WHERE a.nameKey LIKE CONCAT(:prefix, '%') "
+            + "GROUP BY a.id, a.name ORDER BY a.name")
+    List<ArtistDTO> findSummaries(@Param("prefix") String prefix);
+}
@@ -0,0 +1,168 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.dto.PlaylistEntryDTO;
+import com.musicstream.api.entity.PlaylistEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 📌 PlaylistEntryRepository - Entrées des playlists
+ * 
+ * Toutes les lectures d'une playlist se font par (playlist_id, position, id),
+ * couvert par l'index idx_playlist_entries_order.
+ */
+@Repository
+public interface PlaylistEntryRepository extends JpaRepository<PlaylistEntry, Long> {
+
+    /**
+     * Une page d'entrées avec le résumé de leurs chansons, en UNE requête
+     * 
+     * SELECT e.id, e.position, s.id, s.title, ... FROM playlist_entries e
+     * JOIN songs s ON s.id = e.song_id LEFT JOIN artists ... LEFT JOIN albums ...
+     * WHERE e.playlist_id = ? AND (e.position, e.id) > (?, ?)
+     * ORDER BY e.position, e.id LIMIT ?
+     * 
+     * Pas de findById par chanson (N+1), pas de lecture des colonnes TEXT de songs.
+     * 
+     * @param playlistId L'ID de la playlist
+     * @param position   Position de la dernière entrée de la page précédente
+     * @param id         ID de la dernière entrée de la page précédente
+     * @param pageable   Taille de la page (PageRequest.of(0, limit))
+     * @return Les entrées suivantes, dans l'ordre de la playlist
+     */
+    @Query("SELECT new com.musicstream.api.dto.PlaylistEntryDTO("
+            + "e.id, e.position, s.id, s.title, a.name, al.title, s.duration, e.addedAt) "
+            + "FROM PlaylistEntry e JOIN Song s ON s.id = e.songId "
+            + "LEFT JOIN s.artistRef a LEFT JOIN s.albumRef al "
+            + "WHERE e.playlistId = :playlistId "
+            + "AND (e.position > :position OR (e.position = :position AND e.id > :id)) "
+            + "ORDER BY e.position, e.id")
+    List<PlaylistEntryDTO> findPage(@Param("playlistId") Long playlistId,
+                                    @Param("position") long position,
+                                    @Param("id") long id,
+                                    Pageable pageable);
+
+    /**
+     * Entrées qui suivent une position (voisine du dessous pour une insertion)
+     */
+    @Query("SELECT e FROM PlaylistEntry e WHERE e.playlistId = :playlistId "
+            + "AND (e.position > :position OR (e.position = :position AND e.id > :id)) "
+            + "ORDER BY e.position, e.id")
+    List<PlaylistEntry> findFollowing(@Param("playlistId") Long playlistId,
+                                      @Param("position") long position,
+                                      @Param("id") long id,
+                                      Pageable pageable);
+
+    /**
+     * Entrées qui précèdent une position, de la plus proche à la plus lointaine
+     */
+    @Query("SELECT e FROM PlaylistEntry e WHERE e.playlistId = :playlistId "
+            + "AND (e.position < :position OR (e.position = :position AND e.id < :id)) "
+            + "ORDER BY e.position DESC, e.id DESC")
+    List<PlaylistEntry> findPreceding(@Param("playlistId") Long playlistId,
+                                      @Param("position") long position,
+                                      @Param("id") long id,
+                                      Pageable pageable);
+
+    /**
+     * Toutes les entrées dans l'ordre (renumérotation uniquement)
+     */
+    List<PlaylistEntry> findByPlaylistIdOrderByPositionAscIdAsc(Long playlistId);
+
+    Optional<PlaylistEntry> findByIdAndPlaylistId(Long id, Long playlistId);
+
+    /**
+     * IDs des chansons d'une playlist (dans le désordre)
+     */
+    @Query("SELECT e.songId FROM PlaylistEntry e WHERE e.playlistId = :playlistId")
+    List<Long> findSongIdsByPlaylistId(@Param("playlistId") Long playlistId);
+
+    /**
+     * Toutes les entrées, playlist par playlist dans l'ordre (recalcul complet des recommandations)
+     * 
+     * À lire dans une transaction et à fermer: les lignes arrivent au fil de l'eau.
+     * 
+     * @return Lignes [playlistId, songId]
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT e.playlistId, e.songId FROM PlaylistEntry e ORDER BY e.playlistId, e.position, e.id")
+    Stream<Object[]> streamAllInOrder();
+
+    /**
+     * Entrées de quelques playlists, dans l'ordre
+     * 
+     * @param playlistIds IDs des playlists
+     * @return Lignes [playlistId, songId]
+     */
+    @Query("SELECT e.playlistId, e.songId FROM PlaylistEntry e WHERE e.playlistId IN :playlistIds "
+            + "ORDER BY e.playlistId, e.position, e.id")
+    List<Object[]> findInOrder(@Param("playlistIds") Collection<Long> playlistIds);
+
+    /**
+     * Playlists qui contiennent au moins une des chansons
+     */
+    @Query("SELECT DISTINCT e.playlistId FROM PlaylistEntry e WHERE e.songId IN :songIds")
+    List<Long> findPlaylistIdsContaining(@Param("songIds") Collection<Long> songIds);
+
+    /**
+     * Nombre d'entrées de playlist par chanson
+     * 
+     * @param songIds IDs des chansons
+     * @return Lignes [songId, count] (absentes pour les chansons dans aucune playlist)
+     */
+    @Query("SELECT e.songId, COUNT(e) FROM PlaylistEntry e WHERE e.songId IN :songIds GROUP BY e.songId")
+    List<Object[]> countBySongIds(@Param("songIds") Collection<Long> songIds);
+
+    long countByPlaylistId(Long playlistId);
+
+    /**
+     * Nombre d'entrées de plusieurs playlists en une requête
+     * 
+     * @param playlistIds IDs des playlists
+     * @return Lignes [playlistId, count] (absentes pour les playlists vides)
+     */
+    @Query("SELECT e.playlistId, COUNT(e) FROM PlaylistEntry e WHERE e.playlistId IN :playlistIds GROUP BY e.playlistId")
+    List<Object[]> countByPlaylistIds(@Param("playlistIds") Collection<Long> playlistIds);
+
+    /**
+     * Déplacer une entrée: UN seul UPDATE, les autres entrées ne changent pas
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PlaylistEntry e SET e.position = :position WHERE e.id = :id")
+    int updatePosition(@Param("id") Long id, @Param("position") long position);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PlaylistEntry e WHERE e.playlistId = :playlistId")
+    int deleteAllOfPlaylist(@Param("playlistId") Long playlistId);
+
+    /**
+     * Retirer une chanson supprimée de toutes les playlists
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PlaylistEntry e WHERE e.songId = :songId")
+    int deleteAllOfSong(@Param("songId") Long songId);
+
+    /**
+     * Retirer des chansons supprimées en masse de toutes les playlists (un seul DELETE)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PlaylistEntry e WHERE e.songId IN :songIds")
+    int deleteAllOfSongs(@Param("songIds") Collection<Long> songIds);
+}
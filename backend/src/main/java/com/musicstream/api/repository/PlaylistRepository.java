@@ -0,0 +1,14 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.entity.Playlist;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 📃 PlaylistRepository - Accès aux playlists
+ * 
+ * Les entrées (chansons) sont dans PlaylistEntryRepository.
+ */
+@Repository
+public interface PlaylistRepository extends JpaRepository<Playlist, Long> {
+}
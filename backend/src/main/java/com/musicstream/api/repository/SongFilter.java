@@ -0,0 +1,18 @@
+package com.musicstream.api.repository;
+
+/**
+ * 🔎 SongFilter - Critères d'une opération en masse (null = critère ignoré)
+ * 
+ * @param category Catégorie exacte (comme findByCategory)
+ * @param genre    Genre exact
+ * @param artist   Nom d'artiste (casse et espaces ignorés, comme findByArtist)
+ */
+public record SongFilter(String category, String genre, String artist) {
+
+    /**
+     * @return true si aucun critère n'est renseigné (toutes les chansons)
+     */
+    public boolean isEmpty() {
+        return category == null && genre == null && artist == null;
+    }
+}
@@ -1,9 +1,22 @@
 package com.musicstream.api.repository;
 
+import com.musicstream.api.cache.SecondLevelCacheConfig;
+import com.musicstream.api.entity.Album;
 import com.musicstream.api.entity.Song;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,20 +42,68 @@ import java.util.Optional;
  * JpaRepository<Entity, ID> où:
  * - Entity = La classe à gérer (Song)
  * - ID = Le type de la clé primaire (Long)
+ * 
+ * Les lectures qui renvoient des chansons au client chargent artiste et album
+ * dans la même requête (@EntityGraph → LEFT JOIN): pas de requête par chanson
+ * quand SongDTO aplatit leurs noms.
+ * 
+ * findByCategory et findByArtist passent par le cache de requêtes Hibernate
+ * (région song-queries): invalidé automatiquement à chaque écriture sur songs.
+ * 
+ * patch (UPDATE partiel, colonnes choisies à l'exécution): voir SongRepositoryCustom.
+ * 
+ * Les UPDATE @Modifying incrémentent version eux-mêmes (@Version ne s'applique qu'aux
+ * entités gérées): sinon l'ETag ne changerait pas et un If-Match périmé passerait.
  */
 @Repository
-public interface SongRepository extends JpaRepository<Song, Long> {
+public interface SongRepository extends JpaRepository<Song, Long>, SongRepositoryCustom {
+
+    @Override
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    List<Song> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    Optional<Song> findById(Long id);
 
     /**
      * Trouver toutes les chansons par artiste
      * 
-     * Spring générera:
-     * SELECT * FROM songs WHERE artist = ?
+     * SELECT s.* FROM songs s JOIN artists a ON a.id = s.artist_id WHERE a.name_key = ?
+     * (index unique sur artists.name_key, puis index songs.artist_id)
      * 
-     * @param artist Le nom de l'artiste
+     * @param artist Le nom de l'artiste (casse et espaces ignorés)
      * @return Liste de toutes les chansons de cet artiste
      */
-    List<Song> findByArtist(String artist);
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SONG_QUERY_REGION)
+    })
+    @Query("SELECT s FROM Song s WHERE s.artistRef.nameKey = LOWER(TRIM(:artist))")
+    List<Song> findByArtist(@Param("artist") String artist);
+
+    /**
+     * Chansons d'un artiste, album compris (discographie)
+     * 
+     * SELECT ... FROM songs s LEFT JOIN albums al ON al.id = s.album_id WHERE s.artist_id = ?
+     * 
+     * @param artistId L'ID de l'artiste
+     * @return Les chansons, triées par album puis titre
+     */
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    @Query("SELECT s FROM Song s LEFT JOIN s.albumRef al WHERE s.artistRef.id = :artistId ORDER BY al.title, s.title")
+    List<Song> findByArtistId(@Param("artistId") Long artistId);
+
+    /**
+     * Pistes d'un album (index songs.album_id)
+     * 
+     * @param albumId L'ID de l'album
+     * @return Les chansons, triées par titre
+     */
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    @Query("SELECT s FROM Song s WHERE s.albumRef.id = :albumId ORDER BY s.title")
+    List<Song> findByAlbumId(@Param("albumId") Long albumId);
 
     /**
      * Trouver toutes les chansons par catégorie
@@ -52,6 +113,11 @@ public interface SongRepository extends JpaRepository<Song, Long> {
      * @param category La catégorie
      * @return Liste de toutes les chansons de cette catégorie
      */
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.SONG_QUERY_REGION)
+    })
     List<Song> findByCategory(String category);
 
     /**
@@ -72,15 +138,163 @@ public interface SongRepository extends JpaRepository<Song, Long> {
      * @param titleKeyword Le mot-clé à chercher dans le titre
      * @return Liste des chansons trouvées
      */
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
     List<Song> findByTitleContainingIgnoreCase(String titleKeyword);
 
     /**
      * Trouver les chansons dont l'artiste contient un terme
      * 
-     * SELECT * FROM songs WHERE artist LIKE ?
+     * Le LIKE porte sur la table artists (un nom par artiste, pas un par chanson),
+     * puis la jointure sur songs.artist_id est indexée.
      * 
      * @param artistKeyword Le mot-clé à chercher dans le nom de l'artiste
      * @return Liste des chansons trouvées
      */
-    List<Song> findByArtistContainingIgnoreCase(String artistKeyword);
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    @Query("SELECT s FROM Song s WHERE s.artistRef.nameKey LIKE CONCAT('%', LOWER(:artistKeyword), '%')")
+    List<Song> findByArtistContainingIgnoreCase(@Param("artistKeyword") String artistKeyword);
+
+    /**
+     * Enregistrer les métadonnées extraites du fichier audio
+     * 
+     * UPDATE ciblé (pas de findById + save): seules ces colonnes sont modifiées.
+     * genre n'est rempli que s'il est vide; une valeur null
+     * (information absente du fichier) ne remplace rien. L'album: voir fillMissingAlbum.
+     * 
+     * @param id         L'ID de la chanson
+     * @param duration   Durée en secondes
+     * @param bitrate    Débit en kbit/s
+     * @param sampleRate Fréquence en Hz
+     * @param genre      Tag genre
+     * @param now        Nouvelle valeur de updatedAt
+     * @return Nombre de lignes modifiées (0 si la chanson a été supprimée entre-temps)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Song s SET "
+            + "s.duration = COALESCE(:duration, s.duration), "
+            + "s.bitrate = COALESCE(:bitrate, s.bitrate), "
+            + "s.sampleRate = COALESCE(:sampleRate, s.sampleRate), "
+            + "s.genre = COALESCE(s.genre, :genre), "
+            + "s.version = s.version + 1, "
+            + "s.updatedAt = :now "
+            + "WHERE s.id = :id")
+    int applyAudioMetadata(@Param("id") Long id,
+                           @Param("duration") Integer duration,
+                           @Param("bitrate") Integer bitrate,
+                           @Param("sampleRate") Integer sampleRate,
+                           @Param("genre") String genre,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Renseigner l'album lu dans le fichier audio, seulement si la chanson n'en a pas
+     * 
+     * @param id    L'ID de la chanson
+     * @param album Album (déjà résolu par CatalogService)
+     * @return Nombre de lignes modifiées (0 si un album est déjà renseigné)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Song s SET s.albumRef = :album, s.version = s.version + 1 "
+            + "WHERE s.id = :id AND s.albumRef IS NULL")
+    int fillMissingAlbum(@Param("id") Long id, @Param("album") Album album);
+
+    /**
+     * Enregistrer le fichier audio reçu par upload
+     * 
+     * UPDATE ciblé: l'entité n'est pas rechargée pour changer trois colonnes.
+     * 
+     * @param id       L'ID de la chanson
+     * @param audioUrl Chemin relatif au répertoire média (ex: songs/1/audio.mp3)
+     * @param size     Taille en octets
+     * @param sha256   Empreinte SHA-256 (hex)
+     * @param now      Nouvelle valeur de updatedAt
+     * @return Nombre de lignes modifiées
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Song s SET s.audioUrl = :audioUrl, s.audioSize = :size, s.audioSha256 = :sha256, "
+            + "s.version = s.version + 1, s.updatedAt = :now WHERE s.id = :id")
+    int updateAudioFile(@Param("id") Long id,
+                        @Param("audioUrl") String audioUrl,
+                        @Param("size") Long size,
+                        @Param("sha256") String sha256,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * IDs des chansons qui ont un fichier audio (backfill des traitements en arrière-plan)
+     * 
+     * SELECT id FROM songs WHERE audio_url IS NOT NULL
+     * 
+     * @return Liste des IDs (sans charger les entités)
+     */
+    @Query("SELECT s.id FROM Song s WHERE s.audioUrl IS NOT NULL ORDER BY s.id")
+    List<Long> findIdsWithAudio();
+
+    /**
+     * IDs existants parmi une liste (validation d'un ajout en masse, en une requête)
+     * 
+     * @param ids IDs à vérifier
+     * @return Ceux qui existent
+     */
+    @Query("SELECT s.id FROM Song s WHERE s.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Plusieurs chansons par ID, avec artiste et album, en une requête
+     * 
+     * @param ids IDs voulus (l'ordre n'est pas conservé)
+     * @return Les chansons existantes
+     */
+    @EntityGraph(attributePaths = {"artistRef", "albumRef"})
+    List<Song> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Textes indexés par la recherche plein texte, par lots dans l'ordre des IDs (keyset)
+     * 
+     * @param afterId  Dernier ID du lot précédent
+     * @param pageable Taille du lot (PageRequest.of(0, size))
+     * @return Lignes [id, title, artistName, albumTitle, genre]
+     */
+    @Query("SELECT s.id, s.title, ar.name, al.title, s.genre FROM Song s LEFT JOIN s.artistRef ar LEFT JOIN s.albumRef al "
+            + "WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findSearchDocuments(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Textes indexés d'une chanson (mise à jour de l'index après une écriture)
+     * 
+     * @param id L'ID de la chanson
+     * @return Lignes [id, title, artistName, albumTitle, genre] (vide si la chanson n'existe plus)
+     */
+    @Query("SELECT s.id, s.title, ar.name, al.title, s.genre FROM Song s LEFT JOIN s.artistRef ar LEFT JOIN s.albumRef al "
+            + "WHERE s.id = :id")
+    List<Object[]> findSearchDocument(@Param("id") Long id);
+
+    /**
+     * Version et noms d'artiste et d'album d'une chanson (merge patch qui change l'un des deux)
+     * 
+     * @param id L'ID de la chanson
+     * @return Lignes [version, artistName, albumTitle] (vide si la chanson n'existe pas)
+     */
+    @Query("SELECT s.version, ar.name, al.title FROM Song s LEFT JOIN s.artistRef ar LEFT JOIN s.albumRef al "
+            + "WHERE s.id = :id")
+    List<Object[]> findCatalogState(@Param("id") Long id);
+
+    /**
+     * Métadonnées de toutes les chansons pour les recommandations, sans charger les entités
+     * 
+     * @return Lignes [id, artistId, albumId, genre, category]
+     */
+    @Query("SELECT s.id, ar.id, al.id, s.genre, s.category FROM Song s LEFT JOIN s.artistRef ar LEFT JOIN s.albumRef al")
+    List<Object[]> findAllFeatures();
+
+    /**
+     * Métadonnées de quelques chansons (mise à jour incrémentale des recommandations)
+     * 
+     * @param ids IDs voulus
+     * @return Lignes [id, artistId, albumId, genre, category] des chansons existantes
+     */
+    @Query("SELECT s.id, ar.id, al.id, s.genre, s.category FROM Song s LEFT JOIN s.artistRef ar LEFT JOIN s.albumRef al "
+            + "WHERE s.id IN :ids")
+    List<Object[]> findFeatures(@Param("ids") Collection<Long> ids);
 }
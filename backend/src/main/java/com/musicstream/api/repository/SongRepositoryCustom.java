@@ -0,0 +1,63 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.entity.Song;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🩹 SongRepositoryCustom - Requêtes de SongRepository construites à l'exécution
+ * 
+ * Implémentée par SongRepositoryCustomImpl (fragment Spring Data: SongRepository
+ * l'étend, les appels sont délégués à l'implémentation).
+ */
+public interface SongRepositoryCustom {
+
+    /**
+     * Modifier quelques colonnes d'une chanson
+     * 
+     * Chanson lue (find, cache de second niveau) puis modifiée et écrite au flush:
+     * UPDATE songs SET ..., version = version + 1, updated_at = ? WHERE id = ? AND version = ?
+     * (updatedAt posé par @PreUpdate, comme pour save)
+     * Une écriture concurrente entre la lecture et le flush lève
+     * ObjectOptimisticLockingFailureException.
+     * 
+     * @param id              L'ID de la chanson
+     * @param expectedVersion Version attendue (If-Match), null pour ne pas la vérifier
+     * @param changes         Attribut de Song → nouvelle valeur (null = vider la colonne)
+     * @return Nombre de lignes modifiées (0 si la chanson n'existe pas ou a changé de version)
+     */
+    int patch(Long id, Long expectedVersion, Map<String, Object> changes);
+
+    /**
+     * Mêmes colonnes modifiées sur plusieurs chansons, en un seul UPDATE ... WHERE id IN
+     * 
+     * @param ids     IDs des chansons (un lot d'une opération en masse)
+     * @param changes Attribut de Song → nouvelle valeur
+     * @param now     Nouvelle valeur de updatedAt
+     * @return Nombre de lignes modifiées
+     */
+    int patchAll(Collection<Long> ids, Map<String, Object> changes, LocalDateTime now);
+
+    /**
+     * IDs des chansons qui répondent à un filtre, par lots dans l'ordre des IDs (keyset)
+     * 
+     * @param filter  Critères (ceux à null sont ignorés)
+     * @param afterId Dernier ID du lot précédent (0 pour le premier)
+     * @param limit   Taille du lot
+     * @return Les IDs, croissants
+     */
+    List<Long> findIds(SongFilter filter, long afterId, int limit);
+
+    /**
+     * Plusieurs chansons par ID: d'abord le cache de second niveau, puis les autres
+     * avec artiste et album, par lots de chunkSize (SELECT ... WHERE id IN)
+     * 
+     * @param ids       IDs voulus (sans doublon)
+     * @param chunkSize IDs maximum par requête IN
+     * @return Les chansons existantes (l'ordre n'est pas conservé)
+     */
+    List<Song> findAllCachedFirst(Collection<Long> ids, int chunkSize);
+}
@@ -0,0 +1,144 @@
+package com.musicstream.api.repository;
+
+import com.musicstream.api.entity.Album;
+import com.musicstream.api.entity.Artist;
+import com.musicstream.api.entity.Song;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🩹 SongRepositoryCustomImpl - UPDATE partiels, filtres (Criteria API) et lectures par lots
+ * 
+ * patch passe par l'entité gérée (find puis flush, @Version): seule l'entrée de cette
+ * chanson est mise à jour dans le cache de second niveau. patchAll, comme les UPDATE
+ * @Modifying de SongRepository, contourne le contexte de persistance: Hibernate vide
+ * alors toute la région "songs" (acceptable pour une opération en masse, pas par PATCH).
+ */
+public class SongRepositoryCustomImpl implements SongRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int patch(Long id, Long expectedVersion, Map<String, Object> changes) {
+        // find: servi par le cache de second niveau quand la chanson y est
+        Song song = entityManager.find(Song.class, id);
+        if (song == null || (expectedVersion != null && song.getVersion() != expectedVersion)) {
+            return 0;
+        }
+        BeanWrapper properties = PropertyAccessorFactory.forBeanPropertyAccess(song);
+        changes.forEach((attribute, value) -> properties.setPropertyValue(attribute, attached(value)));
+        // Version vérifiée et incrémentée par l'UPDATE du flush (écriture concurrente → exception)
+        entityManager.flush();
+        return 1;
+    }
+
+    @Override
+    @Transactional
+    public int patchAll(Collection<Long> ids, Map<String, Object> changes, LocalDateTime now) {
+        CriteriaUpdate<Song> update = entityManager.getCriteriaBuilder().createCriteriaUpdate(Song.class);
+        Root<Song> song = update.from(Song.class);
+        set(update, song, changes, now);
+        update.where(song.get("id").in(ids));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findIds(SongFilter filter, long afterId, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Song> song = query.from(Song.class);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(builder.greaterThan(song.get("id"), afterId));
+        if (filter.category() != null) {
+            where.add(builder.equal(song.get("category"), filter.category()));
+        }
+        if (filter.genre() != null) {
+            where.add(builder.equal(song.get("genre"), filter.genre()));
+        }
+        if (filter.artist() != null) {
+            where.add(builder.equal(song.get("artistRef").get("nameKey"), Artist.keyOf(filter.artist())));
+        }
+        query.select(song.get("id"))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(builder.asc(song.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Song> findAllCachedFirst(Collection<Long> ids, int chunkSize) {
+        // Une requête JPQL ne lit jamais le cache d'entités: séparer les IDs déjà en cache
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        List<Song> songs = new ArrayList<>(ids.size());
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : ids) {
+            if (cache.contains(Song.class, id)) {
+                Song song = entityManager.find(Song.class, id);
+                if (song != null) {
+                    // Comme la requête IN (JOIN FETCH): utilisables hors session (lectures par shard)
+                    Hibernate.initialize(song.getArtistRef());
+                    Hibernate.initialize(song.getAlbumRef());
+                    songs.add(song);
+                }
+            } else {
+                uncached.add(id);
+            }
+        }
+        for (int from = 0; from < uncached.size(); from += chunkSize) {
+            songs.addAll(entityManager.createQuery("SELECT s FROM Song s LEFT JOIN FETCH s.artistRef "
+                            + "LEFT JOIN FETCH s.albumRef WHERE s.id IN :ids", Song.class)
+                    .setParameter("ids", uncached.subList(from, Math.min(from + chunkSize, uncached.size())))
+                    .getResultList());
+        }
+        return songs;
+    }
+
+    /**
+     * Artiste ou album créé par CatalogService dans sa propre transaction: référence
+     * gérée par cette session (sinon le cascade PERSIST du flush le prendrait pour neuf)
+     */
+    private Object attached(Object value) {
+        if (value instanceof Artist artist && !entityManager.contains(artist)) {
+            return entityManager.getReference(Artist.class, artist.getId());
+        }
+        if (value instanceof Album album && !entityManager.contains(album)) {
+            return entityManager.getReference(Album.class, album.getId());
+        }
+        return value;
+    }
+
+    /**
+     * SET des colonnes modifiées, de la version (+1) et de updatedAt
+     * 
+     * @return Le chemin de la version (condition If-Match)
+     */
+    private Path<Long> set(CriteriaUpdate<Song> update, Root<Song> song, Map<String, Object> changes,
+                           LocalDateTime now) {
+        changes.forEach((attribute, value) -> update.set(song.get(attribute), value));
+        Path<Long> version = song.get("version");
+        update.set(version, entityManager.getCriteriaBuilder().sum(version, 1L));
+        update.set(song.<LocalDateTime>get("updatedAt"), now);
+        return version;
+    }
+}
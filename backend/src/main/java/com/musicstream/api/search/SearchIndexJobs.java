@@ -0,0 +1,47 @@
+package com.musicstream.api.search;
+
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.jobs.JobScheduler;
+import com.musicstream.api.jobs.JobType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 🗂️ SearchIndexJobs - Mise à jour de l'index de recherche par la file "search"
+ * 
+ * Après le commit d'une écriture, la requête ne fait que placer une tâche
+ * "search.reindex" (ID de la chanson) dans la file; un worker relit la chanson et
+ * remplace son document. Plusieurs écritures de la même chanson en attente ne
+ * donnent qu'une réindexation (la dernière version est relue en base, suppression
+ * comprise).
+ * 
+ * File pleine: le document est mis à jour sur le thread de la requête, comme avant
+ * la file (la requête ralentit au lieu que l'index prenne du retard).
+ */
+@Component
+public class SearchIndexJobs {
+
+    static final JobType<Long> REINDEX = JobType.ofId("search.reindex", "search");
+
+    private final SongSearchService songSearchService;
+    private final JobScheduler jobScheduler;
+
+    public SearchIndexJobs(SongSearchService songSearchService, JobScheduler jobScheduler) {
+        this.songSearchService = songSearchService;
+        this.jobScheduler = jobScheduler;
+        jobScheduler.register(REINDEX, songSearchService::reindex);
+    }
+
+    /**
+     * Planifier la réindexation d'une chanson écrite (ici ou sur une autre instance)
+     * 
+     * @param event Événement publié par SongService (ou l'extraction des métadonnées audio)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (!jobScheduler.submit(REINDEX, event.songId())) {
+            songSearchService.onSongChanged(event);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.musicstream.api.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ SearchProperties - Index plein texte Lucene des chansons
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.search")
+@Data
+public class SearchProperties {
+
+    /**
+     * Répertoire de l'index (vide = index en mémoire, reconstruit à chaque démarrage)
+     */
+    private String indexDirectory = "";
+
+    /**
+     * Reconstruire l'index depuis la base au démarrage (indispensable avec un index en mémoire)
+     */
+    private boolean rebuildOnStartup = true;
+
+    /**
+     * Threads de la reconstruction (0 = un par cœur)
+     */
+    private int rebuildThreads = 0;
+
+    /**
+     * Chansons lues par requête pendant la reconstruction
+     */
+    private int rebuildBatchSize = 1000;
+
+    /**
+     * Résultats par page au maximum (?size=)
+     */
+    private int maxPageSize = 100;
+
+    /**
+     * Délai maximal avant qu'une écriture soit visible dans la recherche (ms)
+     */
+    private long refreshMaxStaleMs = 1000;
+}
@@ -0,0 +1,82 @@
+package com.musicstream.api.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.en.EnglishPossessiveFilter;
+import org.apache.lucene.analysis.en.PorterStemFilter;
+import org.apache.lucene.analysis.fr.FrenchLightStemFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.util.ElisionFilter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * 🔤 SongAnalyzers - Découpage des textes en termes pour l'index des chansons
+ * 
+ * Tous les analyseurs: mots Unicode, élisions françaises retirées (l'amour → amour),
+ * minuscules, accents repliés (Étoile = etoile = ÉTOILE). Sans mots vides: "The The"
+ * ou "Les Rita Mitsouko" restent cherchables.
+ * 
+ * - title, artist, album, genre → repliement seul (correspondance exacte des mots, surlignage)
+ * - text_fr                     → + racinisation française légère (chansons → chanson)
+ * - text_en                     → + racinisation Porter (loving → love)
+ */
+final class SongAnalyzers {
+
+    private static final CharArraySet ELISIONS = new CharArraySet(
+            Arrays.asList("l", "m", "t", "qu", "n", "s", "j", "d", "c", "jusqu", "quoiqu", "lorsqu", "puisqu"), true);
+
+    private SongAnalyzers() {
+    }
+
+    /**
+     * Analyseur de l'index: champ par champ (voir SongSearchService pour les noms de champs)
+     */
+    static Analyzer perField() {
+        return new PerFieldAnalyzerWrapper(folding(), Map.of(
+                SongSearchService.TEXT_FR, french(),
+                SongSearchService.TEXT_EN, english()));
+    }
+
+    static Analyzer folding() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                return new TokenStreamComponents(tokenizer, fold(tokenizer));
+            }
+        };
+    }
+
+    static Analyzer french() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new FrenchLightStemFilter(new LowerCaseFilter(new ElisionFilter(tokenizer, ELISIONS)));
+                return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(stream));
+            }
+        };
+    }
+
+    static Analyzer english() {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new PorterStemFilter(new EnglishPossessiveFilter(fold(tokenizer)));
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+
+    private static TokenStream fold(Tokenizer tokenizer) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(new ElisionFilter(tokenizer, ELISIONS)));
+    }
+}
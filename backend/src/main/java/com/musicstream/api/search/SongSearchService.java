@@ -0,0 +1,516 @@
+package com.musicstream.api.search;
+
+import com.musicstream.api.dto.SearchHitDTO;
+import com.musicstream.api.dto.SearchPageDTO;
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.CatalogResyncEvent;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.similarities.BM25Similarity;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🔎 SongSearchService - Recherche plein texte classée (Lucene embarqué, BM25)
+ *
+ * Index: un document par chanson (title, artist, album, genre), analysé avec
+ * repliement des accents et racinisation française et anglaise (SongAnalyzers).
+ *
+ * Mise à jour en quasi temps réel: après chaque écriture (SongChangedEvent, après
+ * commit) une tâche "search.reindex" remplace le document de la chanson, hors du
+ * thread de la requête (SearchIndexJobs); il devient cherchable en moins de
+ * refresh-max-stale-ms sans commit Lucene (lecteur NRT).
+ *
+ * Classement: BM25, title pèse plus qu'artist, artist plus qu'album. Chaque mot de la
+ * requête doit être trouvé dans au moins un champ; le dernier mot compte aussi comme
+ * préfixe (recherche pendant la frappe).
+ *
+ * Pagination par search-after: le curseur est (score, id) du dernier résultat (pas
+ * d'OFFSET: la page 50 coûte autant que la première).
+ *
+ * Métriques:
+ * - musicstream.search.query     → durée des recherches
+ * - musicstream.search.rebuild   → durée des reconstructions
+ * - musicstream.search.documents → chansons indexées
+ */
+@Service
+@Slf4j
+public class SongSearchService {
+
+    static final String ID = "id";
+    static final String GENERATION = "generation";
+    static final String TITLE = "title";
+    static final String ARTIST = "artist";
+    static final String ALBUM = "album";
+    static final String GENRE = "genre";
+    static final String TEXT_FR = "text_fr";
+    static final String TEXT_EN = "text_en";
+
+    private static final String[] HIGHLIGHTED = {TITLE, ARTIST, ALBUM, GENRE};
+    private static final Map<String, Float> BOOSTS = Map.of(TITLE, 3f, ARTIST, 2f, ALBUM, 1.5f, GENRE, 1f);
+    private static final float STEMMED_BOOST = 0.5f;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(ID, SortField.Type.LONG));
+
+    private final SongRepository songRepository;
+    private final SearchProperties properties;
+    private final Analyzer analyzer = SongAnalyzers.perField();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private final Timer queryTimer;
+    private final Timer rebuildTimer;
+
+    /**
+     * Génération de la reconstruction en cours: les documents qui ne l'ont pas à la fin
+     * de la reconstruction sont ceux des chansons qui n'existent plus
+     */
+    private final AtomicInteger generation = new AtomicInteger();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    public SongSearchService(SongRepository songRepository,
+                             SearchProperties properties,
+                             MeterRegistry meterRegistry) throws IOException {
+        this.songRepository = songRepository;
+        this.properties = properties;
+        this.directory = properties.getIndexDirectory().isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(properties.getIndexDirectory()));
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setSimilarity(new BM25Similarity());
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        config.setRAMBufferSizeMB(64);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, new SearcherFactory() {
+            @Override
+            public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) {
+                IndexSearcher searcher = new IndexSearcher(reader);
+                searcher.setSimilarity(new BM25Similarity());
+                return searcher;
+            }
+        });
+        this.reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                properties.getRefreshMaxStaleMs() / 1000.0, 0.025);
+        this.reopenThread.setName("search-refresh");
+        this.reopenThread.setDaemon(true);
+        this.reopenThread.start();
+
+        this.queryTimer = Timer.builder("musicstream.search.query")
+                .description("Durée des recherches plein texte")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("musicstream.search.rebuild")
+                .description("Durée des reconstructions de l'index de recherche")
+                .register(meterRegistry);
+        Gauge.builder("musicstream.search.documents", writer, indexWriter -> indexWriter.getDocStats().numDocs)
+                .description("Chansons dans l'index de recherche")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rechercher des chansons, classées par pertinence
+     *
+     * @param text  Texte cherché (ex: "queen bohem")
+     * @param size  Résultats par page (1 à maxPageSize)
+     * @param after nextCursor de la page précédente (null: première page)
+     * @return La page de résultats
+     * @throws IllegalArgumentException texte vide, taille ou curseur invalide
+     */
+    @Transactional(readOnly = true)
+    public SearchPageDTO search(String text, int size, String after) {
+        if (size < 1 || size > properties.getMaxPageSize()) {
+            throw new IllegalArgumentException("size doit être entre 1 et " + properties.getMaxPageSize());
+        }
+        Query query = buildQuery(text);
+        FieldDoc cursor = parseCursor(after);
+
+        long start = System.nanoTime();
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            if (cursor != null) {
+                // Égalité sur (score, id) = le même résultat: départagé par doc, placé après tous les documents
+                cursor.doc = Math.max(0, searcher.getIndexReader().maxDoc() - 1);
+            }
+            TopFieldDocs top = searcher.searchAfter(cursor, query, size, RANKING, true);
+            Map<String, String[]> highlights = UnifiedHighlighter.builder(searcher, analyzer)
+                    .withHandleMultiTermQuery(true)
+                    .withMaxNoHighlightPassages(0)
+                    .build()
+                    .highlightFields(HIGHLIGHTED, query, top, new int[] {1, 1, 1, 1});
+
+            List<Long> ids = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                ids.add((Long) ((FieldDoc) scoreDoc).fields[1]);
+            }
+            Map<Long, Song> songs = new HashMap<>();
+            for (Song song : songRepository.findByIdIn(ids)) {
+                songs.put(song.getId(), song);
+            }
+
+            List<SearchHitDTO> hits = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                Song song = songs.get(ids.get(i));
+                if (song == null) {
+                    continue; // supprimée, l'index n'est pas encore rafraîchi
+                }
+                Map<String, String> fields = new LinkedHashMap<>();
+                for (String field : HIGHLIGHTED) {
+                    String highlighted = highlights.get(field)[i];
+                    if (highlighted != null) {
+                        fields.put(field, highlighted);
+                    }
+                }
+                hits.add(SearchHitDTO.builder()
+                        .song(SongDTO.fromEntity(song))
+                        .score(top.scoreDocs[i].score)
+                        .highlights(fields)
+                        .build());
+            }
+
+            String nextCursor = null;
+            if (top.scoreDocs.length == size) {
+                FieldDoc last = (FieldDoc) top.scoreDocs[top.scoreDocs.length - 1];
+                nextCursor = Integer.toHexString(Float.floatToIntBits((Float) last.fields[0])) + ":" + last.fields[1];
+            }
+            return SearchPageDTO.builder()
+                    .hits(hits)
+                    .totalHits(top.totalHits.value)
+                    .totalHitsExact(top.totalHits.relation == TotalHits.Relation.EQUAL_TO)
+                    .nextCursor(nextCursor)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            release(searcher);
+            queryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Mettre à jour le document d'une chanson après une écriture, sur le thread appelant
+     *
+     * Les écritures passent normalement par la file "search" (SearchIndexJobs); cet
+     * appel direct sert quand la file est pleine.
+     *
+     * @param event Événement publié par SongService (ou l'extraction des métadonnées audio)
+     */
+    public void onSongChanged(SongChangedEvent event) {
+        try {
+            if (event.type() == SongChangedEvent.Type.DELETED) {
+                writer.deleteDocuments(new Term(ID, String.valueOf(event.songId())));
+            } else {
+                index(event.songId());
+            }
+        } catch (IOException e) {
+            log.warn("Index de recherche non mis à jour pour la chanson {}: {}", event.songId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Remplacer le document d'une chanson par son état en base (supprimé si elle n'existe plus)
+     *
+     * @param songId L'ID de la chanson
+     * @throws IOException Écriture de l'index impossible (la tâche est retentée)
+     */
+    public void reindex(Long songId) throws IOException {
+        index(songId);
+    }
+
+    /**
+     * Reconstruire l'index depuis la base, sur tous les cœurs
+     *
+     * Les chansons sont lues par lots (keyset sur l'ID) et analysées en parallèle.
+     * L'index reste cherchable pendant la reconstruction: les documents sont remplacés
+     * un à un, puis ceux des chansons disparues sont supprimés à la fin.
+     *
+     * @return Nombre de chansons indexées
+     * @throws IllegalStateException si une reconstruction est déjà en cours
+     */
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconstruction de l'index déjà en cours");
+        }
+        long start = System.nanoTime();
+        int threads = properties.getRebuildThreads() > 0
+                ? properties.getRebuildThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        // File courte + CallerRunsPolicy: la lecture de la base attend les analyseurs
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 2),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "search-rebuild-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        try {
+            int current = generation.incrementAndGet();
+            int count = 0;
+            long afterId = Long.MIN_VALUE;
+            while (true) {
+                List<Object[]> rows = songRepository.findSearchDocuments(afterId, PageRequest.of(0, properties.getRebuildBatchSize()));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                pool.execute(() -> {
+                    try {
+                        for (Object[] row : rows) {
+                            writer.updateDocument(new Term(ID, String.valueOf(row[0])), document(row, current));
+                        }
+                    } catch (IOException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                });
+                count += rows.size();
+                afterId = (Long) rows.get(rows.size() - 1)[0];
+            }
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.HOURS);
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+
+            BooleanQuery.Builder stale = new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(new TermQuery(new Term(GENERATION, String.valueOf(current))), BooleanClause.Occur.MUST_NOT);
+            writer.deleteDocuments(stale.build());
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.info("Index de recherche reconstruit: {} chansons en {} ms ({} threads)", count,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), threads);
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstruction de l'index interrompue", e);
+        } finally {
+            pool.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Rendre visibles tout de suite les dernières écritures (sans attendre le thread NRT)
+     */
+    void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (properties.isRebuildOnStartup()) {
+            rebuildInBackground();
+        }
+    }
+
+    /**
+     * Des écritures faites sur une autre instance ont été perdues: tout réindexer
+     *
+     * @param event Événement publié par InvalidationBus
+     */
+    @EventListener
+    public void onCatalogResync(CatalogResyncEvent event) {
+        log.info("Reconstruction de l'index de recherche ({})", event.reason());
+        rebuildInBackground();
+    }
+
+    private void rebuildInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Reconstruction de l'index de recherche impossible: {}", e.getMessage());
+            }
+        }, "search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        reopenThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void index(Long songId) throws IOException {
+        List<Object[]> rows = songRepository.findSearchDocument(songId);
+        if (rows.isEmpty()) {
+            writer.deleteDocuments(new Term(ID, String.valueOf(songId)));
+        } else {
+            writer.updateDocument(new Term(ID, String.valueOf(songId)), document(rows.get(0), generation.get()));
+        }
+    }
+
+    /**
+     * Ligne [id, title, artistName, albumTitle, genre] → document Lucene
+     */
+    private static Document document(Object[] row, int generation) {
+        Long id = (Long) row[0];
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, id));
+        document.add(new StringField(GENERATION, String.valueOf(generation), Field.Store.NO));
+        addText(document, TITLE, (String) row[1]);
+        addText(document, ARTIST, (String) row[2]);
+        addText(document, ALBUM, (String) row[3]);
+        addText(document, GENRE, (String) row[4]);
+        return document;
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        document.add(new TextField(field, value, Field.Store.YES));
+        document.add(new TextField(TEXT_FR, value, Field.Store.NO));
+        document.add(new TextField(TEXT_EN, value, Field.Store.NO));
+    }
+
+    /**
+     * Chaque mot doit se trouver dans au moins un champ (exact, ou après racinisation FR/EN);
+     * le dernier mot compte aussi comme préfixe
+     */
+    private Query buildQuery(String text) {
+        List<String> folded = terms(TITLE, text);
+        if (folded.isEmpty()) {
+            throw new IllegalArgumentException("Le texte recherché (q) est vide");
+        }
+        List<String> french = terms(TEXT_FR, text);
+        List<String> english = terms(TEXT_EN, text);
+        int count = Math.min(folded.size(), MAX_QUERY_TERMS);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < count; i++) {
+            BooleanQuery.Builder word = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : BOOSTS.entrySet()) {
+                word.add(new BoostQuery(new TermQuery(new Term(field.getKey(), folded.get(i))), field.getValue()),
+                        BooleanClause.Occur.SHOULD);
+            }
+            if (i < french.size()) {
+                word.add(new BoostQuery(new TermQuery(new Term(TEXT_FR, french.get(i))), STEMMED_BOOST), BooleanClause.Occur.SHOULD);
+            }
+            if (i < english.size()) {
+                word.add(new BoostQuery(new TermQuery(new Term(TEXT_EN, english.get(i))), STEMMED_BOOST), BooleanClause.Occur.SHOULD);
+            }
+            if (i == count - 1 && folded.get(i).length() >= 2) {
+                for (String field : HIGHLIGHTED) {
+                    word.add(new PrefixQuery(new Term(field, folded.get(i))), BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(word.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> terms(String field, String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    /**
+     * Curseur "scoreHex:id" → FieldDoc (score, id) du dernier résultat de la page précédente
+     */
+    private static FieldDoc parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        int colon = cursor.indexOf(':');
+        try {
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(cursor.substring(0, colon), 16));
+            long id = Long.parseLong(cursor.substring(colon + 1));
+            return new FieldDoc(0, score, new Object[] {score, id});
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + cursor);
+        }
+    }
+
+    private void release(IndexSearcher searcher) {
+        if (searcher == null) {
+            return;
+        }
+        try {
+            searcherManager.release(searcher);
+        } catch (IOException e) {
+            log.warn("Libération du lecteur de l'index impossible: {}", e.getMessage());
+        }
+    }
+}
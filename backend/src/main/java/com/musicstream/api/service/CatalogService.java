@@ -0,0 +1,205 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.dto.AlbumDTO;
+import com.musicstream.api.dto.ArtistDTO;
+import com.musicstream.api.dto.DiscographyDTO;
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.entity.Album;
+import com.musicstream.api.entity.Artist;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.repository.AlbumRepository;
+import com.musicstream.api.repository.ArtistRepository;
+import com.musicstream.api.repository.SongRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 📚 CatalogService - Artistes, albums et discographies
+ * 
+ * Résolution des noms: avant chaque sauvegarde, SongService passe la chanson à
+ * resolve(): le nom d'artiste (et le titre d'album) est remplacé par l'entité
+ * existante de même clé normalisée, ou une nouvelle entité est créée.
+ * 
+ * La création se fait dans sa propre transaction (REQUIRES_NEW): si deux requêtes
+ * créent le même nouvel artiste en même temps, la contrainte unique en refuse une,
+ * qui relit alors l'artiste créé par l'autre au lieu d'échouer.
+ */
+@Service
+@Transactional
+@Slf4j
+public class CatalogService {
+
+    private final ArtistRepository artistRepository;
+    private final AlbumRepository albumRepository;
+    private final SongRepository songRepository;
+    private final TransactionTemplate requiresNew;
+
+    public CatalogService(ArtistRepository artistRepository,
+                          AlbumRepository albumRepository,
+                          SongRepository songRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.artistRepository = artistRepository;
+        this.albumRepository = albumRepository;
+        this.songRepository = songRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Remplacer les artiste/album d'une NOUVELLE chanson (pas encore enregistrée)
+     * par les entités en base
+     * 
+     * Pour une chanson déjà enregistrée, utiliser artist() et album() avant de modifier
+     * l'entité: une entité attachée qui référence un artiste pas encore enregistré
+     * serait flushée (et l'artiste inséré en double) par la première requête.
+     * 
+     * @param song La chanson à créer
+     * @throws IllegalArgumentException si l'artiste est absent
+     */
+    public void resolve(Song song) {
+        Artist artist = artist(song.getArtist());
+        String album = song.getAlbum();
+        song.setArtistRef(artist);
+        song.setAlbumRef(album(artist, album));
+    }
+
+    /**
+     * Artiste par nom (créé s'il n'existe pas)
+     * 
+     * @param name Le nom (casse et espaces ignorés pour la recherche)
+     * @return L'artiste, attaché à la transaction courante
+     * @throws IllegalArgumentException si le nom est vide
+     */
+    public Artist artist(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("L'artiste est obligatoire");
+        }
+        String key = Artist.keyOf(name);
+        Optional<Artist> existing = artistRepository.findByNameKey(key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Long id = createOnce(() -> artistRepository.save(Artist.named(name)).getId(),
+                () -> artistRepository.findByNameKey(key).map(Artist::getId));
+        return artistRepository.getReferenceById(id);
+    }
+
+    /**
+     * Album d'un artiste par titre (créé s'il n'existe pas)
+     * 
+     * @param artist L'artiste (enregistré)
+     * @param title  Le titre
+     * @return L'album attaché à la transaction courante, ou null si le titre est vide
+     */
+    public Album album(Artist artist, String title) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        String key = Artist.keyOf(title);
+        Long artistId = artist.getId();
+        Optional<Album> existing = albumRepository.findByArtistIdAndTitleKey(artistId, key);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        Long id = createOnce(
+                () -> albumRepository.save(Album.named(title, artistRepository.getReferenceById(artistId))).getId(),
+                () -> albumRepository.findByArtistIdAndTitleKey(artistId, key).map(Album::getId));
+        return albumRepository.getReferenceById(id);
+    }
+
+    /**
+     * Tous les artistes (ou ceux dont le nom commence par prefix), avec leurs compteurs
+     * 
+     * @param prefix Début du nom (casse ignorée), null pour tous
+     * @return Les artistes, triés par nom
+     */
+    @Transactional(readOnly = true)
+    public List<ArtistDTO> getArtists(String prefix) {
+        return artistRepository.findSummaries(prefix == null ? "" : Artist.keyOf(prefix));
+    }
+
+    /**
+     * Discographie d'un artiste: 2 requêtes (artiste, puis chansons jointes à leur album)
+     * 
+     * @param artistId L'ID de l'artiste
+     * @return Optional vide si l'artiste n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public Optional<DiscographyDTO> getDiscography(Long artistId) {
+        return artistRepository.findById(artistId).map(artist -> {
+            Map<Long, AlbumDTO> albums = new LinkedHashMap<>();
+            List<SongDTO> singles = new ArrayList<>();
+            for (Song song : songRepository.findByArtistId(artistId)) {
+                SongDTO dto = SongDTO.fromEntity(song);
+                if (song.getAlbumRef() == null) {
+                    singles.add(dto);
+                } else {
+                    albums.computeIfAbsent(song.getAlbumRef().getId(), id -> AlbumDTO.builder()
+                            .id(id)
+                            .title(song.getAlbum())
+                            .artistId(artistId)
+                            .artistName(artist.getName())
+                            .tracks(new ArrayList<>())
+                            .build()).getTracks().add(dto);
+                }
+            }
+            ArtistDTO summary = ArtistDTO.builder()
+                    .id(artistId)
+                    .name(artist.getName())
+                    .albumCount((long) albums.size())
+                    .songCount((long) singles.size() + albums.values().stream().mapToLong(a -> a.getTracks().size()).sum())
+                    .build();
+            return DiscographyDTO.builder()
+                    .artist(summary)
+                    .albums(new ArrayList<>(albums.values()))
+                    .singles(singles)
+                    .build();
+        });
+    }
+
+    /**
+     * Un album et ses pistes: 2 requêtes (album + artiste, puis pistes)
+     * 
+     * @param albumId L'ID de l'album
+     * @return Optional vide si l'album n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public Optional<AlbumDTO> getAlbum(Long albumId) {
+        return albumRepository.findWithArtistById(albumId).map(album -> AlbumDTO.builder()
+                .id(album.getId())
+                .title(album.getTitle())
+                .artistId(album.getArtist().getId())
+                .artistName(album.getArtist().getName())
+                .tracks(songRepository.findByAlbumId(albumId).stream().map(SongDTO::fromEntity).toList())
+                .build());
+    }
+
+    /**
+     * Créer dans une transaction séparée; si un autre thread vient de créer la même
+     * entité (contrainte unique), relire la sienne
+     * 
+     * @param create Création, renvoie l'ID
+     * @param find   Relecture de l'ID par clé
+     * @return L'ID de l'entité
+     */
+    private Long createOnce(Supplier<Long> create, Supplier<Optional<Long>> find) {
+        try {
+            return requiresNew.execute(status -> create.get());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Création concurrente, relecture: {}", e.getMessage());
+            return requiresNew.execute(status -> find.get()).orElseThrow(() -> e);
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.dto.PlaylistDTO;
+import com.musicstream.api.dto.PlaylistEntryDTO;
+import com.musicstream.api.dto.PlaylistEntryPageDTO;
+import com.musicstream.api.dto.PlaylistEntryRequest;
+import com.musicstream.api.entity.Playlist;
+import com.musicstream.api.entity.PlaylistEntry;
+import com.musicstream.api.event.PlaylistChangedEvent;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.PlaylistEntryRepository;
+import com.musicstream.api.repository.PlaylistRepository;
+import com.musicstream.api.repository.SongRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 📃 PlaylistService - Service métier pour les playlists
+ * 
+ * Ordre des entrées par positions espacées (voir PlaylistEntry.GAP):
+ * - ajouter N titres   → N INSERT (batch JDBC), aucune autre ligne modifiée
+ * - déplacer un titre  → 1 UPDATE
+ * - retirer un titre   → 1 DELETE
+ * Si deux voisines n'ont plus de place entre elles, la playlist est renumérotée
+ * (UPDATE en batch), puis l'opération reprend: rare, jamais à chaque insertion.
+ * 
+ * Lecture d'une playlist: une requête par page (entrée + résumé de la chanson jointe),
+ * pagination par curseur: une playlist de 10 000+ titres se lit page après page sans
+ * que la dernière page coûte plus cher que la première.
+ * 
+ * Chaque changement de contenu publie un PlaylistChangedEvent (recommandations).
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class PlaylistService {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    public static final int MAX_PAGE_SIZE = 10_000;
+    public static final int MAX_SONGS_PER_REQUEST = 10_000;
+
+    /**
+     * Taille des lots pour les requêtes IN (limite de paramètres de certains SGBD)
+     */
+    private static final int IN_CHUNK = 1000;
+
+    /**
+     * Clé de ressource de transaction: chansons déjà retirées par removeSongs
+     */
+    private static final Object REMOVED_SONGS = new Object();
+
+    private final PlaylistRepository playlistRepository;
+    private final PlaylistEntryRepository playlistEntryRepository;
+    private final SongRepository songRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Récupérer toutes les playlists (avec leur nombre d'entrées, en 2 requêtes)
+     * 
+     * @return Liste des playlists
+     */
+    @Transactional(readOnly = true)
+    public List<PlaylistDTO> getAllPlaylists() {
+        List<Playlist> playlists = playlistRepository.findAll();
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> ids = playlists.stream().map(Playlist::getId).collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            for (Object[] row : playlistEntryRepository.countByPlaylistIds(ids.subList(from, Math.min(ids.size(), from + IN_CHUNK)))) {
+                counts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return playlists.stream()
+                .map(playlist -> PlaylistDTO.fromEntity(playlist, counts.getOrDefault(playlist.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Récupérer une playlist (sans ses entrées)
+     * 
+     * @param id L'ID de la playlist
+     * @return Optional<PlaylistDTO> (vide si pas trouvée)
+     */
+    @Transactional(readOnly = true)
+    public Optional<PlaylistDTO> getPlaylist(Long id) {
+        return playlistRepository.findById(id)
+                .map(playlist -> PlaylistDTO.fromEntity(playlist, playlistEntryRepository.countByPlaylistId(id)));
+    }
+
+    /**
+     * Créer une playlist vide
+     * 
+     * @param playlistDTO Nom et description
+     * @return La playlist créée
+     */
+    public PlaylistDTO createPlaylist(PlaylistDTO playlistDTO) {
+        requireName(playlistDTO);
+        Playlist playlist = playlistRepository.save(Playlist.builder()
+                .name(playlistDTO.getName())
+                .description(playlistDTO.getDescription())
+                .build());
+        log.info("Playlist créée avec l'ID: {}", playlist.getId());
+        return PlaylistDTO.fromEntity(playlist, 0);
+    }
+
+    /**
+     * Renommer / changer la description d'une playlist
+     * 
+     * @param id          L'ID de la playlist
+     * @param playlistDTO Nouveau nom et description
+     * @return Optional<PlaylistDTO> (vide si pas trouvée)
+     */
+    public Optional<PlaylistDTO> updatePlaylist(Long id, PlaylistDTO playlistDTO) {
+        requireName(playlistDTO);
+        return playlistRepository.findById(id).map(playlist -> {
+            playlist.setName(playlistDTO.getName());
+            playlist.setDescription(playlistDTO.getDescription());
+            Playlist saved = playlistRepository.save(playlist);
+            return PlaylistDTO.fromEntity(saved, playlistEntryRepository.countByPlaylistId(id));
+        });
+    }
+
+    /**
+     * Supprimer une playlist et ses entrées (2 requêtes, quel que soit le nombre d'entrées)
+     * 
+     * @param id L'ID de la playlist
+     * @return false si elle n'existait pas
+     */
+    public boolean deletePlaylist(Long id) {
+        if (!playlistRepository.existsById(id)) {
+            return false;
+        }
+        List<Long> songIds = playlistEntryRepository.findSongIdsByPlaylistId(id);
+        int entries = playlistEntryRepository.deleteAllOfPlaylist(id);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(id, songIds));
+        playlistRepository.deleteById(id);
+        log.info("Playlist {} supprimée ({} entrées)", id, entries);
+        return true;
+    }
+
+    /**
+     * Lire une page d'entrées
+     * 
+     * @param id     L'ID de la playlist
+     * @param cursor nextCursor de la page précédente (null: début de la playlist)
+     * @param limit  Nombre d'entrées voulu (1 à MAX_PAGE_SIZE)
+     * @return La page, ou vide si la playlist n'existe pas
+     */
+    @Transactional(readOnly = true)
+    public Optional<PlaylistEntryPageDTO> getEntries(Long id, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit doit être entre 1 et " + MAX_PAGE_SIZE);
+        }
+        if (!playlistRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        long[] after = parseCursor(cursor);
+        List<PlaylistEntryDTO> entries = playlistEntryRepository.findPage(id, after[0], after[1], PageRequest.of(0, limit));
+        String nextCursor = null;
+        if (entries.size() == limit) {
+            PlaylistEntryDTO last = entries.get(entries.size() - 1);
+            nextCursor = last.getPosition() + ":" + last.getEntryId();
+        }
+        return Optional.of(PlaylistEntryPageDTO.builder().entries(entries).nextCursor(nextCursor).build());
+    }
+
+    /**
+     * Ajouter des chansons à une position
+     * 
+     * @param id      L'ID de la playlist
+     * @param request songIds (dans l'ordre) et position voulue
+     * @return Les entrées créées, ou vide si la playlist n'existe pas
+     */
+    public Optional<List<PlaylistEntryDTO>> addEntries(Long id, PlaylistEntryRequest request) {
+        List<Long> songIds = request.getSongIds();
+        if (songIds == null || songIds.isEmpty() || songIds.size() > MAX_SONGS_PER_REQUEST) {
+            throw new IllegalArgumentException("songIds: entre 1 et " + MAX_SONGS_PER_REQUEST + " chansons");
+        }
+        if (!playlistRepository.existsById(id)) {
+            return Optional.empty();
+        }
+        requireSongsExist(songIds);
+
+        Bounds bounds = bounds(id, request, null);
+        if (!bounds.fits(songIds.size())) {
+            renumber(id);
+            bounds = bounds(id, request, null);
+        }
+
+        List<PlaylistEntry> entries = new ArrayList<>(songIds.size());
+        for (int i = 0; i < songIds.size(); i++) {
+            entries.add(PlaylistEntry.builder()
+                    .playlistId(id)
+                    .songId(songIds.get(i))
+                    .position(bounds.positionOf(i, songIds.size()))
+                    .build());
+        }
+        playlistEntryRepository.saveAll(entries);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(id, List.copyOf(songIds)));
+        log.info("{} chansons ajoutées à la playlist {}", songIds.size(), id);
+
+        // Les nouvelles entrées sont contiguës juste après la voisine du dessus
+        return Optional.of(playlistEntryRepository.findPage(id, bounds.lower, bounds.lowerId, PageRequest.of(0, songIds.size())));
+    }
+
+    /**
+     * Déplacer une entrée (UN seul UPDATE)
+     * 
+     * @param id      L'ID de la playlist
+     * @param entryId L'ID de l'entrée
+     * @param request afterEntryId ou beforeEntryId
+     * @return La nouvelle position, ou vide si la playlist ou l'entrée n'existe pas
+     */
+    public Optional<Long> moveEntry(Long id, Long entryId, PlaylistEntryRequest request) {
+        Optional<PlaylistEntry> entry = playlistEntryRepository.findByIdAndPlaylistId(entryId, id);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        if (entryId.equals(request.getAfterEntryId()) || entryId.equals(request.getBeforeEntryId())) {
+            throw new IllegalArgumentException("Une entrée ne peut pas être placée par rapport à elle-même");
+        }
+        Bounds bounds = bounds(id, request, entryId);
+        if (!bounds.fits(1)) {
+            renumber(id);
+            bounds = bounds(id, request, entryId);
+        }
+        long position = bounds.positionOf(0, 1);
+        playlistEntryRepository.updatePosition(entryId, position);
+        eventPublisher.publishEvent(new PlaylistChangedEvent(id, List.of(entry.get().getSongId())));
+        return Optional.of(position);
+    }
+
+    /**
+     * Retirer une entrée
+     * 
+     * @param id      L'ID de la playlist
+     * @param entryId L'ID de l'entrée
+     * @return false si l'entrée n'existe pas dans cette playlist
+     */
+    public boolean removeEntry(Long id, Long entryId) {
+        Optional<PlaylistEntry> entry = playlistEntryRepository.findByIdAndPlaylistId(entryId, id);
+        entry.ifPresent(removed -> {
+            playlistEntryRepository.delete(removed);
+            eventPublisher.publishEvent(new PlaylistChangedEvent(id, List.of(removed.getSongId())));
+        });
+        return entry.isPresent();
+    }
+
+    /**
+     * Retirer de toutes les playlists des chansons supprimées en masse, en un seul DELETE
+     * 
+     * Les SongChangedEvent (DELETED) de ces chansons publiés dans la même transaction
+     * sont ensuite ignorés par onSongChanged (pas un DELETE par chanson au commit).
+     * 
+     * @param songIds IDs des chansons supprimées
+     * @return Nombre d'entrées retirées
+     */
+    public int removeSongs(Collection<Long> songIds) {
+        int removed = playlistEntryRepository.deleteAllOfSongs(songIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Long> removedInBulk = removedInBulk();
+            if (removedInBulk == null) {
+                removedInBulk = new HashSet<>();
+                TransactionSynchronizationManager.bindResource(REMOVED_SONGS, removedInBulk);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(REMOVED_SONGS);
+                    }
+                });
+            }
+            removedInBulk.addAll(songIds);
+        }
+        if (removed > 0) {
+            log.info("{} chansons supprimées en masse retirées de {} entrées de playlist", songIds.size(), removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Retirer une chanson supprimée de toutes les playlists, dans la transaction de la suppression
+     * 
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        Set<Long> removedInBulk = removedInBulk();
+        if (removedInBulk != null && removedInBulk.contains(event.songId())) {
+            return;
+        }
+        if (!event.remote() && event.type() == SongChangedEvent.Type.DELETED) {
+            int removed = playlistEntryRepository.deleteAllOfSong(event.songId());
+            if (removed > 0) {
+                log.info("Chanson {} retirée de {} entrées de playlist", event.songId(), removed);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Long> removedInBulk() {
+        return (Set<Long>) TransactionSynchronizationManager.getResource(REMOVED_SONGS);
+    }
+
+    /**
+     * Voisines de la position voulue
+     * 
+     * @param movingId Entrée déplacée (ignorée comme voisine), null pour un ajout
+     */
+    private Bounds bounds(Long playlistId, PlaylistEntryRequest request, Long movingId) {
+        PageRequest two = PageRequest.of(0, 2);
+        if (request.getAfterEntryId() != null && request.getBeforeEntryId() != null) {
+            throw new IllegalArgumentException("afterEntryId et beforeEntryId sont exclusifs");
+        }
+        if (request.getAfterEntryId() != null) {
+            PlaylistEntry after = neighbour(playlistId, request.getAfterEntryId());
+            PlaylistEntry next = first(playlistEntryRepository.findFollowing(playlistId, after.getPosition(), after.getId(), two), movingId);
+            return new Bounds(after.getPosition(), after.getId(), next == null ? null : next.getPosition());
+        }
+        if (request.getBeforeEntryId() != null) {
+            PlaylistEntry before = neighbour(playlistId, request.getBeforeEntryId());
+            PlaylistEntry previous = first(playlistEntryRepository.findPreceding(playlistId, before.getPosition(), before.getId(), two), movingId);
+            return previous == null
+                    ? new Bounds(0, Long.MIN_VALUE, before.getPosition())
+                    : new Bounds(previous.getPosition(), previous.getId(), before.getPosition());
+        }
+        PlaylistEntry last = first(playlistEntryRepository.findPreceding(playlistId, Long.MAX_VALUE, Long.MAX_VALUE, two), movingId);
+        return last == null ? new Bounds(0, Long.MIN_VALUE, null) : new Bounds(last.getPosition(), last.getId(), null);
+    }
+
+    private PlaylistEntry neighbour(Long playlistId, Long entryId) {
+        return playlistEntryRepository.findByIdAndPlaylistId(entryId, playlistId)
+                .orElseThrow(() -> new IllegalArgumentException("Entrée " + entryId + " absente de la playlist " + playlistId));
+    }
+
+    private static PlaylistEntry first(List<PlaylistEntry> candidates, Long excludedId) {
+        return candidates.stream().filter(entry -> !entry.getId().equals(excludedId)).findFirst().orElse(null);
+    }
+
+    /**
+     * Renuméroter toute la playlist avec des écarts de GAP (UPDATE en batch JDBC)
+     */
+    private void renumber(Long playlistId) {
+        List<PlaylistEntry> entries = playlistEntryRepository.findByPlaylistIdOrderByPositionAscIdAsc(playlistId);
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).setPosition((i + 1) * PlaylistEntry.GAP);
+        }
+        playlistEntryRepository.flush();
+        log.info("Playlist {} renumérotée ({} entrées)", playlistId, entries.size());
+    }
+
+    private void requireSongsExist(List<Long> songIds) {
+        Set<Long> wanted = new LinkedHashSet<>(songIds);
+        Set<Long> found = new HashSet<>();
+        List<Long> distinct = new ArrayList<>(wanted);
+        for (int from = 0; from < distinct.size(); from += IN_CHUNK) {
+            found.addAll(songRepository.findExistingIds(distinct.subList(from, Math.min(distinct.size(), from + IN_CHUNK))));
+        }
+        wanted.removeAll(found);
+        if (!wanted.isEmpty()) {
+            throw new IllegalArgumentException("Chansons inconnues: " + wanted);
+        }
+    }
+
+    private static void requireName(PlaylistDTO playlistDTO) {
+        if (playlistDTO.getName() == null || playlistDTO.getName().isBlank()) {
+            throw new IllegalArgumentException("Le nom de la playlist est obligatoire");
+        }
+    }
+
+    /**
+     * Curseur "position:id" → {position, id}
+     */
+    private static long[] parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[]{Long.MIN_VALUE, Long.MIN_VALUE};
+        }
+        int colon = cursor.indexOf(':');
+        try {
+            return new long[]{Long.parseLong(cursor.substring(0, colon)), Long.parseLong(cursor.substring(colon + 1))};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Curseur invalide: " + cursor);
+        }
+    }
+
+    /**
+     * Intervalle libre entre deux voisines
+     * 
+     * @param lower   Position de la voisine du dessus (0 au début)
+     * @param lowerId ID de la voisine du dessus (Long.MIN_VALUE au début)
+     * @param upper   Position de la voisine du dessous (null à la fin)
+     */
+    private record Bounds(long lower, long lowerId, Long upper) {
+
+        /**
+         * Y a-t-il n positions libres strictement entre les voisines ?
+         */
+        boolean fits(int count) {
+            if (upper == null) {
+                return lower <= Long.MAX_VALUE - (count + 1L) * PlaylistEntry.GAP;
+            }
+            return (upper - lower) / (count + 1) >= 1;
+        }
+
+        /**
+         * Position de la i-ème des count nouvelles entrées (réparties uniformément)
+         */
+        long positionOf(int index, int count) {
+            if (upper == null) {
+                return lower + (index + 1) * PlaylistEntry.GAP;
+            }
+            return lower + (upper - lower) / (count + 1) * (index + 1);
+        }
+    }
+}
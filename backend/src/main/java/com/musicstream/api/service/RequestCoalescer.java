@@ -0,0 +1,112 @@
+package com.musicstream.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 🔀 RequestCoalescer - "Single-flight" pour les lectures identiques simultanées
+ * 
+ * Quand 100 requêtes GET /songs/42 arrivent en même temps:
+ * - la PREMIÈRE (le "leader") exécute la requête SQL
+ * - les 99 autres attendent le résultat du leader et le partagent
+ * → 1 requête SQL au lieu de 100
+ * 
+ * Pas de verrou: l'élection du leader est un putIfAbsent dans une ConcurrentHashMap,
+ * les autres threads attendent sur le CompletableFuture du leader.
+ * Une exception du leader est propagée à tous les threads en attente.
+ * 
+ * Seules les requêtes EN COURS sont partagées (ce n'est pas un cache):
+ * dès que le leader a terminé, la requête suivante relance une lecture.
+ * 
+ * Métriques:
+ * - musicstream.coalescing.requests{operation, role=leader} → lectures réellement exécutées
+ * - musicstream.coalescing.requests{operation, role=shared} → lectures évitées
+ * Ratio de coalescing = shared / (leader + shared)
+ */
+@Component
+public class RequestCoalescer {
+
+    private final ConcurrentMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("musicstream.coalescing.in-flight", inFlight, ConcurrentMap::size)
+                .description("Lectures distinctes en cours d'exécution")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Exécuter une lecture, ou rejoindre une lecture identique déjà en cours
+     * 
+     * @param operation Nom de l'opération (ex: "getSongById")
+     * @param argument  Argument de la lecture (ex: l'ID) - doit implémenter equals/hashCode
+     * @param loader    La lecture à exécuter si aucune n'est en cours
+     * @return Le résultat (partagé entre tous les appelants simultanés)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object argument, Supplier<T> loader) {
+        Key key = new Key(operation, argument);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing != null) {
+            countersFor(operation)[1].increment();
+            return (T) await(existing);
+        }
+
+        countersFor(operation)[0].increment();
+        try {
+            T result = loader.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter[] countersFor(String operation) {
+        return counters.computeIfAbsent(operation, op -> new Counter[] {
+                counter(op, "leader"),
+                counter(op, "shared")
+        });
+    }
+
+    private Counter counter(String operation, String role) {
+        return Counter.builder("musicstream.coalescing.requests")
+                .description("Lectures exécutées (leader) ou partagées (shared)")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    private record Key(String operation, Object argument) {
+    }
+}
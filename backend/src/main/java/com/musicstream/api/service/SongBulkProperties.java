@@ -0,0 +1,19 @@
+package com.musicstream.api.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ SongBulkProperties - Suppressions et modifications en masse par filtre
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.bulk")
+@Data
+public class SongBulkProperties {
+
+    /**
+     * Chansons par lot: un lot = une transaction (SELECT des IDs, puis DELETE/UPDATE ... IN)
+     */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,179 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.entity.Artist;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.SongFilter;
+import com.musicstream.api.repository.SongRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * 🧹 SongBulkService - Supprimer ou modifier toutes les chansons d'un filtre
+ * 
+ * Au lieu de N appels DELETE/PUT /songs/{id} (existsById + deleteById, findById + save
+ * pour chacun), les chansons sont traitées par lots d'IDs (keyset, voir
+ * musicstream.bulk.chunk-size), chaque lot dans sa propre transaction:
+ * 
+ *   SELECT id FROM songs WHERE <filtre> AND id > ? ORDER BY id LIMIT n
+ *   DELETE FROM songs WHERE id IN (...)          (+ entrées de playlist, un DELETE)
+ *   UPDATE songs SET ... WHERE id IN (...)
+ * 
+ * Un lot validé le reste si un lot suivant échoue: relancer la même opération
+ * reprend là où elle s'est arrêtée (les chansons supprimées ne répondent plus au
+ * filtre, une modification refaite donne le même résultat).
+ * 
+ * Chaque chanson du lot publie son SongChangedEvent dans la transaction du lot:
+ * index de recherche, recommandations, fichiers dérivés et autres instances
+ * (InvalidationBus) sont mis à jour après le commit, comme pour une écriture unitaire.
+ */
+@Service
+@Slf4j
+public class SongBulkService {
+
+    /**
+     * Compte rendu d'une opération en masse
+     * 
+     * @param affected   Chansons supprimées ou modifiées
+     * @param chunks     Lots (transactions) exécutés
+     * @param durationMs Durée totale
+     */
+    public record BulkResult(int affected, int chunks, long durationMs) {
+    }
+
+    private record Chunk(long lastId, int affected) {
+    }
+
+    private final SongRepository songRepository;
+    private final PlaylistService playlistService;
+    private final CatalogService catalogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final SongBulkProperties properties;
+
+    public SongBulkService(SongRepository songRepository,
+                           PlaylistService playlistService,
+                           CatalogService catalogService,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           SongBulkProperties properties) {
+        this.songRepository = songRepository;
+        this.playlistService = playlistService;
+        this.catalogService = catalogService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Supprimer toutes les chansons d'un filtre (et leurs entrées de playlist)
+     * 
+     * @param filter Critères (au moins un)
+     * @return Le compte rendu
+     * @throws IllegalArgumentException si le filtre est vide
+     */
+    public BulkResult deleteAll(SongFilter filter) {
+        requireFilter(filter);
+        BulkResult result = inChunks(filter, ids -> {
+            playlistService.removeSongs(ids);
+            songRepository.deleteAllByIdInBatch(ids);
+            ids.forEach(id -> eventPublisher.publishEvent(
+                    new SongChangedEvent(id, SongChangedEvent.Type.DELETED, true)));
+            return ids.size();
+        });
+        log.info("Suppression en masse {}: {} chansons en {} lots ({} ms)",
+                filter, result.affected(), result.chunks(), result.durationMs());
+        return result;
+    }
+
+    /**
+     * Appliquer le même merge patch à toutes les chansons d'un filtre
+     * 
+     * title et audioUrl, propres à chaque chanson, sont refusés. artist et album se
+     * modifient ensemble (l'album appartient à l'artiste): un seul couple résolu
+     * pour toutes les chansons.
+     * 
+     * @param filter Critères (au moins un)
+     * @param patch  Champs de SongDTO à modifier (null = vider)
+     * @return Le compte rendu
+     * @throws IllegalArgumentException si le filtre ou le patch est vide ou invalide
+     */
+    public BulkResult patchAll(SongFilter filter, Map<String, Object> patch) {
+        requireFilter(filter);
+        for (String field : List.of("title", "audioUrl")) {
+            if (patch.containsKey(field)) {
+                throw new IllegalArgumentException(field + " ne se modifie pas en masse");
+            }
+        }
+        if (patch.containsKey("artist") != patch.containsKey("album")) {
+            throw new IllegalArgumentException("artist et album se modifient ensemble en masse");
+        }
+        Map<String, Object> changes = SongService.columns(patch);
+        if (patch.containsKey("artist")) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Artist artist = catalogService.artist(SongService.requireText("artist", patch.get("artist")));
+                changes.put("artistRef", artist);
+                changes.put("albumRef", catalogService.album(artist, SongService.text("album", patch.get("album"))));
+            });
+        }
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("Patch vide");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkResult result = inChunks(filter, ids -> {
+            int updated = songRepository.patchAll(ids, changes, now);
+            ids.forEach(id -> eventPublisher.publishEvent(
+                    new SongChangedEvent(id, SongChangedEvent.Type.UPDATED, false)));
+            return updated;
+        });
+        log.info("Modification en masse {} ({}): {} chansons en {} lots ({} ms)",
+                filter, changes.keySet(), result.affected(), result.chunks(), result.durationMs());
+        return result;
+    }
+
+    /**
+     * Un lot d'IDs par transaction jusqu'à épuisement du filtre
+     */
+    private BulkResult inChunks(SongFilter filter, ToIntFunction<List<Long>> action) {
+        long start = System.nanoTime();
+        int size = properties.getChunkSize();
+        long afterId = 0;
+        int affected = 0;
+        int chunks = 0;
+        while (true) {
+            long from = afterId;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = songRepository.findIds(filter, from, size);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                // Avec le sharding, un lot par shard fusionnés: garder les plus petits IDs
+                if (ids.size() > size) {
+                    ids = ids.subList(0, size);
+                }
+                return new Chunk(ids.get(ids.size() - 1), action.applyAsInt(ids));
+            });
+            if (chunk == null) {
+                break;
+            }
+            affected += chunk.affected();
+            chunks++;
+            afterId = chunk.lastId();
+        }
+        return new BulkResult(affected, chunks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void requireFilter(SongFilter filter) {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("Au moins un filtre est obligatoire (category, genre, artist)");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.musicstream.api.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ SongMultiGetProperties - Lecture de plusieurs chansons par ID (GET /songs?ids=)
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.multi-get")
+@Data
+public class SongMultiGetProperties {
+
+    /**
+     * IDs maximum par appel (au-delà → HTTP 400)
+     */
+    private int maxIds = 1000;
+
+    /**
+     * IDs maximum par requête SELECT ... WHERE id IN (chansons absentes du cache)
+     */
+    private int chunkSize = 500;
+}
@@ -1,15 +1,31 @@
 package com.musicstream.api.service;
 
+import com.musicstream.api.datasource.ReadYourWritesContext;
+import com.musicstream.api.dto.SongBatchDTO;
 import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.entity.Artist;
 import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
 import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.timing.ServerTiming;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -28,6 +44,20 @@ import java.util.stream.Collectors;
  * Règle importante:
  * Service → Repository (oui, le service utilise le repo)
  * Service ← Repository (non, le repo ne connaît pas le service)
+ * 
+ * Les lectures très sollicitées (par ID, recherches, catégorie) passent par le
+ * RequestCoalescer: des appels identiques simultanés partagent UNE seule requête SQL.
+ * Elles sont en Propagation.SUPPORTS pour que les threads en attente n'ouvrent pas
+ * de transaction (et ne bloquent pas de connexion JDBC) pendant qu'ils attendent.
+ * 
+ * Toutes les lectures sont en readOnly = true:
+ * - Hibernate ne fait ni flush ni dirty-checking
+ * - avec le routage activé (RoutingDataSourceConfig), elles partent sur un réplica
+ * 
+ * Chaque écriture publie un SongChangedEvent: les traitements annexes (extraction
+ * des métadonnées audio, index de recherche...) l'écoutent après le commit et
+ * placent une tâche dans le JobScheduler, sans bloquer: la réponse n'attend pas
+ * leur exécution.
  */
 @Service
 @Transactional
@@ -36,18 +66,20 @@ import java.util.stream.Collectors;
 public class SongService {
 
     private final SongRepository songRepository;
+    private final RequestCoalescer requestCoalescer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CatalogService catalogService;
+    private final SongMultiGetProperties multiGetProperties;
 
     /**
      * Récupérer TOUTES les chansons
      * 
      * @return Liste de tous les DTOs des chansons
      */
+    @Transactional(readOnly = true)
     public List<SongDTO> getAllSongs() {
-        log.info("Récupérant toutes les chansons");
-        return songRepository.findAll()
-                .stream()
-                .map(SongDTO::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Récupérant toutes les chansons");
+        return toDTOs(songRepository.findAll());
     }
 
     /**
@@ -56,10 +88,51 @@ public class SongService {
      * @param id L'ID de la chanson
      * @return Optional<SongDTO> (peut être vide si pas trouvée)
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public Optional<SongDTO> getSongById(Long id) {
-        log.info("Récupérant la chanson avec l'ID: {}", id);
-        return songRepository.findById(id)
-                .map(SongDTO::fromEntity);
+        log.debug("Récupérant la chanson avec l'ID: {}", id);
+        return coalesce("getSongById", id, () ->
+                songRepository.findById(id)
+                        .map(SongService::toDTO));
+    }
+
+    /**
+     * Récupérer plusieurs chansons par ID en un appel (file de lecture, playlist)
+     * 
+     * Les chansons du cache de second niveau sont servies sans SQL, les autres en une
+     * requête IN par lot de musicstream.multi-get.chunk-size: au lieu d'un GET
+     * /songs/{id} (et d'une transaction) par titre.
+     * 
+     * @param ids Les IDs, dans l'ordre voulu
+     * @return Les chansons dans l'ordre des IDs et les IDs introuvables
+     * @throws IllegalArgumentException si la liste est vide, trop longue ou contient null
+     */
+    @Transactional(readOnly = true)
+    public SongBatchDTO getSongsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids doit contenir au moins un ID (sans valeur vide)");
+        }
+        Set<Long> wanted = new LinkedHashSet<>(ids);
+        if (wanted.size() > multiGetProperties.getMaxIds()) {
+            throw new IllegalArgumentException("Au plus " + multiGetProperties.getMaxIds() + " IDs par appel");
+        }
+        log.debug("Récupérant {} chansons par ID", wanted.size());
+
+        Map<Long, Song> found = new HashMap<>();
+        for (Song song : songRepository.findAllCachedFirst(wanted, multiGetProperties.getChunkSize())) {
+            found.put(song.getId(), song);
+        }
+        List<Song> ordered = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : wanted) {
+            Song song = found.get(id);
+            if (song != null) {
+                ordered.add(song);
+            } else {
+                missing.add(id);
+            }
+        }
+        return SongBatchDTO.builder().songs(toDTOs(ordered)).missing(missing).build();
     }
 
     /**
@@ -69,10 +142,13 @@ public class SongService {
      * @return Le DTO de la chanson créée (avec l'ID généré)
      */
     public SongDTO createSong(SongDTO songDTO) {
-        log.info("Création d'une nouvelle chanson: {}", songDTO.getTitle());
+        log.debug("Création d'une nouvelle chanson: {}", songDTO.getTitle());
         
         // Convertir DTO en Entity
         Song song = songDTO.toEntity();
+
+        // Noms d'artiste et d'album → entités existantes (ou créées)
+        catalogService.resolve(song);
         
         // Les dates seront définies automatiquement par @PrePersist
         song.setId(null); // S'assurer que c'est une nouvelle insertion
@@ -81,7 +157,9 @@ public class SongService {
         Song savedSong = songRepository.save(song);
         
         log.info("Chanson créée avec l'ID: {}", savedSong.getId());
-        return SongDTO.fromEntity(savedSong);
+        eventPublisher.publishEvent(new SongChangedEvent(
+                savedSong.getId(), SongChangedEvent.Type.CREATED, savedSong.getAudioUrl() != null));
+        return toDTO(savedSong);
     }
 
     /**
@@ -92,13 +170,16 @@ public class SongService {
      * @return Optional<SongDTO> (contient la chanson modifiée)
      */
     public Optional<SongDTO> updateSong(Long id, SongDTO songDTO) {
-        log.info("Mise à jour de la chanson avec l'ID: {}", id);
+        log.debug("Mise à jour de la chanson avec l'ID: {}", id);
         
         return songRepository.findById(id).map(song -> {
+            boolean audioChanged = !Objects.equals(song.getAudioUrl(), songDTO.getAudioUrl());
+            Artist artist = catalogService.artist(songDTO.getArtist());
+
             // Mettre à jour les champs
             song.setTitle(songDTO.getTitle());
-            song.setArtist(songDTO.getArtist());
-            song.setAlbum(songDTO.getAlbum());
+            song.setArtistRef(artist);
+            song.setAlbumRef(catalogService.album(artist, songDTO.getAlbum()));
             song.setGenre(songDTO.getGenre());
             song.setCategory(songDTO.getCategory());
             song.setDuration(songDTO.getDuration());
@@ -108,10 +189,63 @@ public class SongService {
             // @PreUpdate mettra à jour automatiquement updatedAt
             Song updatedSong = songRepository.save(song);
             log.info("Chanson mise à jour: {}", id);
-            return SongDTO.fromEntity(updatedSong);
+            eventPublisher.publishEvent(new SongChangedEvent(id, SongChangedEvent.Type.UPDATED, audioChanged));
+            return toDTO(updatedSong);
         });
     }
 
+    /**
+     * Modifier une partie d'une chanson (JSON Merge Patch, RFC 7396)
+     * 
+     * Seuls les champs présents dans le patch changent; un champ à null est vidé.
+     * La chanson est lue (cache de second niveau) puis écrite par son @Version: seule
+     * son entrée du cache change. Quand le patch change l'artiste ou l'album, la chanson
+     * et sa version sont vérifiées AVANT de créer l'artiste ou l'album (créés dans
+     * leur propre transaction, ils resteraient orphelins après un 404 ou un 412), et
+     * l'album appartenant à l'artiste, il faut aussi le nom de l'autre.
+     * 
+     * @param id              L'ID de la chanson
+     * @param expectedVersion Version attendue (If-Match), null pour une modification inconditionnelle
+     * @param patch           Champs de SongDTO à modifier
+     * @return true si la chanson a été modifiée, false si elle n'existe pas
+     * @throws IllegalArgumentException si un champ est inconnu, non modifiable ou mal typé
+     * @throws ObjectOptimisticLockingFailureException si la version ne correspond plus
+     */
+    public boolean patchSong(Long id, Long expectedVersion, Map<String, Object> patch) {
+        log.debug("Modification partielle de la chanson {}: {}", id, patch.keySet());
+
+        Map<String, Object> changes = columns(patch);
+        if (patch.containsKey("artist") || patch.containsKey("album")) {
+            String artistName = patch.containsKey("artist") ? requireText("artist", patch.get("artist")) : null;
+            String albumTitle = text("album", patch.get("album"));
+            // [version, artistName, albumTitle]
+            List<Object[]> current = songRepository.findCatalogState(id);
+            if (current.isEmpty()) {
+                return false;
+            }
+            if (expectedVersion != null && !expectedVersion.equals(current.get(0)[0])) {
+                throw new ObjectOptimisticLockingFailureException(Song.class, id);
+            }
+            artistName = artistName != null ? artistName : (String) current.get(0)[1];
+            albumTitle = patch.containsKey("album") ? albumTitle : (String) current.get(0)[2];
+            Artist artist = catalogService.artist(artistName);
+            changes.put("artistRef", artist);
+            changes.put("albumRef", catalogService.album(artist, albumTitle));
+        }
+
+        if (songRepository.patch(id, expectedVersion, changes) == 0) {
+            // Cas d'échec seulement: distinguer chanson supprimée et version périmée
+            if (expectedVersion != null && songRepository.existsById(id)) {
+                throw new ObjectOptimisticLockingFailureException(Song.class, id);
+            }
+            return false;
+        }
+        log.info("Chanson modifiée: {} ({})", id, changes.keySet());
+        eventPublisher.publishEvent(new SongChangedEvent(id, SongChangedEvent.Type.UPDATED,
+                changes.containsKey("audioUrl")));
+        return true;
+    }
+
     /**
      * Supprimer une chanson
      * 
@@ -119,11 +253,12 @@ public class SongService {
      * @return true si la chanson a été supprimée, false si elle n'existait pas
      */
     public boolean deleteSong(Long id) {
-        log.info("Suppression de la chanson avec l'ID: {}", id);
+        log.debug("Suppression de la chanson avec l'ID: {}", id);
         
         if (songRepository.existsById(id)) {
             songRepository.deleteById(id);
             log.info("Chanson supprimée: {}", id);
+            eventPublisher.publishEvent(new SongChangedEvent(id, SongChangedEvent.Type.DELETED, true));
             return true;
         }
         log.warn("Tentative de suppression d'une chanson inexistante: {}", id);
@@ -136,12 +271,11 @@ public class SongService {
      * @param keyword Le mot-clé à chercher dans le titre
      * @return Liste des chansons trouvées
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<SongDTO> searchByTitle(String keyword) {
-        log.info("Recherche de chansons par titre: {}", keyword);
-        return songRepository.findByTitleContainingIgnoreCase(keyword)
-                .stream()
-                .map(SongDTO::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Recherche de chansons par titre: {}", keyword);
+        return coalesce("searchByTitle", keyword, () ->
+                toDTOs(songRepository.findByTitleContainingIgnoreCase(keyword)));
     }
 
     /**
@@ -150,12 +284,11 @@ public class SongService {
      * @param keyword Le mot-clé à chercher dans le nom de l'artiste
      * @return Liste des chansons trouvées
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<SongDTO> searchByArtist(String keyword) {
-        log.info("Recherche de chansons par artiste: {}", keyword);
-        return songRepository.findByArtistContainingIgnoreCase(keyword)
-                .stream()
-                .map(SongDTO::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Recherche de chansons par artiste: {}", keyword);
+        return coalesce("searchByArtist", keyword, () ->
+                toDTOs(songRepository.findByArtistContainingIgnoreCase(keyword)));
     }
 
     /**
@@ -164,11 +297,86 @@ public class SongService {
      * @param category La catégorie
      * @return Liste des chansons de cette catégorie
      */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public List<SongDTO> getSongsByCategory(String category) {
-        log.info("Récupérant les chansons de la catégorie: {}", category);
-        return songRepository.findByCategory(category)
-                .stream()
-                .map(SongDTO::fromEntity)
-                .collect(Collectors.toList());
+        log.debug("Récupérant les chansons de la catégorie: {}", category);
+        return coalesce("getSongsByCategory", category, () ->
+                toDTOs(songRepository.findByCategory(category)));
+    }
+
+    /**
+     * Passer par le RequestCoalescer, sauf si le client doit lire sur le primaire
+     * (read-your-writes): il ne doit pas recevoir le résultat d'une lecture faite sur un réplica.
+     * 
+     * @param operation Nom de l'opération
+     * @param argument  Argument de la lecture
+     * @param loader    La lecture
+     * @return Le résultat de la lecture
+     */
+    private <T> T coalesce(String operation, Object argument, Supplier<T> loader) {
+        if (ReadYourWritesContext.isPrimaryForced()) {
+            return loader.get();
+        }
+        return requestCoalescer.execute(operation, argument, loader);
+    }
+
+    /**
+     * Champs d'un merge patch → colonnes de Song (artist et album, qui sont des
+     * associations, restent à résoudre par l'appelant)
+     * 
+     * @throws IllegalArgumentException si un champ est inconnu, non modifiable ou mal typé
+     */
+    static Map<String, Object> columns(Map<String, Object> patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : patch.entrySet()) {
+            String name = field.getKey();
+            Object value = field.getValue();
+            switch (name) {
+                case "title" -> changes.put(name, requireText(name, value));
+                case "genre", "category", "audioUrl", "imageUrl" -> changes.put(name, text(name, value));
+                case "duration" -> {
+                    if (value != null && !(value instanceof Integer)) {
+                        throw new IllegalArgumentException("duration doit être un entier");
+                    }
+                    changes.put(name, value);
+                }
+                case "artist", "album" -> {
+                }
+                default -> throw new IllegalArgumentException("Champ non modifiable: " + name);
+            }
+        }
+        return changes;
+    }
+
+    static String text(String field, Object value) {
+        if (value != null && !(value instanceof String)) {
+            throw new IllegalArgumentException(field + " doit être une chaîne");
+        }
+        return (String) value;
+    }
+
+    static String requireText(String field, Object value) {
+        String text = text(field, value);
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException(field + " est obligatoire");
+        }
+        return text;
+    }
+
+    /**
+     * Entités → DTOs, mesuré dans la phase "map" de l'en-tête Server-Timing
+     */
+    private static List<SongDTO> toDTOs(List<Song> songs) {
+        try (ServerTiming.Span span = ServerTiming.span("map")) {
+            return songs.stream()
+                    .map(SongDTO::fromEntity)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static SongDTO toDTO(Song song) {
+        try (ServerTiming.Span span = ServerTiming.span("map")) {
+            return SongDTO.fromEntity(song);
+        }
     }
 }
@@ -0,0 +1,121 @@
+package com.musicstream.api.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 🧭 ShardContext - Shard visé par le thread courant, shard de la transaction courante
+ * 
+ * - Hors transaction: chaque appel de repository prend sa propre connexion, sur le
+ *   shard posé ici par ShardedRepositories le temps de l'appel.
+ * - Dans une transaction: la connexion est gardée jusqu'au commit, donc la transaction
+ *   est fixée sur UN shard ("binding"), au premier appel qui en choisit un (même si
+ *   cet appel ne touche pas la base: lecture servie par le cache de second niveau).
+ *   Un appel pour un autre shard part dans une transaction séparée.
+ * 
+ * Le binding est une TransactionSynchronization: suspendu avec la transaction
+ * (REQUIRES_NEW), oublié à la fin de la transaction.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * @return Shard posé sur ce thread, null si aucun
+     */
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @param shard Shard visé (null pour aucun)
+     * @return Valeur précédente, à rendre à restore()
+     */
+    static Integer set(Integer shard) {
+        Integer previous = CURRENT.get();
+        if (shard == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(shard);
+        }
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        set(previous);
+    }
+
+    /**
+     * @return Le binding de la transaction courante, null hors transaction ou si
+     *         la transaction n'a encore choisi aucun shard
+     */
+    static Binding binding() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Binding binding) {
+                return binding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Fixer la transaction courante sur un shard (sans effet hors transaction)
+     * 
+     * @return Le binding créé, null hors transaction
+     */
+    static Binding bind(int shard) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Binding binding = new Binding(shard);
+        TransactionSynchronizationManager.registerSynchronization(binding);
+        return binding;
+    }
+
+    /**
+     * Shard d'une transaction, et verrou d'écriture de l'annuaire tenu jusqu'à sa fin
+     * (un déplacement de plage attend les transactions qui écrivent des chansons)
+     */
+    static final class Binding implements TransactionSynchronization {
+
+        private final int shard;
+        private Lock writeLock;
+
+        private Binding(int shard) {
+            this.shard = shard;
+        }
+
+        int shard() {
+            return shard;
+        }
+
+        /**
+         * @param lock Verrou déjà pris par l'appelant, rendu à la fin de la transaction
+         * @return false si la transaction tenait déjà le verrou (l'appelant le rend aussitôt)
+         */
+        boolean holdUntilCompletion(Lock lock) {
+            if (writeLock != null) {
+                return false;
+            }
+            writeLock = lock;
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (writeLock != null) {
+                writeLock.unlock();
+                writeLock = null;
+            }
+        }
+    }
+}
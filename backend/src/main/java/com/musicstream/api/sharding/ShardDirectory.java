@@ -0,0 +1,196 @@
+package com.musicstream.api.sharding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 📒 ShardDirectory - Shard de chaque ID de chanson
+ * 
+ * Chaque shard génère les IDs de SA région: songs.id du shard k démarre à
+ * k × 2^40 + 1 (identité de la base). Une nouvelle chanson est donc insérée sur
+ * n'importe quel shard sans coordination, et son ID dit où la trouver:
+ * 
+ *   shard natif = id >> 40        (shard 0: 1, 2, 3... comme sans sharding)
+ * 
+ * Le rééquilibrage déplace des plages [lo, hi) d'IDs déjà attribués vers un autre
+ * shard: ces exceptions sont listées ici (table shard_ranges du shard 0) et priment
+ * sur le shard natif. Une plage déplacée est toujours SOUS le prochain ID de sa
+ * région: les insertions suivantes du shard natif ne tombent jamais dedans.
+ * 
+ * 2^40 IDs par shard, 2^13 shards au plus sous 2^53 (IDs exacts en JavaScript).
+ */
+public class ShardDirectory {
+
+    public static final int HOME = 0;
+
+    static final int SHARD_BITS = 40;
+
+    private final int shardCount;
+    private final int[] insertShards;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private final ReadWriteLock moveLock = new ReentrantReadWriteLock(true);
+    private volatile NavigableMap<Long, ShardRange> moved = new TreeMap<>();
+
+    /**
+     * @param shardCount   Nombre de shards
+     * @param insertShards Shards qui reçoivent les nouvelles chansons (vide = tous)
+     */
+    public ShardDirectory(int shardCount, List<Integer> insertShards) {
+        if (shardCount < 1 || shardCount > 1 << 13) {
+            throw new IllegalArgumentException("Nombre de shards invalide: " + shardCount);
+        }
+        this.shardCount = shardCount;
+        this.insertShards = insertShards.isEmpty()
+                ? IntStream.range(0, shardCount).toArray()
+                : insertShards.stream().mapToInt(Integer::intValue).toArray();
+        for (int shard : this.insertShards) {
+            checkShard(shard);
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @param id L'ID d'une chanson
+     * @return Son shard (shard 0 pour un ID hors de toute région: la chanson n'existe pas)
+     */
+    public int shardOf(long id) {
+        Map.Entry<Long, ShardRange> entry = moved.floorEntry(id);
+        if (entry != null && entry.getValue().contains(id)) {
+            return entry.getValue().shard();
+        }
+        int shard = nativeShard(id);
+        return shard < shardCount ? shard : HOME;
+    }
+
+    /**
+     * @return Région dont l'identité a généré cet ID
+     */
+    static int nativeShard(long id) {
+        return id < 0 ? HOME : (int) (id >>> SHARD_BITS);
+    }
+
+    static long regionStart(int shard) {
+        return (long) shard << SHARD_BITS;
+    }
+
+    /**
+     * @return Premier ID généré par le shard (valeur de départ de son identité)
+     */
+    static long firstId(int shard) {
+        return regionStart(shard) + 1;
+    }
+
+    public boolean acceptsInserts(int shard) {
+        for (int candidate : insertShards) {
+            if (candidate == shard) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Prochain shard du tourniquet des insertions
+     */
+    public int nextInsertShard() {
+        return insertShards[Math.floorMod(roundRobin.getAndIncrement(), insertShards.length)];
+    }
+
+    /**
+     * @return Plages déplacées, par ID croissant
+     */
+    public List<ShardRange> ranges() {
+        return List.copyOf(moved.values());
+    }
+
+    /**
+     * Remplacer les plages déplacées (chargement depuis shard_ranges)
+     */
+    void load(List<ShardRange> ranges) {
+        NavigableMap<Long, ShardRange> map = new TreeMap<>();
+        for (ShardRange range : ranges) {
+            checkShard(range.shard());
+            map.put(range.lo(), range);
+        }
+        moved = map;
+    }
+
+    /**
+     * Les plages après l'attribution de [lo, hi) à un shard (l'annuaire n'est pas modifié)
+     * 
+     * Les plages existantes qui chevauchent sont coupées; une plage rendue à son
+     * shard natif n'est plus listée.
+     */
+    List<ShardRange> withRange(long lo, long hi, int shard) {
+        checkShard(shard);
+        List<ShardRange> result = new ArrayList<>();
+        for (ShardRange range : moved.values()) {
+            if (range.hi() <= lo || range.lo() >= hi) {
+                result.add(range);
+                continue;
+            }
+            if (range.lo() < lo) {
+                result.add(new ShardRange(range.lo(), lo, range.shard()));
+            }
+            if (range.hi() > hi) {
+                result.add(new ShardRange(hi, range.hi(), range.shard()));
+            }
+        }
+        if (shard != nativeShard(lo)) {
+            result.add(new ShardRange(lo, hi, shard));
+        }
+        result.sort((a, b) -> Long.compare(a.lo(), b.lo()));
+        return result;
+    }
+
+    /**
+     * @return Le shard qui détient toute la plage [lo, hi), -1 si elle est partagée
+     *         entre plusieurs shards
+     */
+    int ownerOf(long lo, long hi) {
+        int owner = shardOf(lo);
+        for (long position = lo; position < hi; position = segmentEnd(position)) {
+            if (shardOf(position) != owner) {
+                return -1;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * @return Fin du segment qui contient l'ID: plage déplacée, ou IDs de la région
+     *         restés sur leur shard natif jusqu'à la plage déplacée suivante
+     */
+    long segmentEnd(long id) {
+        Map.Entry<Long, ShardRange> entry = moved.floorEntry(id);
+        if (entry != null && entry.getValue().contains(id)) {
+            return entry.getValue().hi();
+        }
+        Long next = moved.higherKey(id);
+        return Math.min(next != null ? next : Long.MAX_VALUE, regionStart(nativeShard(id) + 1));
+    }
+
+    /**
+     * Verrou des déplacements: lecture = transaction qui écrit des chansons
+     * (tenu jusqu'à sa fin), écriture = bascule d'une plage
+     */
+    ReadWriteLock moveLock() {
+        return moveLock;
+    }
+
+    private void checkShard(int shard) {
+        if (shard < 0 || shard >= shardCount) {
+            throw new IllegalArgumentException("Shard inconnu: " + shard);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.musicstream.api.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🏊 ShardPools - Un pool HikariCP par shard
+ * 
+ * Cibles de ShardRoutingDataSource, et accès direct (sans routage) pour la copie
+ * du schéma, la réplication du référentiel et les déplacements de plages.
+ */
+public class ShardPools implements AutoCloseable {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<JdbcTemplate> templates = new ArrayList<>();
+    private final List<String> urls = new ArrayList<>();
+
+    public ShardPools(List<ShardingProperties.Node> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("musicstream.sharding.shards est vide");
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            ShardingProperties.Node node = nodes.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("musicstream-shard-" + i);
+            pool.setJdbcUrl(node.getUrl());
+            pool.setUsername(node.getUsername());
+            pool.setPassword(node.getPassword());
+            pool.setMaximumPoolSize(node.getMaximumPoolSize());
+            pools.add(pool);
+            templates.add(new JdbcTemplate(pool));
+            urls.add(node.getUrl());
+        }
+    }
+
+    public int size() {
+        return pools.size();
+    }
+
+    public HikariDataSource pool(int shard) {
+        return pools.get(shard);
+    }
+
+    public JdbcTemplate jdbc(int shard) {
+        return templates.get(shard);
+    }
+
+    public String url(int shard) {
+        return urls.get(shard);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,21 @@
+package com.musicstream.api.sharding;
+
+/**
+ * 📏 ShardRange - Plage d'IDs de chansons [lo, hi) et son shard
+ * 
+ * @param lo    Premier ID (inclus)
+ * @param hi    Fin (exclue)
+ * @param shard Shard qui détient les chansons de la plage
+ */
+public record ShardRange(long lo, long hi, int shard) {
+
+    public ShardRange {
+        if (lo >= hi) {
+            throw new IllegalArgumentException("Plage vide: [" + lo + ", " + hi + ")");
+        }
+    }
+
+    boolean contains(long id) {
+        return id >= lo && id < hi;
+    }
+}
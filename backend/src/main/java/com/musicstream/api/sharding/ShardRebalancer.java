@@ -0,0 +1,318 @@
+package com.musicstream.api.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+/**
+ * ⚖️ ShardRebalancer - Déplacement à chaud d'une plage d'IDs vers un autre shard
+ * 
+ * move(lo, hi, to), sans arrêter les lectures ni les écritures:
+ * 1. Borne: hi est ramené au-dessus du dernier ID attribué de la région, relevé
+ *    pendant que le verrou des déplacements bloque les écritures de chansons
+ *    (aucune insertion en cours ne peut tomber dans la plage)
+ * 2. Copie à chaud par lots vers le shard cible (le shard source reste servi)
+ * 3. Bascule, écritures bloquées (quelques ms): recopie des lignes modifiées depuis
+ *    l'étape 1 (updated_at), suppression sur la cible des lignes supprimées entre-temps,
+ *    puis la plage est inscrite dans shard_ranges: les appels suivants vont à la cible
+ * 4. Après cleanup-delay: suppression des lignes restées sur le shard source
+ * 
+ * rebalance() choisit seul la plage: les plus anciennes chansons du shard le plus
+ * chargé, vers le moins chargé, pour égaliser les deux.
+ * 
+ * ⚠️ Le verrou est local à l'instance. Avec plusieurs instances, celles qui n'ont pas
+ * encore relu l'annuaire (directory-refresh) écrivent encore sur le shard source
+ * jusqu'à leur relecture: déplacer hors des heures d'écriture, ou des plages de
+ * chansons anciennes qui ne changent plus.
+ */
+@Slf4j
+public class ShardRebalancer implements AutoCloseable {
+
+    static final String RANGES_TABLE = "shard_ranges";
+
+    /**
+     * Marge sur updated_at (horloges des écritures en cours au moment du relevé)
+     */
+    private static final long CATCH_UP_MARGIN_SECONDS = 5;
+
+    private final ShardPools pools;
+    private final ShardDirectory directory;
+    private final ShardingProperties properties;
+    private final TransactionTemplate homeTransaction;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param shard          Numéro du shard
+     * @param url            URL JDBC
+     * @param songs          Chansons présentes (y compris celles d'une plage pas encore nettoyée)
+     * @param acceptsInserts Reçoit les nouvelles chansons
+     */
+    public record ShardStatus(int shard, String url, long songs, boolean acceptsInserts) {
+    }
+
+    /**
+     * @param lo       Premier ID déplacé
+     * @param hi       Fin de la plage (exclue), après la borne de l'étape 1
+     * @param from     Shard source
+     * @param to       Shard cible
+     * @param copied   Lignes copiées à chaud
+     * @param caughtUp Lignes recopiées à la bascule (modifiées pendant la copie)
+     * @param removed  Lignes supprimées de la cible à la bascule (supprimées pendant la copie)
+     * @param durationMs Durée totale
+     */
+    public record MoveResult(long lo, long hi, int from, int to, int copied, int caughtUp, int removed,
+                             long durationMs) {
+    }
+
+    public ShardRebalancer(ShardPools pools, ShardDirectory directory, ShardingProperties properties) {
+        this.pools = pools;
+        this.directory = directory;
+        this.properties = properties;
+        this.homeTransaction = new TransactionTemplate(new DataSourceTransactionManager(pools.pool(ShardDirectory.HOME)));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "shard-rebalancer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Créer shard_ranges, la charger, puis la relire toutes les directory-refresh
+     */
+    void start() {
+        home().execute("CREATE TABLE IF NOT EXISTS " + RANGES_TABLE
+                + " (lo BIGINT PRIMARY KEY, hi BIGINT NOT NULL, shard INT NOT NULL)");
+        refreshDirectory();
+        long refresh = properties.getDirectoryRefresh().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refreshDirectory();
+            } catch (RuntimeException e) {
+                log.warn("Relecture de l'annuaire des shards impossible: {}", e.getMessage());
+            }
+        }, refresh, refresh, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Relire les plages déplacées (éventuellement par une autre instance)
+     */
+    public void refreshDirectory() {
+        directory.load(home().query("SELECT lo, hi, shard FROM " + RANGES_TABLE + " ORDER BY lo",
+                (rs, rowNum) -> new ShardRange(rs.getLong(1), rs.getLong(2), rs.getInt(3))));
+    }
+
+    /**
+     * @return Chaque shard et son nombre de chansons
+     */
+    public List<ShardStatus> status() {
+        List<ShardStatus> status = new ArrayList<>();
+        for (int shard = 0; shard < pools.size(); shard++) {
+            Long songs = pools.jdbc(shard).queryForObject("SELECT COUNT(*) FROM songs", Long.class);
+            status.add(new ShardStatus(shard, pools.url(shard), songs == null ? 0 : songs, directory.acceptsInserts(shard)));
+        }
+        return status;
+    }
+
+    /**
+     * Déplacer les chansons [lo, hi) vers un autre shard
+     * 
+     * @param lo Premier ID
+     * @param hi Fin (exclue), dans la même région (même shard natif) que lo
+     * @param to Shard cible
+     * @return Le compte rendu
+     * @throws IllegalArgumentException plage invalide, vide, répartie sur plusieurs shards
+     *                                  ou déjà sur la cible
+     * @throws IllegalStateException    écritures en cours au-delà de lock-timeout
+     */
+    public synchronized MoveResult move(long lo, long hi, int to) {
+        long start = System.nanoTime();
+        if (lo < 1 || lo >= hi) {
+            throw new IllegalArgumentException("Plage invalide: [" + lo + ", " + hi + ")");
+        }
+        if (to < 0 || to >= pools.size()) {
+            throw new IllegalArgumentException("Shard inconnu: " + to);
+        }
+        int region = ShardDirectory.nativeShard(lo);
+        if (region >= pools.size() || ShardDirectory.nativeShard(hi - 1) != region) {
+            throw new IllegalArgumentException("La plage doit rester dans une région: IDs de "
+                    + ShardDirectory.firstId(region) + " à " + (ShardDirectory.regionStart(region + 1) - 1));
+        }
+
+        // 1. Borne, et départ des modifications à rattraper
+        LocalDateTime[] copyStart = new LocalDateTime[1];
+        long limit = withMoveLock(() -> {
+            copyStart[0] = LocalDateTime.now().minusSeconds(CATCH_UP_MARGIN_SECONDS);
+            return highWaterMark(region) + 1;
+        });
+        long end = Math.min(hi, limit);
+        if (lo >= end) {
+            throw new IllegalArgumentException("Aucun ID attribué dans [" + lo + ", " + hi + ")");
+        }
+        int from = directory.ownerOf(lo, end);
+        if (from < 0) {
+            throw new IllegalArgumentException("La plage [" + lo + ", " + end
+                    + ") est répartie sur plusieurs shards: la déplacer morceau par morceau");
+        }
+        if (from == to) {
+            throw new IllegalArgumentException("La plage [" + lo + ", " + end + ") est déjà sur le shard " + to);
+        }
+
+        // 2. Copie à chaud
+        int batchSize = properties.getMoveBatchSize();
+        copyReferences(to);
+        int copied = ShardRowCopier.copy(pools.jdbc(from), pools.jdbc(to), "songs", "id >= ? AND id < ?",
+                batchSize, lo, end);
+
+        // 3. Bascule
+        int[] cutover = withMoveLock(() -> {
+            int caughtUp = ShardRowCopier.copy(pools.jdbc(from), pools.jdbc(to), "songs",
+                    "id >= ? AND id < ? AND updated_at >= ?", batchSize, lo, end, copyStart[0]);
+            List<Long> removed = new ArrayList<>(ShardRowCopier.ids(pools.jdbc(to), lo, end));
+            removed.removeAll(new HashSet<>(ShardRowCopier.ids(pools.jdbc(from), lo, end)));
+            delete(pools.jdbc(to), removed);
+            saveDirectory(directory.withRange(lo, end, to));
+            return new int[]{caughtUp, removed.size()};
+        });
+
+        // 4. Nettoyage différé
+        scheduler.schedule(() -> removeMoved(from, lo, end),
+                properties.getCleanupDelay().toMillis(), TimeUnit.MILLISECONDS);
+
+        MoveResult result = new MoveResult(lo, end, from, to, copied, cutover[0], cutover[1],
+                (System.nanoTime() - start) / 1_000_000);
+        log.info("Plage [{}, {}) déplacée du shard {} vers le shard {}: {} copiées, {} rattrapées, {} retirées en {} ms",
+                lo, end, from, to, copied, cutover[0], cutover[1], result.durationMs());
+        return result;
+    }
+
+    /**
+     * Égaliser le shard le plus chargé et le moins chargé (un déplacement)
+     * 
+     * @return Le déplacement, vide si les shards sont déjà équilibrés
+     */
+    public synchronized Optional<MoveResult> rebalance() {
+        List<ShardStatus> status = status();
+        ShardStatus largest = status.stream().max(Comparator.comparingLong(ShardStatus::songs)).orElseThrow();
+        ShardStatus smallest = status.stream().min(Comparator.comparingLong(ShardStatus::songs)).orElseThrow();
+        long excess = (largest.songs() - smallest.songs()) / 2;
+        if (excess < 1) {
+            return Optional.empty();
+        }
+        // Premier segment détenu par le shard (les lignes d'une plage déjà partie,
+        // en attente de nettoyage, sont ignorées)
+        JdbcTemplate source = pools.jdbc(largest.shard());
+        Long lo = source.queryForObject("SELECT MIN(id) FROM songs", Long.class);
+        while (lo != null && directory.shardOf(lo) != largest.shard()) {
+            lo = source.queryForObject("SELECT MIN(id) FROM songs WHERE id >= ?", Long.class, directory.segmentEnd(lo));
+        }
+        if (lo == null) {
+            return Optional.empty();
+        }
+        Long last = source.queryForObject("SELECT MAX(id) FROM (SELECT id FROM songs WHERE id >= ? AND id < ? "
+                + "ORDER BY id LIMIT ?)", Long.class, lo, directory.segmentEnd(lo), excess);
+        return Optional.of(move(lo, last + 1, smallest.shard()));
+    }
+
+    /**
+     * Copier artistes et albums du shard 0 vers un shard (idempotent)
+     * 
+     * @return Nombre de lignes copiées
+     */
+    int copyReferences(int shard) {
+        int batchSize = properties.getMoveBatchSize();
+        return ShardRowCopier.copy(home(), pools.jdbc(shard), "artists", "1 = 1", batchSize)
+                + ShardRowCopier.copy(home(), pools.jdbc(shard), "albums", "1 = 1", batchSize);
+    }
+
+    /**
+     * Dernier ID attribué dans la région d'un shard: le plus grand encore sur le shard,
+     * ou la fin d'une plage déjà déplacée ailleurs
+     */
+    private long highWaterMark(int region) {
+        long start = ShardDirectory.regionStart(region);
+        long end = ShardDirectory.regionStart(region + 1);
+        Long max = pools.jdbc(region).queryForObject("SELECT MAX(id) FROM songs WHERE id >= ? AND id < ?",
+                Long.class, start, end);
+        long mark = max != null ? max : start;
+        for (ShardRange range : directory.ranges()) {
+            if (range.lo() >= start && range.lo() < end) {
+                mark = Math.max(mark, range.hi() - 1);
+            }
+        }
+        return mark;
+    }
+
+    /**
+     * Supprimer du shard source les lignes qui ne lui sont plus attribuées (une plage
+     * rendue entre-temps à ce shard est conservée)
+     */
+    private void removeMoved(int from, long lo, long hi) {
+        try {
+            List<Long> ids = ShardRowCopier.ids(pools.jdbc(from), lo, hi);
+            ids.removeIf(id -> directory.shardOf(id) == from);
+            delete(pools.jdbc(from), ids);
+            log.info("Plage [{}, {}) retirée du shard {}: {} lignes", lo, hi, from, ids.size());
+        } catch (RuntimeException e) {
+            log.warn("Nettoyage de la plage [{}, {}) sur le shard {} impossible: {}", lo, hi, from, e.getMessage());
+        }
+    }
+
+    private void saveDirectory(List<ShardRange> ranges) {
+        homeTransaction.executeWithoutResult(status -> {
+            home().update("DELETE FROM " + RANGES_TABLE);
+            home().batchUpdate("INSERT INTO " + RANGES_TABLE + " (lo, hi, shard) VALUES (?, ?, ?)",
+                    ranges.stream().map(range -> new Object[]{range.lo(), range.hi(), range.shard()}).toList());
+        });
+        directory.load(ranges);
+    }
+
+    private static void delete(JdbcTemplate shard, List<Long> ids) {
+        if (!ids.isEmpty()) {
+            shard.batchUpdate("DELETE FROM songs WHERE id = ?", ids.stream().map(id -> new Object[]{id}).toList());
+        }
+    }
+
+    /**
+     * Exécuter sous le verrou d'écriture: attend la fin des transactions qui écrivent
+     * des chansons, bloque les suivantes
+     */
+    private <T> T withMoveLock(Supplier<T> work) {
+        Lock lock = directory.moveLock().writeLock();
+        try {
+            if (!lock.tryLock(properties.getLockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Écritures en cours depuis plus de "
+                        + properties.getLockTimeout().toMillis() + " ms: déplacement abandonné");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Déplacement interrompu", e);
+        }
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JdbcTemplate home() {
+        return pools.jdbc(ShardDirectory.HOME);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,30 @@
+package com.musicstream.api.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * 🔀 ShardRoutingDataSource - Choix du shard à chaque connexion
+ * 
+ * - Transaction déjà fixée sur un shard → ce shard
+ * - Sinon le shard posé sur le thread (ShardContext), à défaut le shard 0
+ *   (Hibernate au démarrage, migrations, requêtes hors repositories);
+ *   une transaction se fixe alors sur ce shard
+ * 
+ * ⚠️ Comme ReadWriteRoutingDataSource, doit être enveloppée dans un
+ * LazyConnectionDataSourceProxy: la connexion n'est prise qu'à la première
+ * instruction SQL, quand le shard est connu.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        ShardContext.Binding binding = ShardContext.binding();
+        if (binding != null) {
+            return binding.shard();
+        }
+        Integer shard = ShardContext.current();
+        int key = shard != null ? shard : ShardDirectory.HOME;
+        ShardContext.bind(key);
+        return key;
+    }
+}
@@ -0,0 +1,83 @@
+package com.musicstream.api.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * 📋 ShardRowCopier - Copie de lignes d'un shard à l'autre, colonnes comprises telles quelles
+ * 
+ * Les colonnes sont lues dans les métadonnées du résultat: la copie suit le schéma
+ * (généré par Hibernate) sans liste de colonnes à maintenir ici. L'écriture est un
+ * MERGE ... KEY (id) (syntaxe H2): recopier une ligne déjà présente la remplace,
+ * une copie interrompue peut être relancée.
+ */
+final class ShardRowCopier {
+
+    private ShardRowCopier() {
+    }
+
+    /**
+     * Copier les lignes d'une table qui vérifient une condition, par lots
+     * 
+     * @param from      Shard source
+     * @param to        Shard destination
+     * @param table     Table (songs, artists, albums)
+     * @param where     Condition SQL (paramètres ?)
+     * @param batchSize Lignes par batch JDBC
+     * @param args      Paramètres de la condition
+     * @return Nombre de lignes copiées
+     */
+    static int copy(JdbcTemplate from, JdbcTemplate to, String table, String where, int batchSize, Object... args) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        String[] merge = new String[1];
+        int[] copied = new int[1];
+        from.query("SELECT * FROM " + table + " WHERE " + where + " ORDER BY id", (RowCallbackHandler) rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            if (merge[0] == null) {
+                merge[0] = mergeStatement(table, metaData);
+            }
+            Object[] row = new Object[metaData.getColumnCount()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = rs.getObject(i + 1);
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                copied[0] += flush(to, merge[0], batch);
+            }
+        }, args);
+        if (!batch.isEmpty()) {
+            copied[0] += flush(to, merge[0], batch);
+        }
+        return copied[0];
+    }
+
+    /**
+     * IDs d'une plage présents sur un shard
+     */
+    static List<Long> ids(JdbcTemplate shard, long lo, long hi) {
+        return shard.queryForList("SELECT id FROM songs WHERE id >= ? AND id < ? ORDER BY id", Long.class, lo, hi);
+    }
+
+    private static int flush(JdbcTemplate to, String merge, List<Object[]> batch) {
+        int size = batch.size();
+        to.batchUpdate(merge, batch);
+        batch.clear();
+        return size;
+    }
+
+    private static String mergeStatement(String table, ResultSetMetaData metaData) throws SQLException {
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(", ");
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i));
+            values.add("?");
+        }
+        return "MERGE INTO " + table + " (" + columns + ") KEY (id) VALUES (" + values + ")";
+    }
+}
@@ -0,0 +1,81 @@
+package com.musicstream.api.sharding;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 🏗️ ShardSchemaInitializer - Shards prêts avant la première requête
+ * 
+ * Au démarrage, après Hibernate (qui ne crée le schéma que sur le shard 0):
+ * 1. shard_ranges créée et chargée dans l'annuaire
+ * 2. chaque autre shard sans table songs reçoit le schéma du shard 0
+ *    (SCRIPT NODATA, propre à H2: en production, les migrations passent sur chaque shard)
+ *    et son identité songs.id démarre au début de sa région
+ * 3. artistes et albums recopiés depuis le shard 0 (rattrape une copie après
+ *    commit qui aurait échoué)
+ */
+@Slf4j
+public class ShardSchemaInitializer {
+
+    private final ShardPools pools;
+    private final ShardDirectory directory;
+    private final ShardRebalancer rebalancer;
+
+    public ShardSchemaInitializer(ShardPools pools, ShardDirectory directory, ShardRebalancer rebalancer) {
+        this.pools = pools;
+        this.directory = directory;
+        this.rebalancer = rebalancer;
+    }
+
+    @PostConstruct
+    void initialize() throws SQLException {
+        JdbcTemplate home = pools.jdbc(ShardDirectory.HOME);
+        // Avant la création de shard_ranges, qui n'existe que sur le shard 0
+        List<String> schema = home.queryForList("SCRIPT NODATA NOPASSWORDS NOSETTINGS", String.class).stream()
+                .filter(statement -> !statement.startsWith("--"))
+                .toList();
+        rebalancer.start();
+
+        for (int shard = 1; shard < pools.size(); shard++) {
+            JdbcTemplate jdbc = pools.jdbc(shard);
+            if (!hasSongsTable(shard)) {
+                schema.forEach(jdbc::execute);
+                jdbc.execute("ALTER TABLE songs ALTER COLUMN id RESTART WITH " + firstFreeId(shard));
+                log.info("Shard {}: schéma copié depuis le shard 0", shard);
+            }
+            int copied = rebalancer.copyReferences(shard);
+            log.info("Shard {} prêt ({}): {} artistes et albums copiés", shard, pools.url(shard), copied);
+        }
+    }
+
+    /**
+     * Premier ID de la région du shard, au-delà des plages de la région déjà déplacées
+     * (shard recréé vide alors que shard_ranges est conservée)
+     */
+    private long firstFreeId(int shard) {
+        long first = ShardDirectory.firstId(shard);
+        for (ShardRange range : directory.ranges()) {
+            if (ShardDirectory.nativeShard(range.lo()) == shard) {
+                first = Math.max(first, range.hi());
+            }
+        }
+        return first;
+    }
+
+    private boolean hasSongsTable(int shard) throws SQLException {
+        try (Connection connection = pools.pool(shard).getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String table = metaData.storesUpperCaseIdentifiers() ? "SONGS" : "songs";
+            try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, table, null)) {
+                return tables.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.musicstream.api.sharding;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.timing.ServerTiming;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.Repository;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
+
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+
+/**
+ * 🧩 ShardedRepositories - Repositories Spring Data conscients des shards
+ * 
+ * Chaque repository est enveloppé dans un proxy selon son entité:
+ * 
+ * - SONGS (SongRepository)
+ *     appel par ID (findById, deleteById, UPDATE ciblés...) → shard de l'ID
+ *     appel par liste d'IDs (findByIdIn, findFeatures...)   → un appel par shard concerné
+ *     save d'une nouvelle chanson                           → shard suivant du tourniquet
+ *     tout le reste (findAll, recherches, count...)         → tous les shards en parallèle,
+ *                                                             résultats fusionnés et retriés
+ * - REFERENCE (artistes, albums, copiés sur tous les shards)
+ *     lectures → shard de la transaction courante (copie locale), shard 0 à défaut
+ *     save     → shard 0, puis copie sur les autres shards après le commit
+ * - HOME (playlists) → shard 0
+ * 
+ * Une transaction ne couvre qu'un shard (pas de commit à deux phases): un appel pour un
+ * autre shard que celui de la transaction courante s'exécute dans sa propre transaction
+ * (REQUIRES_NEW). Les appels envoyés à tous les shards s'exécutent hors transaction, sur
+ * les threads shard-fan-out: ils ne voient pas les écritures non validées de l'appelant.
+ */
+@Slf4j
+public class ShardedRepositories implements AutoCloseable {
+
+    public enum Kind {
+        SONGS,
+        REFERENCE,
+        HOME
+    }
+
+    private static final Set<String> BY_ID = Set.of("findById", "existsById", "deleteById", "getReferenceById",
+            "getById", "getOne", "findSearchDocument", "findCatalogState", "applyAudioMetadata", "fillMissingAlbum", "updateAudioFile", "patch");
+
+    private static final Set<String> BY_IDS = Set.of("findByIdIn", "findExistingIds", "findFeatures", "findAllById",
+            "deleteAllById", "deleteAllByIdInBatch", "patchAll", "findAllCachedFirst");
+
+    private static final Set<String> BY_ENTITY = Set.of("save", "saveAndFlush", "delete");
+
+    private static final Comparator<Object> BY_ID_ORDER = Comparator.comparingLong(ShardedRepositories::idOf);
+
+    /**
+     * ORDER BY des requêtes, refait après la fusion (les autres listes sont triées par ID)
+     */
+    private static final Map<String, Comparator<Object>> ORDER = Map.of(
+            "findByArtistId", songs(Comparator.comparing(Song::getAlbum, nullsFirst(naturalOrder()))
+                    .thenComparing(Song::getTitle, nullsFirst(naturalOrder()))),
+            "findByAlbumId", songs(Comparator.comparing(Song::getTitle, nullsFirst(naturalOrder()))));
+
+    private final ShardDirectory directory;
+    private final ShardPools pools;
+    private final ExecutorService fanOut;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private volatile TransactionTemplate requiresNew;
+    private volatile EntityManager entityManager;
+
+    /**
+     * @param fanOutThreads        Threads des appels envoyés à tous les shards
+     * @param transactionManager   Résolu au premier appel (les repositories sont créés avant)
+     * @param entityManagerFactory Idem
+     */
+    public ShardedRepositories(ShardDirectory directory, ShardPools pools, int fanOutThreads,
+                               ObjectProvider<PlatformTransactionManager> transactionManager,
+                               ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.directory = directory;
+        this.pools = pools;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.fanOut = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.transactionManager = transactionManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * @param repository Le repository Spring Data
+     * @param kind       Répartition de son entité
+     * @return Un proxy qui implémente les mêmes interfaces
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T wrap(T repository, Kind kind) {
+        Class<?>[] interfaces = Arrays.stream(ClassUtils.getAllInterfaces(repository))
+                .filter(Repository.class::isAssignableFrom)
+                .toArray(Class<?>[]::new);
+        return (T) Proxy.newProxyInstance(repository.getClass().getClassLoader(), interfaces,
+                (proxy, method, args) -> invoke(repository, kind, method, args == null ? new Object[0] : args));
+    }
+
+    private Object invoke(Object target, Kind kind, Method method, Object[] args) {
+        if (!Repository.class.isAssignableFrom(method.getDeclaringClass())) {
+            return call(target, method, args);
+        }
+        return switch (kind) {
+            case HOME -> onShard(ShardDirectory.HOME, false, () -> call(target, method, args));
+            case REFERENCE -> reference(target, method, args);
+            case SONGS -> songs(target, method, args);
+        };
+    }
+
+    private Object reference(Object target, Method method, Object[] args) {
+        if (!isWrite(method)) {
+            ShardContext.Binding binding = ShardContext.binding();
+            int shard = binding != null ? binding.shard() : ShardDirectory.HOME;
+            return onShard(shard, false, () -> call(target, method, args));
+        }
+        Object result = onShard(ShardDirectory.HOME, false, () -> call(target, method, args));
+        if (method.getName().startsWith("save")) {
+            replicateAfterCommit(result instanceof Iterable<?> entities ? entities : List.of(result));
+        }
+        return result;
+    }
+
+    private Object songs(Object target, Method method, Object[] args) {
+        String name = method.getName();
+        boolean write = isWrite(method);
+        if (BY_ID.contains(name) && args.length > 0 && args[0] instanceof Number id) {
+            return onShard(directory.shardOf(id.longValue()), write, () -> call(target, method, args));
+        }
+        if (BY_IDS.contains(name) && args.length > 0 && args[0] instanceof Iterable<?> ids) {
+            return byIds(target, method, args, ids, write);
+        }
+        if (BY_ENTITY.contains(name) && args.length > 0 && args[0] instanceof Song song) {
+            return bySong(target, method, args, song);
+        }
+        if (args.length > 0 && args[0] instanceof Iterable<?> songs && write) {
+            // saveAll(songs), deleteAll(songs)...: une chanson à la fois, chacune sur son shard
+            List<Object> results = new ArrayList<>();
+            for (Object song : songs) {
+                Object[] single = args.clone();
+                single[0] = List.of(song);
+                Object result = bySong(target, method, single, (Song) song);
+                if (result instanceof Collection<?> saved) {
+                    results.addAll(saved);
+                }
+            }
+            return method.getReturnType() == void.class ? null : results;
+        }
+        Map<Integer, Object[]> everywhere = new TreeMap<>();
+        for (int shard = 0; shard < directory.shardCount(); shard++) {
+            everywhere.put(shard, args);
+        }
+        return fanOut(target, method, args, everywhere, write);
+    }
+
+    private Object byIds(Object target, Method method, Object[] args, Iterable<?> ids, boolean write) {
+        Map<Integer, List<Object>> groups = new TreeMap<>();
+        for (Object id : ids) {
+            groups.computeIfAbsent(directory.shardOf(((Number) id).longValue()), shard -> new ArrayList<>()).add(id);
+        }
+        if (groups.size() <= 1) {
+            int shard = groups.isEmpty() ? ShardDirectory.HOME : groups.keySet().iterator().next();
+            return onShard(shard, write, () -> call(target, method, args));
+        }
+        Map<Integer, Object[]> calls = new TreeMap<>();
+        groups.forEach((shard, group) -> {
+            Object[] shardArgs = args.clone();
+            shardArgs[0] = group;
+            calls.put(shard, shardArgs);
+        });
+        if (!write) {
+            return fanOut(target, method, args, calls, false);
+        }
+        List<Object> results = new ArrayList<>();
+        calls.forEach((shard, shardArgs) -> results.add(onShard(shard, true, () -> call(target, method, shardArgs))));
+        return merge(method, args, results);
+    }
+
+    private Object bySong(Object target, Method method, Object[] args, Song song) {
+        if (song.getId() != null || !method.getName().startsWith("save")) {
+            int shard = song.getId() != null ? directory.shardOf(song.getId()) : ShardDirectory.HOME;
+            return onShard(shard, true, () -> call(target, method, args));
+        }
+        int shard = directory.nextInsertShard();
+        ShardContext.Binding binding = ShardContext.binding();
+        if (binding == null || binding.shard() == shard || !(args[0] instanceof Song)) {
+            return onShard(shard, true, () -> call(target, method, args));
+        }
+        // Transaction déjà fixée sur un autre shard: insertion dans sa propre transaction.
+        // merge et non persist: artiste et album appartiennent à la transaction de l'appelant;
+        // ceux de la copie renvoyée sont chargés avant la fermeture de la session
+        return inNewTransaction(() -> onShard(shard, true, () -> {
+            Song saved = entityManager().merge(song);
+            entityManager().flush();
+            Hibernate.initialize(saved.getArtistRef());
+            Hibernate.initialize(saved.getAlbumRef());
+            return saved;
+        }));
+    }
+
+    /**
+     * Exécuter un appel sur un shard: dans la transaction courante si elle est sur ce
+     * shard (ou pas encore fixée), sinon dans une transaction séparée
+     * 
+     * @param write Écriture de chansons: verrou de lecture des déplacements, tenu
+     *              jusqu'à la fin de la transaction
+     */
+    private Object onShard(int shard, boolean write, Supplier<Object> call) {
+        ShardContext.Binding binding = ShardContext.binding();
+        if (binding == null) {
+            binding = ShardContext.bind(shard);
+        }
+        if (binding != null && binding.shard() != shard) {
+            return inNewTransaction(() -> onShard(shard, write, call));
+        }
+        Lock lock = write ? directory.moveLock().readLock() : null;
+        if (lock != null) {
+            lock.lock();
+        }
+        Integer previous = ShardContext.set(shard);
+        try {
+            return call.get();
+        } finally {
+            ShardContext.restore(previous);
+            if (lock != null && (binding == null || !binding.holdUntilCompletion(lock))) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Un appel par shard, en parallèle, puis fusion
+     */
+    private Object fanOut(Object target, Method method, Object[] args, Map<Integer, Object[]> calls, boolean write) {
+        try (ServerTiming.Span span = ServerTiming.span("shards")) {
+            Map<Integer, Future<Object>> futures = new TreeMap<>();
+            calls.forEach((shard, shardArgs) -> futures.put(shard, fanOut.submit(() ->
+                    onShard(shard, write, () -> call(target, method, shardArgs)))));
+            List<Object> results = new ArrayList<>();
+            for (Map.Entry<Integer, Future<Object>> future : futures.entrySet()) {
+                results.add(owned(future.getKey(), future.getValue().get()));
+            }
+            return merge(method, args, results);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Requête multi-shards interrompue", e);
+        }
+    }
+
+    /**
+     * Retirer d'une liste les chansons qui ne sont plus routées vers ce shard: copies
+     * restées sur la source d'un déplacement, jusqu'à leur suppression
+     */
+    private Object owned(int shard, Object result) {
+        if (!(result instanceof Iterable<?> rows)) {
+            return result;
+        }
+        List<Object> owned = new ArrayList<>();
+        for (Object row : rows) {
+            if (!(row instanceof Song song) || song.getId() == null || directory.shardOf(song.getId()) == shard) {
+                owned.add(row);
+            }
+        }
+        return owned;
+    }
+
+    private static Object merge(Method method, Object[] args, List<Object> results) {
+        Class<?> type = method.getReturnType();
+        if (type == void.class) {
+            return null;
+        }
+        if (Collection.class.isAssignableFrom(type) || type == Iterable.class) {
+            for (Object arg : args) {
+                if (arg instanceof Sort sort && sort.isSorted()
+                        || arg instanceof Pageable pageable && (pageable.getSort().isSorted() || pageable.getOffset() > 0)) {
+                    throw new UnsupportedOperationException(method.getName()
+                            + ": tri ou page > 0 non fusionnables entre shards (utiliser une pagination par clé)");
+                }
+            }
+            List<Object> merged = new ArrayList<>();
+            results.forEach(result -> ((Iterable<?>) result).forEach(merged::add));
+            merged.sort(ORDER.getOrDefault(method.getName(), BY_ID_ORDER));
+            for (Object arg : args) {
+                if (arg instanceof Pageable pageable && pageable.isPaged() && merged.size() > pageable.getPageSize()) {
+                    return new ArrayList<>(merged.subList(0, pageable.getPageSize()));
+                }
+            }
+            return merged;
+        }
+        if (type == Optional.class) {
+            return results.stream()
+                    .map(Optional.class::cast)
+                    .filter(Optional::isPresent)
+                    .findFirst()
+                    .orElse(Optional.empty());
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return results.stream().anyMatch(Boolean.TRUE::equals);
+        }
+        if (type == long.class || type == Long.class) {
+            return results.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        }
+        if (type == int.class || type == Integer.class) {
+            return results.stream().mapToInt(result -> ((Number) result).intValue()).sum();
+        }
+        throw new UnsupportedOperationException(method.getName() + ": résultat " + type.getSimpleName()
+                + " non fusionnable entre shards");
+    }
+
+    /**
+     * Copier les artistes/albums créés sur les autres shards, après le commit du shard 0
+     */
+    private void replicateAfterCommit(Iterable<?> entities) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Object entity : entities) {
+            Table table = Hibernate.getClass(entity).getAnnotation(Table.class);
+            rows.add(new Object[]{table.name(), entityManagerFactory.getObject().getPersistenceUnitUtil().getIdentifier(entity)});
+        }
+        Runnable replicate = () -> {
+            for (Object[] row : rows) {
+                for (int shard = 1; shard < pools.size(); shard++) {
+                    try {
+                        ShardRowCopier.copy(pools.jdbc(ShardDirectory.HOME), pools.jdbc(shard), (String) row[0], "id = ?", 1, row[1]);
+                    } catch (RuntimeException e) {
+                        // Recopié au prochain démarrage (ShardSchemaInitializer); d'ici là, les
+                        // chansons de cet artiste ne peuvent pas être insérées sur ce shard
+                        log.warn("Copie de {} {} vers le shard {} impossible: {}", row[0], row[1], shard, e.getMessage());
+                    }
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replicate.run();
+                }
+            });
+        } else {
+            replicate.run();
+        }
+    }
+
+    private Object inNewTransaction(Supplier<Object> call) {
+        TransactionTemplate template = requiresNew;
+        if (template == null) {
+            template = new TransactionTemplate(transactionManager.getObject());
+            template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            requiresNew = template;
+        }
+        return template.execute(status -> call.get());
+    }
+
+    private EntityManager entityManager() {
+        EntityManager shared = entityManager;
+        if (shared == null) {
+            shared = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory.getObject());
+            entityManager = shared;
+        }
+        return shared;
+    }
+
+    @Override
+    public void close() {
+        fanOut.shutdownNow();
+    }
+
+    private static boolean isWrite(Method method) {
+        String name = method.getName();
+        return name.startsWith("save") || name.startsWith("delete") || name.startsWith("patch")
+                || method.isAnnotationPresent(Modifying.class);
+    }
+
+    private static Object call(Object target, Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new UndeclaredThrowableException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long idOf(Object row) {
+        if (row instanceof Song song && song.getId() != null) {
+            return song.getId();
+        }
+        if (row instanceof Object[] columns && columns.length > 0 && columns[0] instanceof Number id) {
+            return id.longValue();
+        }
+        return row instanceof Number id ? id.longValue() : 0;
+    }
+
+    private static Comparator<Object> songs(Comparator<Song> comparator) {
+        return (a, b) -> comparator.compare((Song) a, (Song) b);
+    }
+}
@@ -0,0 +1,122 @@
+package com.musicstream.api.sharding;
+
+import com.musicstream.api.repository.AlbumRepository;
+import com.musicstream.api.repository.ArtistRepository;
+import com.musicstream.api.repository.SongRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 🧱 ShardingConfig - Chansons réparties sur plusieurs bases
+ * 
+ * Activée par musicstream.sharding.enabled=true (incompatible avec
+ * musicstream.datasource.routing-enabled). Remplace la datasource Spring Boot par:
+ * 
+ * LazyConnectionDataSourceProxy
+ *   └── ShardRoutingDataSource
+ *         ├── 0 (HikariCP) ← schéma Hibernate, artistes, albums, playlists, shard_ranges
+ *         ├── 1 (HikariCP)
+ *         └── N ...
+ * 
+ * et enveloppe les repositories (ShardedRepositories). Le cache de requêtes Hibernate
+ * est coupé: une même requête renverrait la réponse en cache d'un autre shard.
+ * 
+ * Limites: les requêtes JPQL hors SongRepository qui joignent songs ne voient que
+ * les chansons du shard 0 (pages de playlist, compteurs de ArtistRepository.findSummaries).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "musicstream.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    ShardPools shardPools(ShardingProperties properties) {
+        return new ShardPools(properties.getShards());
+    }
+
+    @Bean
+    ShardDirectory shardDirectory(ShardingProperties properties) {
+        return new ShardDirectory(properties.getShards().size(), properties.getInsertShards());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ShardPools shardPools) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardPools.size(); shard++) {
+            targets.put(shard, shardPools.pool(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shardPools.pool(ShardDirectory.HOME));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean(destroyMethod = "close")
+    ShardedRepositories shardedRepositories(ShardDirectory shardDirectory, ShardPools shardPools,
+                                            ShardingProperties properties,
+                                            ObjectProvider<PlatformTransactionManager> transactionManager,
+                                            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return new ShardedRepositories(shardDirectory, shardPools, properties.getFanOutThreads(),
+                transactionManager, entityManagerFactory);
+    }
+
+    @Bean
+    static BeanPostProcessor shardedRepositoriesPostProcessor(ObjectProvider<ShardedRepositories> shardedRepositories) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof Repository<?, ?>)) {
+                    return bean;
+                }
+                ShardedRepositories.Kind kind = bean instanceof SongRepository
+                        ? ShardedRepositories.Kind.SONGS
+                        : bean instanceof ArtistRepository || bean instanceof AlbumRepository
+                        ? ShardedRepositories.Kind.REFERENCE
+                        : ShardedRepositories.Kind.HOME;
+                return shardedRepositories.getObject().wrap(bean, kind);
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "close")
+    ShardRebalancer shardRebalancer(ShardPools shardPools, ShardDirectory shardDirectory,
+                                    ShardingProperties properties) {
+        return new ShardRebalancer(shardPools, shardDirectory, properties);
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    ShardSchemaInitializer shardSchemaInitializer(ShardPools shardPools, ShardDirectory shardDirectory,
+                                                  ShardRebalancer shardRebalancer) {
+        return new ShardSchemaInitializer(shardPools, shardDirectory, shardRebalancer);
+    }
+
+    /**
+     * Après secondLevelCacheCustomizer, qui active le cache de requêtes
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    HibernatePropertiesCustomizer shardingHibernateCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+    }
+}
@@ -0,0 +1,81 @@
+package com.musicstream.api.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ⚙️ ShardingProperties - Chansons réparties sur plusieurs bases
+ * 
+ * Exemple (application.properties):
+ * 
+ * musicstream.sharding.enabled=true
+ * musicstream.sharding.shards[0].url=jdbc:h2:mem:shard0
+ * musicstream.sharding.shards[1].url=jdbc:h2:mem:shard1
+ * musicstream.sharding.shards[2].url=jdbc:h2:mem:shard2
+ * 
+ * Le shard 0 est la base "maison": schéma créé par Hibernate, artistes, albums,
+ * playlists et annuaire des plages déplacées. Les autres shards reçoivent une copie
+ * du schéma au démarrage.
+ */
+@ConfigurationProperties(prefix = "musicstream.sharding")
+@Data
+public class ShardingProperties {
+
+    /**
+     * Activer le sharding (sinon: datasource Spring Boot classique)
+     */
+    private boolean enabled = false;
+
+    /**
+     * Bases, dans l'ordre des numéros de shard (l'ordre ne doit plus changer une fois
+     * des chansons créées: le numéro est inscrit dans leurs IDs)
+     */
+    private List<Node> shards = new ArrayList<>();
+
+    /**
+     * Shards qui reçoivent les nouvelles chansons (vide = tous). Retirer un shard plein
+     * de cette liste, puis déplacer une partie de ses chansons vers les autres.
+     */
+    private List<Integer> insertShards = new ArrayList<>();
+
+    /**
+     * Threads des requêtes envoyées à tous les shards (listes, recherches)
+     */
+    private int fanOutThreads = 8;
+
+    /**
+     * Relecture de l'annuaire (plages déplacées par une autre instance)
+     */
+    private Duration directoryRefresh = Duration.ofSeconds(10);
+
+    /**
+     * Après un déplacement, délai avant de supprimer les lignes de l'ancien shard
+     * (plus long que directoryRefresh: les autres instances lisent encore l'ancien shard)
+     */
+    private Duration cleanupDelay = Duration.ofSeconds(30);
+
+    /**
+     * Lignes copiées par lot pendant un déplacement
+     */
+    private int moveBatchSize = 500;
+
+    /**
+     * Attente maximale des écritures en cours avant la bascule d'une plage
+     */
+    private Duration lockTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Connexion JDBC d'un shard
+     */
+    @Data
+    public static class Node {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maximumPoolSize = 10;
+    }
+}
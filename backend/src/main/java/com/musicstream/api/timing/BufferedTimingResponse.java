@@ -0,0 +1,179 @@
+package com.musicstream.api.timing;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.util.FastByteArrayOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * 📦 BufferedTimingResponse - Réponse mise en mémoire à partir de l'écriture du corps JSON
+ * 
+ * L'en-tête Server-Timing n'est connu qu'après la sérialisation: le corps doit
+ * donc être retenu jusqu'à la fin de la requête. La mise en mémoire ne démarre
+ * qu'à l'appel de startBuffering (corps écrit par Jackson); les autres réponses
+ * (audio, HLS, pochettes) passent directement au client, sans en-tête si elles
+ * sont déjà envoyées.
+ * 
+ * Écriture non bloquante (setWriteListener) ou requête passée en async: le corps
+ * retenu est envoyé et la mise en mémoire s'arrête, la suite va directement au flux
+ * du conteneur (réponse sans Server-Timing).
+ */
+class BufferedTimingResponse extends HttpServletResponseWrapper {
+
+    private FastByteArrayOutputStream buffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BufferedTimingResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Retenir en mémoire tout ce qui sera écrit à partir de maintenant
+     */
+    void startBuffering() {
+        if (buffer == null && !isCommitted()) {
+            buffer = new FastByteArrayOutputStream();
+        }
+    }
+
+    /**
+     * Envoyer le corps retenu (après avoir posé les en-têtes)
+     */
+    void flushBufferedBody() throws IOException {
+        release(true);
+    }
+
+    /**
+     * Envoyer ce qui a été retenu et écrire directement la suite (le corps n'est pas complet)
+     */
+    void stopBuffering() throws IOException {
+        release(false);
+    }
+
+    private void release(boolean complete) throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (complete && !response.isCommitted()) {
+            response.setContentLengthLong(buffer.size());
+        }
+        FastByteArrayOutputStream retained = buffer;
+        buffer = null;
+        retained.writeTo(response.getOutputStream());
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (buffer == null) {
+            return super.getOutputStream();
+        }
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    if (buffer != null) {
+                        buffer.write(b);
+                    } else {
+                        getResponse().getOutputStream().write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    if (buffer != null) {
+                        buffer.write(bytes, offset, length);
+                    } else {
+                        getResponse().getOutputStream().write(bytes, offset, length);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    if (buffer == null) {
+                        getResponse().getOutputStream().flush();
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    try {
+                        return buffer != null || getResponse().getOutputStream().isReady();
+                    } catch (IOException e) {
+                        return false;
+                    }
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                    try {
+                        stopBuffering();
+                        getResponse().getOutputStream().setWriteListener(listener);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (buffer == null) {
+            return super.getWriter();
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        // Un flush validerait la réponse avant l'en-tête Server-Timing
+        if (buffer == null) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        if (buffer == null) {
+            super.setContentLength(length);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (buffer == null) {
+            super.setContentLengthLong(length);
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (buffer != null) {
+            buffer.reset();
+        }
+        super.reset();
+    }
+}
@@ -0,0 +1,150 @@
+package com.musicstream.api.timing;
+
+import com.musicstream.api.datasource.QueryCounter;
+import com.musicstream.api.datasource.QueryStats;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ⏱️ ServerTiming - Traceur de phases d'une requête HTTP (en-tête Server-Timing)
+ * 
+ * Ouvert par ServerTimingFilter uniquement quand le client le demande. Le code
+ * applicatif délimite ses phases sans savoir si une trace est en cours:
+ * 
+ * try (ServerTiming.Span span = ServerTiming.span("map")) { ... }
+ * 
+ * Hors trace, span() ne coûte qu'une lecture de ThreadLocal et renvoie un Span
+ * partagé qui ne fait rien (ni System.nanoTime ni allocation).
+ * 
+ * Phases publiées:
+ * - db        → temps JDBC (execute*) mesuré par QueryCountingDataSource;
+ *               0 si musicstream.query-budget.enabled=false
+ * - orm       → handler moins db et spans: Hibernate (hydratation, flush), service
+ * - map, ...  → spans déclarés par le code, hors requêtes SQL faites pendant le span
+ * - serialize → écriture Jackson du corps (hors chargements paresseux)
+ * - total     → toute la requête, filtres compris
+ * 
+ * Les spans de même nom s'additionnent; deux spans imbriqués comptent deux fois
+ * le temps commun. Une trace ne suit que le thread de la requête.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+    private static final Span NOOP = () -> {
+    };
+
+    /**
+     * Phase en cours, à fermer dans un try-with-resources
+     */
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final QueryStats queries;
+    private final Map<String, Long> spans = new LinkedHashMap<>(4);
+    private long handlerStart;
+    private long writeStart;
+    private long dbAtWriteStart;
+    private long handlerEnd;
+    private Runnable onWrite;
+
+    private ServerTiming(QueryStats queries) {
+        this.queries = queries;
+    }
+
+    /**
+     * Ouvrir une phase nommée de la requête courante
+     * 
+     * @param name Nom publié dans l'en-tête (token HTTP: lettres, chiffres, -)
+     * @return Le span à fermer
+     */
+    public static Span span(String name) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        long dbStart = timing.dbNanos();
+        return () -> timing.spans.merge(name,
+                System.nanoTime() - start - (timing.dbNanos() - dbStart), Long::sum);
+    }
+
+    /**
+     * Démarrer une trace sur le thread courant (à fermer avec end dans un finally)
+     * 
+     * @param onWrite Appelé juste avant l'écriture du corps
+     */
+    static ServerTiming begin(Runnable onWrite) {
+        ServerTiming timing = new ServerTiming(QueryCounter.start());
+        timing.onWrite = onWrite;
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * @return La trace du thread courant, ou null
+     */
+    static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    void end() {
+        CURRENT.remove();
+        QueryCounter.stop(queries);
+    }
+
+    void handlerStarted() {
+        handlerStart = System.nanoTime();
+    }
+
+    void writeStarted() {
+        if (writeStart == 0) {
+            writeStart = System.nanoTime();
+            dbAtWriteStart = dbNanos();
+            onWrite.run();
+        }
+    }
+
+    void handlerCompleted() {
+        handlerEnd = System.nanoTime();
+    }
+
+    /**
+     * @return Valeur de l'en-tête Server-Timing (durées en millisecondes)
+     */
+    String header() {
+        long now = System.nanoTime();
+        long db = dbNanos();
+        StringBuilder header = new StringBuilder(160);
+        append(header, "db", db).append(";desc=\"").append(queries.getStatements()).append(" statements\"");
+
+        if (handlerStart != 0) {
+            long end = handlerEnd != 0 ? handlerEnd : now;
+            long handler = (writeStart != 0 ? writeStart : end) - handlerStart;
+            long dbBeforeWrite = writeStart != 0 ? dbAtWriteStart : db;
+            long spanTotal = spans.values().stream().mapToLong(Long::longValue).sum();
+            append(header.append(", "), "orm", Math.max(0, handler - dbBeforeWrite - spanTotal));
+            spans.forEach((name, nanos) -> append(header.append(", "), name, nanos));
+            if (writeStart != 0) {
+                append(header.append(", "), "serialize", end - writeStart - (db - dbAtWriteStart));
+            }
+        }
+        return append(header.append(", "), "total", now - startNanos).toString();
+    }
+
+    private long dbNanos() {
+        return queries.getDbTime().toNanos();
+    }
+
+    private static StringBuilder append(StringBuilder header, String name, long nanos) {
+        return header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.2f", Math.max(0, nanos) / 1e6));
+    }
+}
@@ -0,0 +1,66 @@
+package com.musicstream.api.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * ⏱️ ServerTimingAdvice - Bornes du handler et de la sérialisation Jackson
+ * 
+ * - preHandle        → début du handler (contrôleur, service, Hibernate)
+ * - beforeBodyWrite  → fin du handler, début de la sérialisation (corps JSON
+ *                      uniquement: démarre la mise en mémoire du corps)
+ * - afterCompletion  → fin de la sérialisation
+ * 
+ * Sans trace en cours (cas normal), chaque appel se limite à une lecture de ThreadLocal.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "musicstream.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.writeStarted();
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.handlerCompleted();
+        }
+    }
+}
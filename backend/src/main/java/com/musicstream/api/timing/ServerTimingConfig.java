@@ -0,0 +1,38 @@
+package com.musicstream.api.timing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * ⏱️ ServerTimingConfig - En-tête Server-Timing (db, orm, map, serialize, total)
+ * 
+ * Activée par musicstream.server-timing.enabled (true par défaut). Le client
+ * demande le détail avec l'en-tête X-Server-Timing (voir ServerTimingFilter).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "musicstream.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final ServerTimingAdvice serverTimingAdvice;
+
+    @Bean
+    FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(properties));
+        // Après AccessLogFilter, avant QueryBudgetFilter: total couvre le reste de la chaîne
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 4);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(serverTimingAdvice);
+    }
+}
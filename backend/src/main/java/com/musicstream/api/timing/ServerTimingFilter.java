@@ -0,0 +1,59 @@
+package com.musicstream.api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * ⏱️ ServerTimingFilter - En-tête Server-Timing à la demande du client
+ * 
+ * curl -i -H "X-Server-Timing: 1" http://localhost:8080/api/songs
+ * 
+ * Server-Timing: db;dur=3.10;desc="1 statements", orm;dur=5.42, map;dur=1.07, serialize;dur=4.88, total;dur=15.02
+ * 
+ * Sans l'en-tête de requête, le filtre ne fait qu'un getHeader: pas de trace,
+ * pas de mise en mémoire. Avec, la trace ServerTiming est ouverte sur le thread
+ * et le corps JSON est retenu en mémoire jusqu'au calcul de l'en-tête
+ * (BufferedTimingResponse). Les outils de développement des navigateurs
+ * affichent ces phases dans l'onglet Réseau.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingFilter(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String value = request.getHeader(properties.getRequestHeader());
+        return value == null || !properties.accepts(value);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        BufferedTimingResponse timedResponse = new BufferedTimingResponse(response);
+        ServerTiming timing = ServerTiming.begin(timedResponse::startBuffering);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            timing.end();
+        }
+        if (request.isAsyncStarted()) {
+            // Corps écrit plus tard par un autre thread: ne plus retenir, pas d'en-tête
+            timedResponse.stopBuffering();
+            return;
+        }
+        if (!response.isCommitted()) {
+            response.setHeader(ServerTiming.HEADER, timing.header());
+        }
+        timedResponse.flushBufferedBody();
+    }
+}
@@ -0,0 +1,49 @@
+package com.musicstream.api.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * ⚙️ ServerTimingProperties - Configuration de l'en-tête Server-Timing
+ * 
+ * Lue depuis application.properties (préfixe musicstream.server-timing):
+ * 
+ * musicstream.server-timing.enabled=true
+ * musicstream.server-timing.request-header=X-Server-Timing
+ * musicstream.server-timing.token=
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.server-timing")
+@Data
+public class ServerTimingProperties {
+
+    /**
+     * Activer le filtre (sinon aucun client ne peut demander l'en-tête)
+     */
+    private boolean enabled = true;
+
+    /**
+     * En-tête de requête par lequel le client demande le détail des phases
+     */
+    private String requestHeader = "X-Server-Timing";
+
+    /**
+     * Valeur attendue dans l'en-tête de requête; vide = toute valeur est acceptée
+     */
+    private String token = "";
+
+    /**
+     * @param value Valeur de l'en-tête de requête
+     * @return true si le client peut obtenir le détail des phases
+     */
+    public boolean accepts(String value) {
+        if (token == null || token.isEmpty()) {
+            return true;
+        }
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), value.getBytes(StandardCharsets.UTF_8));
+    }
+}
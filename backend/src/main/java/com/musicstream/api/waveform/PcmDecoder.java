@@ -0,0 +1,125 @@
+package com.musicstream.api.waveform;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.Decoder;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.JavaLayerException;
+import javazoom.jl.decoder.SampleBuffer;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 🔊 PcmDecoder - Décodage d'un fichier audio en échantillons 16 bits
+ * 
+ * - MP3        → JLayer (trame par trame)
+ * - WAV / AIFF → javax.sound (conversion en PCM 16 bits signé little-endian)
+ * 
+ * FLAC et Ogg ne sont pas décodés (pas de décodeur dans le JDK): UnsupportedAudioFileException.
+ */
+final class PcmDecoder {
+
+    private static final int CHUNK_FRAMES = 4096;
+
+    private PcmDecoder() {
+    }
+
+    /**
+     * Décoder tout le flux vers l'accumulateur
+     * 
+     * @param input       Fichier audio
+     * @param accumulator Destination des échantillons
+     * @return Le format détecté (mp3, wav, aiff)
+     * @throws UnsupportedAudioFileException Format non décodable, ou MP3 sans aucune frame décodable
+     * @throws IOException                   Erreur de lecture (peut réussir au prochain essai)
+     */
+    static String decode(InputStream input, PeakAccumulator accumulator) throws UnsupportedAudioFileException, IOException {
+        BufferedInputStream in = new BufferedInputStream(input, 64 * 1024);
+        in.mark(16);
+        byte[] magic = in.readNBytes(12);
+        in.reset();
+
+        if (startsWith(magic, "RIFF") || startsWith(magic, "FORM")) {
+            decodeSampled(in, accumulator);
+            return startsWith(magic, "RIFF") ? "wav" : "aiff";
+        }
+        if (startsWith(magic, "ID3") || (magic.length >= 2 && (magic[0] & 0xFF) == 0xFF && (magic[1] & 0xE0) == 0xE0)) {
+            decodeMp3(in, accumulator);
+            return "mp3";
+        }
+        throw new UnsupportedAudioFileException("Format non décodable pour les pics");
+    }
+
+    private static void decodeMp3(InputStream in, PeakAccumulator accumulator)
+            throws UnsupportedAudioFileException, IOException {
+        Bitstream bitstream = new Bitstream(in);
+        Decoder decoder = new Decoder();
+        int decoded = 0;
+        try {
+            Header header;
+            while ((header = bitstream.readFrame()) != null) {
+                try {
+                    SampleBuffer output = (SampleBuffer) decoder.decodeFrame(header, bitstream);
+                    accumulator.accept(output.getBuffer(), output.getBufferLength(), output.getChannelCount());
+                    decoded++;
+                } catch (ArrayIndexOutOfBoundsException e) {
+                    // JLayer ne valide pas les données d'une frame corrompue: on la saute
+                    decoder = new Decoder();
+                }
+                bitstream.closeFrame();
+            }
+            if (decoded == 0) {
+                throw new UnsupportedAudioFileException("Aucune frame MP3 décodable");
+            }
+        } catch (JavaLayerException e) {
+            throw new IOException("Flux MP3 invalide: " + e.getMessage(), e);
+        } finally {
+            try {
+                bitstream.close();
+            } catch (JavaLayerException ignored) {
+                // le flux d'entrée est fermé par l'appelant
+            }
+        }
+    }
+
+    private static void decodeSampled(InputStream in, PeakAccumulator accumulator)
+            throws UnsupportedAudioFileException, IOException {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(in)) {
+            AudioFormat format = source.getFormat();
+            int channels = format.getChannels();
+            AudioFormat pcm16 = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, format.getSampleRate(), 16,
+                    channels, channels * 2, format.getSampleRate(), false);
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcm16, source)) {
+                byte[] bytes = new byte[CHUNK_FRAMES * channels * 2];
+                short[] samples = new short[CHUNK_FRAMES * channels];
+                int read;
+                while ((read = pcm.readNBytes(bytes, 0, bytes.length)) > 0) {
+                    int count = read / 2;
+                    ByteBuffer.wrap(bytes, 0, count * 2).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples, 0, count);
+                    accumulator.accept(samples, count, channels);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedAudioFileException("Conversion PCM impossible: " + e.getMessage());
+        }
+    }
+
+    private static boolean startsWith(byte[] bytes, String prefix) {
+        if (bytes.length < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (bytes[i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
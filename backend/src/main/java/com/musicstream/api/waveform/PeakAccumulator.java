@@ -0,0 +1,138 @@
+package com.musicstream.api.waveform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 📉 PeakAccumulator - Réduit un flux d'échantillons PCM en pics min/max
+ * 
+ * La durée n'est pas connue à l'avance: les échantillons sont regroupés en blocs
+ * de taille fixe. Quand le nombre de blocs atteint MAX_BLOCKS, les blocs voisins
+ * sont fusionnés deux à deux et la taille de bloc double: la mémoire reste bornée
+ * (≈ 512 Ko) quelle que soit la longueur du fichier.
+ * 
+ * A la fin, les blocs sont répartis sur la résolution la plus fine, puis chaque
+ * niveau plus grossier est obtenu en fusionnant les paires du niveau au-dessus.
+ */
+final class PeakAccumulator {
+
+    private static final int MAX_BLOCKS = 1 << 16;
+
+    private int framesPerBlock;
+    private short[] mins = new short[1024];
+    private short[] maxs = new short[1024];
+    private int blocks;
+
+    private int framesInBlock;
+    private short currentMin = Short.MAX_VALUE;
+    private short currentMax = Short.MIN_VALUE;
+
+    /**
+     * @param framesPerBlock Échantillons (par canal) par bloc au départ
+     */
+    PeakAccumulator(int framesPerBlock) {
+        this.framesPerBlock = framesPerBlock;
+    }
+
+    /**
+     * Ajouter des échantillons 16 bits entrelacés
+     * 
+     * @param samples  Échantillons (tous canaux confondus)
+     * @param length   Nombre d'échantillons valides dans le tableau
+     * @param channels Nombre de canaux
+     */
+    void accept(short[] samples, int length, int channels) {
+        for (int i = 0; i < length; i++) {
+            short sample = samples[i];
+            if (sample < currentMin) {
+                currentMin = sample;
+            }
+            if (sample > currentMax) {
+                currentMax = sample;
+            }
+            if ((i + 1) % channels == 0 && ++framesInBlock == framesPerBlock) {
+                if (blocks == MAX_BLOCKS) {
+                    mergePairs();
+                } else {
+                    closeBlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculer les niveaux de résolution
+     * 
+     * @param minResolution Résolution la plus grossière (puissance de 2)
+     * @param maxResolution Résolution la plus fine (puissance de 2)
+     * @return Les pics, de minResolution à maxResolution
+     */
+    Waveform finish(int minResolution, int maxResolution) {
+        if (framesInBlock > 0) {
+            if (blocks == MAX_BLOCKS) {
+                mergePairs();
+            }
+            closeBlock();
+        }
+
+        byte[] finest = new byte[2 * maxResolution];
+        for (int i = 0; i < maxResolution && blocks > 0; i++) {
+            int from = (int) ((long) i * blocks / maxResolution);
+            int to = Math.max(from + 1, (int) ((long) (i + 1) * blocks / maxResolution));
+            short min = Short.MAX_VALUE;
+            short max = Short.MIN_VALUE;
+            for (int block = from; block < to; block++) {
+                min = (short) Math.min(min, mins[block]);
+                max = (short) Math.max(max, maxs[block]);
+            }
+            finest[2 * i] = (byte) (min >> 8);
+            finest[2 * i + 1] = (byte) (max >> 8);
+        }
+
+        List<Integer> resolutions = new ArrayList<>();
+        List<byte[]> levels = new ArrayList<>();
+        byte[] level = finest;
+        for (int resolution = maxResolution; resolution >= minResolution; resolution /= 2) {
+            resolutions.add(0, resolution);
+            levels.add(0, level);
+            level = halve(level);
+        }
+        return new Waveform(resolutions, levels);
+    }
+
+    private void closeBlock() {
+        if (blocks == mins.length) {
+            mins = Arrays.copyOf(mins, blocks * 2);
+            maxs = Arrays.copyOf(maxs, blocks * 2);
+        }
+        mins[blocks] = currentMin;
+        maxs[blocks] = currentMax;
+        blocks++;
+        framesInBlock = 0;
+        currentMin = Short.MAX_VALUE;
+        currentMax = Short.MIN_VALUE;
+    }
+
+    /**
+     * Fusionner les blocs deux à deux et doubler la taille de bloc
+     * (le bloc en cours continue jusqu'à la nouvelle taille)
+     */
+    private void mergePairs() {
+        for (int i = 0; i < blocks / 2; i++) {
+            mins[i] = (short) Math.min(mins[2 * i], mins[2 * i + 1]);
+            maxs[i] = (short) Math.max(maxs[2 * i], maxs[2 * i + 1]);
+        }
+        blocks /= 2;
+        framesPerBlock *= 2;
+    }
+
+    private static byte[] halve(byte[] level) {
+        byte[] half = new byte[level.length / 2];
+        for (int i = 0; i < half.length / 2; i++) {
+            half[2 * i] = (byte) Math.min(level[4 * i], level[4 * i + 2]);
+            half[2 * i + 1] = (byte) Math.max(level[4 * i + 1], level[4 * i + 3]);
+        }
+        return half;
+    }
+}
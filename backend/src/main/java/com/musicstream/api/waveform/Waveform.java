@@ -0,0 +1,125 @@
+package com.musicstream.api.waveform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 〰️ Waveform - Pics min/max d'un fichier audio à plusieurs résolutions
+ * 
+ * Chaque niveau contient {resolution} paires (min, max) sur un octet signé (-128..127),
+ * réparties uniformément sur toute la durée: la barre de lecture dessine un niveau
+ * sans connaître la durée ni la fréquence d'échantillonnage.
+ * 
+ * Format binaire (fichier media/songs/{id}/waveform.peaks, big-endian):
+ * <pre>
+ *   "MSWF" | version (1 octet) | nombre de niveaux (1 octet)
+ *   pour chaque niveau, du plus grossier au plus fin:
+ *     resolution (int) | min0 max0 min1 max1 ...
+ * </pre>
+ */
+public final class Waveform {
+
+    private static final int MAGIC = 0x4D535746; // "MSWF"
+    private static final byte VERSION = 1;
+
+    private final List<Integer> resolutions;
+    private final List<byte[]> levels;
+    private final String version;
+
+    /**
+     * @param resolutions Résolutions croissantes
+     * @param levels      Pour chaque résolution: 2 × resolution octets (min, max)
+     */
+    Waveform(List<Integer> resolutions, List<byte[]> levels) {
+        if (resolutions.size() != levels.size() || resolutions.isEmpty()) {
+            throw new IllegalArgumentException("Un tableau de pics par résolution");
+        }
+        for (int i = 0; i < resolutions.size(); i++) {
+            if (levels.get(i).length != 2 * resolutions.get(i)) {
+                throw new IllegalArgumentException("Niveau " + resolutions.get(i) + " incomplet");
+            }
+        }
+        this.resolutions = List.copyOf(resolutions);
+        this.levels = List.copyOf(levels);
+        CRC32 crc = new CRC32();
+        levels.forEach(crc::update);
+        this.version = Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Résolutions disponibles (croissantes)
+     */
+    public List<Integer> resolutions() {
+        return resolutions;
+    }
+
+    /**
+     * Pics d'une résolution
+     * 
+     * @param resolution Nombre de paires voulu
+     * @return 2 × resolution octets (min, max), ou null si la résolution n'existe pas
+     */
+    public byte[] level(int resolution) {
+        int index = Collections.binarySearch(resolutions, resolution);
+        return index >= 0 ? levels.get(index) : null;
+    }
+
+    /**
+     * Empreinte du contenu (sert d'ETag)
+     */
+    public String version() {
+        return version;
+    }
+
+    /**
+     * Taille en mémoire (pour le budget du cache)
+     */
+    public int sizeInBytes() {
+        return levels.stream().mapToInt(level -> level.length).sum();
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 4 * levels.size() + sizeInBytes());
+        buffer.putInt(MAGIC).put(VERSION).put((byte) levels.size());
+        for (int i = 0; i < levels.size(); i++) {
+            buffer.putInt(resolutions.get(i)).put(levels.get(i));
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Relire un fichier écrit par toBytes()
+     * 
+     * @param bytes Contenu du fichier
+     * @return Les pics
+     * @throws IOException Fichier tronqué ou d'une autre version
+     */
+    public static Waveform fromBytes(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                throw new IOException("Fichier de pics non reconnu");
+            }
+            int levelCount = buffer.get() & 0xFF;
+            List<Integer> resolutions = new ArrayList<>(levelCount);
+            List<byte[]> levels = new ArrayList<>(levelCount);
+            for (int i = 0; i < levelCount; i++) {
+                int resolution = buffer.getInt();
+                if (resolution <= 0 || 2L * resolution > buffer.remaining()) {
+                    throw new IOException("Fichier de pics tronqué");
+                }
+                byte[] level = new byte[2 * resolution];
+                buffer.get(level);
+                resolutions.add(resolution);
+                levels.add(level);
+            }
+            return new Waveform(resolutions, levels);
+        } catch (RuntimeException e) {
+            throw new IOException("Fichier de pics invalide", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.musicstream.api.waveform;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ⚙️ WaveformProperties - Pics de forme d'onde pour la barre de lecture
+ */
+@Component
+@ConfigurationProperties(prefix = "musicstream.waveform")
+@Data
+public class WaveformProperties {
+
+    /**
+     * Résolution la plus grossière (puissance de 2)
+     */
+    private int minResolution = 64;
+
+    /**
+     * Résolution la plus fine (puissance de 2)
+     */
+    private int maxResolution = 4096;
+
+    /**
+     * Nombre de threads de génération (0 = un par cœur: le décodage est CPU-bound)
+     */
+    private int workerThreads = 0;
+
+    /**
+     * Générations en attente au maximum
+     */
+    private int queueCapacity = 256;
+
+    /**
+     * Budget mémoire du cache des pics (octets)
+     */
+    private long memoryBudgetBytes = 8L * 1024 * 1024;
+
+    /**
+     * Générer au démarrage les pics de toutes les chansons qui n'en ont pas
+     */
+    private boolean backfillOnStartup = false;
+}
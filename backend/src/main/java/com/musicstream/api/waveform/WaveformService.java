@@ -0,0 +1,383 @@
+package com.musicstream.api.waveform;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.ByteBudgetLruCache;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 〰️ WaveformService - Pics de forme d'onde calculés en arrière-plan
+ * 
+ * Le navigateur n'a plus à décoder tout le fichier pour dessiner la barre de lecture:
+ * 1. Quand l'audio d'une chanson change, les anciens pics sont supprimés et un worker
+ *    décode le fichier (MP3, WAV, AIFF) en un seul passage
+ * 2. Les pics (7 résolutions de 64 à 4096 paires min/max, ≈ 16 Ko) sont écrits dans
+ *    media/songs/{id}/waveform.peaks et gardés dans un cache LRU borné en octets
+ * 3. Une demande de pics absents relance la génération (HTTP 202 en attendant)
+ * 
+ * Le décodage est CPU-bound: un thread par cœur, une chanson par thread.
+ * Le backfill (musicstream.waveform.backfill-on-startup) parcourt toutes les chansons
+ * sans pics en gardant la file pleine sans jamais la faire déborder.
+ * 
+ * Métriques:
+ * - musicstream.waveform.generation{format}      → durée de décodage + calcul
+ * - musicstream.waveform.queue                   → générations en attente
+ * - musicstream.waveform.failures{reason}        → échecs (unsupported, rejected, error)
+ */
+@Service
+@Slf4j
+public class WaveformService {
+
+    private static final String FILE_NAME = "waveform.peaks";
+    private static final int INITIAL_FRAMES_PER_BLOCK = 256;
+
+    /**
+     * Résultat d'une demande de pics
+     */
+    public enum Status {
+        READY,
+        PENDING,
+        BUSY,
+        NO_AUDIO,
+        UNSUPPORTED
+    }
+
+    public record Lookup(Status status, Waveform waveform) {
+    }
+
+    private final SongRepository songRepository;
+    private final MediaStorage mediaStorage;
+    private final WaveformProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor workers;
+    private final ByteBudgetLruCache<Long, Waveform> cache;
+
+    /**
+     * Version de l'audio de chaque chanson: incrémentée à chaque changement,
+     * une génération lancée sur l'ancien fichier n'écrit pas son résultat
+     */
+    private final ConcurrentMap<Long, Long> epochs = new ConcurrentHashMap<>();
+
+    /**
+     * Générations en file ou en cours (clé: chanson, valeur: epoch)
+     */
+    private final ConcurrentMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Chansons dont l'audio n'est pas décodable: format non supporté ou MP3 sans frame lisible
+     * (pas de nouvel essai à chaque requête, jusqu'au prochain changement d'audio)
+     */
+    private final Set<Long> unsupported = ConcurrentHashMap.newKeySet();
+
+    public WaveformService(SongRepository songRepository,
+                           MediaStorage mediaStorage,
+                           WaveformProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.songRepository = songRepository;
+        this.mediaStorage = mediaStorage;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.cache = new ByteBudgetLruCache<>(properties.getMemoryBudgetBytes(), Waveform::sizeInBytes);
+
+        int threads = properties.getWorkerThreads() > 0
+                ? properties.getWorkerThreads()
+                : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "waveform-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+
+        Gauge.builder("musicstream.waveform.queue", workers, pool -> pool.getQueue().size())
+                .description("Générations de pics en attente")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Pics d'une chanson (cache, puis disque, sinon génération en arrière-plan)
+     * 
+     * @param songId L'ID de la chanson
+     * @return READY avec les pics, ou l'état de la génération
+     */
+    public Lookup lookup(Long songId) {
+        Waveform waveform = cache.get(songId);
+        if (waveform != null) {
+            return new Lookup(Status.READY, waveform);
+        }
+        Path file = file(songId);
+        if (Files.isRegularFile(file)) {
+            try {
+                waveform = Waveform.fromBytes(Files.readAllBytes(file));
+                cache.put(songId, waveform);
+                return new Lookup(Status.READY, waveform);
+            } catch (IOException e) {
+                log.warn("Pics illisibles pour la chanson {}, régénération: {}", songId, e.getMessage());
+                deleteQuietly(file);
+            }
+        }
+        if (unsupported.contains(songId)) {
+            return new Lookup(Status.UNSUPPORTED, null);
+        }
+        String audioUrl = songRepository.findById(songId).map(Song::getAudioUrl).orElse(null);
+        if (audioUrl == null || audioUrl.isBlank()) {
+            return new Lookup(Status.NO_AUDIO, null);
+        }
+        return new Lookup(schedule(songId, null) ? Status.PENDING : Status.BUSY, null);
+    }
+
+    /**
+     * Régénérer les pics quand l'audio change, les supprimer avec la chanson (sur le nœud de l'écriture)
+     * 
+     * @param event Événement publié par SongService
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSongChanged(SongChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        if (event.type() == SongChangedEvent.Type.DELETED || event.audioChanged()) {
+            invalidate(event.songId());
+        }
+        if (event.type() != SongChangedEvent.Type.DELETED && event.audioChanged()) {
+            schedule(event.songId(), null);
+        }
+    }
+
+    /**
+     * Générer les pics de toutes les chansons qui n'en ont pas
+     * 
+     * La file n'est jamais débordée: le backfill attend qu'un worker se libère
+     * avant de soumettre la chanson suivante.
+     * 
+     * @return Nombre de générations lancées
+     * @throws InterruptedException Arrêt de l'application pendant le backfill
+     */
+    public int backfill() throws InterruptedException {
+        List<Long> songIds = songRepository.findIdsWithAudio();
+        Semaphore slots = new Semaphore(workers.getMaximumPoolSize() + properties.getQueueCapacity() / 2);
+        int scheduled = 0;
+        for (Long songId : songIds) {
+            if (Files.exists(file(songId)) || unsupported.contains(songId) || pending.containsKey(songId)) {
+                continue;
+            }
+            slots.acquire();
+            if (schedule(songId, slots::release)) {
+                scheduled++;
+            } else {
+                slots.release();
+            }
+        }
+        slots.acquire(workers.getMaximumPoolSize() + properties.getQueueCapacity() / 2);
+        log.info("Backfill des pics terminé: {} chansons sur {}", scheduled, songIds.size());
+        return scheduled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                backfill();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "waveform-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Placer une génération dans la file (sauf si elle y est déjà)
+     * 
+     * @param songId L'ID de la chanson
+     * @param onDone Appelé quand la génération est terminée (peut être null)
+     * @return false si la file est pleine, true si la génération est en file (ou l'était déjà)
+     */
+    private boolean schedule(Long songId, Runnable onDone) {
+        long epoch = epochs.getOrDefault(songId, 0L);
+        Long previous = pending.putIfAbsent(songId, epoch);
+        if (previous != null && previous == epoch) {
+            if (onDone != null) {
+                onDone.run();
+            }
+            return true;
+        }
+        if (previous != null) {
+            // génération sur l'ancien audio encore en cours: son résultat sera ignoré
+            pending.put(songId, epoch);
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(songId, epoch);
+                } finally {
+                    pending.remove(songId, epoch);
+                    if (onDone != null) {
+                        onDone.run();
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            pending.remove(songId, epoch);
+            log.warn("File des pics pleine, génération ignorée pour la chanson {}", songId);
+            failure("rejected");
+            return false;
+        }
+    }
+
+    /**
+     * Décoder l'audio et enregistrer les pics (exécuté par un worker)
+     * 
+     * @param songId L'ID de la chanson
+     * @param epoch  Version de l'audio au moment de la soumission
+     */
+    void generate(Long songId, long epoch) {
+        String audioUrl = songRepository.findById(songId).map(Song::getAudioUrl).orElse(null);
+        if (audioUrl == null || audioUrl.isBlank()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        PeakAccumulator accumulator = new PeakAccumulator(INITIAL_FRAMES_PER_BLOCK);
+        String format;
+        try (InputStream in = open(audioUrl)) {
+            if (in == null) {
+                markUndecodable(songId, epoch);
+                failure("unsupported");
+                return;
+            }
+            format = PcmDecoder.decode(in, accumulator);
+        } catch (UnsupportedAudioFileException e) {
+            markUndecodable(songId, epoch);
+            failure("unsupported");
+            return;
+        } catch (IOException | RuntimeException e) {
+            // Erreur de lecture, fichier absent ou en cours d'écriture: nouvel essai à la prochaine requête
+            log.warn("Calcul des pics impossible pour la chanson {}: {}", songId, e.getMessage());
+            failure("error");
+            return;
+        }
+        Waveform waveform = accumulator.finish(properties.getMinResolution(), properties.getMaxResolution());
+        Timer.builder("musicstream.waveform.generation")
+                .description("Durée de calcul des pics de forme d'onde")
+                .tag("format", format)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Écriture sous le verrou de l'entrée epochs: invalidate() ne peut pas passer entre le test et l'écriture
+        epochs.compute(songId, (id, current) -> {
+            if ((current == null ? 0L : current) == epoch) {
+                mediaStorage.writeAtomically(file(songId), waveform.toBytes());
+                cache.put(songId, waveform);
+            }
+            return current;
+        });
+        log.debug("Pics de la chanson {} calculés ({})", songId, format);
+    }
+
+    /**
+     * Supprimer les pics d'une chanson (mémoire et disque)
+     */
+    private void invalidate(Long songId) {
+        epochs.compute(songId, (id, current) -> {
+            cache.remove(songId);
+            deleteQuietly(file(songId));
+            unsupported.remove(songId);
+            return (current == null ? 0L : current) + 1;
+        });
+    }
+
+    private void markUndecodable(Long songId, long epoch) {
+        epochs.compute(songId, (id, current) -> {
+            if ((current == null ? 0L : current) == epoch) {
+                unsupported.add(songId);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Ouvrir l'audio de Song.audioUrl
+     * 
+     * @return Le flux, ou null si la source n'est pas locale (URL distante)
+     */
+    private InputStream open(String audioUrl) throws IOException {
+        if (audioUrl.startsWith("data:")) {
+            int comma = audioUrl.indexOf(',');
+            if (comma < 0) {
+                throw new IOException("Data URI invalide");
+            }
+            return new ByteArrayInputStream(Base64.getMimeDecoder().decode(audioUrl.substring(comma + 1)));
+        }
+        if (audioUrl.contains("://")) {
+            return null;
+        }
+        Path file = mediaStorage.resolveInside(audioUrl);
+        if (file == null || !Files.isRegularFile(file)) {
+            throw new IOException("Fichier audio introuvable: " + audioUrl);
+        }
+        return Files.newInputStream(file);
+    }
+
+    private Path file(Long songId) {
+        return mediaStorage.songDirectory(songId).resolve(FILE_NAME);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Suppression impossible: {}", file);
+        }
+    }
+
+    private void failure(String reason) {
+        Counter.builder("musicstream.waveform.failures")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,197 @@
+package com.musicstream.api.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 AudioMetadataParserTest - Lecture des en-têtes MP3, WAV, FLAC et Ogg
+ * 
+ * Les fichiers sont construits octet par octet dans le test (pas de fixtures binaires).
+ */
+@DisplayName("AudioMetadataParser - Tests Unitaires")
+class AudioMetadataParserTest {
+
+    /** MPEG-1 Layer III, 128 kbit/s, 44100 Hz, stéréo, sans padding → 417 octets */
+    private static final int MP3_HEADER = 0xFFFB9000;
+    private static final int MP3_FRAME_LENGTH = 417;
+
+    @Test
+    @DisplayName("WAV - Durée, débit et tags INFO")
+    void testWav() throws IOException {
+        // Arrange: 1 seconde de PCM 16 bits stéréo 44100 Hz
+        byte[] info = chunk("IART", "Queen\0".getBytes(StandardCharsets.UTF_8));
+        byte[] list = concat("INFO".getBytes(StandardCharsets.US_ASCII), info);
+        ByteBuffer fmt = le(16).putShort((short) 1).putShort((short) 2).putInt(44100)
+                .putInt(176400).putShort((short) 4).putShort((short) 16);
+        byte[] body = concat("WAVE".getBytes(StandardCharsets.US_ASCII),
+                chunk("fmt ", fmt.array()), chunk("LIST", list), chunk("data", new byte[176400]));
+        byte[] wav = concat("RIFF".getBytes(StandardCharsets.US_ASCII), le(4).putInt(body.length).array(), body);
+
+        // Act
+        AudioMetadata metadata = AudioMetadataParser.parse(wav);
+
+        // Assert
+        assertEquals("wav", metadata.format());
+        assertEquals(1, metadata.roundedDuration());
+        assertEquals(1411, metadata.bitrateKbps());
+        assertEquals(44100, metadata.sampleRate());
+        assertEquals("Queen", metadata.artist());
+    }
+
+    @Test
+    @DisplayName("MP3 CBR - Durée calculée depuis le débit + tags ID3v2")
+    void testMp3Cbr() throws IOException {
+        // Arrange: tag ID3v2.3 (TALB, TCON) puis 100 frames
+        byte[] frames = new byte[0];
+        for (int i = 0; i < 100; i++) {
+            frames = concat(frames, mp3Frame());
+        }
+        byte[] mp3 = concat(id3v2(textFrame("TALB", "A Night at the Opera"), textFrame("TCON", "(17)")), frames);
+
+        // Act
+        AudioMetadata metadata = AudioMetadataParser.parse(mp3);
+
+        // Assert
+        assertEquals("mp3", metadata.format());
+        assertEquals(2.6, metadata.durationSeconds(), 0.05);
+        assertEquals(128, metadata.bitrateKbps());
+        assertEquals(44100, metadata.sampleRate());
+        assertEquals("A Night at the Opera", metadata.album());
+        assertEquals("Rock", metadata.genre());
+    }
+
+    @Test
+    @DisplayName("MP3 VBR - Nombre de frames lu dans l'en-tête Xing")
+    void testMp3Xing() throws IOException {
+        // Arrange: 1re frame = en-tête Xing annonçant 1000 frames
+        byte[] xing = mp3Frame();
+        ByteBuffer.wrap(xing).position(36).put("Xing".getBytes(StandardCharsets.US_ASCII)).putInt(0x1).putInt(1000);
+        byte[] mp3 = concat(xing, mp3Frame(), mp3Frame());
+
+        // Act
+        AudioMetadata metadata = AudioMetadataParser.parse(mp3);
+
+        // Assert
+        assertEquals(1000 * 1152 / 44100.0, metadata.durationSeconds(), 0.001);
+    }
+
+    @Test
+    @DisplayName("FLAC - STREAMINFO et commentaires Vorbis")
+    void testFlac() throws IOException {
+        // Arrange: 10 secondes à 44100 Hz, stéréo, 16 bits
+        ByteBuffer streamInfo = ByteBuffer.allocate(34);
+        streamInfo.putLong(10, (44100L << 44) | (1L << 41) | (15L << 36) | 441000L);
+        byte[] comments = vorbisComments("GENRE=Jazz", "ALBUM=Kind of Blue");
+        byte[] flac = concat("fLaC".getBytes(StandardCharsets.US_ASCII),
+                flacBlock(false, 0, streamInfo.array()), flacBlock(true, 4, comments), new byte[1000]);
+
+        // Act
+        AudioMetadata metadata = AudioMetadataParser.parse(flac);
+
+        // Assert
+        assertEquals("flac", metadata.format());
+        assertEquals(10.0, metadata.durationSeconds(), 0.001);
+        assertEquals(44100, metadata.sampleRate());
+        assertEquals(2, metadata.channels());
+        assertEquals("Jazz", metadata.genre());
+        assertEquals("Kind of Blue", metadata.album());
+    }
+
+    @Test
+    @DisplayName("Ogg Vorbis - Durée depuis la position granule de la dernière page")
+    void testOggVorbis() throws IOException {
+        // Arrange
+        ByteBuffer identification = le(30).put((byte) 1).put("vorbis".getBytes(StandardCharsets.US_ASCII))
+                .putInt(0).put((byte) 2).putInt(44100).putInt(0).putInt(160000).putInt(0);
+        byte[] comment = concat(new byte[] {3}, "vorbis".getBytes(StandardCharsets.US_ASCII),
+                vorbisComments("TITLE=Clair de lune"));
+        byte[] ogg = concat(oggPage(0, identification.array()), oggPage(0, comment),
+                oggPage(88200, new byte[100]));
+
+        // Act
+        AudioMetadata metadata = AudioMetadataParser.parse(ogg);
+
+        // Assert
+        assertEquals("ogg", metadata.format());
+        assertEquals(2.0, metadata.durationSeconds(), 0.001);
+        assertEquals(44100, metadata.sampleRate());
+        assertEquals("Clair de lune", metadata.title());
+    }
+
+    @Test
+    @DisplayName("Format inconnu - IOException")
+    void testUnknownFormat() {
+        assertThrows(IOException.class, () -> AudioMetadataParser.parse("not audio at all".getBytes()));
+    }
+
+    // ========== CONSTRUCTION DES FICHIERS ==========
+
+    private static byte[] mp3Frame() {
+        return ByteBuffer.allocate(MP3_FRAME_LENGTH).putInt(MP3_HEADER).array();
+    }
+
+    private static byte[] id3v2(byte[]... frames) {
+        byte[] body = concat(frames);
+        int size = body.length;
+        byte[] header = {'I', 'D', '3', 3, 0, 0,
+                (byte) ((size >> 21) & 0x7F), (byte) ((size >> 14) & 0x7F),
+                (byte) ((size >> 7) & 0x7F), (byte) (size & 0x7F)};
+        return concat(header, body);
+    }
+
+    private static byte[] textFrame(String id, String text) {
+        byte[] value = concat(new byte[] {0}, text.getBytes(StandardCharsets.ISO_8859_1));
+        return concat(id.getBytes(StandardCharsets.US_ASCII),
+                ByteBuffer.allocate(4).putInt(value.length).array(), new byte[2], value);
+    }
+
+    private static byte[] vorbisComments(String... comments) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.writeBytes(le(4).putInt(4).array());
+        output.writeBytes("test".getBytes(StandardCharsets.UTF_8));
+        output.writeBytes(le(4).putInt(comments.length).array());
+        for (String comment : comments) {
+            byte[] bytes = comment.getBytes(StandardCharsets.UTF_8);
+            output.writeBytes(le(4).putInt(bytes.length).array());
+            output.writeBytes(bytes);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] flacBlock(boolean last, int type, byte[] body) {
+        byte[] header = {(byte) ((last ? 0x80 : 0) | type),
+                (byte) (body.length >> 16), (byte) (body.length >> 8), (byte) body.length};
+        return concat(header, body);
+    }
+
+    private static byte[] oggPage(long granule, byte[] packet) {
+        ByteBuffer header = le(27).put("OggS".getBytes(StandardCharsets.US_ASCII)).put((byte) 0).put((byte) 0)
+                .putLong(granule).putInt(1).putInt(0).putInt(0).put((byte) 1);
+        return concat(header.array(), new byte[] {(byte) packet.length}, packet);
+    }
+
+    private static byte[] chunk(String id, byte[] body) {
+        byte[] padded = body.length % 2 == 0 ? body : concat(body, new byte[1]);
+        return concat(id.getBytes(StandardCharsets.US_ASCII), le(4).putInt(body.length).array(), padded);
+    }
+
+    private static ByteBuffer le(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            output.writeBytes(part);
+        }
+        return output.toByteArray();
+    }
+}
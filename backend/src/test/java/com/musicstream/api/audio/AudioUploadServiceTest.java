@@ -0,0 +1,174 @@
+package com.musicstream.api.audio;
+
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaProperties;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 AudioUploadServiceTest - Upload en streaming et reprise par morceaux
+ */
+@DisplayName("AudioUploadService - Tests Unitaires")
+class AudioUploadServiceTest {
+
+    @TempDir
+    Path mediaDirectory;
+
+    private SongRepository songRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private AudioProperties audioProperties;
+    private AudioUploadService audioUploadService;
+
+    @BeforeEach
+    void setUp() {
+        songRepository = mock(SongRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(songRepository.existsById(1L)).thenReturn(true);
+        MediaProperties mediaProperties = new MediaProperties();
+        mediaProperties.setDirectory(mediaDirectory.toString());
+        audioProperties = new AudioProperties();
+        audioUploadService = new AudioUploadService(songRepository, new MediaStorage(mediaProperties),
+                audioProperties, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Upload complet - Fichier écrit, SHA-256 calculé, événement publié")
+    void testUpload_Complete() throws Exception {
+        // Arrange: plus grand que le buffer de 64 Ko
+        byte[] content = randomBytes(300_000);
+
+        // Act
+        AudioUploadResult result = audioUploadService.upload(1L, new ByteArrayInputStream(content), "audio/mpeg", content.length);
+
+        // Assert
+        assertTrue(result.complete());
+        assertEquals("songs/1/audio.mp3", result.audioUrl());
+        assertEquals(sha256(content), result.sha256());
+        assertArrayEquals(content, Files.readAllBytes(mediaDirectory.resolve("songs/1/audio.mp3")));
+        verify(songRepository).updateAudioFile(eq(1L), eq("songs/1/audio.mp3"), eq(300_000L), eq(sha256(content)), any());
+        verify(eventPublisher).publishEvent(new SongChangedEvent(1L, SongChangedEvent.Type.UPDATED, true));
+    }
+
+    @Test
+    @DisplayName("Upload trop volumineux - Refusé pendant la lecture, rien n'est conservé")
+    void testUpload_TooLarge() throws Exception {
+        // Arrange: taille annoncée inconnue, dépassement détecté en streaming
+        audioProperties.setMaxUploadBytes(100_000);
+        byte[] content = randomBytes(150_000);
+
+        // Act & Assert
+        AudioUploadException e = assertThrows(AudioUploadException.class, () ->
+                audioUploadService.upload(1L, new ByteArrayInputStream(content), "audio/mpeg", -1));
+        assertEquals(AudioUploadException.Reason.TOO_LARGE, e.getReason());
+        try (var files = Files.list(mediaDirectory.resolve("songs/1"))) {
+            assertEquals(0, files.count());
+        }
+        verify(songRepository, never()).updateAudioFile(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Upload par morceaux - Reprise après redémarrage et SHA-256 du fichier entier")
+    void testAppendChunk_ResumesAfterRestart() throws Exception {
+        // Arrange
+        byte[] content = randomBytes(200_000);
+        audioUploadService.appendChunk(1L, chunk(content, 0, 80_000), "audio/ogg", new ContentRange(0, 79_999, 200_000));
+
+        // Act: nouveau service (état mémoire perdu), le SHA-256 partiel est recalculé depuis le disque
+        MediaProperties mediaProperties = new MediaProperties();
+        mediaProperties.setDirectory(mediaDirectory.toString());
+        AudioUploadService restarted = new AudioUploadService(songRepository, new MediaStorage(mediaProperties),
+                audioProperties, eventPublisher);
+        assertEquals(80_000, restarted.currentOffset(1L));
+        AudioUploadResult result = restarted.appendChunk(1L, chunk(content, 80_000, 200_000), "audio/ogg",
+                new ContentRange(80_000, 199_999, 200_000));
+
+        // Assert
+        assertTrue(result.complete());
+        assertEquals(sha256(content), result.sha256());
+        assertArrayEquals(content, Files.readAllBytes(mediaDirectory.resolve("songs/1/audio.ogg")));
+        assertFalse(Files.exists(mediaDirectory.resolve("songs/1/audio.part")));
+    }
+
+    @Test
+    @DisplayName("Morceau hors séquence - 409 avec l'offset courant")
+    void testAppendChunk_OffsetMismatch() {
+        // Arrange
+        byte[] content = randomBytes(10_000);
+        audioUploadService.appendChunk(1L, chunk(content, 0, 4_000), "audio/wav", new ContentRange(0, 3_999, 10_000));
+
+        // Act & Assert
+        AudioUploadException e = assertThrows(AudioUploadException.class, () ->
+                audioUploadService.appendChunk(1L, chunk(content, 6_000, 10_000), "audio/wav",
+                        new ContentRange(6_000, 9_999, 10_000)));
+        assertEquals(AudioUploadException.Reason.OFFSET_MISMATCH, e.getReason());
+        assertEquals(4_000, e.getCurrentOffset());
+    }
+
+    @Test
+    @DisplayName("Morceau plus long que sa plage - 400 (pas 413), rien n'est ajouté")
+    void testAppendChunk_LongerThanRange() throws Exception {
+        // Arrange
+        byte[] content = randomBytes(10_000);
+        audioUploadService.appendChunk(1L, chunk(content, 0, 4_000), "audio/wav", new ContentRange(0, 3_999, 10_000));
+
+        // Act & Assert: 6000 octets envoyés pour une plage de 2000
+        AudioUploadException e = assertThrows(AudioUploadException.class, () ->
+                audioUploadService.appendChunk(1L, chunk(content, 4_000, 10_000), "audio/wav",
+                        new ContentRange(4_000, 5_999, 10_000)));
+        assertEquals(AudioUploadException.Reason.LENGTH_MISMATCH, e.getReason());
+        assertEquals(4_000, e.getCurrentOffset());
+        assertEquals(4_000, Files.size(mediaDirectory.resolve("songs/1/audio.part")));
+    }
+
+    @Test
+    @DisplayName("Corps vide - Refusé, audioUrl inchangé")
+    void testUpload_Empty() {
+        // Act & Assert
+        AudioUploadException e = assertThrows(AudioUploadException.class, () ->
+                audioUploadService.upload(1L, new ByteArrayInputStream(new byte[0]), "audio/mpeg", -1));
+        assertEquals(AudioUploadException.Reason.EMPTY, e.getReason());
+        verify(songRepository, never()).updateAudioFile(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Chanson inconnue - Refusé")
+    void testUpload_SongNotFound() {
+        // Act & Assert
+        AudioUploadException e = assertThrows(AudioUploadException.class, () ->
+                audioUploadService.upload(99L, new ByteArrayInputStream(new byte[10]), "audio/mpeg", 10));
+        assertEquals(AudioUploadException.Reason.SONG_NOT_FOUND, e.getReason());
+    }
+
+    private static ByteArrayInputStream chunk(byte[] content, int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+}
@@ -0,0 +1,154 @@
+package com.musicstream.api.audio;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaProperties;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 HlsServiceTest - Découpage MP3 en segments HLS
+ */
+@DisplayName("HlsService - Tests Unitaires")
+class HlsServiceTest {
+
+    // MPEG-1 Layer III, 128 kbit/s, 44100 Hz, sans padding → 417 octets, 1152 échantillons
+    private static final int MP3_HEADER = 0xFFFB9000;
+    private static final int MP3_FRAME_LENGTH = 417;
+    private static final int TAG_LENGTH = 10 + 10 + 45 + 8;
+
+    @TempDir
+    Path mediaDirectory;
+
+    private SongRepository songRepository;
+    private HlsService hlsService;
+
+    @BeforeEach
+    void setUp() {
+        songRepository = mock(SongRepository.class);
+        MediaProperties mediaProperties = new MediaProperties();
+        mediaProperties.setDirectory(mediaDirectory.toString());
+        hlsService = new HlsService(songRepository, new MediaStorage(mediaProperties),
+                new AudioProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hlsService.shutdown();
+    }
+
+    @Test
+    @DisplayName("MP3 de 400 frames - 2 segments coupés entre deux frames, frame Xing ignorée")
+    void testSplitMp3() throws Exception {
+        // Arrange: ID3v2 vide + frame Info + 400 frames audio (≈ 10,4 s)
+        writeMp3(mediaDirectory.resolve("songs/1/audio.mp3"));
+        when(songRepository.findById(1L)).thenReturn(Optional.of(
+                Song.builder().id(1L).audioUrl("songs/1/audio.mp3").build()));
+
+        // Act
+        hlsService.split(1L, 0);
+        HlsService.Lookup lookup = hlsService.lookup(1L);
+
+        // Assert: 6 s = 229,7 frames → 230 frames puis 170
+        assertEquals(HlsService.Status.READY, lookup.status());
+        String playlist = Files.readString(lookup.playlist());
+        assertTrue(playlist.contains("#EXTINF:6.008,\n" + lookup.version() + "/0.mp3"), playlist);
+        assertTrue(playlist.contains("#EXTINF:4.441,\n" + lookup.version() + "/1.mp3"), playlist);
+        assertTrue(playlist.contains("#EXT-X-TARGETDURATION:7"));
+        assertTrue(playlist.endsWith("#EXT-X-ENDLIST\n"));
+        assertNull(hlsService.segment(1L, lookup.version(), 2));
+
+        Path first = hlsService.segment(1L, lookup.version(), 0);
+        Path second = hlsService.segment(1L, lookup.version(), 1);
+        assertEquals(TAG_LENGTH + 230L * MP3_FRAME_LENGTH, Files.size(first));
+        assertEquals(TAG_LENGTH + 170L * MP3_FRAME_LENGTH, Files.size(second));
+        ByteBuffer segment = ByteBuffer.wrap(Files.readAllBytes(second));
+        assertEquals(230L * 1152 * 90_000 / 44_100, segment.getLong(TAG_LENGTH - 8));
+        assertEquals(MP3_HEADER, segment.getInt(TAG_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Chanson supprimée - Segments supprimés")
+    void testDeleteRemovesSegments() throws Exception {
+        // Arrange
+        testSplitMp3();
+
+        // Act
+        hlsService.onSongChanged(new SongChangedEvent(1L, SongChangedEvent.Type.DELETED, false));
+
+        // Assert
+        assertFalse(Files.exists(mediaDirectory.resolve("songs/1/hls")));
+        when(songRepository.findById(1L)).thenReturn(Optional.empty());
+        assertEquals(HlsService.Status.NO_AUDIO, hlsService.lookup(1L).status());
+    }
+
+    @Test
+    @DisplayName("WAV - Non découpable")
+    void testWavUnsupported() throws Exception {
+        // Arrange
+        Path audio = mediaDirectory.resolve("songs/2/audio.wav");
+        Files.createDirectories(audio.getParent());
+        Files.write(audio, "RIFF\0\0\0\0WAVEfmt ".getBytes(StandardCharsets.US_ASCII));
+        when(songRepository.findById(2L)).thenReturn(Optional.of(
+                Song.builder().id(2L).audioUrl("songs/2/audio.wav").build()));
+
+        // Act
+        hlsService.split(2L, 0);
+
+        // Assert
+        assertEquals(HlsService.Status.UNSUPPORTED, hlsService.lookup(2L).status());
+    }
+
+    @Test
+    @DisplayName("Lecture en échec (fichier pas encore écrit) - Pas UNSUPPORTED, découpé au nouvel essai")
+    void testFailedReadIsRetried() throws Exception {
+        // Arrange
+        when(songRepository.findById(3L)).thenReturn(Optional.of(
+                Song.builder().id(3L).audioUrl("songs/3/audio.mp3").build()));
+        hlsService.split(3L, 0);
+
+        // Act: les requêtes suivantes relancent le découpage (une fois le fichier présent)
+        writeMp3(mediaDirectory.resolve("songs/3/audio.mp3"));
+        HlsService.Status status = hlsService.lookup(3L).status();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status != HlsService.Status.READY && status != HlsService.Status.UNSUPPORTED
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = hlsService.lookup(3L).status();
+        }
+
+        // Assert
+        assertEquals(HlsService.Status.READY, status);
+    }
+
+    /**
+     * ID3v2 vide + frame Info (Xing) + 400 frames audio
+     */
+    private static void writeMp3(Path file) throws Exception {
+        ByteBuffer mp3 = ByteBuffer.allocate(10 + MP3_FRAME_LENGTH * 401);
+        mp3.put(new byte[]{'I', 'D', '3', 3, 0, 0, 0, 0, 0, 0});
+        mp3.putInt(MP3_HEADER).position(mp3.position() + 32).put("Info".getBytes(StandardCharsets.US_ASCII));
+        mp3.position(10 + MP3_FRAME_LENGTH);
+        for (int i = 0; i < 400; i++) {
+            mp3.putInt(10 + MP3_FRAME_LENGTH * (i + 1), MP3_HEADER);
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, mp3.array());
+    }
+}
@@ -0,0 +1,193 @@
+package com.musicstream.api.cache;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.repository.AlbumRepository;
+import com.musicstream.api.repository.ArtistRepository;
+import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.service.CatalogService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SecondLevelCacheTest - Hits du cache et invalidation après écriture
+ * 
+ * Sans transaction de test (NOT_SUPPORTED): chaque inTransaction() est une session
+ * séparée, comme des requêtes HTTP successives. Le nombre de requêtes SQL
+ * préparées (Statistics) montre si la base a été interrogée.
+ */
+@DataJpaTest
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheProperties.class, CatalogService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Cache de second niveau - Tests JPA")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private ArtistRepository artistRepository;
+
+    @Autowired
+    private AlbumRepository albumRepository;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        songRepository.deleteAll();
+        albumRepository.deleteAll();
+        artistRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("findById - 2e lecture servie par le cache, sans SQL")
+    void testFindById_CacheHit() {
+        // Arrange
+        Long id = save("Imagine", "John Lennon", "pop").getId();
+        inTransaction(() -> songRepository.findById(id).orElseThrow().getArtist());
+        long queries = statistics.getPrepareStatementCount();
+
+        // Act: l'artiste aussi vient du cache (région artists)
+        String artist = inTransaction(() -> songRepository.findById(id).orElseThrow().getArtist());
+
+        // Assert
+        assertEquals("John Lennon", artist);
+        assertEquals(queries, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(SecondLevelCacheConfig.SONG_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("findAllCachedFirst - Chansons en cache sans SQL, une requête IN pour les autres")
+    void testFindAllCachedFirst() {
+        // Arrange
+        Long cached = save("Imagine", "John Lennon", "pop").getId();
+        Long other = save("Jealous Guy", "John Lennon", "pop").getId();
+        inTransaction(() -> songRepository.findById(cached).orElseThrow().getArtist());
+        entityManagerFactory.getCache().evict(Song.class, other);
+        long queries = statistics.getPrepareStatementCount();
+
+        // Act
+        List<String> titles = inTransaction(() -> songRepository.findAllCachedFirst(List.of(cached, other, -1L), 500)
+                .stream().map(song -> song.getTitle() + " / " + song.getArtist()).sorted().toList());
+
+        // Assert
+        assertEquals(List.of("Imagine / John Lennon", "Jealous Guy / John Lennon"), titles);
+        assertEquals(queries + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("findByCategory - Résultat en cache, invalidé par une nouvelle chanson")
+    void testFindByCategory_QueryCacheInvalidation() {
+        // Arrange
+        save("Imagine", "John Lennon", "pop");
+        assertEquals(1, songRepository.findByCategory("pop").size());
+        long queries = statistics.getPrepareStatementCount();
+
+        // Act & Assert: servi par le cache de requêtes
+        assertEquals("John Lennon", inTransaction(() -> songRepository.findByCategory("pop").get(0).getArtist()));
+        assertEquals(queries, statistics.getPrepareStatementCount());
+
+        // Act & Assert: une écriture sur songs invalide le résultat
+        save("Jealous Guy", "John Lennon", "pop");
+        assertEquals(2, songRepository.findByCategory("pop").size());
+        assertEquals(2, songRepository.findByArtist("john lennon").size());
+    }
+
+    @Test
+    @DisplayName("UPDATE JPQL ciblé - L'entité en cache n'est plus servie périmée")
+    void testBulkUpdate_EvictsEntity() {
+        // Arrange
+        Long id = save("Imagine", "John Lennon", "pop").getId();
+        songRepository.findById(id);
+
+        // Act
+        songRepository.updateAudioFile(id, "songs/" + id + "/audio.mp3", 42L, "ab", LocalDateTime.now());
+
+        // Assert
+        assertEquals("songs/" + id + "/audio.mp3", songRepository.findById(id).orElseThrow().getAudioUrl());
+    }
+
+    @Test
+    @DisplayName("patch - Entrée de la chanson modifiée remplacée, les autres restent en cache")
+    void testPatch_KeepsOtherEntries() {
+        // Arrange
+        Long patched = save("Imagine", "John Lennon", "pop").getId();
+        Long other = save("Jealous Guy", "John Lennon", "pop").getId();
+        inTransaction(() -> songRepository.findById(patched).orElseThrow().getTitle());
+        inTransaction(() -> songRepository.findById(other).orElseThrow().getTitle());
+
+        // Act
+        int updated = inTransaction(() -> songRepository.patch(patched, 0L, Map.of("title", "Imagine (Live)")));
+        long queries = statistics.getPrepareStatementCount();
+        Song song = inTransaction(() -> songRepository.findById(patched).orElseThrow());
+        String otherTitle = inTransaction(() -> songRepository.findById(other).orElseThrow().getTitle());
+
+        // Assert: les deux lectures servies par le cache
+        assertEquals(1, updated);
+        assertEquals("Imagine (Live)", song.getTitle());
+        assertEquals(1L, song.getVersion());
+        assertEquals("Jealous Guy", otherTitle);
+        assertEquals(queries, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("save - La modification remplace l'entrée en cache")
+    void testSave_UpdatesCache() {
+        // Arrange
+        Song song = save("Imagine", "John Lennon", "pop");
+        songRepository.findById(song.getId());
+
+        // Act
+        Song cached = songRepository.findById(song.getId()).orElseThrow();
+        cached.setTitle("Imagine (Remastered)");
+        songRepository.save(cached);
+
+        // Assert
+        assertEquals("Imagine (Remastered)", songRepository.findById(song.getId()).orElseThrow().getTitle());
+    }
+
+    private Song save(String title, String artist, String category) {
+        return inTransaction(() -> {
+            Song song = Song.builder().title(title).artist(artist).category(category).build();
+            catalogService.resolve(song);
+            return songRepository.save(song);
+        });
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+}
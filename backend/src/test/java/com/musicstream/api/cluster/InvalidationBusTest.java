@@ -0,0 +1,136 @@
+package com.musicstream.api.cluster;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 InvalidationBusTest - Bus d'invalidation entre instances
+ *
+ * Les nœuds échangent en unicast sur 127.0.0.1 (le multicast dépend de la
+ * configuration réseau de la machine de build).
+ */
+@DisplayName("InvalidationBus - Tests Unitaires")
+class InvalidationBusTest {
+
+    private final List<InvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (InvalidationBus bus : buses) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Séquences - Ordre, doublon, trou, battement en avance")
+    void testSequenceTracker() {
+        // Arrange
+        SequenceTracker tracker = new SequenceTracker(0);
+
+        // Act & Assert
+        assertEquals(SequenceTracker.Result.OK, tracker.onMessage(7, 1, 10));
+        assertEquals(SequenceTracker.Result.OK, tracker.onMessage(7, 2, 10));
+        assertEquals(SequenceTracker.Result.DUPLICATE, tracker.onMessage(7, 2, 10));
+        assertEquals(SequenceTracker.Result.GAP, tracker.onMessage(7, 5, 10));
+        assertEquals(SequenceTracker.Result.DUPLICATE, tracker.onMessage(7, 4, 10));
+        assertEquals(SequenceTracker.Result.OK, tracker.onHeartbeat(7, 5, 10));
+        assertEquals(SequenceTracker.Result.GAP, tracker.onHeartbeat(7, 6, 10));
+
+        // Nœud inconnu qui a déjà émis: trou, sauf pendant le délai de grâce
+        assertEquals(SequenceTracker.Result.GAP, tracker.onMessage(8, 3, 10));
+        assertEquals(SequenceTracker.Result.OK, new SequenceTracker(100).onMessage(8, 3, 10));
+
+        assertEquals(2, tracker.size());
+        assertEquals(2, tracker.expire(1_000, 500));
+    }
+
+    @Test
+    @DisplayName("Datagramme - Encodage/décodage, datagramme étranger ignoré")
+    void testMessageCodec() {
+        // Arrange
+        InvalidationMessage message = InvalidationMessage.song(42, 3,
+                new SongChangedEvent(9L, SongChangedEvent.Type.DELETED, true));
+        ByteBuffer buffer = ByteBuffer.allocate(InvalidationMessage.SIZE);
+
+        // Act
+        message.encode(buffer);
+        InvalidationMessage decoded = InvalidationMessage.decode(buffer.flip());
+
+        // Assert
+        assertEquals(message, decoded);
+        assertEquals(new SongChangedEvent(9L, SongChangedEvent.Type.DELETED, true, true), decoded.toEvent());
+        assertNull(InvalidationMessage.decode(ByteBuffer.wrap("hello".getBytes())));
+    }
+
+    @Test
+    @DisplayName("Deux nœuds - Écriture sur A: chanson évincée et événement remote sur B, rien renvoyé")
+    void testTwoNodes() throws Exception {
+        // Arrange
+        int portA = freePort();
+        int portB = freePort();
+        BlockingQueue<Object> eventsA = new LinkedBlockingQueue<>();
+        BlockingQueue<Object> eventsB = new LinkedBlockingQueue<>();
+        Cache cacheB = cache();
+        InvalidationBus a = bus(portA, portB, cache(), eventsA);
+        InvalidationBus b = bus(portB, portA, cacheB, eventsB);
+
+        // Act
+        a.onSongChanged(new SongChangedEvent(5L, SongChangedEvent.Type.UPDATED, false));
+
+        // Assert
+        Object received = eventsB.poll(5, TimeUnit.SECONDS);
+        assertEquals(new SongChangedEvent(5L, SongChangedEvent.Type.UPDATED, false, true), received);
+        verify(cacheB).evict(Song.class, 5L);
+
+        // Act: B republie localement un événement remote → pas de renvoi vers A
+        b.onSongChanged((SongChangedEvent) received);
+
+        // Assert
+        assertNull(eventsA.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    private InvalidationBus bus(int port, int peerPort, Cache cache, BlockingQueue<Object> events) throws Exception {
+        ClusterProperties properties = new ClusterProperties();
+        properties.setPort(port);
+        properties.setPeers(List.of("127.0.0.1:" + peerPort));
+        properties.setHeartbeatInterval(Duration.ofMillis(100));
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+
+        InvalidationBus bus = new InvalidationBus(properties, entityManagerFactory, events::add,
+                new SimpleMeterRegistry());
+        buses.add(bus);
+        bus.start();
+        return bus;
+    }
+
+    private static Cache cache() {
+        Cache cache = mock(Cache.class);
+        when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(mock(org.hibernate.Cache.class));
+        return cache;
+    }
+
+    private static int freePort() throws Exception {
+        try (DatagramSocket socket = new DatagramSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.musicstream.api.cover;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.media.MediaProperties;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 CoverThumbnailServiceTest - Génération des miniatures
+ */
+@DisplayName("CoverThumbnailService - Tests Unitaires")
+class CoverThumbnailServiceTest {
+
+    @TempDir
+    Path mediaDirectory;
+
+    private SongRepository songRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private CoverThumbnailService coverThumbnailService;
+
+    @BeforeEach
+    void setUp() {
+        songRepository = mock(SongRepository.class);
+        MediaProperties mediaProperties = new MediaProperties();
+        mediaProperties.setDirectory(mediaDirectory.toString());
+        meterRegistry = new SimpleMeterRegistry();
+        coverThumbnailService = new CoverThumbnailService(songRepository, new MediaStorage(mediaProperties),
+                new CoverProperties(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coverThumbnailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Pochette data URI - Génère les 3 tailles sur disque")
+    void testGeneratesAllSizes() throws Exception {
+        // Arrange: image 1000x500 sans transparence
+        Song song = Song.builder().id(1L).title("Imagine").artist("John Lennon")
+                .imageUrl(dataUri(1000, 500)).build();
+        when(songRepository.findById(1L)).thenReturn(Optional.of(song));
+
+        // Act
+        CoverVariant variant = coverThumbnailService.getCover(1L, 256).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("image/jpeg", variant.contentType());
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(variant.bytes()));
+        assertEquals(256, thumbnail.getWidth());
+        assertEquals(128, thumbnail.getHeight());
+        try (var files = Files.list(mediaDirectory.resolve("songs/1/cover"))) {
+            assertEquals(3, files.count());
+        }
+        assertSame(variant, coverThumbnailService.getCachedCover(1L, variant.version(), 256));
+        assertEquals(1.0, meterRegistry.get("musicstream.covers.cache.hits").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("musicstream.covers.cache.misses").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Chanson sans pochette - Résultat vide")
+    void testNoCover() throws Exception {
+        // Arrange
+        when(songRepository.findById(2L)).thenReturn(Optional.of(Song.builder().id(2L).build()));
+
+        // Act & Assert
+        assertNull(coverThumbnailService.getCover(2L, 64).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Version de pochette - Reprise tant que la chanson n'a pas changé, recalculée ensuite")
+    void testVersionFollowsSongVersion() throws Exception {
+        // Arrange
+        Song song = Song.builder().id(3L).imageUrl(dataUri(100, 100)).build();
+        when(songRepository.findById(3L)).thenReturn(Optional.of(song));
+        String first = coverThumbnailService.getCover(3L, 64).get(10, TimeUnit.SECONDS).version();
+
+        // Act: autre titre (version +1), même pochette, puis nouvelle pochette (version +1)
+        song.setVersion(1);
+        String sameCover = coverThumbnailService.getCover(3L, 64).get(10, TimeUnit.SECONDS).version();
+        song.setImageUrl(dataUri(200, 100));
+        song.setVersion(2);
+        String newCover = coverThumbnailService.getCover(3L, 64).get(10, TimeUnit.SECONDS).version();
+
+        // Assert
+        assertEquals(CoverThumbnailService.versionOf(song.getImageUrl()), newCover);
+        assertEquals(first, sameCover);
+        assertNotEquals(first, newCover);
+    }
+
+    private static String dataUri(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.ORANGE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(output.toByteArray());
+    }
+}
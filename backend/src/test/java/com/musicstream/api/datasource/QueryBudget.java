@@ -0,0 +1,74 @@
+package com.musicstream.api.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 📏 QueryBudget - Assertions sur le nombre de requêtes SQL d'une action
+ * 
+ * Utilisable dans tout test dont la datasource passe par QueryCountingDataSource
+ * (contexte Spring avec QueryBudgetConfig), y compris autour de mockMvc.perform:
+ * 
+ * QueryBudget.assertStatements(1, () -> songService.getSongById(id));
+ * QueryBudget.assertNoRepeatedQueries(3, () -> mockMvc.perform(get("/songs/search/by-artist?q=X")));
+ * 
+ * En cas d'échec, le message liste les requêtes exécutées.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    /**
+     * Échouer si action exécute plus de maxStatements instructions JDBC
+     */
+    public static QueryStats assertStatements(int maxStatements, Action action) {
+        QueryStats stats = measure(action);
+        if (stats.getStatements() > maxStatements) {
+            throw new AssertionError("Budget SQL dépassé: " + stats.getStatements()
+                    + " instructions pour un budget de " + maxStatements + System.lineSeparator() + stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Échouer si une même requête SQL est exécutée threshold fois ou plus (N+1)
+     */
+    public static QueryStats assertNoRepeatedQueries(int threshold, Action action) {
+        QueryStats stats = measure(action);
+        Map<String, Integer> repeated = stats.repeated(threshold);
+        if (!repeated.isEmpty()) {
+            throw new AssertionError("N+1 détecté: " + repeated + System.lineSeparator() + stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Compter sans assertion (les exceptions vérifiées de l'action sont propagées telles quelles)
+     */
+    public static QueryStats measure(Action action) {
+        QueryStats stats = QueryCounter.start();
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            QueryCounter.stop(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Variante pour les actions qui renvoient une valeur
+     */
+    public static QueryStats assertStatements(int maxStatements, Supplier<?> action) {
+        return assertStatements(maxStatements, (Action) action::get);
+    }
+}
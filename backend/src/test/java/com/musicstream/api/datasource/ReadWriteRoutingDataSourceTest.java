@@ -0,0 +1,111 @@
+package com.musicstream.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 ReadWriteRoutingDataSourceTest - Routage avec deux instances H2
+ * 
+ * Le primaire et le réplica contiennent une ligne différente dans la même table:
+ * la valeur lue indique quelle base a servi la requête.
+ */
+@DisplayName("ReadWriteRoutingDataSource - Tests avec deux H2")
+class ReadWriteRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaHealthMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("rw_primary");
+        replica = h2("rw_replica");
+        new JdbcTemplate(primary).execute("CREATE TABLE origin (name VARCHAR(20))");
+        new JdbcTemplate(primary).update("INSERT INTO origin VALUES ('primary')");
+        new JdbcTemplate(replica).execute("CREATE TABLE origin (name VARCHAR(20))");
+        new JdbcTemplate(replica).update("INSERT INTO origin VALUES ('replica')");
+        new JdbcTemplate(replica).execute("CREATE TABLE replication_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)");
+        new JdbcTemplate(replica).update("INSERT INTO replication_heartbeat VALUES (1, ?)", System.currentTimeMillis());
+
+        monitor = new ReplicaHealthMonitor(primary, Map.of("replica-0", replica), 60_000);
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(monitor);
+        routing.setTargetDataSources(Map.of(ReadWriteRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.clear();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    @DisplayName("Transaction readOnly - Servie par le réplica")
+    void testReadOnlyGoesToReplica() {
+        // Arrange
+        monitor.checkReplicas();
+
+        // Act & Assert
+        assertEquals("replica", readOnly.execute(status -> origin()));
+        assertEquals("primary", readWrite.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("Réplica en retard - Lectures redirigées vers le primaire")
+    void testLaggingReplicaFallsBackToPrimary() {
+        // Arrange: le réplica n'a pas vu de heartbeat depuis 10 minutes
+        new JdbcTemplate(replica).update("UPDATE replication_heartbeat SET beat_at = ?", System.currentTimeMillis() - 600_000);
+        monitor.checkReplicas();
+
+        // Act & Assert
+        assertNull(monitor.nextHealthyReplica());
+        assertEquals("primary", readOnly.execute(status -> origin()));
+    }
+
+    @Test
+    @DisplayName("Read-your-writes - Le client qui vient d'écrire lit sur le primaire")
+    void testReadYourWritesForcesPrimary() {
+        // Arrange
+        monitor.checkReplicas();
+        ReadYourWritesContext.forcePrimary();
+
+        // Act & Assert
+        assertEquals("primary", readOnly.execute(status -> origin()));
+    }
+
+    private String origin() {
+        return jdbcTemplate.queryForObject("SELECT name FROM origin", String.class);
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name);
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        return dataSource;
+    }
+}
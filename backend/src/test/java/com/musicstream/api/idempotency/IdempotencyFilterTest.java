@@ -0,0 +1,196 @@
+package com.musicstream.api.idempotency;
+
+import com.musicstream.api.controller.SongController;
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.service.SongBulkService;
+import com.musicstream.api.service.SongService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 🧪 IdempotencyFilterTest - Idempotency-Key sur POST /songs
+ * 
+ * SongController réel, SongService simulé: chaque création réellement exécutée
+ * reçoit un nouvel ID.
+ */
+@DisplayName("IdempotencyFilter - Tests Unitaires")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"title\":\"Imagine\",\"artist\":\"John Lennon\"}";
+
+    private SongService songService;
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        songService = mock(SongService.class);
+        when(songService.createSong(any())).thenAnswer(invocation -> created(invocation.getArgument(0)));
+
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new SongController(songService, mock(SongBulkService.class)))
+                .addFilters(new IdempotencyFilter(new IdempotencyProperties(), meterRegistry))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Même clé renvoyée - Une seule création, réponse rejouée à l'identique")
+    void testReplay() throws Exception {
+        // Act
+        MvcResult first = mockMvc.perform(create("k-1", BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn();
+        MvcResult second = mockMvc.perform(create("k-1", BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", "/api/songs/1"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andReturn();
+
+        // Assert
+        verify(songService, times(1)).createSong(any());
+        assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+        assertEquals(1.0, meterRegistry.counter("musicstream.idempotency.requests", "outcome", "replayed").count());
+    }
+
+    @Test
+    @DisplayName("Même clé, autre corps - 422; sans clé ou clé différente - Exécutée")
+    void testMismatchAndOtherKeys() throws Exception {
+        // Act & Assert
+        mockMvc.perform(create("k-1", BODY)).andExpect(status().isCreated());
+        mockMvc.perform(create("k-1", BODY.replace("Imagine", "Jealous Guy")))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(create("k-2", BODY)).andExpect(jsonPath("$.id").value(2));
+        mockMvc.perform(post("/songs").contentType(MediaType.APPLICATION_JSON).content(BODY))
+                .andExpect(jsonPath("$.id").value(3));
+        verify(songService, times(3)).createSong(any());
+    }
+
+    @Test
+    @DisplayName("Doublon simultané - Attend la première exécution puis reçoit sa réponse")
+    void testConcurrentDuplicate() throws Exception {
+        // Arrange
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return created(invocation.getArgument(0));
+        }).when(songService).createSong(any());
+
+        // Act
+        CompletableFuture<MvcResult> first = CompletableFuture.supplyAsync(() -> perform(create("k-1", BODY)));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MvcResult> duplicate = CompletableFuture.supplyAsync(() -> perform(create("k-1", BODY)));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        release.countDown();
+
+        // Assert
+        assertEquals(first.get(5, TimeUnit.SECONDS).getResponse().getContentAsString(),
+                duplicate.get(5, TimeUnit.SECONDS).getResponse().getContentAsString());
+        assertEquals("true", duplicate.get().getResponse().getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        verify(songService, times(1)).createSong(any());
+    }
+
+    @Test
+    @DisplayName("Erreur serveur - Non mémorisée, la nouvelle tentative s'exécute")
+    void testServerErrorNotStored() throws Exception {
+        // Arrange
+        doThrow(new IllegalStateException("Base indisponible"))
+                .doAnswer(invocation -> created(invocation.getArgument(0)))
+                .when(songService).createSong(any());
+
+        // Act & Assert
+        assertThrows(Exception.class, () -> mockMvc.perform(create("k-1", BODY)));
+        mockMvc.perform(create("k-1", BODY))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        verify(songService, times(2)).createSong(any());
+    }
+
+    @Test
+    @DisplayName("Réponse trop grosse pour être rejouée - Exécutée une fois, les doublons reçoivent 409")
+    void testOversizedResponseNotExecutedTwice() throws Exception {
+        // Arrange
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxResponseBytes(10);
+        MockMvc smallStore = MockMvcBuilders.standaloneSetup(new SongController(songService, mock(SongBulkService.class)))
+                .addFilters(new IdempotencyFilter(properties, meterRegistry))
+                .build();
+
+        // Act & Assert
+        smallStore.perform(create("k-1", BODY))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+        smallStore.perform(create("k-1", BODY))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        verify(songService, times(1)).createSong(any());
+    }
+
+    @Test
+    @DisplayName("Lecture non bloquante du corps rejoué - onDataAvailable puis onAllDataRead")
+    void testReadListener() throws Exception {
+        // Arrange
+        ReplayableRequest request = new ReplayableRequest(new MockHttpServletRequest(),
+                BODY.getBytes(StandardCharsets.UTF_8));
+        ServletInputStream input = request.getInputStream();
+        ReadListener listener = mock(ReadListener.class);
+        doAnswer(invocation -> {
+            assertTrue(input.isReady());
+            assertEquals(BODY, new String(input.readAllBytes(), StandardCharsets.UTF_8));
+            return null;
+        }).when(listener).onDataAvailable();
+
+        // Act
+        input.setReadListener(listener);
+
+        // Assert
+        var order = inOrder(listener);
+        order.verify(listener).onDataAvailable();
+        order.verify(listener).onAllDataRead();
+        verify(listener, never()).onError(any());
+        assertTrue(input.isFinished());
+    }
+
+    private SongDTO created(SongDTO request) {
+        return SongDTO.builder().id(ids.incrementAndGet()).title(request.getTitle()).artist(request.getArtist()).build();
+    }
+
+    private static MockHttpServletRequestBuilder create(String key, String body) {
+        return post("/songs").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request) {
+        try {
+            return mockMvc.perform(request).andReturn();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.musicstream.api.idempotency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 IdempotencyStoreTest - Éviction bornée sans oublier les requêtes en cours
+ */
+@DisplayName("IdempotencyStore - Tests Unitaires")
+class IdempotencyStoreTest {
+
+    private static final long TTL = 60_000_000_000L;
+
+    @Test
+    @DisplayName("Store plein de requêtes en cours - FULL, la clé en cours n'est pas oubliée")
+    void testInFlightEntriesAreNeverEvicted() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(2, 1024, TTL);
+        IdempotencyStore.Claim first = store.claim("a", "fa", 0);
+        IdempotencyStore.Claim second = store.claim("b", "fb", 0);
+
+        // Act
+        IdempotencyStore.Claim third = store.claim("c", "fc", 0);
+        IdempotencyStore.Claim duplicate = store.claim("a", "fa", 0);
+
+        // Assert
+        assertTrue(first.leader());
+        assertTrue(second.leader());
+        assertTrue(third.full());
+        assertFalse(duplicate.leader());
+        assertSame(first.entry(), duplicate.entry());
+
+        // Act: une fois "a" terminée, elle peut céder sa place
+        store.complete("a", first.entry(), response(10), 0);
+        IdempotencyStore.Claim afterCompletion = store.claim("c", "fc", 0);
+
+        // Assert
+        assertTrue(afterCompletion.leader());
+        assertFalse(store.claim("b", "fb", 0).leader());
+    }
+
+    @Test
+    @DisplayName("Budget d'octets - Les plus anciennes réponses terminées sont oubliées")
+    void testByteBudget() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(100, 250, TTL);
+
+        // Act
+        for (String key : new String[] {"a", "b", "c"}) {
+            store.complete(key, store.claim(key, "f" + key, 0).entry(), response(100), 0);
+        }
+
+        // Assert: "a" évincée, "b" et "c" rejouées
+        assertEquals(2, store.size());
+        assertTrue(store.totalBytes() <= 250);
+        assertTrue(store.claim("a", "fa", 0).leader());
+        assertFalse(store.claim("c", "fc", 0).leader());
+    }
+
+    @Test
+    @DisplayName("Réponse plus lourde que le budget - Refusée, la clé reste en cours")
+    void testOversizedResponseKeepsKey() {
+        // Arrange
+        IdempotencyStore store = new IdempotencyStore(10, 100, TTL);
+        IdempotencyStore.Claim claim = store.claim("a", "fa", 0);
+
+        // Act
+        boolean oversized = store.complete("a", claim.entry(), response(200), 0);
+
+        // Assert: pas de nouveau leader, puis la réponse de remplacement est rejouée
+        assertFalse(oversized);
+        assertFalse(claim.entry().response().isDone());
+        assertFalse(store.claim("a", "fa", 0).leader());
+        assertTrue(store.complete("a", claim.entry(), response(10), 0));
+        assertEquals(10, claim.entry().response().join().body().length);
+    }
+
+    private static IdempotencyStore.StoredResponse response(int bodyBytes) {
+        return new IdempotencyStore.StoredResponse(201, Map.of(), new byte[bodyBytes]);
+    }
+}
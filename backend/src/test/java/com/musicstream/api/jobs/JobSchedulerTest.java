@@ -0,0 +1,287 @@
+package com.musicstream.api.jobs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 JobSchedulerTest - Priorités, capacité, nouvelles tentatives et journal
+ * 
+ * Une file "test" à un seul worker: une première tâche bloquée sur un verrou
+ * garde les suivantes en attente le temps de les soumettre.
+ */
+@DisplayName("JobScheduler - Tests Unitaires")
+class JobSchedulerTest {
+
+    private static final JobType<Long> TASK = JobType.ofId("test.task", "test");
+
+    @TempDir
+    Path directory;
+
+    private JobProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<JobScheduler> schedulers = new ArrayList<>();
+    private final List<Long> executed = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        JobProperties.Queue queue = new JobProperties.Queue();
+        queue.setCapacity(3);
+        queue.setThreads(1);
+        queue.setMaxAttempts(3);
+        queue.setInitialBackoff(Duration.ofMillis(10));
+        queue.setMaxBackoff(Duration.ofMillis(20));
+        properties = new JobProperties();
+        properties.setQueues(Map.of("test", queue));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        schedulers.forEach(JobScheduler::shutdown);
+    }
+
+    @Test
+    @DisplayName("Priorités - HIGH d'abord, puis NORMAL et LOW, dans l'ordre de soumission")
+    void testPriorityOrder() throws Exception {
+        // Arrange
+        JobScheduler scheduler = scheduler(this::blockOnFirst);
+        scheduler.submit(TASK, 0L);
+        awaitExecuted(1);
+
+        // Act
+        scheduler.submit(TASK, 1L, JobPriority.LOW);
+        scheduler.submit(TASK, 2L, JobPriority.NORMAL);
+        scheduler.submit(TASK, 3L, JobPriority.HIGH);
+        release.countDown();
+
+        // Assert
+        awaitExecuted(4);
+        assertEquals(List.of(0L, 3L, 2L, 1L), executed);
+    }
+
+    @Test
+    @DisplayName("File pleine - submit refuse sans bloquer; même ID en attente regroupé")
+    void testBackpressureAndCoalescing() throws Exception {
+        // Arrange
+        JobScheduler scheduler = scheduler(this::blockOnFirst);
+        scheduler.submit(TASK, 0L);
+        awaitExecuted(1);
+
+        // Act
+        assertTrue(scheduler.submit(TASK, 1L));
+        assertTrue(scheduler.submit(TASK, 2L));
+        assertTrue(scheduler.submit(TASK, 1L));
+        assertTrue(scheduler.submit(TASK, 3L));
+        long start = System.nanoTime();
+        boolean accepted = scheduler.submit(TASK, 4L);
+
+        // Assert
+        assertFalse(accepted);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(3.0, meterRegistry.get("musicstream.jobs.depth").tag("queue", "test").gauge().value());
+        assertEquals(1.0, submitted("coalesced"));
+        assertEquals(1.0, submitted("rejected"));
+        release.countDown();
+        awaitExecuted(4);
+        assertEquals(List.of(0L, 1L, 2L, 3L), executed);
+    }
+
+    @Test
+    @DisplayName("Échec - Nouvelles tentatives avec attente croissante, abandon après max-attempts")
+    void testRetryWithBackoff() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        JobScheduler scheduler = scheduler(id -> {
+            calls.incrementAndGet();
+            if (id == 1L && calls.get() < 3) {
+                throw new IllegalStateException("Base indisponible");
+            }
+            if (id == 2L) {
+                throw new IllegalStateException("Toujours en échec");
+            }
+            executed.add(id);
+        });
+
+        // Act
+        scheduler.submit(TASK, 1L);
+        awaitExecuted(1);
+        scheduler.submit(TASK, 2L);
+
+        // Assert
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (completed("failed") < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(1L), executed);
+        assertEquals(1.0, completed("success"));
+        assertEquals(4.0, completed("retried"));
+        assertEquals(1.0, completed("failed"));
+        JobProperties.Queue settings = properties.queue("test");
+        assertEquals(Duration.ofMillis(10), JobScheduler.backoff(settings, 1));
+        assertEquals(Duration.ofMillis(20), JobScheduler.backoff(settings, 2));
+        assertEquals(Duration.ofMillis(20), JobScheduler.backoff(settings, 10));
+    }
+
+    @Test
+    @DisplayName("Redémarrage - Les tâches en attente sont reprises depuis le journal")
+    void testJournalRecovery() throws Exception {
+        // Arrange
+        Path journal = directory.resolve("jobs/pending.journal");
+        properties.setJournal(journal.toString());
+        JobScheduler first = scheduler(this::blockOnFirst);
+        first.submit(TASK, 1L);
+        awaitExecuted(1);
+        first.submit(TASK, 2L, JobPriority.LOW);
+        first.submit(TASK, 3L, JobPriority.HIGH);
+
+        // Act
+        first.shutdown();
+        executed.clear();
+        JobScheduler second = scheduler(executed::add);
+        second.resumePending();
+
+        // Assert
+        awaitExecuted(3);
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(executed));
+        second.shutdown();
+        schedulers.add(new JobScheduler(properties, meterRegistry));
+        assertEquals(List.of(), Files.readAllLines(journal));
+    }
+
+    @Test
+    @DisplayName("Journal - Tâches terminées (même avant l'écriture de leur ajout) non reprises")
+    void testJournalCompletedJobsNotResumed() throws Exception {
+        // Arrange
+        Path journal = directory.resolve("pending.journal");
+        properties.setJournal(journal.toString());
+        JobScheduler first = scheduler(executed::add);
+
+        // Act
+        for (long id = 1; id <= 50; id++) {
+            first.submit(TASK, id, JobPriority.NORMAL);
+            awaitExecuted((int) id);
+        }
+        first.shutdown();
+        JobScheduler second = scheduler(executed::add);
+        second.resumePending();
+
+        // Assert
+        Thread.sleep(50);
+        assertEquals(50, executed.size());
+        assertEquals(List.of(), Files.readAllLines(journal));
+    }
+
+    @Test
+    @DisplayName("Nouvelle tentative regroupée avec le même contenu en attente - Terminée dans le journal")
+    void testCoalescedRetryCompletedInJournal() throws Exception {
+        // Arrange: la 1re exécution de 1 échoue, nouvelle tentative dans 200 ms
+        properties.queue("test").setInitialBackoff(Duration.ofMillis(200));
+        Path journal = directory.resolve("pending.journal");
+        properties.setJournal(journal.toString());
+        AtomicInteger failures = new AtomicInteger();
+        JobScheduler scheduler = scheduler(id -> {
+            if (id == 1L && failures.getAndIncrement() == 0) {
+                throw new IllegalStateException("Base indisponible");
+            }
+            blockOnFirst(id);
+        });
+        scheduler.submit(TASK, 1L);
+        while (completed("retried") < 1) {
+            Thread.sleep(5);
+        }
+
+        // Act: 1 resoumise pendant que le worker est occupé, la tentative la rejoint
+        scheduler.submit(TASK, 2L);
+        awaitExecuted(1);
+        scheduler.submit(TASK, 1L);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!Files.readAllLines(journal).contains("- 1") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        awaitExecuted(2);
+
+        // Assert: plus rien en attente au redémarrage
+        assertEquals(List.of(2L, 1L), executed);
+        scheduler.shutdown();
+        schedulers.add(new JobScheduler(properties, meterRegistry));
+        assertEquals(List.of(), Files.readAllLines(journal));
+    }
+
+    @Test
+    @DisplayName("Error levée par une tâche - Le worker survit, la tâche est retentée")
+    void testErrorDoesNotKillWorker() throws Exception {
+        // Arrange
+        AtomicInteger calls = new AtomicInteger();
+        JobScheduler scheduler = scheduler(id -> {
+            if (id == 1L && calls.getAndIncrement() == 0) {
+                throw new AssertionError("Bug du traitement");
+            }
+            executed.add(id);
+        });
+
+        // Act
+        scheduler.submit(TASK, 1L);
+        scheduler.submit(TASK, 2L);
+
+        // Assert: file à un seul worker toujours vidée
+        awaitExecuted(2);
+        assertEquals(Set.of(1L, 2L), Set.copyOf(executed));
+        assertEquals(1.0, completed("retried"));
+    }
+
+    private JobScheduler scheduler(JobHandler<Long> handler) {
+        JobScheduler scheduler = new JobScheduler(properties, meterRegistry);
+        scheduler.register(TASK, handler);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    /**
+     * Bloquer la première tâche jusqu'à release (les suivantes restent en file)
+     */
+    private void blockOnFirst(Long id) throws InterruptedException {
+        boolean first = executed.isEmpty();
+        executed.add(id);
+        if (first) {
+            release.await();
+        }
+    }
+
+    private void awaitExecuted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executed.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, executed.size());
+    }
+
+    private double submitted(String outcome) {
+        return meterRegistry.get("musicstream.jobs.submitted").tag("outcome", outcome).counter().count();
+    }
+
+    private double completed(String outcome) {
+        var counter = meterRegistry.find("musicstream.jobs.completed").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
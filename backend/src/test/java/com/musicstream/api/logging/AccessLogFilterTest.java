@@ -0,0 +1,124 @@
+package com.musicstream.api.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 AccessLogFilterTest - Échantillonnage et limite par route du journal d'accès
+ * 
+ * Les décisions sont lues sur le compteur musicstream.access-log.records.
+ */
+@DisplayName("AccessLogFilter - Tests Unitaires")
+class AccessLogFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogProperties properties;
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AccessLogProperties();
+        properties.setEnabled(true);
+        properties.setSlowThreshold(Duration.ofMinutes(1));
+        filter = new AccessLogFilter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Échantillonnage - Requêtes normales écartées, 5xx et requêtes lentes toujours retenues")
+    void testSampling() throws Exception {
+        // Arrange
+        properties.setSampleRate(0);
+
+        // Act
+        call("/songs/{id}", 200);
+        call("/songs/{id}", 404);
+        call("/songs/{id}", 503);
+
+        // Assert
+        assertEquals(2, count("sampled-out"));
+        assertEquals(1, count("logged"));
+
+        // Act: tout dépasse un seuil nul
+        properties.setSlowThreshold(Duration.ZERO);
+        call("/songs/{id}", 200);
+
+        // Assert
+        assertEquals(2, count("logged"));
+    }
+
+    @Test
+    @DisplayName("Limite par route - Au plus N lignes par seconde, routes indépendantes")
+    void testRateLimitPerRoute() throws Exception {
+        // Arrange
+        properties.setSampleRate(1);
+        properties.setMaxPerSecondPerRoute(2);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            call("/songs/{id}", 200);
+        }
+        call("/songs/category/{category}", 200);
+
+        // Assert
+        assertEquals(3, count("logged"));
+        assertEquals(3, count("rate-limited"));
+    }
+
+    @Test
+    @DisplayName("Exception - Journalisée comme une erreur 500 puis propagée")
+    void testException() {
+        // Arrange
+        properties.setSampleRate(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/songs/1");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> filter.doFilter(request, new MockHttpServletResponse(), chain));
+        assertEquals(1, count("logged"));
+    }
+
+    @Test
+    @DisplayName("quote - Valeurs logfmt avec espaces ou guillemets entre guillemets")
+    void testQuote() {
+        // Act & Assert
+        assertEquals("/songs/{id}", AccessLogFilter.quote("/songs/{id}"));
+        assertEquals("\"/api/a b\"", AccessLogFilter.quote("/api/a b"));
+        assertEquals("\"x=\\\"y\\\"\"", AccessLogFilter.quote("x=\"y\""));
+    }
+
+    private void call(String route, int status) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                resp.setStatus(status);
+            }
+        });
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+
+    private double count(String decision) {
+        return meterRegistry.get("musicstream.access-log.records").tag("decision", decision).counter().count();
+    }
+}
@@ -0,0 +1,82 @@
+package com.musicstream.api.media;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 ByteBudgetLruCacheTest - Éviction par budget d'octets
+ */
+@DisplayName("ByteBudgetLruCache - Tests Unitaires")
+class ByteBudgetLruCacheTest {
+
+    @Test
+    @DisplayName("Budget dépassé - Évince l'entrée la moins récemment utilisée")
+    void testEvictsLeastRecentlyUsed() {
+        // Arrange
+        ByteBudgetLruCache<String, byte[]> cache = new ByteBudgetLruCache<>(100, bytes -> bytes.length);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        cache.get("a"); // "a" devient la plus récente
+
+        // Act
+        cache.put("c", new byte[40]);
+
+        // Assert
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.totalBytes());
+    }
+
+    @Test
+    @DisplayName("Entrée plus grosse que le budget - Non mise en cache")
+    void testOversizedEntryIsIgnored() {
+        // Arrange
+        ByteBudgetLruCache<String, byte[]> cache = new ByteBudgetLruCache<>(100, bytes -> bytes.length);
+        cache.put("small", new byte[10]);
+
+        // Act
+        cache.put("huge", new byte[500]);
+
+        // Assert
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("small"));
+        assertEquals(10, cache.totalBytes());
+    }
+
+    @Test
+    @DisplayName("Clé existante remplacée par une entrée trop grosse - L'ancienne valeur est retirée")
+    void testOversizedReplacementDropsPreviousValue() {
+        // Arrange
+        ByteBudgetLruCache<String, byte[]> cache = new ByteBudgetLruCache<>(100, bytes -> bytes.length);
+        cache.put("a", new byte[30]);
+        cache.put("b", new byte[10]);
+
+        // Act
+        cache.put("a", new byte[500]);
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertEquals(10, cache.totalBytes());
+    }
+
+    @Test
+    @DisplayName("Remplacement et suppression - Le total reste exact")
+    void testReplaceAndRemoveKeepTotal() {
+        // Arrange
+        ByteBudgetLruCache<String, byte[]> cache = new ByteBudgetLruCache<>(100, bytes -> bytes.length);
+        cache.put("a", new byte[30]);
+
+        // Act
+        cache.put("a", new byte[50]);
+        cache.put("b", new byte[20]);
+        cache.removeIf(key -> key.equals("a"));
+
+        // Assert
+        assertEquals(20, cache.totalBytes());
+        assertEquals(1, cache.size());
+    }
+}
@@ -0,0 +1,89 @@
+package com.musicstream.api.migration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 ArtistAlbumMigrationTest - Migration des anciennes colonnes texte
+ * 
+ * Base H2 dédiée avec le schéma "avant normalisation" + les colonnes ajoutées
+ * par Hibernate (artist_id, album_id) encore vides.
+ */
+@DisplayName("ArtistAlbumMigration - Tests JDBC")
+class ArtistAlbumMigrationTest {
+
+    private JdbcTemplate jdbc;
+    private ArtistAlbumMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE artists (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "name_key VARCHAR(255) NOT NULL UNIQUE, created_at TIMESTAMP NOT NULL)");
+        jdbc.execute("CREATE TABLE albums (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "title_key VARCHAR(255) NOT NULL, artist_id BIGINT NOT NULL, created_at TIMESTAMP NOT NULL, "
+                + "UNIQUE (artist_id, title_key))");
+        jdbc.execute("CREATE TABLE songs (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+                + "artist VARCHAR(255) NOT NULL, album VARCHAR(255), artist_id BIGINT, album_id BIGINT)");
+        migration = new ArtistAlbumMigration(dataSource);
+    }
+
+    @Test
+    @DisplayName("Migrer - Un artiste par nom normalisé, un album par (artiste, titre)")
+    void testMigrate_Deduplicates() throws SQLException {
+        // Arrange
+        insert("Bohemian Rhapsody", "Queen", "A Night at the Opera");
+        insert("Love of My Life", " queen", "A NIGHT AT THE OPERA ");
+        insert("Radio Ga Ga", "QUEEN", "The Works");
+        insert("Imagine", "John Lennon", null);
+        insert("Greatest", "John Lennon", "The Works");
+
+        // Act
+        int migrated = migration.migrate();
+
+        // Assert
+        assertEquals(5, migrated);
+        assertEquals(2, count("artists"));
+        assertEquals(3, count("albums"));
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM songs WHERE artist_id IS NULL", Integer.class));
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(DISTINCT album_id) FROM songs WHERE title IN ('Bohemian Rhapsody', 'Love of My Life')",
+                Integer.class));
+        assertNull(jdbc.queryForObject("SELECT album_id FROM songs WHERE title = 'Imagine'", Long.class));
+        List<String> columns = jdbc.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_name = 'SONGS'", String.class);
+        assertFalse(columns.contains("ARTIST"));
+        assertFalse(columns.contains("ALBUM"));
+    }
+
+    @Test
+    @DisplayName("Migrer deux fois - La 2e exécution ne fait rien")
+    void testMigrate_Idempotent() throws SQLException {
+        // Arrange
+        insert("Imagine", "John Lennon", "Imagine");
+        migration.migrate();
+
+        // Act & Assert
+        assertEquals(0, migration.migrate());
+        assertEquals(1, count("artists"));
+    }
+
+    private void insert(String title, String artist, String album) {
+        jdbc.update("INSERT INTO songs (title, artist, album) VALUES (?, ?, ?)", title, artist, album);
+    }
+
+    private int count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.musicstream.api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 RateLimitFilterTest - Clé client du rate limiting
+ * 
+ * Bucket WRITE de 2 jetons, sans recharge sensible pendant le test.
+ */
+@DisplayName("RateLimitFilter - Tests Unitaires")
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setWrite(new RateLimitProperties.Limit(2, 0.001));
+        properties.setApiKeys(Set.of("partner-key"));
+        filter = new RateLimitFilter(new RateLimiter(properties, new SimpleMeterRegistry()), properties);
+    }
+
+    @Test
+    @DisplayName("Clés inconnues changées à chaque requête - Même bucket que l'IP, 429 au 3e appel")
+    void testRotatingUnknownKeysAreThrottled() throws Exception {
+        // Act
+        int first = call("/songs", UUID.randomUUID().toString());
+        int second = call("/songs", UUID.randomUUID().toString());
+        int third = call("/songs", UUID.randomUUID().toString());
+
+        // Assert
+        assertEquals(200, first);
+        assertEquals(200, second);
+        assertEquals(429, third);
+    }
+
+    @Test
+    @DisplayName("Clé configurée - Bucket propre, indépendant de l'IP")
+    void testKnownKeyHasOwnBucket() throws Exception {
+        // Arrange: épuiser le bucket de l'IP
+        call("/songs", null);
+        call("/songs", null);
+
+        // Act & Assert
+        assertEquals(429, call("/songs", null));
+        assertEquals(200, call("/songs", "partner-key"));
+    }
+
+    @Test
+    @DisplayName("Chemins - /songs et /songs/** limités, /songsX ignoré")
+    void testLimitedPaths() throws Exception {
+        // Act & Assert
+        assertEquals(200, call("/songs/1", null));
+        assertEquals(200, call("/songs", null));
+        assertEquals(429, call("/songs/2", null));
+        assertEquals(200, call("/songsX", null));
+    }
+
+    private int call(String path, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr("10.0.0.1");
+        if (apiKey != null) {
+            request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
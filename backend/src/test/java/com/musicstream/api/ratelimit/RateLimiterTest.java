@@ -0,0 +1,80 @@
+package com.musicstream.api.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 RateLimiterTest - Tests unitaires du rate limiter (token bucket)
+ */
+@DisplayName("RateLimiter - Tests Unitaires")
+class RateLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.setSearch(new RateLimitProperties.Limit(3, 1));
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Rafale jusqu'à la capacité puis rejet")
+    void testBurstThenThrottle() {
+        // Act & Assert
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", RouteClass.SEARCH));
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", RouteClass.SEARCH));
+        assertEquals(0, rateLimiter.tryAcquire("10.0.0.1", RouteClass.SEARCH));
+        long wait = rateLimiter.tryAcquire("10.0.0.1", RouteClass.SEARCH);
+
+        assertTrue(wait > 0);
+        assertTrue(wait <= 1_000_000_000L);
+        assertEquals(1.0, meterRegistry.get("musicstream.ratelimit.throttled")
+                .tag("route", "search").counter().count());
+    }
+
+    @Test
+    @DisplayName("Buckets séparés par client et par type de route")
+    void testSeparateBuckets() {
+        // Arrange: épuiser le bucket SEARCH du client A
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("A", RouteClass.SEARCH);
+        }
+
+        // Act & Assert
+        assertTrue(rateLimiter.tryAcquire("A", RouteClass.SEARCH) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("B", RouteClass.SEARCH));
+        assertEquals(0, rateLimiter.tryAcquire("A", RouteClass.READ));
+    }
+
+    @Test
+    @DisplayName("Les buckets inactifs sont supprimés")
+    void testIdleBucketsAreSwept() {
+        // Arrange
+        properties.setIdleExpirySeconds(1);
+        rateLimiter.tryAcquire("A", RouteClass.READ);
+        assertEquals(1, rateLimiter.bucketCount());
+
+        // Act: 10 secondes plus tard
+        rateLimiter.sweepIdleBuckets(System.nanoTime() + 10_000_000_000L);
+
+        // Assert
+        assertEquals(0, rateLimiter.bucketCount());
+    }
+
+    @Test
+    @DisplayName("Type de route déduit de la méthode et du chemin")
+    void testRouteClass() {
+        assertEquals(RouteClass.READ, RouteClass.of("GET", "/songs/1"));
+        assertEquals(RouteClass.SEARCH, RouteClass.of("GET", "/songs/search/by-title"));
+        assertEquals(RouteClass.WRITE, RouteClass.of("POST", "/songs"));
+        assertEquals(RouteClass.WRITE, RouteClass.of("DELETE", "/songs/1"));
+    }
+}
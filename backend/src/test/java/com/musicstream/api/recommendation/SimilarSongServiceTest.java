@@ -0,0 +1,159 @@
+package com.musicstream.api.recommendation;
+
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.entity.Playlist;
+import com.musicstream.api.entity.PlaylistEntry;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.PlaylistChangedEvent;
+import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.service.CatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SimilarSongServiceTest - Co-occurrence dans les playlists, démarrage à froid, mise à jour incrémentale
+ * 
+ * Les calculs (rebuild, refresh) sont appelés directement: pas de thread planifié dans les tests.
+ * Les artistes sont créés hors de la transaction du test (CatalogService), d'où des noms différents par test.
+ */
+@DataJpaTest
+@Import({SimilarSongService.class, SimilarityProperties.class, CatalogService.class, SimilarSongServiceTest.Metrics.class})
+@TestPropertySource(properties = "musicstream.similar.enabled=false")
+@DisplayName("SimilarSongService - Tests JPA")
+class SimilarSongServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SimilarSongService similarSongService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Test
+    @DisplayName("Recalcul complet - Les chansons souvent ensemble dans les playlists sont les plus similaires")
+    void testRebuild_CoOccurrence() {
+        // Arrange
+        Long a = save("A", "Artiste A1");
+        Long b = save("B", "Artiste B1");
+        Long c = save("C", "Artiste C1");
+        playlist(a, b, c);
+        playlist(a, b);
+        playlist(b, a);
+
+        // Act
+        similarSongService.rebuild();
+        List<Long> similar = ids(similarSongService.getSimilar(a, 20).orElseThrow());
+
+        // Assert
+        assertEquals(List.of(b, c), similar);
+    }
+
+    @Test
+    @DisplayName("Démarrage à froid - Une chanson sans playlist est recommandée par métadonnées")
+    void testRebuild_ColdStart() {
+        // Arrange
+        Long a = save("Bohemian Rhapsody", "Artiste Froid");
+        Long b = save("Love of My Life", "Autre Artiste");
+        Long cold = save("Nouveau Titre", "Artiste Froid");
+        Long unrelated = save("Sans Rapport", "Artiste Isolé");
+        playlist(a, b);
+
+        // Act
+        similarSongService.rebuild();
+        List<Long> similar = ids(similarSongService.getSimilar(cold, 20).orElseThrow());
+
+        // Assert
+        assertEquals(List.of(a), similar);
+        assertFalse(similar.contains(unrelated));
+    }
+
+    @Test
+    @DisplayName("Mise à jour incrémentale - Seules les chansons de la playlist modifiée sont recalculées")
+    void testRefresh_Incremental() {
+        // Arrange
+        Long a = save("Titre A", "Artiste A3");
+        Long b = save("Titre B", "Artiste B3");
+        Long c = save("Titre C", "Artiste C3");
+        Long d = save("Titre D", "Artiste D3");
+        playlist(a, b);
+        playlist(c, d);
+        similarSongService.rebuild();
+        assertEquals(List.of(b), ids(similarSongService.getSimilar(a, 20).orElseThrow()));
+
+        // Act: nouvelle playlist [c, a]
+        Long playlistId = playlist(c, a);
+        similarSongService.onPlaylistChanged(new PlaylistChangedEvent(playlistId, List.of(c, a)));
+        int refreshed = similarSongService.refresh();
+
+        // Assert: a, c (chansons de la playlist) et leurs voisines b, d n'ont pas toutes été recalculées
+        assertEquals(2, refreshed);
+        assertTrue(ids(similarSongService.getSimilar(a, 20).orElseThrow()).contains(c));
+        assertEquals(List.of(d, a), ids(similarSongService.getSimilar(c, 20).orElseThrow()));
+        assertEquals(0, similarSongService.refresh());
+    }
+
+    @Test
+    @DisplayName("Chanson inconnue → vide, limit invalide → IllegalArgumentException")
+    void testGetSimilar_UnknownAndLimit() {
+        // Arrange
+        Long a = save("Seule", "Artiste Seul");
+
+        // Act & Assert
+        assertTrue(similarSongService.getSimilar(999_999L, 20).isEmpty());
+        assertEquals(List.of(), similarSongService.getSimilar(a, 20).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> similarSongService.getSimilar(a, 0));
+        assertThrows(IllegalArgumentException.class, () -> similarSongService.getSimilar(a, 51));
+    }
+
+    private Long save(String title, String artist) {
+        Song song = Song.builder().title(title).artist(artist).category("catégorie " + title).build();
+        catalogService.resolve(song);
+        Long id = songRepository.save(song).getId();
+        entityManager.flush();
+        return id;
+    }
+
+    private Long playlist(Long... songIds) {
+        Long playlistId = entityManager.persist(Playlist.builder().name("Playlist").build()).getId();
+        for (int i = 0; i < songIds.length; i++) {
+            entityManager.persist(PlaylistEntry.builder()
+                    .playlistId(playlistId)
+                    .songId(songIds[i])
+                    .position((i + 1) * PlaylistEntry.GAP)
+                    .build());
+        }
+        entityManager.flush();
+        return playlistId;
+    }
+
+    private static List<Long> ids(List<SongDTO> songs) {
+        return songs.stream().map(SongDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -8,7 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -158,6 +161,53 @@ class SongRepositoryTest {
         assertEquals(185, updated.getDuration());
     }
 
+    @Test
+    @DisplayName("UPDATE partiel - Colonnes du patch seulement, version vérifiée puis incrémentée")
+    void testPatch() {
+        // Arrange
+        Song savedSong = songRepository.save(testSong);
+        entityManager.flush();
+        Long id = savedSong.getId();
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("title", "Imagine (Live)");
+        changes.put("genre", null);
+
+        // Act
+        int stale = songRepository.patch(id, 5L, changes);
+        int patched = songRepository.patch(id, 0L, changes);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(0, stale);
+        assertEquals(1, patched);
+        Song found = songRepository.findById(id).orElseThrow();
+        assertEquals("Imagine (Live)", found.getTitle());
+        assertNull(found.getGenre());
+        assertEquals(183, found.getDuration());
+        assertEquals(1L, found.getVersion());
+    }
+
+    @Test
+    @DisplayName("UPDATE ciblés (upload, métadonnées) - Version incrémentée, l'ETag change")
+    void testTargetedUpdatesIncrementVersion() {
+        // Arrange
+        Long id = songRepository.save(testSong).getId();
+        entityManager.flush();
+
+        // Act
+        songRepository.updateAudioFile(id, "songs/" + id + "/audio.mp3", 42L, "ab", LocalDateTime.now());
+        entityManager.clear();
+        long afterUpload = songRepository.findById(id).orElseThrow().getVersion();
+        songRepository.applyAudioMetadata(id, 184, 320, 44_100, null, LocalDateTime.now());
+        entityManager.clear();
+
+        // Assert
+        Song found = songRepository.findById(id).orElseThrow();
+        assertEquals(1L, afterUpload);
+        assertEquals(2L, found.getVersion());
+        assertEquals(184, found.getDuration());
+    }
+
     // ========== TESTS DELETE ==========
 
     @Test
@@ -0,0 +1,182 @@
+package com.musicstream.api.search;
+
+import com.musicstream.api.dto.SearchHitDTO;
+import com.musicstream.api.dto.SearchPageDTO;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.SongRepository;
+import com.musicstream.api.service.CatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SongSearchServiceTest - Classement BM25, accents, racinisation, NRT et search-after
+ * 
+ * L'index (en mémoire) est partagé par les tests: il est vidé avant chaque test par un
+ * rebuild() sur la base vide (pas de reconstruction en arrière-plan au démarrage). Les chansons sont indexées via SongChangedEvent comme en production.
+ */
+@DataJpaTest
+@Import({SongSearchService.class, SearchProperties.class, CatalogService.class, SongSearchServiceTest.Metrics.class})
+@TestPropertySource(properties = "musicstream.search.rebuild-on-startup=false")
+@DisplayName("SongSearchService - Tests Lucene")
+class SongSearchServiceTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SongSearchService songSearchService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @BeforeEach
+    void setUp() {
+        songSearchService.rebuild();
+    }
+
+    @Test
+    @DisplayName("Accents repliés - Un titre trouvé passe avant un artiste, avec surlignage")
+    void testSearch_FoldingAndRanking() throws IOException {
+        // Arrange
+        Long title = save("Étoile filante", "Artiste Sans Rapport", "pop");
+        Long artist = save("Nuit blanche", "Étoile Noire", "pop");
+        save("Autre chose", "Quelqu'un", "pop");
+
+        // Act
+        SearchPageDTO page = songSearchService.search("ETOILE", 20, null);
+
+        // Assert
+        assertEquals(List.of(title, artist), ids(page));
+        assertEquals(2, page.getTotalHits());
+        assertEquals("<b>Étoile</b> filante", page.getHits().get(0).getHighlights().get("title"));
+        assertEquals("<b>Étoile</b> Noire", page.getHits().get(1).getHighlights().get("artist"));
+        assertFalse(page.getHits().get(0).getHighlights().containsKey("artist"));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Racinisation - Pluriel et élision en français, -ing en anglais, préfixe du dernier mot")
+    void testSearch_Stemming() throws IOException {
+        // Arrange
+        Long french = save("Les chansons de l'amour", "Artiste FR", "variété");
+        Long english = save("Loving You", "Artist EN", "soul");
+
+        // Act & Assert
+        assertEquals(List.of(french), ids(songSearchService.search("chanson amour", 20, null)));
+        assertEquals(List.of(english), ids(songSearchService.search("love", 20, null)));
+        assertEquals(List.of(english), ids(songSearchService.search("lov", 20, null)));
+    }
+
+    @Test
+    @DisplayName("Quasi temps réel - Modification et suppression visibles après l'événement")
+    void testOnSongChanged() throws IOException {
+        // Arrange
+        Long id = save("Première Version", "Artiste NRT", "rock");
+        Song song = songRepository.findById(id).orElseThrow();
+
+        // Act: renommer
+        song.setTitle("Seconde Version");
+        entityManager.flush();
+        songSearchService.onSongChanged(new SongChangedEvent(id, SongChangedEvent.Type.UPDATED, false));
+        songSearchService.refresh();
+
+        // Assert
+        assertEquals(List.of(), ids(songSearchService.search("première", 20, null)));
+        assertEquals(List.of(id), ids(songSearchService.search("seconde", 20, null)));
+
+        // Act: supprimer
+        songSearchService.onSongChanged(new SongChangedEvent(id, SongChangedEvent.Type.DELETED, true));
+        songSearchService.refresh();
+
+        // Assert
+        assertEquals(0, songSearchService.search("seconde", 20, null).getTotalHits());
+    }
+
+    @Test
+    @DisplayName("search-after - Les pages se suivent sans doublon ni trou")
+    void testSearch_SearchAfter() throws IOException {
+        // Arrange: 5 chansons de même score
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(save("Ballade " + i, "Artiste Page", "folk"));
+        }
+
+        // Act
+        SearchPageDTO first = songSearchService.search("ballade", 2, null);
+        SearchPageDTO second = songSearchService.search("ballade", 2, first.getNextCursor());
+        SearchPageDTO third = songSearchService.search("ballade", 2, second.getNextCursor());
+
+        // Assert
+        Set<Long> seen = new HashSet<>();
+        seen.addAll(ids(first));
+        seen.addAll(ids(second));
+        seen.addAll(ids(third));
+        assertEquals(expected, seen);
+        assertEquals(1, third.getHits().size());
+        assertNull(third.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> songSearchService.search("ballade", 2, "pas-un-curseur"));
+    }
+
+    @Test
+    @DisplayName("Reconstruction - Toutes les chansons indexées, les disparues retirées")
+    void testRebuild() throws IOException {
+        // Arrange: une chanson indexée puis supprimée sans événement
+        Long gone = save("Fantôme", "Artiste Rebuild", "jazz");
+        songRepository.deleteById(gone);
+        Long kept = save("Présente", "Artiste Rebuild", "jazz");
+        entityManager.flush();
+
+        // Act
+        int indexed = songSearchService.rebuild();
+
+        // Assert
+        assertEquals(1, indexed);
+        assertEquals(List.of(kept), ids(songSearchService.search("artiste rebuild", 20, null)));
+        assertEquals(0, songSearchService.search("fantome", 20, null).getTotalHits());
+        assertThrows(IllegalArgumentException.class, () -> songSearchService.search("  ", 20, null));
+    }
+
+    private Long save(String title, String artist, String genre) throws IOException {
+        Song song = Song.builder().title(title).artist(artist).genre(genre).category("test").build();
+        catalogService.resolve(song);
+        Long id = songRepository.save(song).getId();
+        entityManager.flush();
+        songSearchService.onSongChanged(new SongChangedEvent(id, SongChangedEvent.Type.CREATED, false));
+        songSearchService.refresh();
+        return id;
+    }
+
+    private static List<Long> ids(SearchPageDTO page) {
+        return page.getHits().stream().map(SearchHitDTO::getSong).map(song -> song.getId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,120 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.dto.AlbumDTO;
+import com.musicstream.api.dto.ArtistDTO;
+import com.musicstream.api.dto.DiscographyDTO;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.repository.SongRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 CatalogServiceTest - Dédoublonnage des artistes/albums et discographies
+ * 
+ * Les artistes et albums sont créés dans une transaction séparée (REQUIRES_NEW):
+ * ils ne sont pas annulés entre les tests, d'où des noms différents par test.
+ */
+@DataJpaTest
+@Import(CatalogService.class)
+@DisplayName("CatalogService - Tests JPA")
+class CatalogServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Test
+    @DisplayName("Résoudre des noms - Même artiste et même album malgré casse et espaces")
+    void testResolve_Deduplicates() {
+        // Act
+        Song first = save("Bohemian Rhapsody", "Queen", "A Night at the Opera");
+        Song second = save("Love of My Life", "  QUEEN ", "a night at the opera");
+
+        // Assert
+        assertEquals(first.getArtistRef().getId(), second.getArtistRef().getId());
+        assertEquals(first.getAlbumRef().getId(), second.getAlbumRef().getId());
+        assertEquals("Queen", second.getArtist());
+        assertEquals(2, songRepository.findByArtist("queen").size());
+    }
+
+    @Test
+    @DisplayName("Même titre d'album chez deux artistes - Deux albums distincts")
+    void testResolve_AlbumPerArtist() {
+        // Act
+        Song first = save("Titre 1", "Artiste Un", "Greatest Hits");
+        Song second = save("Titre 2", "Artiste Deux", "Greatest Hits");
+
+        // Assert
+        assertNotEquals(first.getAlbumRef().getId(), second.getAlbumRef().getId());
+    }
+
+    @Test
+    @DisplayName("Discographie - Albums avec leurs pistes + titres hors album")
+    void testGetDiscography() {
+        // Arrange
+        Song song = save("Money", "Pink Floyd", "The Dark Side of the Moon");
+        save("Time", "Pink Floyd", "The Dark Side of the Moon");
+        save("Wish You Were Here", "Pink Floyd", "Wish You Were Here");
+        save("Arnold Layne", "Pink Floyd", null);
+        entityManager.clear();
+
+        // Act
+        DiscographyDTO discography = catalogService.getDiscography(song.getArtistRef().getId()).orElseThrow();
+        AlbumDTO album = catalogService.getAlbum(song.getAlbumRef().getId()).orElseThrow();
+
+        // Assert
+        assertEquals(2, discography.getAlbums().size());
+        assertEquals(List.of("Money", "Time"),
+                discography.getAlbums().get(0).getTracks().stream().map(t -> t.getTitle()).toList());
+        assertEquals("Arnold Layne", discography.getSingles().get(0).getTitle());
+        assertEquals(4L, discography.getArtist().getSongCount());
+        assertEquals("Pink Floyd", album.getArtistName());
+        assertEquals(2, album.getTracks().size());
+    }
+
+    @Test
+    @DisplayName("Lister les artistes - Compteurs en une requête, filtre par préfixe")
+    void testGetArtists() {
+        // Arrange
+        save("So What", "Miles Davis", "Kind of Blue");
+        save("Blue in Green", "Miles Davis", "Kind of Blue");
+        save("Giant Steps", "John Coltrane", "Giant Steps");
+
+        // Act
+        List<ArtistDTO> artists = catalogService.getArtists("miles");
+
+        // Assert
+        assertEquals(1, artists.size());
+        assertEquals("Miles Davis", artists.get(0).getName());
+        assertEquals(1L, artists.get(0).getAlbumCount());
+        assertEquals(2L, artists.get(0).getSongCount());
+    }
+
+    @Test
+    @DisplayName("Chanson sans artiste - IllegalArgumentException")
+    void testResolve_MissingArtist() {
+        Song song = Song.builder().title("Sans artiste").build();
+        assertThrows(IllegalArgumentException.class, () -> catalogService.resolve(song));
+    }
+
+    private Song save(String title, String artist, String album) {
+        Song song = Song.builder().title(title).artist(artist).album(album).category("test").build();
+        catalogService.resolve(song);
+        Song saved = songRepository.save(song);
+        entityManager.flush();
+        return saved;
+    }
+}
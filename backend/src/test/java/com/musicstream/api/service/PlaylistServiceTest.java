@@ -0,0 +1,196 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.dto.PlaylistDTO;
+import com.musicstream.api.dto.PlaylistEntryDTO;
+import com.musicstream.api.dto.PlaylistEntryPageDTO;
+import com.musicstream.api.dto.PlaylistEntryRequest;
+import com.musicstream.api.entity.PlaylistEntry;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.repository.PlaylistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 PlaylistServiceTest - Ordre par positions espacées et pagination par curseur
+ * 
+ * Sur une vraie base H2 (@DataJpaTest): on vérifie quelles lignes changent réellement.
+ */
+@DataJpaTest
+@Import(PlaylistService.class)
+@DisplayName("PlaylistService - Tests JPA")
+class PlaylistServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @Autowired
+    private PlaylistEntryRepository playlistEntryRepository;
+
+    private Long playlistId;
+    private List<Long> songIds;
+
+    @BeforeEach
+    void setUp() {
+        songIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Song song = new Song();
+            song.setTitle("Titre " + i);
+            song.setArtist("Artiste " + i);
+            song.setCategory("pop");
+            songIds.add(entityManager.persist(song).getId());
+        }
+        playlistId = playlistService.createPlaylist(PlaylistDTO.builder().name("Favoris").build()).getId();
+    }
+
+    @Test
+    @DisplayName("Ajouter à la fin - Positions espacées de GAP, résumés des chansons joints")
+    void testAddEntries_Append() {
+        // Act
+        List<PlaylistEntryDTO> added = add(null, null, songIds.get(0), songIds.get(1), songIds.get(2));
+
+        // Assert
+        assertEquals(3, added.size());
+        assertEquals(PlaylistEntry.GAP, added.get(0).getPosition());
+        assertEquals(3 * PlaylistEntry.GAP, added.get(2).getPosition());
+        assertEquals("Titre 1", added.get(1).getTitle());
+        assertEquals("Artiste 2", added.get(2).getArtist());
+    }
+
+    @Test
+    @DisplayName("Insérer entre deux entrées - Les autres lignes ne bougent pas")
+    void testAddEntries_Between() {
+        // Arrange
+        List<PlaylistEntryDTO> existing = add(null, null, songIds.get(0), songIds.get(1));
+        Map<Long, Long> before = positions();
+
+        // Act
+        List<PlaylistEntryDTO> inserted = add(existing.get(0).getEntryId(), null, songIds.get(3));
+
+        // Assert
+        assertEquals(before, positionsExcept(inserted.get(0).getEntryId()));
+        assertEquals(List.of(songIds.get(0), songIds.get(3), songIds.get(1)), songOrder());
+    }
+
+    @Test
+    @DisplayName("Déplacer une entrée - Un seul UPDATE")
+    void testMoveEntry_SingleRow() {
+        // Arrange
+        List<PlaylistEntryDTO> entries = add(null, null, songIds.get(0), songIds.get(1), songIds.get(2));
+        Long moved = entries.get(2).getEntryId();
+        Map<Long, Long> before = positions();
+
+        // Act
+        playlistService.moveEntry(playlistId, moved,
+                PlaylistEntryRequest.builder().beforeEntryId(entries.get(0).getEntryId()).build());
+
+        // Assert
+        Map<Long, Long> after = positions();
+        assertNotEquals(before.get(moved), after.get(moved));
+        before.remove(moved);
+        after.remove(moved);
+        assertEquals(before, after);
+        assertEquals(List.of(songIds.get(2), songIds.get(0), songIds.get(1)), songOrder());
+    }
+
+    @Test
+    @DisplayName("Insertions répétées au même endroit - Renumérotation quand l'écart est épuisé")
+    void testAddEntries_Renumber() {
+        // Arrange
+        List<PlaylistEntryDTO> entries = add(null, null, songIds.get(0), songIds.get(1));
+
+        // Act: toujours juste après la 1re entrée → l'écart est divisé par 2 à chaque fois
+        for (int i = 0; i < 40; i++) {
+            add(entries.get(0).getEntryId(), null, songIds.get(2));
+        }
+
+        // Assert
+        List<Long> order = songOrder();
+        assertEquals(42, order.size());
+        assertEquals(songIds.get(0), order.get(0));
+        assertEquals(songIds.get(1), order.get(41));
+        assertEquals(42, positions().values().stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Lire les entrées - Pages par curseur, nextCursor null à la fin")
+    void testGetEntries_Cursor() {
+        // Arrange
+        add(null, null, songIds.toArray(new Long[0]));
+
+        // Act
+        PlaylistEntryPageDTO first = playlistService.getEntries(playlistId, null, 2).orElseThrow();
+        PlaylistEntryPageDTO second = playlistService.getEntries(playlistId, first.getNextCursor(), 2).orElseThrow();
+        PlaylistEntryPageDTO last = playlistService.getEntries(playlistId, second.getNextCursor(), 2).orElseThrow();
+
+        // Assert
+        assertEquals(songIds.get(2), second.getEntries().get(0).getSongId());
+        assertEquals(1, last.getEntries().size());
+        assertNull(last.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> playlistService.getEntries(playlistId, "abc", 2));
+    }
+
+    @Test
+    @DisplayName("Ajouter une chanson inconnue - IllegalArgumentException")
+    void testAddEntries_UnknownSong() {
+        assertThrows(IllegalArgumentException.class, () -> add(null, null, 999_999L));
+    }
+
+    @Test
+    @DisplayName("Supprimer une chanson - Retirée de toutes les playlists")
+    void testSongDeleted_RemovesEntries() {
+        // Arrange
+        add(null, null, songIds.get(0), songIds.get(1), songIds.get(0));
+
+        // Act
+        playlistService.onSongChanged(new SongChangedEvent(songIds.get(0), SongChangedEvent.Type.DELETED, true));
+
+        // Assert
+        assertEquals(List.of(songIds.get(1)), songOrder());
+        assertEquals(1L, playlistService.getPlaylist(playlistId).orElseThrow().getEntryCount());
+    }
+
+    // ========== OUTILS ==========
+
+    private List<PlaylistEntryDTO> add(Long afterEntryId, Long beforeEntryId, Long... songs) {
+        PlaylistEntryRequest request = PlaylistEntryRequest.builder()
+                .songIds(List.of(songs)).afterEntryId(afterEntryId).beforeEntryId(beforeEntryId).build();
+        List<PlaylistEntryDTO> added = playlistService.addEntries(playlistId, request).orElseThrow();
+        entityManager.flush();
+        entityManager.clear();
+        return added;
+    }
+
+    private Map<Long, Long> positions() {
+        entityManager.flush();
+        entityManager.clear();
+        return playlistEntryRepository.findByPlaylistIdOrderByPositionAscIdAsc(playlistId).stream()
+                .collect(Collectors.toMap(PlaylistEntry::getId, PlaylistEntry::getPosition));
+    }
+
+    private Map<Long, Long> positionsExcept(Long entryId) {
+        Map<Long, Long> positions = positions();
+        positions.remove(entryId);
+        return positions;
+    }
+
+    private List<Long> songOrder() {
+        return playlistService.getEntries(playlistId, null, PlaylistService.MAX_PAGE_SIZE).orElseThrow()
+                .getEntries().stream().map(PlaylistEntryDTO::getSongId).collect(Collectors.toList());
+    }
+}
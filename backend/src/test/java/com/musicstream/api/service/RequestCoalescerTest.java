@@ -0,0 +1,112 @@
+package com.musicstream.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 RequestCoalescerTest - Tests du single-flight
+ */
+@DisplayName("RequestCoalescer - Tests Unitaires")
+class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Lectures identiques simultanées - Une seule exécution")
+    void testConcurrentIdenticalReadsAreCoalesced() throws Exception {
+        // Arrange: le leader reste bloqué tant que tous les threads ne sont pas en attente
+        int threads = 8;
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            // Act
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> requestCoalescer.execute("getSongById", 42L, () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "Imagine";
+                })));
+            }
+            while (shared() < threads - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            // Assert
+            for (Future<String> result : results) {
+                assertEquals("Imagine", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(1.0, meterRegistry.get("musicstream.coalescing.requests")
+                    .tag("role", "leader").counter().count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Arguments différents - Exécutions séparées")
+    void testDifferentArgumentsAreNotCoalesced() {
+        // Act
+        String first = requestCoalescer.execute("getSongById", 1L, () -> "A");
+        String second = requestCoalescer.execute("getSongById", 2L, () -> "B");
+
+        // Assert
+        assertEquals("A", first);
+        assertEquals("B", second);
+        assertEquals(0.0, shared());
+    }
+
+    @Test
+    @DisplayName("Exception du leader - Propagée à l'appelant")
+    void testLeaderExceptionIsPropagated() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () ->
+                requestCoalescer.execute("searchByTitle", "x", () -> {
+                    throw new IllegalStateException("DB down");
+                }));
+
+        // La clé est libérée: la lecture suivante s'exécute normalement
+        assertEquals("ok", requestCoalescer.execute("searchByTitle", "x", () -> "ok"));
+    }
+
+    private double shared() {
+        return meterRegistry.find("musicstream.coalescing.requests")
+                .tag("role", "shared")
+                .counters()
+                .stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.dto.PlaylistDTO;
+import com.musicstream.api.dto.PlaylistEntryRequest;
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.repository.PlaylistEntryRepository;
+import com.musicstream.api.repository.SongFilter;
+import com.musicstream.api.repository.SongRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SongBulkServiceTest - Suppressions et modifications en masse par lots
+ * 
+ * Sur une vraie base H2 (@DataJpaTest), avec des lots de 2 chansons: chaque
+ * opération en traverse plusieurs.
+ */
+@DataJpaTest
+@Import({SongBulkService.class, SongBulkProperties.class, PlaylistService.class, CatalogService.class})
+@DisplayName("SongBulkService - Tests JPA")
+class SongBulkServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SongBulkService songBulkService;
+
+    @Autowired
+    private SongBulkProperties properties;
+
+    @Autowired
+    private PlaylistService playlistService;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private PlaylistEntryRepository playlistEntryRepository;
+
+    private List<Long> songIds;
+
+    @BeforeEach
+    void setUp() {
+        properties.setChunkSize(2);
+        songIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Song song = new Song();
+            song.setTitle("Titre " + i);
+            song.setArtist(i % 2 == 0 ? "Queen" : "Abba");
+            song.setGenre("Rock");
+            song.setCategory(i < 5 ? "demo" : "pop");
+            catalogService.resolve(song);
+            songIds.add(entityManager.persist(song).getId());
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("Supprimer par catégorie - Par lots, entrées de playlist retirées")
+    void testDeleteAll() {
+        // Arrange
+        Long playlistId = playlistService.createPlaylist(PlaylistDTO.builder().name("Favoris").build()).getId();
+        playlistService.addEntries(playlistId, PlaylistEntryRequest.builder()
+                .songIds(List.of(songIds.get(0), songIds.get(5), songIds.get(1))).build());
+        entityManager.flush();
+
+        // Act
+        SongBulkService.BulkResult result = songBulkService.deleteAll(new SongFilter("demo", null, null));
+        entityManager.clear();
+
+        // Assert
+        assertEquals(5, result.affected());
+        assertEquals(3, result.chunks());
+        assertEquals(List.of(songIds.get(5), songIds.get(6)),
+                songRepository.findAll().stream().map(Song::getId).sorted().toList());
+        assertEquals(1, playlistEntryRepository.findByPlaylistIdOrderByPositionAscIdAsc(playlistId).size());
+    }
+
+    @Test
+    @DisplayName("Modifier par artiste - Seules ses chansons changent, version incrémentée")
+    void testPatchAll() {
+        // Arrange
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("genre", "Disco");
+        patch.put("imageUrl", null);
+
+        // Act
+        SongBulkService.BulkResult result = songBulkService.patchAll(new SongFilter(null, null, " ABBA "), patch);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, result.affected());
+        assertEquals(2, result.chunks());
+        for (Song song : songRepository.findAll()) {
+            assertEquals(song.getArtist().equals("Abba") ? "Disco" : "Rock", song.getGenre());
+            assertEquals(song.getArtist().equals("Abba") ? 1L : 0L, song.getVersion());
+        }
+    }
+
+    @Test
+    @DisplayName("Filtre vide, champ propre à chaque chanson, artiste sans album - Refusés")
+    void testValidation() {
+        // Act & Assert
+        SongFilter demo = new SongFilter("demo", null, null);
+        assertThrows(IllegalArgumentException.class, () -> songBulkService.deleteAll(new SongFilter(null, null, null)));
+        assertThrows(IllegalArgumentException.class, () -> songBulkService.patchAll(demo, Map.of("title", "x")));
+        assertThrows(IllegalArgumentException.class, () -> songBulkService.patchAll(demo, Map.of("artist", "Queen")));
+        assertThrows(IllegalArgumentException.class, () -> songBulkService.patchAll(demo, Map.of()));
+        assertEquals(7, songRepository.count());
+    }
+}
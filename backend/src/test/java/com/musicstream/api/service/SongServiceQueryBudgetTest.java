@@ -0,0 +1,185 @@
+package com.musicstream.api.service;
+
+import com.musicstream.api.datasource.QueryBudget;
+import com.musicstream.api.datasource.QueryBudgetConfig;
+import com.musicstream.api.datasource.QueryBudgetProperties;
+import com.musicstream.api.datasource.QueryStats;
+import com.musicstream.api.dto.SongBatchDTO;
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SongServiceQueryBudgetTest - Budget de requêtes SQL des opérations de SongService
+ * 
+ * Base H2 réelle derrière QueryCountingDataSource. Les budgets sont ceux de
+ * musicstream.query-budget.routes: un aller-retour de plus (existsById, findById
+ * avant save, chargement paresseux par chanson...) fait échouer le test.
+ * 
+ * Hors transaction de test: chaque appel de service valide sa propre transaction,
+ * comme en production; les chansons créées sont supprimées après chaque test.
+ */
+@DataJpaTest
+@Import({SongService.class, CatalogService.class, RequestCoalescer.class, QueryBudgetConfig.class,
+        QueryBudgetProperties.class, SongMultiGetProperties.class, SongServiceQueryBudgetTest.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SongService - Budget de requêtes SQL")
+class SongServiceQueryBudgetTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private SongService songService;
+
+    @Autowired
+    private SongRepository songRepository;
+
+    @Autowired
+    private QueryBudgetProperties budgets;
+
+    @Autowired
+    private SongMultiGetProperties multiGetProperties;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        songRepository.deleteAllById(created);
+    }
+
+    @Test
+    @DisplayName("GET /songs/{id} - Une seule requête (chanson, artiste et album joints)")
+    void testGetSongById() {
+        // Arrange
+        Long id = create("Budget Lecture", "Imagine");
+
+        // Act
+        QueryStats stats = QueryBudget.assertStatements(budgets.budgetFor("GET /songs/{id}"),
+                () -> songService.getSongById(id));
+
+        // Assert
+        assertEquals(1, stats.getRowsFetched());
+    }
+
+    @Test
+    @DisplayName("POST et PUT /songs - Pire cas (nouvel artiste) dans le budget, artiste connu: 3 et 4 requêtes")
+    void testCreateAndUpdate() {
+        // Act: nouvel artiste et nouvel album
+        QueryBudget.assertStatements(budgets.budgetFor("POST /songs"),
+                () -> created.add(songService.createSong(song("Budget Écriture", "Imagine")).getId()));
+        QueryBudget.assertStatements(budgets.budgetFor("PUT /songs/{id}"),
+                () -> songService.updateSong(created.get(0), song("Budget Écriture Bis", "Imagine (Live)")));
+
+        // Act: artiste et album existants
+        QueryStats create = QueryBudget.measure(
+                () -> created.add(songService.createSong(song("Budget Écriture", "Jealous Guy")).getId()));
+        QueryStats update = QueryBudget.measure(
+                () -> songService.updateSong(created.get(1), song("Budget Écriture", "Jealous Guy (Live)")));
+
+        // Assert: artiste + album + INSERT, puis chanson + artiste + album + UPDATE
+        assertEquals(3, create.getStatements(), create::toString);
+        assertEquals(4, update.getStatements(), update::toString);
+    }
+
+    @Test
+    @DisplayName("DELETE /songs/{id} - Budget de suppression")
+    void testDelete() {
+        // Arrange
+        Long id = create("Budget Suppression", "Imagine");
+
+        // Act
+        QueryStats stats = QueryBudget.assertStatements(budgets.budgetFor("DELETE /songs/{id}"),
+                () -> assertTrue(songService.deleteSong(id)));
+
+        // Assert
+        assertEquals(1, stats.getExecutions().keySet().stream().filter(sql -> sql.startsWith("delete")).count());
+    }
+
+    @Test
+    @DisplayName("Recherches - Nombre de requêtes indépendant du nombre de résultats (pas de N+1)")
+    void testSearchWithoutNPlusOne() {
+        // Arrange
+        for (int i = 0; i < 8; i++) {
+            create("Budget Recherche", "Titre " + i);
+        }
+
+        // Act
+        QueryStats byArtist = QueryBudget.assertNoRepeatedQueries(2, () ->
+                assertEquals(8, songService.searchByArtist("Budget Recherche").size()));
+        QueryStats byCategory = QueryBudget.assertNoRepeatedQueries(2, () ->
+                songService.getSongsByCategory("budget"));
+
+        // Assert
+        assertTrue(byArtist.getStatements() <= budgets.budgetFor("GET /songs/search/by-artist"), byArtist::toString);
+        assertTrue(byCategory.getStatements() <= budgets.budgetFor("GET /songs/category/{category}"),
+                byCategory::toString);
+        assertEquals(8, byArtist.getRowsFetched());
+    }
+
+    @Test
+    @DisplayName("GET /songs?ids= - Une requête IN par lot, ordre demandé, IDs introuvables signalés")
+    void testGetSongsByIds() {
+        // Arrange
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create("Budget Lot", "Titre " + i));
+        }
+        List<Long> wanted = List.of(ids.get(3), -1L, ids.get(0), ids.get(4), ids.get(3), ids.get(1), ids.get(2));
+
+        // Act
+        SongBatchDTO[] batch = new SongBatchDTO[1];
+        QueryStats stats = QueryBudget.assertStatements(budgets.budgetFor("POST /songs/lookup"),
+                () -> batch[0] = songService.getSongsByIds(wanted));
+        multiGetProperties.setChunkSize(2);
+        QueryStats chunked = QueryBudget.measure(() -> songService.getSongsByIds(wanted));
+        multiGetProperties.setChunkSize(500);
+
+        // Assert
+        assertEquals(List.of(ids.get(3), ids.get(0), ids.get(4), ids.get(1), ids.get(2)),
+                batch[0].getSongs().stream().map(SongDTO::getId).toList());
+        assertEquals("Budget Lot", batch[0].getSongs().get(0).getArtist());
+        assertEquals(List.of(-1L), batch[0].getMissing());
+        assertEquals(1, stats.getStatements(), stats::toString);
+        assertEquals(3, chunked.getStatements(), chunked::toString);
+        assertThrows(IllegalArgumentException.class, () -> songService.getSongsByIds(List.of()));
+    }
+
+    private Long create(String artist, String title) {
+        Long id = songService.createSong(song(artist, title)).getId();
+        created.add(id);
+        return id;
+    }
+
+    private static SongDTO song(String artist, String title) {
+        SongDTO song = new SongDTO();
+        song.setTitle(title);
+        song.setArtist(artist);
+        song.setAlbum(artist + " - Album");
+        song.setGenre("Rock");
+        song.setCategory("budget");
+        song.setDuration(180);
+        return song;
+    }
+}
@@ -2,16 +2,23 @@ package com.musicstream.api.service;
 
 import com.musicstream.api.dto.SongDTO;
 import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
 import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +37,15 @@ class SongServiceTest {
     @Mock
     private SongRepository songRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CatalogService catalogService;
+
+    @Spy
+    private RequestCoalescer requestCoalescer = new RequestCoalescer(new SimpleMeterRegistry());
+
     @InjectMocks
     private SongService songService;
 
@@ -202,6 +218,90 @@ class SongServiceTest {
         verify(songRepository, times(1)).findById(999L);
     }
 
+    // ========== TESTS PATCH ==========
+
+    @Test
+    @DisplayName("Modifier une chanson (merge patch) - Un seul UPDATE, champs du patch seulement")
+    void testPatchSong_Success() {
+        // Arrange
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("title", "Imagine (Live)");
+        patch.put("genre", null);
+        when(songRepository.patch(eq(1L), eq(3L), any())).thenReturn(1);
+
+        // Act
+        boolean patched = songService.patchSong(1L, 3L, patch);
+
+        // Assert
+        assertTrue(patched);
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("title", "Imagine (Live)");
+        expected.put("genre", null);
+        verify(songRepository).patch(eq(1L), eq(3L), eq(expected));
+        verify(songRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new SongChangedEvent(1L, SongChangedEvent.Type.UPDATED, false));
+    }
+
+    @Test
+    @DisplayName("Modifier une chanson (merge patch) - Version périmée, chanson inexistante")
+    void testPatchSong_Conflict() {
+        // Arrange
+        when(songRepository.patch(any(), any(), any())).thenReturn(0);
+        when(songRepository.existsById(1L)).thenReturn(true);
+        when(songRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> songService.patchSong(1L, 3L, Map.of("duration", 200)));
+        assertFalse(songService.patchSong(999L, 3L, Map.of("duration", 200)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Modifier une chanson (merge patch) - Artiste et album sur une chanson inexistante: 404, aucun artiste créé")
+    void testPatchSong_MissingSongCreatesNoArtist() {
+        // Arrange
+        when(songRepository.findCatalogState(999L)).thenReturn(List.of());
+
+        // Act
+        boolean patched = songService.patchSong(999L, null, Map.of("artist", "Queen", "album", "Jazz"));
+
+        // Assert
+        assertFalse(patched);
+        verify(catalogService, never()).artist(any());
+        verify(catalogService, never()).album(any(), any());
+        verify(songRepository, never()).patch(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Modifier une chanson (merge patch) - Artiste avec If-Match périmé: 412, aucun artiste créé")
+    void testPatchSong_StaleVersionCreatesNoArtist() {
+        // Arrange
+        List<Object[]> current = new ArrayList<>();
+        current.add(new Object[] {4L, "John Lennon", "Imagine"});
+        when(songRepository.findCatalogState(1L)).thenReturn(current);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> songService.patchSong(1L, 3L, Map.of("artist", "Queen")));
+        verify(catalogService, never()).artist(any());
+        verify(songRepository, never()).patch(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Modifier une chanson (merge patch) - Champ non modifiable ou mal typé refusé")
+    void testPatchSong_InvalidField() {
+        // Arrange
+        Map<String, Object> nullTitle = new HashMap<>();
+        nullTitle.put("title", null);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> songService.patchSong(1L, null, Map.of("bitrate", 320)));
+        assertThrows(IllegalArgumentException.class, () -> songService.patchSong(1L, null, Map.of("duration", "long")));
+        assertThrows(IllegalArgumentException.class, () -> songService.patchSong(1L, null, nullTitle));
+        verify(songRepository, never()).patch(any(), any(), any());
+    }
+
     // ========== TESTS DELETE ==========
 
     @Test
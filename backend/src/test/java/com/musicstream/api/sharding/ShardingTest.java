@@ -0,0 +1,152 @@
+package com.musicstream.api.sharding;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 ShardingTest - Annuaire des shards et déplacement de plages
+ * 
+ * Deux H2 en mémoire avec une table songs réduite aux colonnes lues par le
+ * déplacement (id, title, updated_at).
+ */
+@DisplayName("Sharding - Tests avec deux H2")
+class ShardingTest {
+
+    private static final long REGION_1 = ShardDirectory.regionStart(1);
+
+    private ShardPools pools;
+    private ShardRebalancer rebalancer;
+
+    @AfterEach
+    void tearDown() {
+        if (rebalancer != null) {
+            rebalancer.close();
+        }
+        if (pools != null) {
+            pools.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Annuaire - Shard natif, plage déplacée, ID hors région")
+    void testShardOf() {
+        // Arrange
+        ShardDirectory directory = new ShardDirectory(3, List.of());
+
+        // Act
+        directory.load(List.of(new ShardRange(10, 20, 2)));
+
+        // Assert
+        assertEquals(0, directory.shardOf(1));
+        assertEquals(2, directory.shardOf(10));
+        assertEquals(2, directory.shardOf(19));
+        assertEquals(0, directory.shardOf(20));
+        assertEquals(1, directory.shardOf(REGION_1 + 1));
+        assertEquals(ShardDirectory.HOME, directory.shardOf(ShardDirectory.regionStart(5) + 1));
+    }
+
+    @Test
+    @DisplayName("Annuaire - Tourniquet limité aux shards d'insertion")
+    void testNextInsertShard() {
+        // Arrange
+        ShardDirectory directory = new ShardDirectory(3, List.of(1, 2));
+
+        // Act & Assert
+        assertEquals(List.of(1, 2, 1, 2), List.of(directory.nextInsertShard(), directory.nextInsertShard(),
+                directory.nextInsertShard(), directory.nextInsertShard()));
+        assertFalse(directory.acceptsInserts(0));
+        assertThrows(IllegalArgumentException.class, () -> new ShardDirectory(2, List.of(2)));
+    }
+
+    @Test
+    @DisplayName("Annuaire - Plage coupée, plage rendue à son shard natif, propriétaire d'une plage")
+    void testWithRange() {
+        // Arrange
+        ShardDirectory directory = new ShardDirectory(3, List.of());
+        directory.load(List.of(new ShardRange(10, 20, 2)));
+
+        // Act
+        List<ShardRange> split = directory.withRange(14, 16, 1);
+        List<ShardRange> restored = directory.withRange(10, 20, 0);
+
+        // Assert
+        assertEquals(List.of(new ShardRange(10, 14, 2), new ShardRange(14, 16, 1), new ShardRange(16, 20, 2)), split);
+        assertTrue(restored.isEmpty());
+        assertEquals(2, directory.ownerOf(12, 18));
+        assertEquals(-1, directory.ownerOf(5, 15));
+        assertEquals(20, directory.segmentEnd(12));
+        assertEquals(10, directory.segmentEnd(3));
+        assertEquals(REGION_1, directory.segmentEnd(25));
+    }
+
+    @Test
+    @DisplayName("Déplacement - Copie, annuaire enregistré, suppression différée sur la source")
+    void testMove() throws InterruptedException {
+        // Arrange
+        ShardDirectory directory = start(Duration.ZERO);
+        JdbcTemplate home = pools.jdbc(0);
+        JdbcTemplate target = pools.jdbc(1);
+        for (long id = 1; id <= 10; id++) {
+            home.update("INSERT INTO songs VALUES (?, ?, ?)", id, "Song " + id, LocalDateTime.now());
+        }
+
+        // Act
+        ShardRebalancer.MoveResult result = rebalancer.move(1, 100, 1);
+
+        // Assert
+        assertEquals(new ShardRange(1, 11, 1), directory.ranges().get(0));
+        assertEquals(0, result.from());
+        assertEquals(11, result.hi());
+        assertEquals(10, result.copied());
+        assertEquals(10L, target.queryForObject("SELECT COUNT(*) FROM songs", Long.class));
+        assertEquals(1, directory.shardOf(5));
+        assertEquals(1, home.queryForObject("SELECT COUNT(*) FROM " + ShardRebalancer.RANGES_TABLE, Integer.class));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (home.queryForObject("SELECT COUNT(*) FROM songs", Long.class) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0L, home.queryForObject("SELECT COUNT(*) FROM songs", Long.class));
+    }
+
+    @Test
+    @DisplayName("Déplacement - Plage vide, plage sur deux régions, shard inconnu refusés")
+    void testMoveValidation() {
+        // Arrange
+        start(Duration.ofMinutes(1));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> rebalancer.move(1, 100, 1));
+        assertThrows(IllegalArgumentException.class, () -> rebalancer.move(1, REGION_1 + 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> rebalancer.move(1, 100, 7));
+    }
+
+    private ShardDirectory start(Duration cleanupDelay) {
+        ShardingProperties properties = new ShardingProperties();
+        for (int shard = 0; shard < 2; shard++) {
+            ShardingProperties.Node node = new ShardingProperties.Node();
+            node.setUrl("jdbc:h2:mem:sharding_test_" + shard + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+            node.setMaximumPoolSize(2);
+            properties.getShards().add(node);
+        }
+        properties.setCleanupDelay(cleanupDelay);
+        pools = new ShardPools(properties.getShards());
+        for (int shard = 0; shard < 2; shard++) {
+            JdbcTemplate jdbc = pools.jdbc(shard);
+            jdbc.execute("CREATE TABLE songs (id BIGINT PRIMARY KEY, title VARCHAR(50), updated_at TIMESTAMP)");
+            jdbc.execute("CREATE TABLE artists (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+            jdbc.execute("CREATE TABLE albums (id BIGINT PRIMARY KEY, title VARCHAR(50))");
+        }
+        ShardDirectory directory = new ShardDirectory(2, List.of());
+        rebalancer = new ShardRebalancer(pools, directory, properties);
+        rebalancer.start();
+        return directory;
+    }
+}
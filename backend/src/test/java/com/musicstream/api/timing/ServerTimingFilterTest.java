@@ -0,0 +1,146 @@
+package com.musicstream.api.timing;
+
+import com.musicstream.api.controller.SongController;
+import com.musicstream.api.dto.SongDTO;
+import com.musicstream.api.service.SongBulkService;
+import com.musicstream.api.service.SongService;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 🧪 ServerTimingFilterTest - En-tête Server-Timing à la demande
+ * 
+ * SongController réel, SongService simulé: le mock ouvre lui-même le span "map"
+ * comme le fait SongService.
+ */
+@DisplayName("ServerTimingFilter - Tests Unitaires")
+class ServerTimingFilterTest {
+
+    private ServerTimingProperties properties;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        SongService songService = mock(SongService.class);
+        when(songService.getAllSongs()).thenAnswer(invocation -> {
+            try (ServerTiming.Span span = ServerTiming.span("map")) {
+                return List.of(SongDTO.builder().id(1L).title("Imagine").artist("John Lennon").build());
+            }
+        });
+
+        properties = new ServerTimingProperties();
+        ServerTimingAdvice advice = new ServerTimingAdvice();
+        mockMvc = MockMvcBuilders.standaloneSetup(new SongController(songService, mock(SongBulkService.class)))
+                .addFilters(new ServerTimingFilter(properties))
+                .addInterceptors(advice)
+                .setControllerAdvice(advice)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Sans en-tête de requête - Pas de Server-Timing, span sans effet")
+    void testNotRequested() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/songs"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTiming.HEADER))
+                .andExpect(jsonPath("$[0].title").value("Imagine"));
+        assertNull(ServerTiming.current());
+        assertSame(ServerTiming.span("map"), ServerTiming.span("other"));
+    }
+
+    @Test
+    @DisplayName("Avec X-Server-Timing - Phases db, orm, map, serialize, total et corps intact")
+    void testRequested() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/songs").header("X-Server-Timing", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Imagine"))
+                .andReturn();
+
+        // Assert
+        String header = result.getResponse().getHeader(ServerTiming.HEADER);
+        assertNotNull(header);
+        assertTrue(header.matches("db;dur=\\d+\\.\\d{2};desc=\"0 statements\", orm;dur=\\d+\\.\\d{2}, "
+                + "map;dur=\\d+\\.\\d{2}, serialize;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}"), header);
+        assertEquals(result.getResponse().getContentAsByteArray().length, result.getResponse().getContentLength());
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    @DisplayName("Jeton configuré - Valeur incorrecte ignorée")
+    void testToken() throws Exception {
+        // Arrange
+        properties.setToken("s3cret");
+
+        // Act & Assert
+        mockMvc.perform(get("/songs").header("X-Server-Timing", "1"))
+                .andExpect(header().doesNotExist(ServerTiming.HEADER));
+        mockMvc.perform(get("/songs").header("X-Server-Timing", "s3cret"))
+                .andExpect(header().exists(ServerTiming.HEADER));
+    }
+
+    @Test
+    @DisplayName("Requête passée en async - Corps retenu envoyé, la suite écrite directement, pas d'en-tête")
+    void testAsyncStarted() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/songs");
+        request.addHeader("X-Server-Timing", "1");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act: le contrôleur écrit un début puis passe la main à un autre thread
+        new ServerTimingFilter(properties).doFilter(request, response, (req, res) -> {
+            res.getOutputStream().write("début".getBytes(StandardCharsets.UTF_8));
+            req.startAsync();
+        });
+        response.getOutputStream().write("-suite".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertNull(response.getHeader(ServerTiming.HEADER));
+        assertEquals("début-suite", response.getContentAsString(StandardCharsets.UTF_8));
+        assertNull(ServerTiming.current());
+    }
+
+    @Test
+    @DisplayName("setWriteListener - Délégué au flux du conteneur après envoi du corps retenu")
+    void testWriteListenerDelegated() throws Exception {
+        // Arrange
+        HttpServletResponse delegate = mock(HttpServletResponse.class);
+        ServletOutputStream containerStream = mock(ServletOutputStream.class);
+        when(delegate.getOutputStream()).thenReturn(containerStream);
+        WriteListener listener = mock(WriteListener.class);
+        BufferedTimingResponse response = new BufferedTimingResponse(delegate);
+        response.startBuffering();
+        ServletOutputStream stream = response.getOutputStream();
+        stream.write(new byte[]{1, 2, 3}, 0, 3);
+
+        // Act
+        stream.setWriteListener(listener);
+        stream.write(4);
+
+        // Assert
+        var order = inOrder(containerStream);
+        order.verify(containerStream).write(any(byte[].class), eq(0), eq(3));
+        order.verify(containerStream).setWriteListener(listener);
+        order.verify(containerStream).write(4);
+        verify(delegate, never()).setContentLengthLong(anyLong());
+    }
+}
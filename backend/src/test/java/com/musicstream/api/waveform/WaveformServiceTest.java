@@ -0,0 +1,187 @@
+package com.musicstream.api.waveform;
+
+import com.musicstream.api.entity.Song;
+import com.musicstream.api.event.SongChangedEvent;
+import com.musicstream.api.media.MediaProperties;
+import com.musicstream.api.media.MediaStorage;
+import com.musicstream.api.repository.SongRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 WaveformServiceTest - Calcul et stockage des pics de forme d'onde
+ */
+@DisplayName("WaveformService - Tests Unitaires")
+class WaveformServiceTest {
+
+    @TempDir
+    Path mediaDirectory;
+
+    private SongRepository songRepository;
+    private WaveformService waveformService;
+
+    @BeforeEach
+    void setUp() {
+        songRepository = mock(SongRepository.class);
+        MediaProperties mediaProperties = new MediaProperties();
+        mediaProperties.setDirectory(mediaDirectory.toString());
+        waveformService = new WaveformService(songRepository, new MediaStorage(mediaProperties),
+                new WaveformProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        waveformService.shutdown();
+    }
+
+    @Test
+    @DisplayName("WAV stéréo - Pics forts puis silence, 7 résolutions écrites sur disque")
+    void testGenerateFromWav() throws Exception {
+        // Arrange: 1 s de sinus pleine échelle puis 1 s de silence
+        writeWav(mediaDirectory.resolve("songs/1/audio.wav"), 44_100);
+        when(songRepository.findById(1L)).thenReturn(Optional.of(
+                Song.builder().id(1L).audioUrl("songs/1/audio.wav").build()));
+
+        // Act
+        waveformService.generate(1L, 0);
+        WaveformService.Lookup lookup = waveformService.lookup(1L);
+
+        // Assert
+        assertEquals(WaveformService.Status.READY, lookup.status());
+        assertEquals(List.of(64, 128, 256, 512, 1024, 2048, 4096), lookup.waveform().resolutions());
+        byte[] peaks = lookup.waveform().level(64);
+        assertEquals(128, peaks.length);
+        assertTrue(peaks[0] <= -120 && peaks[1] >= 120, "première moitié: pleine échelle");
+        assertEquals(0, peaks[126]);
+        assertEquals(0, peaks[127]);
+        assertTrue(Files.exists(mediaDirectory.resolve("songs/1/waveform.peaks")));
+    }
+
+    @Test
+    @DisplayName("Fichier de pics - Relu à l'identique")
+    void testBinaryRoundTrip() throws Exception {
+        // Arrange: blocs de 1 échantillon pour forcer les fusions (plus de 65536 blocs)
+        PeakAccumulator accumulator = new PeakAccumulator(1);
+        short[] ramp = new short[200_000];
+        for (int i = 0; i < ramp.length; i++) {
+            ramp[i] = (short) (i * 32_767L / ramp.length);
+        }
+        accumulator.accept(ramp, ramp.length, 1);
+        Waveform waveform = accumulator.finish(64, 256);
+
+        // Act
+        Waveform read = Waveform.fromBytes(waveform.toBytes());
+
+        // Assert
+        assertEquals(waveform.resolutions(), read.resolutions());
+        assertArrayEquals(waveform.level(256), read.level(256));
+        assertEquals(waveform.version(), read.version());
+        assertEquals(0, read.level(64)[0]);
+        assertEquals(127, read.level(64)[127]);
+        assertThrows(java.io.IOException.class, () -> Waveform.fromBytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("Audio changé pendant le calcul - L'ancien résultat n'est pas écrit")
+    void testStaleGenerationDiscarded() throws Exception {
+        // Arrange
+        writeWav(mediaDirectory.resolve("songs/2/audio.wav"), 8_000);
+        when(songRepository.findById(2L)).thenReturn(Optional.of(
+                Song.builder().id(2L).audioUrl("songs/2/audio.wav").build()));
+
+        // Act: l'événement arrive après la soumission (epoch 0) et avant l'écriture
+        waveformService.onSongChanged(new SongChangedEvent(2L, SongChangedEvent.Type.DELETED, false));
+        waveformService.generate(2L, 0);
+
+        // Assert
+        assertFalse(Files.exists(mediaDirectory.resolve("songs/2/waveform.peaks")));
+    }
+
+    @Test
+    @DisplayName("Chanson sans audio - NO_AUDIO")
+    void testNoAudio() {
+        // Arrange
+        when(songRepository.findById(3L)).thenReturn(Optional.of(Song.builder().id(3L).build()));
+
+        // Act & Assert
+        assertEquals(WaveformService.Status.NO_AUDIO, waveformService.lookup(3L).status());
+    }
+
+    @Test
+    @DisplayName("MP3 sans frame décodable - UNSUPPORTED, pas de nouvel essai")
+    void testUndecodableMp3MarkedPermanently() {
+        // Arrange: en-tête ID3 suivi d'octets sans synchronisation MP3
+        byte[] garbage = new byte[4096];
+        garbage[0] = 'I';
+        garbage[1] = 'D';
+        garbage[2] = '3';
+        garbage[3] = 3;
+        when(songRepository.findById(4L)).thenReturn(Optional.of(Song.builder().id(4L)
+                .audioUrl("data:audio/mpeg;base64," + Base64.getEncoder().encodeToString(garbage)).build()));
+
+        // Act
+        waveformService.generate(4L, 0);
+
+        // Assert
+        assertEquals(WaveformService.Status.UNSUPPORTED, waveformService.lookup(4L).status());
+    }
+
+    @Test
+    @DisplayName("Erreur de lecture passagère - Pas marquée non décodable, réussit au nouvel essai")
+    void testTransientErrorStaysRetryable() throws Exception {
+        // Arrange: fichier pas encore écrit
+        when(songRepository.findById(5L)).thenReturn(Optional.of(
+                Song.builder().id(5L).audioUrl("songs/5/audio.wav").build()));
+        waveformService.generate(5L, 0);
+
+        // Act: les requêtes suivantes relancent le calcul (une fois le fichier présent)
+        writeWav(mediaDirectory.resolve("songs/5/audio.wav"), 8_000);
+        WaveformService.Status status = waveformService.lookup(5L).status();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (status != WaveformService.Status.READY && status != WaveformService.Status.UNSUPPORTED
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = waveformService.lookup(5L).status();
+        }
+
+        // Assert
+        assertEquals(WaveformService.Status.READY, status);
+    }
+
+    private static void writeWav(Path file, int sampleRate) throws Exception {
+        short[] samples = new short[sampleRate * 2 * 2];
+        for (int frame = 0; frame < sampleRate; frame++) {
+            short value = (short) Math.round(Math.sin(2 * Math.PI * 440 * frame / sampleRate) * 32_767);
+            samples[2 * frame] = value;
+            samples[2 * frame + 1] = value;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asShortBuffer().put(samples);
+        AudioFormat format = new AudioFormat(sampleRate, 16, 2, true, false);
+        Files.createDirectories(file.getParent());
+        try (AudioInputStream stream = new AudioInputStream(new ByteArrayInputStream(bytes.array()), format, sampleRate * 2L)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+    }
+}
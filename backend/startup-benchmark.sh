@@ -0,0 +1,91 @@
+#!/bin/bash
+# Benchmark de démarrage à froid de MusicStream API
+#
+# Mesure le temps entre le lancement de la JVM et la première réponse
+# HTTP 200 sur GET /api/songs, sur plusieurs exécutions.
+#
+# Usage:
+#   mvn -Pfast-startup package -DskipTests
+#   ./startup-benchmark.sh [runs] [mode]
+#
+#   mode = baseline  → jar exécutable classique (target/*-exec.jar)
+#          fast      → jar fin + Spring AOT + archive CDS + lazy-init
+#          c1        → fast + -XX:TieredStopAtLevel=1 (C1 seul)
+#          both      → baseline et fast
+#          all       → les trois (défaut)
+#
+# baseline et fast tournent avec les mêmes options JIT: l'écart mesuré vient
+# uniquement du packaging. L'effet de TieredStopAtLevel=1 (démarrage plus rapide,
+# débit plus faible ensuite) est mesuré à part, sur sa propre ligne c1.
+
+RUNS=${1:-10}
+MODE=${2:-all}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/songs"
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+
+THIN_JAR="${TARGET}/musicstream-api-1.0.0.jar"
+EXEC_JAR="${TARGET}/musicstream-api-1.0.0-exec.jar"
+CDS_ARCHIVE="${TARGET}/musicstream-api.jsa"
+
+if [ ! -f "$THIN_JAR" ] || [ ! -f "$EXEC_JAR" ] || [ ! -f "$CDS_ARCHIVE" ]; then
+    echo "❌ Artefacts manquants, lancez d'abord: mvn -Pfast-startup package -DskipTests"
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+# $1 = libellé, reste = commande java
+measure() {
+    local label=$1
+    shift
+    local total=0
+    local min=""
+    local max=0
+
+    for i in $(seq 1 "$RUNS"); do
+        local start
+        start=$(now_ms)
+        "$@" --server.port="$PORT" > /dev/null 2>&1 &
+        local pid=$!
+
+        until curl -sf -o /dev/null "$URL"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "❌ [$label] l'application s'est arrêtée avant de répondre"
+                exit 1
+            fi
+            sleep 0.01
+        done
+
+        local elapsed=$(( $(now_ms) - start ))
+        kill "$pid" && wait "$pid" 2> /dev/null
+
+        total=$(( total + elapsed ))
+        [ -z "$min" ] || [ "$elapsed" -lt "$min" ] && min=$elapsed
+        [ "$elapsed" -gt "$max" ] && max=$elapsed
+        echo "   [$label] run $i: ${elapsed} ms"
+    done
+
+    echo "✅ [$label] moyenne $(( total / RUNS )) ms (min ${min} ms, max ${max} ms) sur ${RUNS} runs"
+}
+
+echo "⏱️  MusicStream API - Temps jusqu'au premier GET /api/songs réussi"
+echo "===================================================================="
+
+FAST=(-XX:SharedArchiveFile="$CDS_ARCHIVE"
+      -Dspring.aot.enabled=true
+      -Dspring.profiles.active=fast-startup)
+
+if [ "$MODE" = "baseline" ] || [ "$MODE" = "both" ] || [ "$MODE" = "all" ]; then
+    measure baseline java -jar "$EXEC_JAR"
+fi
+
+if [ "$MODE" = "fast" ] || [ "$MODE" = "both" ] || [ "$MODE" = "all" ]; then
+    measure fast java "${FAST[@]}" -jar "$THIN_JAR"
+fi
+
+if [ "$MODE" = "c1" ] || [ "$MODE" = "all" ]; then
+    measure c1 java "${FAST[@]}" -XX:TieredStopAtLevel=1 -jar "$THIN_JAR"
+fi
@@ -88,4 +88,23 @@ describe('HttpErrorInterceptor', () => {
     const req2 = httpMock.expectOne('/test');
     req2.error(new ProgressEvent('error'), { status: 0 });
   });
+
+  it('should resend the same Idempotency-Key on retry', () => {
+    httpClient.post('/test', { title: 'Imagine' }).subscribe({
+      error: (error) => {
+        expect(error.message).toContain('inaccessible');
+      },
+    });
+
+    // First request (original)
+    const req1 = httpMock.expectOne('/test');
+    const key = req1.request.headers.get('Idempotency-Key');
+    expect(key).toBeTruthy();
+    req1.error(new ProgressEvent('error'), { status: 0 });
+
+    // Retry request
+    const req2 = httpMock.expectOne('/test');
+    expect(req2.request.headers.get('Idempotency-Key')).toBe(key);
+    req2.error(new ProgressEvent('error'), { status: 0 });
+  });
 });
@@ -63,13 +63,29 @@ function logError(request: HttpRequest<unknown>, error: HttpErrorResponse): void
   console.groupEnd();
 }
 
+const IDEMPOTENCY_KEY_HEADER = 'Idempotency-Key';
+const WRITE_METHODS = ['POST', 'PUT', 'PATCH', 'DELETE'];
+
+/**
+ * Ajoute une Idempotency-Key aux écritures (POST, PUT, PATCH, DELETE)
+ * 
+ * La clé est générée une fois par requête: le retry renvoie la même, l'API
+ * rejoue alors la première réponse au lieu de créer un doublon.
+ */
+function withIdempotencyKey(request: HttpRequest<any>): HttpRequest<any> {
+  if (!WRITE_METHODS.includes(request.method) || request.headers.has(IDEMPOTENCY_KEY_HEADER)) {
+    return request;
+  }
+  return request.clone({ setHeaders: { [IDEMPOTENCY_KEY_HEADER]: crypto.randomUUID() } });
+}
+
 /**
  * HTTP Error Interceptor (Functional - Angular 19+)
  * 
  * Intercepte toutes les requêtes HTTP et gère les erreurs de manière globale.
  * 
  * Fonctionnalités:
- * - Retry automatique (1 fois) pour les erreurs réseau
+ * - Retry automatique (1 fois) pour les erreurs réseau, avec la même Idempotency-Key
  * - Transformation des erreurs en messages utilisateur
  * - Logging des erreurs pour le debugging
  */
@@ -77,7 +93,7 @@ export const httpErrorInterceptor: HttpInterceptorFn = (
   req: HttpRequest<unknown>,
   next: HttpHandlerFn
 ): Observable<HttpEvent<unknown>> => {
-  return next(req).pipe(
+  return next(withIdempotencyKey(req)).pipe(
     // Retry 1 fois pour les erreurs réseau temporaires
     retry(1),
     catchError((error: HttpErrorResponse) => {
@@ -116,7 +132,7 @@ export class HttpErrorInterceptor implements HttpInterceptor {
     request: HttpRequest<any>,
     next: HttpHandler
   ): Observable<HttpEvent<any>> {
-    return next.handle(request).pipe(
+    return next.handle(withIdempotencyKey(request)).pipe(
       retry(1),
       catchError((error: HttpErrorResponse) => {
         let errorMessage = '';
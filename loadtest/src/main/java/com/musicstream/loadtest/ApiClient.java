@@ -0,0 +1,61 @@
+package com.musicstream.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 🌐 ApiClient - Appels HTTP vers l'API MusicStream
+ * 
+ * Un seul HttpClient (pool de connexions keep-alive HTTP/1.1) partagé par tous
+ * les workers. Le corps des réponses est lu entièrement puis jeté: la latence
+ * mesurée inclut le transfert complet de la réponse.
+ */
+final class ApiClient {
+
+    /**
+     * @param status   Code HTTP
+     * @param location En-tête Location (réponses 201), sinon null
+     */
+    record Response(int status, String location) {
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    /**
+     * @param baseUrl URL de base, contexte compris (ex: http://localhost:8080/api)
+     * @param timeout Délai maximal d'une requête
+     */
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * @param method GET, POST, PUT ou DELETE
+     * @param path   Chemin relatif à l'URL de base (ex: /songs/42)
+     * @param json   Corps JSON, ou null
+     */
+    Response send(String method, String path, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (json == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json));
+        }
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        return new Response(response.statusCode(), response.headers().firstValue("Location").orElse(null));
+    }
+}
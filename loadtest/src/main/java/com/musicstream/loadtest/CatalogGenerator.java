@@ -0,0 +1,303 @@
+package com.musicstream.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * 🏭 CatalogGenerator - Catalogue de chansons déterministe (1M+ titres)
+ * 
+ * La chanson i ne dépend que de (graine, i): deux machines ou deux builds
+ * génèrent exactement le même catalogue, dans n'importe quel ordre et en
+ * parallèle, sans rien garder en mémoire.
+ * 
+ * Distributions:
+ * - Artistes: Zipf (exposant 0.8) sur taille/10 artistes → pour 1M de titres, un
+ *   artiste de tête à ~2 % du catalogue, un tiers des artistes à 3 titres ou moins
+ * - Chaque artiste a un style (catégorie, Zipf sur CATEGORIES) et 1 à 12 albums;
+ *   15 % des titres sont des singles
+ * - Genre: sous-genre de la catégorie de l'artiste
+ * - Titres: 1 à 5 mots FR/EN tirés selon Zipf (exposant 1.0) dans VOCABULARY,
+ *   donc des recherches par mot aux résultats très inégaux, comme en vrai
+ * - Durée: log-normale, médiane 3 min 35 s, bornée à [45 s, 20 min]
+ * 
+ * Chaque rang d'artiste a un nom distinct (voir artistName): le nombre d'artistes
+ * côté API correspond au nombre de rangs tirés.
+ */
+public final class CatalogGenerator {
+
+    static final double ARTIST_EXPONENT = 0.8;
+    static final double WORD_EXPONENT = 1.0;
+    static final double SINGLE_RATIO = 0.15;
+
+    private static final long SONG_SALT = 0x5D0E5A17L;
+    private static final long ARTIST_SALT = 0xA7715705L;
+    private static final long ALBUM_SALT = 0xA1B0A1B0L;
+
+    static final String[] CATEGORIES = {
+            "pop", "rock", "hip-hop", "electro", "rnb", "jazz", "metal",
+            "folk", "classique", "reggae", "blues", "country"
+    };
+
+    private static final String[][] GENRES = {
+            {"Pop", "Synth-pop", "Dance pop", "Indie pop", "Variété française"},
+            {"Rock", "Indie rock", "Hard rock", "Punk", "Rock alternatif"},
+            {"Hip-hop", "Rap français", "Trap", "Boom bap", "Drill"},
+            {"House", "Techno", "Drum and bass", "Ambient", "French touch"},
+            {"R&B", "Neo soul", "Soul", "Funk"},
+            {"Jazz", "Bebop", "Jazz fusion", "Swing", "Jazz manouche"},
+            {"Heavy metal", "Black metal", "Death metal", "Metalcore"},
+            {"Folk", "Chanson", "Singer-songwriter", "Musique celtique"},
+            {"Classique", "Baroque", "Romantique", "Musique de chambre", "Opéra"},
+            {"Reggae", "Dub", "Dancehall", "Ska"},
+            {"Blues", "Delta blues", "Blues rock"},
+            {"Country", "Bluegrass", "Americana"}
+    };
+
+    static final String[] VOCABULARY = {
+            "love", "amour", "night", "nuit", "heart", "cœur", "baby", "dream", "rêve", "fire",
+            "soleil", "sun", "time", "temps", "life", "vie", "rain", "pluie", "blue", "bleu",
+            "dance", "danse", "home", "maison", "girl", "fille", "moon", "lune", "road", "route",
+            "summer", "été", "light", "lumière", "sky", "ciel", "world", "monde", "city", "ville",
+            "forever", "toujours", "song", "chanson", "midnight", "minuit", "river", "rivière", "star", "étoile",
+            "gold", "or", "wild", "sauvage", "ocean", "océan", "storm", "orage", "paradise", "paradis",
+            "shadow", "ombre", "memory", "souvenir", "winter", "hiver", "highway", "autoroute", "angel", "ange",
+            "freedom", "liberté", "electric", "électrique", "golden", "doré", "silver", "argent", "echo", "écho",
+            "ghost", "fantôme", "kingdom", "royaume", "velvet", "velours", "neon", "néon", "thunder", "tonnerre",
+            "sweet", "douce", "broken", "brisé", "lonely", "seul", "crazy", "fou", "secret", "secrète",
+            "yesterday", "hier", "tomorrow", "demain", "morning", "matin", "evening", "soir", "crystal", "cristal",
+            "desert", "désert", "island", "île", "mountain", "montagne", "garden", "jardin", "window", "fenêtre",
+            "mirror", "miroir", "letter", "lettre", "train", "voyage", "journey", "retour", "return", "départ",
+            "flower", "fleur", "rose", "violette", "cherry", "cerise", "honey", "miel", "sugar", "sucre",
+            "wolf", "loup", "tiger", "tigre", "bird", "oiseau", "butterfly", "papillon", "horse", "cheval",
+            "revolution", "révolution", "rebel", "rebelle", "hero", "héros", "queen", "reine", "king", "roi",
+            "fever", "fièvre", "poison", "venin", "wonder", "merveille", "magic", "magie", "mystery", "mystère",
+            "avenue", "boulevard", "paris", "london", "tokyo", "berlin", "montréal", "marseille", "harlem", "brooklyn",
+            "café", "cigarette", "champagne", "whisky", "vinyle", "radio", "cinéma", "télévision", "guitare", "piano",
+            "symphony", "symphonie", "ballad", "ballade", "lullaby", "berceuse", "anthem", "hymne", "serenade", "sérénade",
+            "infinity", "infini", "gravity", "gravité", "horizon", "aurora", "aurore", "eclipse", "éclipse", "comet",
+            "comète", "satellite", "galaxy", "galaxie", "cosmos", "orbit", "orbite", "planet", "planète", "nebula"
+    };
+
+    private static final String[] TITLE_SUFFIXES = {
+            " (Remix)", " (Live)", " (Acoustic)", " (Radio Edit)", " (Remastered)", " (Version longue)"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Léa", "Hugo", "Chloé", "Lucas", "Manon", "Louis", "Camille", "Nathan", "Inès", "Jules",
+            "Sarah", "Gabriel", "Emma", "Arthur", "Zoé", "Raphaël", "Jade", "Adam", "Louise", "Paul",
+            "Alice", "Victor", "Lina", "Théo", "Rose", "Noah", "Anna", "Maxime", "Eva", "Antoine",
+            "John", "Mary", "James", "Patricia", "Michael", "Linda", "David", "Susan", "Daniel", "Karen",
+            "Matthew", "Nancy", "Andrew", "Betty", "Joshua", "Sandra", "Kevin", "Ashley", "Brian", "Emily",
+            "Amara", "Kofi", "Yuki", "Hiro", "Sofia", "Mateo", "Aisha", "Omar", "Priya", "Ravi",
+            "Elena", "Marco", "Ingrid", "Lars", "Freya", "Björn", "Nadia", "Dmitri", "Olga", "Ivan",
+            "Carmen", "Diego", "Lucía", "Pablo", "Ana", "Tomás", "Zara", "Malik", "Leïla", "Youssef",
+            "Chiara", "Luca", "Giulia", "Paolo", "Mei", "Chen", "Kenji", "Aiko", "Sipho", "Thandi",
+            "Niamh", "Seán", "Ciara", "Oisín", "Aurélie", "Benoît", "Gaëlle", "Jérôme", "Solène", "Yann"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefèbvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier",
+            "Morel", "Girard", "André", "Lefèvre", "Mercier", "Dupont", "Lambert", "Bonnet", "François", "Martinez",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Miller", "Davis", "Wilson", "Anderson", "Taylor",
+            "Moore", "Jackson", "White", "Harris", "Clark", "Lewis", "Walker", "Young", "King", "Wright",
+            "Nakamura", "Tanaka", "Kim", "Park", "Singh", "Patel", "Okafor", "Mensah", "Diallo", "Traoré",
+            "Rossi", "Russo", "Ferrari", "Esposito", "Müller", "Schmidt", "Schneider", "Fischer", "Weber", "Wagner",
+            "Novak", "Kowalski", "Ivanov", "Petrov", "Silva", "Santos", "Oliveira", "Fernández", "López", "González",
+            "O'Brien", "Murphy", "Kelly", "Byrne", "Andersson", "Johansson", "Nielsen", "Hansen", "Haddad", "Benali",
+            "Nguyen", "Tran", "Le", "Pham", "Cohen", "Levy", "Kaplan", "Moreno", "Navarro", "Castillo"
+    };
+
+    private static final String[] BAND_PREFIXES = {"The", "Les"};
+
+    private static final String[] BAND_ADJECTIVES = {
+            "Black", "White", "Red", "Electric", "Silent", "Lost", "Golden", "Velvet", "Neon", "Crystal",
+            "Wild", "Broken", "Midnight", "Northern", "Southern", "Hollow", "Burning", "Frozen", "Sonic", "Cosmic",
+            "Noirs", "Blancs", "Rouges", "Perdus", "Sauvages", "Fous", "Étranges", "Électriques", "Nocturnes", "Rebelles",
+            "Little", "Big", "Young", "Old", "Royal", "Savage", "Gentle", "Bitter", "Sweet", "Lazy"
+    };
+
+    private static final String[] BAND_NOUNS = {
+            "Wolves", "Foxes", "Ravens", "Tigers", "Lions", "Hearts", "Stones", "Keys", "Kids", "Ghosts",
+            "Machines", "Riders", "Strangers", "Lovers", "Saints", "Sinners", "Pilots", "Sailors", "Dreamers", "Drifters",
+            "Loups", "Corbeaux", "Chats", "Anges", "Poètes", "Voyous", "Garçons", "Filles", "Fantômes", "Oiseaux",
+            "Engines", "Mirrors", "Shadows", "Echoes", "Satellites", "Planets", "Rivers", "Mountains", "Flowers", "Bees"
+    };
+
+    private final long seed;
+    private final long size;
+    private final int artistCount;
+    private final Zipf artists;
+    private final Zipf words;
+    private final Zipf categories;
+
+    /**
+     * @param seed Graine du catalogue (même graine + même taille = même catalogue)
+     * @param size Nombre de chansons
+     */
+    public CatalogGenerator(long seed, long size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("La taille du catalogue doit être >= 1");
+        }
+        this.seed = seed;
+        this.size = size;
+        this.artistCount = (int) Math.min(Integer.MAX_VALUE, Math.max(10, size / 10));
+        this.artists = new Zipf(artistCount, ARTIST_EXPONENT);
+        this.words = new Zipf(VOCABULARY.length, WORD_EXPONENT);
+        this.categories = new Zipf(CATEGORIES.length, 0.9);
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public int artistCount() {
+        return artistCount;
+    }
+
+    /**
+     * Générer la chanson d'index donné
+     * 
+     * @param index 0..size-1
+     */
+    public GeneratedSong song(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index hors du catalogue: " + index);
+        }
+        SplittableRandom random = random(SONG_SALT, index);
+        int artist = artists.sample(random);
+        SplittableRandom artistRandom = random(ARTIST_SALT, artist);
+        String artistName = artistName(artist);
+        int category = categories.sample(artistRandom);
+        int albumCount = 1 + artistRandom.nextInt(12);
+
+        String album = null;
+        if (random.nextDouble() >= SINGLE_RATIO) {
+            int albumIndex = random.nextInt(albumCount);
+            SplittableRandom albumRandom = random(ALBUM_SALT, ((long) artist << 4) | albumIndex);
+            album = phrase(albumRandom, 1 + albumRandom.nextInt(3));
+        }
+
+        String title = phrase(random, titleLength(random));
+        if (random.nextDouble() < 0.05) {
+            title += TITLE_SUFFIXES[random.nextInt(TITLE_SUFFIXES.length)];
+        }
+        String[] genres = GENRES[category];
+        String genre = genres[random.nextInt(genres.length)];
+
+        double duration = 215 * Math.exp(0.35 * gaussian(random));
+        return new GeneratedSong(index, title, artistName, album, genre, CATEGORIES[category],
+                (int) Math.max(45, Math.min(1200, Math.round(duration))));
+    }
+
+    /**
+     * Terme de recherche réaliste: un mot de titre, tiré avec la même loi de
+     * Zipf que les titres (beaucoup de requêtes sur les mots fréquents)
+     */
+    public String titleTerm(SplittableRandom random) {
+        return VOCABULARY[words.sample(random)];
+    }
+
+    /**
+     * Terme de recherche par artiste: le nom complet d'un artiste tiré selon
+     * sa popularité
+     */
+    public String artistTerm(SplittableRandom random) {
+        return artistName(artists.sample(random));
+    }
+
+    /**
+     * Catégorie tirée selon la même loi que celle des artistes
+     */
+    public String categoryTerm(SplittableRandom random) {
+        return CATEGORIES[categories.sample(random)];
+    }
+
+    private SplittableRandom random(long salt, long index) {
+        return new SplittableRandom(mix(seed ^ salt) + mix(index));
+    }
+
+    /**
+     * Nom d'artiste unique par rang (bijection rang → nom):
+     * 6 rangs sur 10 sont des personnes "Prénom Nom", puis "Prénom X. Nom",
+     * "Prénom Nom-Nom"; 4 sur 10 des groupes "The/Les Adjectif Noms", puis
+     * "... & the Noms". Au-delà, un numéro "(2)", "(3)" comme sur Discogs.
+     */
+    String artistName(long rank) {
+        long group = rank / 10;
+        int kind = (int) (rank % 10);
+        String name;
+        long variant;
+        if (kind < 6) {
+            long person = group * 6 + kind;
+            int first = (int) ((person + Math.floorMod(seed, FIRST_NAMES.length)) % FIRST_NAMES.length);
+            int last = (int) ((person / FIRST_NAMES.length + Math.floorMod(mix(seed ^ first), LAST_NAMES.length))
+                    % LAST_NAMES.length);
+            variant = person / ((long) FIRST_NAMES.length * LAST_NAMES.length);
+            int style = (int) (variant % (1 + 26 + LAST_NAMES.length));
+            if (style == 0) {
+                name = FIRST_NAMES[first] + " " + LAST_NAMES[last];
+            } else if (style <= 26) {
+                name = FIRST_NAMES[first] + " " + (char) ('A' + style - 1) + ". " + LAST_NAMES[last];
+            } else {
+                name = FIRST_NAMES[first] + " " + LAST_NAMES[last] + "-" + LAST_NAMES[(style - 27 + last + 1) % LAST_NAMES.length];
+            }
+            variant /= 1 + 26 + LAST_NAMES.length;
+        } else {
+            long band = group * 4 + kind - 6;
+            int adjective = (int) ((band + Math.floorMod(seed, BAND_ADJECTIVES.length)) % BAND_ADJECTIVES.length);
+            int noun = (int) ((band / BAND_ADJECTIVES.length + Math.floorMod(mix(seed ^ adjective), BAND_NOUNS.length))
+                    % BAND_NOUNS.length);
+            long rest = band / ((long) BAND_ADJECTIVES.length * BAND_NOUNS.length);
+            name = BAND_PREFIXES[(int) (rest % 2)] + " " + BAND_ADJECTIVES[adjective] + " " + BAND_NOUNS[noun];
+            rest /= 2;
+            int style = (int) (rest % (1 + BAND_NOUNS.length));
+            if (style > 0) {
+                name += " & the " + BAND_NOUNS[style - 1];
+            }
+            variant = rest / (1 + BAND_NOUNS.length);
+        }
+        return variant == 0 ? name : name + " (" + (variant + 1) + ")";
+    }
+
+    private String phrase(SplittableRandom random, int wordCount) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            String word = VOCABULARY[words.sample(random)];
+            if (i > 0) {
+                phrase.append(' ');
+            }
+            phrase.appendCodePoint(Character.toUpperCase(word.codePointAt(0)))
+                    .append(word, Character.charCount(word.codePointAt(0)), word.length());
+        }
+        return phrase.toString();
+    }
+
+    private static int titleLength(SplittableRandom random) {
+        double p = random.nextDouble();
+        if (p < 0.25) {
+            return 1;
+        } else if (p < 0.60) {
+            return 2;
+        } else if (p < 0.85) {
+            return 3;
+        }
+        return p < 0.95 ? 4 : 5;
+    }
+
+    /**
+     * Loi normale centrée réduite (Box-Muller), sans état caché entre deux appels
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * Finaliseur de SplitMix64: deux index voisins donnent des graines sans corrélation
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,105 @@
+package com.musicstream.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🌱 CatalogSeeder - Chargement du catalogue généré via POST /api/songs
+ * 
+ * Passe par l'API (et non par la base) pour que les artistes, albums, index de
+ * recherche et caches soient alimentés comme en production. Les chansons
+ * [from, taille) sont envoyées par --threads workers; --from permet de reprendre
+ * un chargement interrompu (au plus --threads chansons déjà créées sont renvoyées).
+ * 
+ * Le chargement s'arrête à la première réponse autre que 201 (ex: 429 si le
+ * rate limiting est actif).
+ */
+final class CatalogSeeder {
+
+    private final ApiClient api;
+    private final CatalogGenerator generator;
+    private final int threads;
+    private final PrintStream console;
+
+    CatalogSeeder(ApiClient api, CatalogGenerator generator, int threads, PrintStream console) {
+        this.api = api;
+        this.generator = generator;
+        this.threads = threads;
+        this.console = console;
+    }
+
+    /**
+     * @param from Premier index à envoyer
+     * @return true si toutes les chansons ont été créées
+     */
+    boolean seed(long from) throws InterruptedException {
+        AtomicLong next = new AtomicLong(from);
+        AtomicLong created = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+        AtomicLong firstFailed = new AtomicLong(Long.MAX_VALUE);
+        Recorder recorder = new Recorder(LatencyReport.SIGNIFICANT_DIGITS);
+        Histogram total = new Histogram(LatencyReport.SIGNIFICANT_DIGITS);
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                long index;
+                while (failure.get() == null && (index = next.getAndIncrement()) < generator.size()) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = api.send("POST", "/songs", generator.song(index).toJson()).status();
+                        if (status != 201) {
+                            failure.compareAndSet(null, "HTTP " + status + " pour la chanson " + index);
+                            firstFailed.accumulateAndGet(index, Math::min);
+                            return;
+                        }
+                    } catch (IOException e) {
+                        failure.compareAndSet(null, e + " pour la chanson " + index);
+                        firstFailed.accumulateAndGet(index, Math::min);
+                        return;
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    recorder.recordValue((System.nanoTime() - start) / 1000);
+                    created.incrementAndGet();
+                }
+            }, "seed-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+
+        long started = System.nanoTime();
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                worker.join(5000);
+                Histogram interval = recorder.getIntervalHistogram();
+                total.add(interval);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                console.printf("%,d / %,d chansons (%.0f/s, p99 %.2f ms)%n", from + created.get(), generator.size(),
+                        created.get() / seconds, interval.getValueAtPercentile(99) / LatencyReport.MICROS_PER_MILLI);
+            }
+        }
+        total.add(recorder.getIntervalHistogram());
+
+        if (failure.get() != null) {
+            console.println("❌ Chargement interrompu: " + failure.get());
+            console.println("   Reprise: seed --from=" + firstFailed.get()
+                    + " (si 429: lancez l'API avec --musicstream.rate-limit.enabled=false)");
+            return false;
+        }
+        console.printf("✅ %,d chansons créées en %.1f s (p50 %.2f ms, p99 %.2f ms)%n", created.get(),
+                (System.nanoTime() - started) / 1e9,
+                total.getValueAtPercentile(50) / LatencyReport.MICROS_PER_MILLI,
+                total.getValueAtPercentile(99) / LatencyReport.MICROS_PER_MILLI);
+        return true;
+    }
+}
@@ -0,0 +1,48 @@
+package com.musicstream.loadtest;
+
+/**
+ * 🎵 GeneratedSong - Chanson produite par CatalogGenerator
+ * 
+ * Mêmes champs que le JSON accepté par POST /api/songs.
+ * 
+ * @param index    Position dans le catalogue (0..n-1); après un seed sur une base
+ *                 vide, le catalogue occupe les IDs 1..n (dans l'ordre d'insertion)
+ * @param album    null pour un single
+ */
+public record GeneratedSong(long index, String title, String artist, String album,
+                            String genre, String category, int duration) {
+
+    /**
+     * @return Le corps JSON de POST /api/songs et PUT /api/songs/{id}
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(160).append('{');
+        field(json, "title", title).append(',');
+        field(json, "artist", artist).append(',');
+        if (album != null) {
+            field(json, "album", album).append(',');
+        }
+        field(json, "genre", genre).append(',');
+        field(json, "category", category).append(',');
+        return json.append("\"duration\":").append(duration).append('}').toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -0,0 +1,163 @@
+package com.musicstream.loadtest;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 📊 LatencyReport - Latences cumulées par opération
+ * 
+ * Les valeurs sont enregistrées en microsecondes et affichées en millisecondes.
+ * Alimenté par ScenarioRunner pendant le test, ou relu depuis un journal .hlog
+ * (commande compare) pour confronter deux builds.
+ */
+final class LatencyReport {
+
+    static final String ALL = "all";
+    static final double MICROS_PER_MILLI = 1000.0;
+    static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final double[] PERCENTILES = {50, 99, 99.9};
+
+    private final Map<String, Histogram> histograms = new TreeMap<>();
+    private long startMillis = Long.MAX_VALUE;
+    private long endMillis = Long.MIN_VALUE;
+
+    /**
+     * Ajouter un histogramme d'intervalle (horodaté) à l'opération donnée
+     */
+    void add(String operation, Histogram interval) {
+        histograms.computeIfAbsent(operation, key -> new Histogram(SIGNIFICANT_DIGITS)).add(interval);
+        startMillis = Math.min(startMillis, interval.getStartTimeStamp());
+        endMillis = Math.max(endMillis, interval.getEndTimeStamp());
+    }
+
+    /**
+     * @return Les opérations présentes, triées par nom
+     */
+    Iterable<String> operations() {
+        return histograms.keySet();
+    }
+
+    Histogram histogram(String operation) {
+        if (ALL.equals(operation)) {
+            Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+            histograms.values().forEach(all::add);
+            return all;
+        }
+        return histograms.get(operation);
+    }
+
+    /**
+     * @return Durée couverte par les intervalles, en secondes
+     */
+    double seconds() {
+        return endMillis > startMillis ? (endMillis - startMillis) / 1000.0 : 0;
+    }
+
+    double throughput(String operation) {
+        Histogram histogram = histogram(operation);
+        double seconds = seconds();
+        return histogram == null || seconds == 0 ? 0 : histogram.getTotalCount() / seconds;
+    }
+
+    /**
+     * Tableau: débit et p50/p99/p999/max par opération, puis le total
+     */
+    String format() {
+        StringBuilder table = new StringBuilder(String.format("%-10s %10s %10s %9s %9s %9s %9s%n",
+                "opération", "requêtes", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (String operation : histograms.keySet()) {
+            row(table, operation);
+        }
+        row(table, ALL);
+        return table.toString();
+    }
+
+    /**
+     * Écrire la distribution des percentiles (.hgrm, en ms) d'une opération,
+     * lisible par le HdrHistogram plotter
+     */
+    void writePercentiles(String operation, Path file) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            histogram(operation).outputPercentileDistribution(out, 5, MICROS_PER_MILLI);
+        }
+    }
+
+    /**
+     * Relire un journal écrit par ScenarioRunner (un histogramme par intervalle et par opération)
+     */
+    static LatencyReport read(Path hlog) throws FileNotFoundException {
+        LatencyReport report = new LatencyReport();
+        HistogramLogReader reader = new HistogramLogReader(hlog.toFile());
+        try {
+            EncodableHistogram interval;
+            while ((interval = reader.nextIntervalHistogram()) != null) {
+                if (interval instanceof Histogram histogram && histogram.getTag() != null) {
+                    report.add(histogram.getTag(), histogram);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return report;
+    }
+
+    /**
+     * Comparer deux rapports opération par opération (écart relatif du candidat)
+     */
+    static String compare(LatencyReport baseline, LatencyReport candidate) {
+        StringBuilder table = new StringBuilder(String.format("%-10s %-7s %12s %12s %9s%n",
+                "opération", "mesure", "référence", "candidat", "écart"));
+        Set<String> operations = new TreeSet<>(baseline.histograms.keySet());
+        operations.addAll(candidate.histograms.keySet());
+        List<String> rows = new ArrayList<>(operations);
+        rows.add(ALL);
+        for (String operation : rows) {
+            Histogram before = baseline.histogram(operation);
+            Histogram after = candidate.histogram(operation);
+            compareRow(table, operation, "req/s", baseline.throughput(operation), candidate.throughput(operation));
+            for (double percentile : PERCENTILES) {
+                compareRow(table, operation, "p" + label(percentile),
+                        millis(before, percentile), millis(after, percentile));
+            }
+            compareRow(table, operation, "max",
+                    before == null ? Double.NaN : before.getMaxValue() / MICROS_PER_MILLI,
+                    after == null ? Double.NaN : after.getMaxValue() / MICROS_PER_MILLI);
+        }
+        return table.toString();
+    }
+
+    private void row(StringBuilder table, String operation) {
+        Histogram histogram = histogram(operation);
+        table.append(String.format("%-10s %10d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                operation, histogram.getTotalCount(), throughput(operation),
+                millis(histogram, 50), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_PER_MILLI));
+    }
+
+    private static void compareRow(StringBuilder table, String operation, String metric, double before, double after) {
+        String delta = Double.isNaN(before) || Double.isNaN(after) || before == 0
+                ? "-"
+                : String.format("%+.1f %%", (after - before) * 100 / before);
+        table.append(String.format("%-10s %-7s %12.2f %12.2f %9s%n", operation, metric, before, after, delta));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram == null ? Double.NaN : histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String label(double percentile) {
+        return percentile == 99.9 ? "999" : String.valueOf((int) percentile);
+    }
+}
@@ -0,0 +1,167 @@
+package com.musicstream.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+
+/**
+ * 🚀 LoadTest - Point d'entrée des tests de charge MusicStream
+ * 
+ * Commandes:
+ * - generate → écrire le catalogue en JSON Lines et afficher son empreinte SHA-256
+ * - seed     → créer le catalogue via POST /api/songs
+ * - run      → exécuter un scénario et produire les rapports HdrHistogram
+ * - compare  → comparer deux journaux latency.hlog (ex: deux builds)
+ * 
+ * Exemple:
+ * java -jar target/musicstream-loadtest-jar-with-dependencies.jar seed --songs=1000000
+ * java -jar target/musicstream-loadtest-jar-with-dependencies.jar run --songs=1000000 --threads=32
+ * 
+ * Voir README.md pour toutes les options.
+ */
+public final class LoadTest {
+
+    static final String DEFAULT_URL = "http://localhost:8080/api";
+    static final long DEFAULT_SEED = 42;
+    static final long DEFAULT_SONGS = 1_000_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        PrintStream console = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        int status;
+        try {
+            status = run(new Options(args), console);
+        } catch (IllegalArgumentException e) {
+            console.println("❌ " + e.getMessage());
+            console.println();
+            console.print(USAGE);
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    static int run(Options options, PrintStream console) throws IOException, InterruptedException {
+        if (options.command() == null) {
+            console.print(USAGE);
+            return 1;
+        }
+        return switch (options.command()) {
+            case "generate" -> generate(options, console);
+            case "seed" -> seed(options, console);
+            case "run" -> scenario(options, console);
+            case "compare" -> compare(options, console);
+            default -> throw new IllegalArgumentException("Commande inconnue: " + options.command());
+        };
+    }
+
+    private static int generate(Options options, PrintStream console) throws IOException {
+        CatalogGenerator generator = catalog(options);
+        String output = options.string("output", "-");
+        options.rejectUnknown();
+
+        MessageDigest digest = sha256();
+        try (Writer writer = "-".equals(output)
+                ? new BufferedWriter(new OutputStreamWriter(console, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(output))) {
+            for (long i = 0; i < generator.size(); i++) {
+                String line = generator.song(i).toJson();
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+                writer.write(line);
+                writer.write('\n');
+            }
+        }
+        System.err.printf("%,d chansons, %,d artistes, sha256=%s%n", generator.size(), generator.artistCount(),
+                HexFormat.of().formatHex(digest.digest()));
+        return 0;
+    }
+
+    private static int seed(Options options, PrintStream console) throws InterruptedException {
+        CatalogGenerator generator = catalog(options);
+        ApiClient api = new ApiClient(options.string("url", DEFAULT_URL),
+                options.duration("timeout", Duration.ofSeconds(30)));
+        int threads = (int) options.number("threads", 8);
+        long from = options.number("from", 0);
+        options.rejectUnknown();
+
+        console.printf("Chargement de %,d chansons (%,d artistes, graine %d) avec %d threads%n",
+                generator.size() - from, generator.artistCount(), options.number("seed", DEFAULT_SEED), threads);
+        return new CatalogSeeder(api, generator, threads, console).seed(from) ? 0 : 2;
+    }
+
+    private static int scenario(Options options, PrintStream console) throws IOException, InterruptedException {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        ScenarioRunner.Settings settings = new ScenarioRunner.Settings(
+                options.string("url", DEFAULT_URL),
+                (int) options.number("threads", 16),
+                options.duration("duration", Duration.ofMinutes(1)),
+                options.duration("warmup", Duration.ofSeconds(15)),
+                options.decimal("rate", 0),
+                options.duration("report-interval", Duration.ofSeconds(5)),
+                options.duration("timeout", Duration.ofSeconds(30)),
+                options.number("songs", DEFAULT_SONGS),
+                options.decimal("id-skew", 0.8),
+                options.number("seed", DEFAULT_SEED),
+                OperationMix.parse(options.string("mix", null)),
+                Path.of(options.string("out", "target/loadtest/run-" + timestamp)));
+        options.rejectUnknown();
+        if (settings.threads() < 1 || settings.songs() < 1 || settings.rate() < 0
+                || settings.reportInterval().isZero() || settings.duration().isZero()) {
+            throw new IllegalArgumentException("threads, songs, duration et report-interval doivent être > 0");
+        }
+
+        new ScenarioRunner(settings, console).run();
+        return 0;
+    }
+
+    private static int compare(Options options, PrintStream console) throws IOException {
+        String baseline = options.string("baseline", null);
+        String candidate = options.string("candidate", null);
+        options.rejectUnknown();
+        if (baseline == null || candidate == null) {
+            throw new IllegalArgumentException("compare demande --baseline=<latency.hlog> et --candidate=<latency.hlog>");
+        }
+        console.print(LatencyReport.compare(LatencyReport.read(Path.of(baseline)),
+                LatencyReport.read(Path.of(candidate))));
+        return 0;
+    }
+
+    private static CatalogGenerator catalog(Options options) {
+        return new CatalogGenerator(options.number("seed", DEFAULT_SEED), options.number("songs", DEFAULT_SONGS));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final String USAGE = """
+            Usage: java -jar musicstream-loadtest-jar-with-dependencies.jar <commande> [--option=valeur ...]
+
+              generate  --songs=1000000 --seed=42 --output=catalog.jsonl (défaut: sortie standard)
+              seed      --songs=1000000 --seed=42 --url=%s --threads=8 --from=0
+              run       --songs=1000000 --seed=42 --url=%s --threads=16
+                        --duration=1m --warmup=15s --rate=0 (req/s, 0 = boucle fermée)
+                        --mix=get=60,category=10,title=10,artist=10,create=5,update=4,delete=1
+                        --id-skew=0.8 --report-interval=5s --out=target/loadtest/run-<date>
+              compare   --baseline=a/latency.hlog --candidate=b/latency.hlog
+
+            Opérations du mix: list, get, category, title, artist, create, update, delete
+            """.formatted(DEFAULT_URL, DEFAULT_URL);
+}
@@ -0,0 +1,52 @@
+package com.musicstream.loadtest;
+
+/**
+ * 🎯 Operation - Endpoints de SongController pilotés par le scénario
+ * 
+ * Le nom court sert dans --mix, comme étiquette (tag) des histogrammes du
+ * journal .hlog et dans les rapports.
+ */
+enum Operation {
+
+    /** GET /songs (catalogue complet: poids 0 par défaut, à réserver aux petits catalogues) */
+    LIST("list", 0),
+    /** GET /songs/{id} */
+    GET("get", 60),
+    /** GET /songs/category/{category} */
+    CATEGORY("category", 10),
+    /** GET /songs/search/by-title?q= */
+    TITLE("title", 10),
+    /** GET /songs/search/by-artist?q= */
+    ARTIST("artist", 10),
+    /** POST /songs */
+    CREATE("create", 5),
+    /** PUT /songs/{id} */
+    UPDATE("update", 4),
+    /** DELETE /songs/{id} */
+    DELETE("delete", 1);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Opération inconnue: " + key);
+    }
+}
@@ -0,0 +1,105 @@
+package com.musicstream.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 🎲 OperationMix - Répartition pondérée des opérations
+ * 
+ * Format de --mix: "get=70,title=20,create=10". Les opérations absentes ont un
+ * poids nul; sans --mix, les poids par défaut de Operation s'appliquent
+ * (60 % lectures par ID, 30 % recherches, 10 % écritures).
+ */
+final class OperationMix {
+
+    private final Operation[] operations;
+    private final int[] cumulative;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        int total = 0;
+        int count = (int) weights.values().stream().filter(weight -> weight > 0).count();
+        operations = new Operation[count];
+        cumulative = new int[count];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                operations[i] = entry.getKey();
+                cumulative[i++] = total;
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Le mix doit contenir au moins une opération de poids > 0");
+        }
+    }
+
+    static OperationMix defaults() {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, operation.defaultWeight());
+        }
+        return new OperationMix(weights);
+    }
+
+    /**
+     * @param spec "get=70,title=20,create=10", ou null pour le mix par défaut
+     */
+    static OperationMix parse(String spec) {
+        if (spec == null || spec.isBlank()) {
+            return defaults();
+        }
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Entrée de mix invalide (attendu op=poids): " + part);
+            }
+            int weight;
+            try {
+                weight = Integer.parseInt(pair[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Poids invalide pour " + pair[0] + ": " + pair[1]);
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Poids négatif pour " + pair[0]);
+            }
+            weights.put(Operation.fromKey(pair[0].trim()), weight);
+        }
+        return new OperationMix(weights);
+    }
+
+    Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * @return Poids de l'opération (0 si absente)
+     */
+    int weight(Operation operation) {
+        for (int i = 0; i < operations.length; i++) {
+            if (operations[i] == operation) {
+                return cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(operations[i].key()).append('=').append(weight(operations[i]));
+        }
+        return text.toString();
+    }
+}
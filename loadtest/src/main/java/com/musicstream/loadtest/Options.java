@@ -0,0 +1,108 @@
+package com.musicstream.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ⚙️ Options - Arguments de la ligne de commande
+ * 
+ * Format: commande --clé=valeur ... (ex: run --threads=32 --duration=2m)
+ * Une clé inconnue est une erreur: une faute de frappe ne doit pas lancer
+ * silencieusement un test avec les valeurs par défaut.
+ */
+final class Options {
+
+    private final String command;
+    private final Map<String, String> values = new HashMap<>();
+    private final Set<String> used = new HashSet<>();
+
+    Options(String[] args) {
+        String found = null;
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                if (equals < 0) {
+                    values.put(arg.substring(2), "true");
+                } else {
+                    values.put(arg.substring(2, equals), arg.substring(equals + 1));
+                }
+            } else if (found == null) {
+                found = arg;
+            } else {
+                throw new IllegalArgumentException("Argument inattendu: " + arg);
+            }
+        }
+        this.command = found;
+    }
+
+    String command() {
+        return command;
+    }
+
+    String string(String key, String defaultValue) {
+        used.add(key);
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    long number(String key, long defaultValue) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.replace("_", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " doit être un entier: " + value);
+        }
+    }
+
+    double decimal(String key, double defaultValue) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " doit être un nombre: " + value);
+        }
+    }
+
+    /**
+     * Durée: 500ms, 30s, 5m, 1h (un nombre seul = secondes)
+     */
+    Duration duration(String key, Duration defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : parseDuration(key, value);
+    }
+
+    /**
+     * Vérifier que toutes les options passées ont été lues par la commande
+     */
+    void rejectUnknown() {
+        for (String key : values.keySet()) {
+            if (!used.contains(key)) {
+                throw new IllegalArgumentException("Option inconnue pour '" + command + "': --" + key);
+            }
+        }
+    }
+
+    static Duration parseDuration(String key, String value) {
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            long amount = Long.parseLong(value.replaceAll("[smh]$", ""));
+            return switch (value.charAt(value.length() - 1)) {
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> Duration.ofSeconds(amount);
+            };
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("--" + key + " doit être une durée (500ms, 30s, 5m, 1h): " + value);
+        }
+    }
+}
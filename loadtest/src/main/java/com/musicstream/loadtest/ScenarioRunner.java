@@ -0,0 +1,304 @@
+package com.musicstream.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 🏃 ScenarioRunner - Scénario de charge sur les endpoints de SongController
+ * 
+ * Chaque worker tire une opération selon le mix, puis une cible réaliste:
+ * - IDs entre 1 et --songs (catalogue semé), popularité Zipf (--id-skew, 0 = uniforme)
+ * - Termes de recherche et catégories issus du même CatalogGenerator (même --seed)
+ * 
+ * Deux modes:
+ * - Boucle fermée (défaut): chaque worker enchaîne les requêtes, débit maximal
+ * - Débit fixe (--rate=N req/s au total): la latence est mesurée depuis l'heure
+ *   d'envoi prévue et non réelle, pour corriger l'omission coordonnée (un serveur
+ *   bloqué retarde les requêtes suivantes, qui doivent compter ce retard)
+ * 
+ * Sorties (répertoire --out):
+ * - latency.hlog      → un histogramme par intervalle et par opération (tag),
+ *                        à comparer entre builds avec la commande compare
+ * - summary.txt       → paramètres, débit, p50/p99/p999/max, codes HTTP
+ * - {opération}.hgrm  → distribution des percentiles (ms), et all.hgrm
+ * 
+ * La période de chauffe (--warmup) est exécutée mais pas enregistrée.
+ */
+final class ScenarioRunner {
+
+    /**
+     * @param rate Débit total visé (req/s), 0 = boucle fermée
+     */
+    record Settings(String baseUrl, int threads, Duration duration, Duration warmup, double rate,
+                    Duration reportInterval, Duration timeout, long songs, double idSkew, long seed,
+                    OperationMix mix, Path output) {
+    }
+
+    private static final int OK = 0;
+    private static final int NOT_FOUND = 1;
+    private static final int THROTTLED = 2;
+    private static final int ERROR = 3;
+
+    private final Settings settings;
+    private final ApiClient api;
+    private final CatalogGenerator generator;
+    private final Zipf popularity;
+    private final Recorder[] recorders = new Recorder[Operation.values().length];
+    private final LongAdder[][] outcomes = new LongAdder[Operation.values().length][4];
+    private final LatencyReport report = new LatencyReport();
+    private final PrintStream console;
+
+    private volatile boolean measuring;
+    private long intervalStart;
+
+    ScenarioRunner(Settings settings, PrintStream console) {
+        this.settings = settings;
+        this.console = console;
+        this.api = new ApiClient(settings.baseUrl(), settings.timeout());
+        this.generator = new CatalogGenerator(settings.seed(), settings.songs());
+        this.popularity = settings.idSkew() > 0
+                ? new Zipf((int) Math.min(Integer.MAX_VALUE, settings.songs()), settings.idSkew())
+                : null;
+        for (Operation operation : Operation.values()) {
+            recorders[operation.ordinal()] = new Recorder(LatencyReport.SIGNIFICANT_DIGITS);
+            for (int outcome = 0; outcome < 4; outcome++) {
+                outcomes[operation.ordinal()][outcome] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Exécuter le scénario puis écrire les rapports
+     * 
+     * @return Le rapport de latence (hors chauffe)
+     */
+    LatencyReport run() throws IOException, InterruptedException {
+        Files.createDirectories(settings.output());
+        Path hlog = settings.output().resolve("latency.hlog");
+        console.printf("Scénario: %d threads, %s, mix %s, %d chansons → %s%n",
+                settings.threads(), settings.rate() > 0 ? settings.rate() + " req/s" : "boucle fermée",
+                settings.mix(), settings.songs(), settings.output());
+
+        try (PrintStream log = new PrintStream(hlog.toFile())) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            long start = System.currentTimeMillis();
+            writer.outputComment("MusicStream load test: " + describe());
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(start);
+            writer.setBaseTime(start);
+            writer.outputLegend();
+
+            long warmupNanos = settings.warmup().toNanos();
+            long deadline = System.nanoTime() + warmupNanos + settings.duration().toNanos();
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < settings.threads(); i++) {
+                int index = i;
+                Thread worker = new Thread(() -> work(index, deadline), "loadtest-" + (i + 1));
+                worker.setDaemon(true);
+                workers.add(worker);
+                worker.start();
+            }
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "loadtest-report");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.schedule(this::startMeasuring, warmupNanos, TimeUnit.NANOSECONDS);
+            long interval = settings.reportInterval().toMillis();
+            reporter.scheduleAtFixedRate(() -> sweep(writer), warmupNanos / 1_000_000 + interval,
+                    interval, TimeUnit.MILLISECONDS);
+
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            reporter.shutdown();
+            reporter.awaitTermination(10, TimeUnit.SECONDS);
+            sweep(writer);
+        }
+
+        String summary = describe() + System.lineSeparator() + System.lineSeparator()
+                + report.format() + System.lineSeparator() + formatOutcomes();
+        Files.writeString(settings.output().resolve("summary.txt"), summary);
+        for (String operation : report.operations()) {
+            report.writePercentiles(operation, settings.output().resolve(operation + ".hgrm"));
+        }
+        if (report.operations().iterator().hasNext()) {
+            report.writePercentiles(LatencyReport.ALL, settings.output().resolve("all.hgrm"));
+        }
+        console.println();
+        console.print(summary);
+        if (settings.rate() > 0 && report.throughput(LatencyReport.ALL) < settings.rate() * 0.9) {
+            console.printf("⚠️  Débit visé non atteint (%.1f / %.1f req/s): l'API est saturée,"
+                    + " les latences incluent l'attente des requêtes en retard%n",
+                    report.throughput(LatencyReport.ALL), settings.rate());
+        }
+        if (total(THROTTLED) > 0) {
+            console.println("⚠️  Réponses 429: lancez l'API avec --musicstream.rate-limit.enabled=false");
+        }
+        return report;
+    }
+
+    private void work(int index, long deadline) {
+        SplittableRandom random = new SplittableRandom(CatalogGenerator.mix(settings.seed() + index));
+        long period = settings.rate() > 0 ? (long) (settings.threads() * 1_000_000_000L / settings.rate()) : 0;
+        long next = System.nanoTime() + period * index / Math.max(1, settings.threads());
+        while (System.nanoTime() < deadline) {
+            long intended;
+            if (period > 0) {
+                intended = next;
+                next += period;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                intended = System.nanoTime();
+            }
+
+            Operation operation = settings.mix().pick(random);
+            int outcome;
+            try {
+                outcome = outcome(execute(operation, random));
+            } catch (IOException e) {
+                outcome = ERROR;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            recorders[operation.ordinal()].recordValue((System.nanoTime() - intended) / 1000);
+            if (measuring) {
+                outcomes[operation.ordinal()][outcome].increment();
+            }
+        }
+    }
+
+    private int execute(Operation operation, SplittableRandom random) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST -> api.send("GET", "/songs", null).status();
+            case GET -> api.send("GET", "/songs/" + songId(random), null).status();
+            case CATEGORY -> api.send("GET", "/songs/category/" + generator.categoryTerm(random), null).status();
+            case TITLE -> api.send("GET", "/songs/search/by-title?q="
+                    + encode(generator.titleTerm(random)), null).status();
+            case ARTIST -> api.send("GET", "/songs/search/by-artist?q="
+                    + encode(generator.artistTerm(random)), null).status();
+            case CREATE -> api.send("POST", "/songs", randomSong(random)).status();
+            case UPDATE -> api.send("PUT", "/songs/" + songId(random), randomSong(random)).status();
+            case DELETE -> api.send("DELETE", "/songs/" + songId(random), null).status();
+        };
+    }
+
+    private long songId(SplittableRandom random) {
+        if (popularity == null) {
+            return 1 + random.nextLong(settings.songs());
+        }
+        // Rang de popularité → ID dispersé: les titres populaires ne sont pas tous en tête de table
+        long rank = popularity.sample(random);
+        return 1 + Math.floorMod(CatalogGenerator.mix(rank ^ settings.seed()), settings.songs());
+    }
+
+    private String randomSong(SplittableRandom random) {
+        return generator.song(random.nextLong(settings.songs())).toJson();
+    }
+
+    private void startMeasuring() {
+        for (Recorder recorder : recorders) {
+            recorder.reset();
+        }
+        intervalStart = System.currentTimeMillis();
+        measuring = true;
+        console.println("Fin de la chauffe, mesure en cours");
+    }
+
+    /**
+     * Vider les enregistreurs dans le journal et le rapport, puis afficher l'intervalle
+     */
+    private synchronized void sweep(HistogramLogWriter writer) {
+        if (!measuring) {
+            return;
+        }
+        Histogram interval = new Histogram(LatencyReport.SIGNIFICANT_DIGITS);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders[operation.ordinal()].getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            histogram.setTag(operation.key());
+            writer.outputIntervalHistogram(histogram);
+            report.add(operation.key(), histogram);
+            interval.add(histogram);
+        }
+        long now = System.currentTimeMillis();
+        double seconds = Math.max(1, now - intervalStart) / 1000.0;
+        intervalStart = now;
+        console.printf("%8.1f req/s  p50 %7.2f ms  p99 %8.2f ms  max %8.2f ms  404 %d  429 %d  erreurs %d%n",
+                interval.getTotalCount() / seconds,
+                interval.getValueAtPercentile(50) / LatencyReport.MICROS_PER_MILLI,
+                interval.getValueAtPercentile(99) / LatencyReport.MICROS_PER_MILLI,
+                interval.getMaxValue() / LatencyReport.MICROS_PER_MILLI,
+                total(NOT_FOUND), total(THROTTLED), total(ERROR));
+    }
+
+    private String formatOutcomes() {
+        StringBuilder table = new StringBuilder(String.format("%-10s %10s %10s %10s %10s%n",
+                "opération", "2xx", "404", "429", "erreurs"));
+        for (Operation operation : Operation.values()) {
+            LongAdder[] counts = outcomes[operation.ordinal()];
+            if (settings.mix().weight(operation) > 0) {
+                table.append(String.format("%-10s %10d %10d %10d %10d%n", operation.key(),
+                        counts[OK].sum(), counts[NOT_FOUND].sum(), counts[THROTTLED].sum(), counts[ERROR].sum()));
+            }
+        }
+        return table.toString();
+    }
+
+    private String describe() {
+        return String.format("url=%s threads=%d duration=%ds warmup=%ds rate=%s songs=%d id-skew=%s seed=%d mix=%s",
+                settings.baseUrl(), settings.threads(), settings.duration().toSeconds(), settings.warmup().toSeconds(),
+                settings.rate() > 0 ? String.valueOf(settings.rate()) : "max", settings.songs(), settings.idSkew(),
+                settings.seed(), settings.mix());
+    }
+
+    private long total(int outcome) {
+        long total = 0;
+        for (LongAdder[] counts : outcomes) {
+            total += counts[outcome].sum();
+        }
+        return total;
+    }
+
+    /**
+     * 404 attendu (chanson supprimée par une opération delete), 429 = rate limiting
+     */
+    private static int outcome(int status) {
+        if (status >= 200 && status < 300) {
+            return OK;
+        } else if (status == 404) {
+            return NOT_FOUND;
+        } else if (status == 429) {
+            return THROTTLED;
+        }
+        return ERROR;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
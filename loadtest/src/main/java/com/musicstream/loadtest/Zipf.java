@@ -0,0 +1,50 @@
+package com.musicstream.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 📈 Zipf - Tirage de rangs selon une loi de Zipf
+ * 
+ * P(rang k) ∝ 1 / k^exposant, k = 0..n-1: quelques artistes, mots ou genres
+ * très fréquents et une longue traîne, comme dans un vrai catalogue.
+ * 
+ * La fonction de répartition est précalculée (n doubles), chaque tirage est une
+ * recherche dichotomique: O(log n), sans allocation.
+ */
+public final class Zipf {
+
+    private final double[] cumulative;
+
+    /**
+     * @param n        Nombre de rangs (>= 1)
+     * @param exponent Exposant (0 = uniforme, ~1 = distribution "naturelle")
+     */
+    public Zipf(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n doit être >= 1");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        cumulative[n - 1] = 1.0;
+    }
+
+    /**
+     * @return Un rang entre 0 (le plus fréquent) et n-1
+     */
+    public int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+
+    public int size() {
+        return cumulative.length;
+    }
+}
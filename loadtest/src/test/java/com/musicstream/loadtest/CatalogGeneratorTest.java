@@ -0,0 +1,118 @@
+package com.musicstream.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 CatalogGeneratorTest - Déterminisme et distributions du catalogue généré
+ */
+@DisplayName("CatalogGenerator - Tests Unitaires")
+class CatalogGeneratorTest {
+
+    @Test
+    @DisplayName("Déterminisme - Même graine, même chanson, quel que soit l'ordre de génération")
+    void testDeterministic() {
+        // Arrange
+        CatalogGenerator first = new CatalogGenerator(42, 100_000);
+        CatalogGenerator second = new CatalogGenerator(42, 100_000);
+        CatalogGenerator otherSeed = new CatalogGenerator(43, 100_000);
+
+        // Act
+        GeneratedSong last = second.song(99_999);
+        GeneratedSong song = second.song(12_345);
+
+        // Assert
+        assertEquals(first.song(12_345), song);
+        assertEquals(first.song(99_999), last);
+        assertNotEquals(otherSeed.song(12_345), song);
+        assertNotEquals(first.song(12_346), song);
+    }
+
+    @Test
+    @DisplayName("Distributions - Artistes en loi de Zipf, singles, durées bornées")
+    void testDistributions() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(7, 200_000);
+        Map<String, Integer> songsPerArtist = new HashMap<>();
+        int singles = 0;
+
+        // Act
+        for (long i = 0; i < generator.size(); i++) {
+            GeneratedSong song = generator.song(i);
+            songsPerArtist.merge(song.artist(), 1, Integer::sum);
+            if (song.album() == null) {
+                singles++;
+            }
+            assertTrue(song.duration() >= 45 && song.duration() <= 1200);
+            assertFalse(song.title().isBlank());
+        }
+
+        // Assert: un artiste de tête à des centaines de titres, une longue traîne à quelques titres
+        int top = songsPerArtist.values().stream().max(Integer::compare).orElseThrow();
+        long tail = songsPerArtist.values().stream().filter(count -> count <= 3).count();
+        assertTrue(top > 500, "artiste de tête: " + top);
+        assertTrue(tail > songsPerArtist.size() / 5, "traîne: " + tail + " / " + songsPerArtist.size());
+        assertEquals(CatalogGenerator.SINGLE_RATIO, singles / (double) generator.size(), 0.01);
+    }
+
+    @Test
+    @DisplayName("artistName - Un nom distinct par rang")
+    void testArtistNamesUnique() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(42, 10_000_000);
+        Set<String> names = new HashSet<>();
+
+        // Act
+        for (int rank = 0; rank < generator.artistCount(); rank++) {
+            names.add(generator.artistName(rank));
+        }
+
+        // Assert
+        assertEquals(generator.artistCount(), names.size());
+    }
+
+    @Test
+    @DisplayName("Termes de recherche - Artistes et catégories présents dans le catalogue")
+    void testSearchTerms() {
+        // Arrange
+        CatalogGenerator generator = new CatalogGenerator(42, 50_000);
+        Map<String, Boolean> artists = new HashMap<>();
+        for (long i = 0; i < generator.size(); i++) {
+            artists.put(generator.song(i).artist(), true);
+        }
+        SplittableRandom random = new SplittableRandom(1);
+
+        // Act
+        int found = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (artists.containsKey(generator.artistTerm(random))) {
+                found++;
+            }
+        }
+
+        // Assert: les artistes populaires (tirés le plus souvent) ont forcément des titres
+        assertTrue(found > 950, "artistes trouvés: " + found);
+    }
+
+    @Test
+    @DisplayName("JSON - Caractères spéciaux échappés, album absent pour un single")
+    void testJson() {
+        // Arrange
+        GeneratedSong song = new GeneratedSong(0, "Say \"Hi\" \\ Été", "Les Fous", null, "Pop", "pop", 200);
+
+        // Act
+        String json = song.toJson();
+
+        // Assert
+        assertEquals("{\"title\":\"Say \\\"Hi\\\" \\\\ Été\",\"artist\":\"Les Fous\","
+                + "\"genre\":\"Pop\",\"category\":\"pop\",\"duration\":200}", json);
+    }
+}
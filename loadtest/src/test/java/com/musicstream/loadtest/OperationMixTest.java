@@ -0,0 +1,53 @@
+package com.musicstream.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 OperationMixTest - Lecture de --mix et tirage pondéré
+ */
+@DisplayName("OperationMix - Tests Unitaires")
+class OperationMixTest {
+
+    @Test
+    @DisplayName("parse - Poids respectés, opérations absentes jamais tirées")
+    void testParseAndPick() {
+        // Arrange
+        OperationMix mix = OperationMix.parse("get=75, title=25");
+        SplittableRandom random = new SplittableRandom(3);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+
+        // Act
+        for (int i = 0; i < 100_000; i++) {
+            counts.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(2, counts.size());
+        assertEquals(0.75, counts.get(Operation.GET) / 100_000.0, 0.01);
+        assertEquals(25, mix.weight(Operation.TITLE));
+        assertEquals(0, mix.weight(Operation.DELETE));
+        assertEquals("get=75,title=25", mix.toString());
+    }
+
+    @Test
+    @DisplayName("parse - Mix par défaut, entrées invalides refusées")
+    void testDefaultsAndErrors() {
+        // Act
+        OperationMix defaults = OperationMix.parse(null);
+
+        // Assert
+        assertEquals(60, defaults.weight(Operation.GET));
+        assertEquals(0, defaults.weight(Operation.LIST));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("get"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("fetch=10"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("get=-1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("get=0"));
+    }
+}